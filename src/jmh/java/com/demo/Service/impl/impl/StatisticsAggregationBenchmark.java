@@ -0,0 +1,135 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.dto.InterventionTimeDTO;
+import com.demo.entity.InterventionTime;
+import com.demo.utils.InterventionDurationAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统计聚合基准：热力图矩阵构建、平均干预时长累加、关键事件分布统计
+ * 数据在内存中按固定随机种子生成，不访问数据库；patients 取当前规模与数倍增长后的规模
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsAggregationBenchmark {
+
+    private static final String[] TIME_PERIODS = {
+        "night_0_7", "morning_rush_8_9", "lunch_rush_10_11", "afternoon_12_16", "evening_rush_17_19", "night_20_23"
+    };
+
+    @Param({"5000", "50000"})
+    private int patients;
+
+    private final InterventionTimeServiceImpl interventionTimeService = new InterventionTimeServiceImpl();
+
+    private List<Map<String, Object>> heatmapRows;
+
+    private List<InterventionTimeDTO> durationRows;
+
+    private List<InterventionTime> interventions;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        // 热力图原始数据：每个时间段 × 月份一行
+        heatmapRows = new ArrayList<>();
+        for (String timePeriod : TIME_PERIODS) {
+            for (int month = 1; month <= 12; month++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("time_period", timePeriod);
+                row.put("month", month);
+                row.put("patient_count", (long) random.nextInt(patients / 50 + 1));
+                heatmapRows.add(row);
+            }
+        }
+
+        durationRows = new ArrayList<>(patients);
+        interventions = new ArrayList<>(patients);
+        LocalDate firstDay = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < patients; i++) {
+            LocalDate admissionDate = firstDay.plusDays(random.nextInt(730));
+            int admission = random.nextInt(24 * 60);
+            boolean complete = random.nextInt(10) != 0;
+            // 在室时长多为 30-300 分钟，少量跨天或录入错误（负数、超过48小时）
+            int stay = random.nextInt(100) < 97 ? 30 + random.nextInt(270) : -60 + random.nextInt(4000);
+            int leave = admission + stay;
+
+            InterventionTimeDTO dto = new InterventionTimeDTO();
+            dto.setPatientId(i + 1);
+            dto.setAdmissionDate(admissionDate.toString());
+            dto.setAdmissionTime(hhmm(admission));
+            if (complete) {
+                dto.setLeaveSurgeryDate(admissionDate.plusDays(Math.floorDiv(leave, 24 * 60)).toString());
+                dto.setLeaveSurgeryTime(hhmm(leave));
+            }
+            durationRows.add(dto);
+
+            InterventionTime intervention = new InterventionTime();
+            intervention.setPatientId(i + 1);
+            intervention.setAdmissionDate(admissionDate);
+            intervention.setAdmissionTime(hhmm(admission));
+            intervention.setCT(random.nextInt(4) == 0 ? null : hhmm(admission + 5 + random.nextInt(60)));
+            intervention.setEndotrachealTube(random.nextInt(5) == 0 ? hhmm(admission + random.nextInt(30)) : null);
+            intervention.setTransfusionStart(random.nextInt(3) == 0 ? hhmm(admission + 10 + random.nextInt(90)) : null);
+            if (complete) {
+                intervention.setLeaveSurgeryDate(admissionDate.plusDays(Math.floorDiv(leave, 24 * 60)));
+                intervention.setLeaveSurgeryTime(hhmm(leave));
+            }
+            if (random.nextInt(50) == 0) {
+                intervention.setDeathDate(admissionDate);
+                intervention.setDeathTime(hhmm(admission + 60 + random.nextInt(600)));
+            }
+            interventions.add(intervention);
+        }
+    }
+
+    /**
+     * 当天分钟数转为4位 HHmm（跨天部分取模）
+     */
+    private static String hhmm(int minutes) {
+        int normalized = Math.floorMod(minutes, 24 * 60);
+        return String.format("%02d%02d", normalized / 60, normalized % 60);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> processHeatmapData() {
+        return PatientStatisticsServiceImpl.processHeatmapData(heatmapRows);
+    }
+
+    @Benchmark
+    public Double averageInterventionTime() {
+        InterventionDurationAccumulator accumulator = new InterventionDurationAccumulator();
+        for (InterventionTimeDTO row : durationRows) {
+            accumulator.accept(row);
+        }
+        return accumulator.getAverageMinutes();
+    }
+
+    @Benchmark
+    public Object allKeyEventsStatistics() {
+        return interventionTimeService.computeKeyEventsStatistics(interventions);
+    }
+}
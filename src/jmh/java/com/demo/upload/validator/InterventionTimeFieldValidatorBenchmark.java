@@ -0,0 +1,85 @@
+package com.demo.upload.validator;
+
+import com.demo.upload.dto.ValidationErrorDTO;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 干预时间字段校验基准：导入干预时间表时每行约十余个“有:〖HHmm〗”格式的事件列都要校验
+ * 在内存工作簿中生成一列单元格，取值比例近似真实导入文件（多数为有效时间，少量“无”、空“有:”与格式错误）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterventionTimeFieldValidatorBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private final InterventionTimeFieldValidator validator = new InterventionTimeFieldValidator();
+
+    private XSSFWorkbook workbook;
+
+    private Row[] sheetRows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("干预时间");
+        sheetRows = new Row[rows];
+        for (int i = 0; i < rows; i++) {
+            Row row = sheet.createRow(i + 1);
+            int kind = random.nextInt(100);
+            String value;
+            if (kind < 75) {
+                value = String.format("有:〖%02d%02d〗", random.nextInt(24), random.nextInt(60));
+            } else if (kind < 90) {
+                value = "无";
+            } else if (kind < 96) {
+                value = "有:";
+            } else {
+                value = "有:〖" + random.nextInt(100) + "〗";
+            }
+            row.createCell(0).setCellValue(value);
+            sheetRows[i] = row;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public void validateTimeValueField(Blackhole blackhole) {
+        List<ValidationErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < sheetRows.length; i++) {
+            blackhole.consume(validator.validateTimeValueField(sheetRows[i], 0, i + 2, i + 1, "CT", errors));
+        }
+        blackhole.consume(errors);
+    }
+}
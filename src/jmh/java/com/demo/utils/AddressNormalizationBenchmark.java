@@ -0,0 +1,70 @@
+package com.demo.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地址标准化基准：导入病例时每条受伤地点都要先标准化再查询经纬度缓存
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddressNormalizationBenchmark {
+
+    private static final String[] DISTRICTS = {"浦东新区", "徐汇区", "闵行区", "嘉定区", "宝山区", "松江区", "静安区", "杨浦区"};
+
+    private static final String[] ROADS = {"张江路", "漕溪北路", "沪闵路", "曹安公路", "共和新路", "中山北路", "延安西路", "南京东路"};
+
+    private static final String[] INVALID = {"无", "不详", "家中", "(跳过)", "未知"};
+
+    @Param({"10000"})
+    private int size;
+
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        addresses = new String[size];
+        for (int i = 0; i < size; i++) {
+            String district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+            String road = ROADS[random.nextInt(ROADS.length)];
+            int number = 1 + random.nextInt(3000);
+            int kind = random.nextInt(100);
+            if (kind < 40) {
+                addresses[i] = "上海市" + district + road + number + "号";
+            } else if (kind < 60) {
+                addresses[i] = district + " " + road + "，" + number + "号";
+            } else if (kind < 75) {
+                addresses[i] = "上海" + district + road + "（近" + ROADS[random.nextInt(ROADS.length)] + "）";
+            } else if (kind < 85) {
+                addresses[i] = "上海市上海市" + road + "与" + ROADS[random.nextInt(ROADS.length)] + "交叉口。";
+            } else {
+                addresses[i] = INVALID[random.nextInt(INVALID.length)];
+            }
+        }
+    }
+
+    @Benchmark
+    public void normalizeAddress(Blackhole blackhole) {
+        for (String address : addresses) {
+            blackhole.consume(LongitudeLatitudeUtils.normalizeAddress(address));
+        }
+    }
+}
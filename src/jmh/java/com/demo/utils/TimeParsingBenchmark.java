@@ -0,0 +1,90 @@
+package com.demo.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间解析基准：一次导入/统计需要对每条记录解析接诊时间与各干预时间
+ * 输入按真实数据的格式比例生成：以4位 HHmm 为主，夹杂 HH:mm、HH:mm:ss、空值与无效值
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeParsingBenchmark {
+
+    /**
+     * 一批记录数（单次导入数千到数万行）
+     */
+    @Param({"10000"})
+    private int size;
+
+    private String[] mixedTimes;
+
+    private String[] colonTimes;
+
+    private String[] admissionTimes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mixedTimes = new String[size];
+        colonTimes = new String[size];
+        admissionTimes = new String[size];
+        for (int i = 0; i < size; i++) {
+            int hour = random.nextInt(24);
+            int minute = random.nextInt(60);
+            String hhmm = String.format("%02d%02d", hour, minute);
+            colonTimes[i] = String.format("%d:%02d", hour, minute);
+            admissionTimes[i] = random.nextInt(50) == 0 ? "" : hhmm;
+            int kind = random.nextInt(100);
+            if (kind < 70) {
+                mixedTimes[i] = hhmm;
+            } else if (kind < 85) {
+                mixedTimes[i] = colonTimes[i];
+            } else if (kind < 92) {
+                mixedTimes[i] = colonTimes[i] + ":00";
+            } else if (kind < 97) {
+                mixedTimes[i] = null;
+            } else {
+                mixedTimes[i] = "无";
+            }
+        }
+    }
+
+    @Benchmark
+    public void convertTimeToMinutes(Blackhole blackhole) {
+        for (String time : mixedTimes) {
+            blackhole.consume(TimeConversionUtils.convertTimeToMinutes(time));
+        }
+    }
+
+    @Benchmark
+    public void convertHHmmToMinutes(Blackhole blackhole) {
+        for (String time : colonTimes) {
+            blackhole.consume(TimeConversionUtils.convertHHmmToMinutes(time));
+        }
+    }
+
+    @Benchmark
+    public void calculateTimePeriod(Blackhole blackhole) {
+        for (String time : admissionTimes) {
+            blackhole.consume(TimePeriodUtils.calculateTimePeriod(time));
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.demo.entity.GcsScore;
 import com.demo.dto.GcsScoreWithPatientDTO;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * GCS评分服务接口
  */
@@ -22,4 +25,12 @@ public interface IGcsScoreService extends IService<GcsScore> {
      * @return GCS评分及患者信息
      */
     GcsScoreWithPatientDTO getGcsScoreWithPatientInfo(Integer patientId);
+
+    /**
+     * 批量查询多位患者最新的GCS评分及患者基本信息（每位患者取 gcs_id 最大的一条）
+     * @param patientIds 患者ID列表，重复及null会被忽略
+     * @return 以患者ID为键的评分，没有GCS评分的患者不在结果中
+     * @throws IllegalArgumentException 患者数超过 {@link com.demo.utils.PatientIdBatches#MAX_PATIENTS} 时抛出
+     */
+    Map<Integer, GcsScoreWithPatientDTO> getGcsScoresWithPatientInfo(List<Integer> patientIds);
 }
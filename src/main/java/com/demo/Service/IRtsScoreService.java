@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.demo.entity.RtsScore;
 import com.demo.dto.RtsScoreWithPatientDTO;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * RTS评分服务接口
  */
@@ -22,4 +25,12 @@ public interface IRtsScoreService extends IService<RtsScore> {
      * @return RTS评分及患者信息
      */
     RtsScoreWithPatientDTO getRtsScoreWithPatientInfo(Integer patientId);
-}
\ No newline at end of file
+
+    /**
+     * 批量查询多位患者最新的RTS评分及患者基本信息（每位患者取 rts_id 最大的一条）
+     * @param patientIds 患者ID列表，重复及null会被忽略
+     * @return 以患者ID为键的评分，没有RTS评分的患者不在结果中
+     * @throws IllegalArgumentException 患者数超过 {@link com.demo.utils.PatientIdBatches#MAX_PATIENTS} 时抛出
+     */
+    Map<Integer, RtsScoreWithPatientDTO> getRtsScoresWithPatientInfo(List<Integer> patientIds);
+}
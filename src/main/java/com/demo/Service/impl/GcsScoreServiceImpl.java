@@ -2,17 +2,27 @@ package com.demo.Service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.demo.Service.IGcsScoreService;
+import com.demo.cache.PatientDetailCache;
 import com.demo.entity.GcsScore;
 import com.demo.dto.GcsScoreWithPatientDTO;
 import com.demo.mapper.GcsScoreMapper;
+import com.demo.utils.PatientIdBatches;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * GCS评分服务实现类
  */
 @Service
 public class GcsScoreServiceImpl extends ServiceImpl<GcsScoreMapper, GcsScore> implements IGcsScoreService {
 
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+
     @Override
     public GcsScore getGcsScoreByPatientId(Integer patientId) {
         return baseMapper.selectByPatientId(patientId);
@@ -20,6 +30,18 @@ public class GcsScoreServiceImpl extends ServiceImpl<GcsScoreMapper, GcsScore> i
 
     @Override
     public GcsScoreWithPatientDTO getGcsScoreWithPatientInfo(Integer patientId) {
-        return baseMapper.selectWithPatientInfo(patientId);
+        return patientDetailCache.get(PatientDetailCache.GCS, patientId, null,
+                () -> baseMapper.selectWithPatientInfo(patientId));
+    }
+
+    @Override
+    public Map<Integer, GcsScoreWithPatientDTO> getGcsScoresWithPatientInfo(List<Integer> patientIds) {
+        Map<Integer, GcsScoreWithPatientDTO> result = new TreeMap<>();
+        for (List<Integer> batch : PatientIdBatches.partition(patientIds)) {
+            for (GcsScoreWithPatientDTO score : baseMapper.selectLatestWithPatientInfoByPatientIds(batch)) {
+                result.put(score.getPatientId(), score);
+            }
+        }
+        return result;
     }
 }
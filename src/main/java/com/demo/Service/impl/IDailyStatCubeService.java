@@ -0,0 +1,52 @@
+package com.demo.Service.impl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每日统计聚合服务接口
+ * 维护 patient_daily_cube（随业务数据写入自动刷新），并基于其提供月度热力图、伤因分布、ISS/GCS/RTS分布及对比分析的原始数据
+ */
+public interface IDailyStatCubeService {
+
+    /**
+     * 聚合表是否可用（建表或重建失败时为false，调用方应回退到明细查询）
+     */
+    boolean isReady();
+
+    /**
+     * 全量重建聚合表
+     */
+    void rebuildAll();
+
+    /**
+     * 月度时间热力图原始数据（time_period, month, patient_count）
+     */
+    List<Map<String, Object>> getMonthlyTimeRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod);
+
+    /**
+     * 伤因分布原始数据（month, injury_cause_category, patient_count）
+     */
+    List<Map<String, Object>> getInjuryCauseRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod);
+
+    /**
+     * ISS分段患者数
+     * @return light/severe/critical -> 患者数
+     */
+    Map<String, Long> getIssCategoryCounts(Integer year, String startDate, String endDate, Integer season, Integer timePeriod);
+
+    /**
+     * GCS分级患者数（level, count）
+     */
+    List<Map<String, Object>> getGcsLevelRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod);
+
+    /**
+     * RTS总分患者数（score, count），按总分降序
+     */
+    List<Map<String, Object>> getRtsScoreRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod);
+
+    /**
+     * 全部指标的月度桶（metric, metric_value, month, record_count, patient_count），供对比分析
+     */
+    List<Map<String, Object>> getMonthlyBuckets(Integer year, String startDate, String endDate, Integer season, Integer timePeriod);
+}
@@ -0,0 +1,24 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.TrendSeriesDTO;
+
+/**
+ * 每日趋势序列服务接口
+ * 在内存中按接诊日期维护每日接诊、死亡、各伤因患者数及接诊到CT时长，提供滚动窗口合计与同比
+ */
+public interface IDailyTrendService {
+
+    /**
+     * 序列是否可用（已完成构建且最近一次汇总成功）
+     */
+    boolean isReady();
+
+    /**
+     * 滚动窗口趋势序列
+     * @param startDate 开始日期（可选，格式：YYYY-MM-DD，默认为结束日期前89天）
+     * @param endDate 结束日期（可选，格式：YYYY-MM-DD，默认为最近有病例的日期）
+     * @param window 滚动窗口天数（可选，默认7）
+     * @return 趋势序列
+     */
+    TrendSeriesDTO getTrend(String startDate, String endDate, Integer window);
+}
@@ -0,0 +1,32 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.HourlyStatisticsDTO;
+
+import java.util.List;
+
+/**
+ * 接诊小时聚合服务接口
+ * 维护 injury_hour_cube（随病例写入自动刷新），并基于其提供24小时统计与可用年份
+ */
+public interface IInjuryHourCubeService {
+
+    /**
+     * 聚合表是否可用（建表或重建失败时为false，调用方应回退到明细查询）
+     */
+    boolean isReady();
+
+    /**
+     * 全量重建聚合表
+     */
+    void rebuildAll();
+
+    /**
+     * 24小时统计
+     */
+    List<HourlyStatisticsDTO> getHourlyStatistics(Integer year, List<Integer> seasons, String startDate, String endDate);
+
+    /**
+     * 可用年份
+     */
+    List<Integer> getAvailableYears();
+}
@@ -5,6 +5,7 @@ import com.demo.dto.IssInjuryDTO;
 import com.demo.entity.IssInjury;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IIssInjuryService extends IService<IssInjury> {
     /**
@@ -21,6 +22,14 @@ public interface IIssInjuryService extends IService<IssInjury> {
      */
     IssInjuryDTO getInjuryDTOByPatientId(Integer patientId);
 
+    /**
+     * 批量获取多位患者最新的创伤信息（封装DTO对象，包含受伤等级）
+     * @param patientIds 患者ID列表，重复及null会被忽略
+     * @return 以患者ID为键的创伤信息，没有ISS记录的患者不在结果中
+     * @throws IllegalArgumentException 患者数超过 {@link com.demo.utils.PatientIdBatches#MAX_PATIENTS} 时抛出
+     */
+    Map<Integer, IssInjuryDTO> getInjuryDTOsByPatientIds(List<Integer> patientIds);
+
     /**
      * 根据经度、纬度、季节和时间段查询伤情信息
      */
@@ -0,0 +1,16 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.PatientFullDTO;
+
+/**
+ * 患者详情页聚合服务接口
+ */
+public interface IPatientDetailService {
+
+    /**
+     * 一次获取患者详情页的全部分区（基本信息、GCS、RTS、ISS、伤情明细、入室前、离室后、干预时间线）
+     * @param patientId 患者ID
+     * @return 聚合数据，查询失败的分区为null并记录在errors中
+     */
+    PatientFullDTO getPatientFull(Integer patientId);
+}
@@ -0,0 +1,18 @@
+package com.demo.Service.impl;
+
+/**
+ * 患者分区域AIS事实表维护服务接口
+ * patient_region_ais 由 iss_patient_injury_severity 派生，供身体区域相关统计直接按区域索引查询
+ */
+public interface IPatientRegionAisService {
+
+    /**
+     * 事实表是否可用（建表或重建失败、正在重建时为false，区域统计应返回服务不可用）
+     */
+    boolean isReady();
+
+    /**
+     * 全量重建事实表
+     */
+    void rebuildAll();
+}
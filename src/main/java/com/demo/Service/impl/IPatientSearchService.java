@@ -0,0 +1,18 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.PatientSearchResultDTO;
+
+/**
+ * 患者全文检索服务接口
+ */
+public interface IPatientSearchService {
+
+    /**
+     * 按姓名、受伤地点、伤因描述、急救站点检索患者
+     * @param query 查询文本，多个词之间为“且”关系
+     * @param current 页码（从1开始）
+     * @param size 每页大小
+     * @return 按相关度排序的当前页命中
+     */
+    PatientSearchResultDTO search(String query, Integer current, Integer size);
+}
@@ -1,11 +1,17 @@
 package com.demo.Service.impl;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.demo.dto.PatientBulkDeleteDTO;
+import com.demo.dto.PatientBulkDeleteResultDTO;
 import com.demo.dto.PatientPageDTO;
 import com.demo.dto.PatientQueryDTO;
 import com.demo.dto.PatientUpdateResultDTO;
 import com.demo.entity.Patient;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 public interface IPatientService extends IService<Patient> {
     
     /**
@@ -22,6 +28,14 @@ public interface IPatientService extends IService<Patient> {
      */
     boolean deletePatientById(Integer patientId);
     
+    /**
+     * 批量删除患者及其所有相关数据
+     * 在一个事务中按表执行分块的 DELETE ... WHERE patient_id IN (...)，数据版本在提交后只递增一次
+     * @param request 患者ID列表或筛选条件
+     * @return 各表删除行数
+     */
+    PatientBulkDeleteResultDTO deletePatients(PatientBulkDeleteDTO request);
+    
     /**
      * 更新患者基本信息
      * 包含业务逻辑验证和错误处理
@@ -29,4 +43,12 @@ public interface IPatientService extends IService<Patient> {
      * @return 更新结果DTO，包含是否成功、消息和患者信息
      */
     PatientUpdateResultDTO updatePatient(Patient patient);
+    
+    /**
+     * 流式输出全部患者（按患者ID排序）
+     * 以游标逐行读取并逐条写出，格式与 Result 包装的患者数组一致：{"success":true,...,"data":[...],"total":n}
+     * @param out 输出流
+     * @param fields 输出字段，见 {@link com.demo.utils.PatientFieldProjection#resolve(String)}
+     */
+    void writePatientList(OutputStream out, List<String> fields) throws IOException;
 }
@@ -1,5 +1,7 @@
 package com.demo.Service.impl;
 
+import com.demo.dto.CrossfilterQueryDTO;
+import com.demo.dto.CrossfilterResultDTO;
 import com.demo.dto.PatientStatisticsDTO;
 
 import java.util.List;
@@ -247,4 +249,11 @@ public interface IPatientStatisticsService {
      * @return 患者ID列表
      */
     List<Integer> getBodyRegionSeverityPatientIds(String bodyRegion, String severityLevel, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime);
+
+    /**
+     * 多维交叉筛选：返回满足全部条件的患者数及各维度直方图
+     * @param query 筛选条件（均可选）
+     * @return 交叉筛选结果
+     */
+    CrossfilterResultDTO getCrossfilter(CrossfilterQueryDTO query);
 }
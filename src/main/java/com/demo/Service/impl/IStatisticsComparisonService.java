@@ -0,0 +1,17 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.ComparisonQueryDTO;
+import com.demo.dto.ComparisonResultDTO;
+
+/**
+ * 统计对比分析服务接口
+ */
+public interface IStatisticsComparisonService {
+
+    /**
+     * 对比两组筛选条件下的KPI与各分布（如 2024年冬季 对比 2025年冬季）
+     * @param query 基准组与对比组筛选条件，任一组为空表示不筛选
+     * @return 两组结果及变化量
+     */
+    ComparisonResultDTO compare(ComparisonQueryDTO query);
+}
@@ -0,0 +1,26 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.DashboardDTO;
+
+/**
+ * 统计大屏首屏数据服务接口
+ */
+public interface IStatisticsDashboardService {
+
+    /**
+     * 一次获取首屏全部面板数据（各面板使用同一组筛选条件）
+     * @param startDate 开始日期（可选，格式：YYYY-MM-DD）
+     * @param endDate 结束日期（可选，格式：YYYY-MM-DD）
+     * @param year 年份（可选）
+     * @param timePeriod 时间段（可选，0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
+     * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
+     * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param ageGroup 年龄组（可选，仅用于人群身体热力图）
+     * @param gender 性别（可选，仅用于人群身体热力图）
+     * @param severity 严重程度（可选，仅用于人群身体热力图）
+     * @return 首屏数据
+     */
+    DashboardDTO getDashboard(String startDate, String endDate, Integer year, Integer timePeriod,
+                              String customStartTime, String customEndTime,
+                              Integer ageGroup, Integer gender, Integer severity);
+}
@@ -0,0 +1,22 @@
+package com.demo.Service.impl;
+
+import com.demo.dto.WarmupStatusDTO;
+
+/**
+ * 统计缓存预热服务接口
+ * 按配置的常用筛选组合预先执行首屏面板、关键事件统计与地图点位查询，结果进入统计结果缓存
+ */
+public interface IStatisticsWarmupService {
+
+    /**
+     * 安排一次后台预热
+     * 在事务中时于提交后执行（回滚时不执行），无事务时立即安排；预热进行中再次调用会合并为一次后续预热
+     * @param reason 触发原因（如 startup、import），记录在状态中
+     */
+    void scheduleWarmup(String reason);
+
+    /**
+     * 预热进度与耗时
+     */
+    WarmupStatusDTO getStatus();
+}
@@ -5,8 +5,13 @@ import com.demo.Service.IRtsScoreService;
 import com.demo.entity.RtsScore;
 import com.demo.dto.RtsScoreWithPatientDTO;
 import com.demo.mapper.RtsScoreMapper;
+import com.demo.utils.PatientIdBatches;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * RTS评分服务实现类
  */
@@ -28,4 +33,15 @@ public class RtsScoreServiceImpl extends ServiceImpl<RtsScoreMapper, RtsScore> i
     public RtsScoreWithPatientDTO getRtsScoreWithPatientInfo(Integer patientId) {
         return baseMapper.selectWithPatientInfo(patientId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Map<Integer, RtsScoreWithPatientDTO> getRtsScoresWithPatientInfo(List<Integer> patientIds) {
+        Map<Integer, RtsScoreWithPatientDTO> result = new TreeMap<>();
+        for (List<Integer> batch : PatientIdBatches.partition(patientIds)) {
+            for (RtsScoreWithPatientDTO score : baseMapper.selectLatestWithPatientInfoByPatientIds(batch)) {
+                result.put(score.getPatientId(), score);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IDailyStatCubeService;
+import com.demo.cache.DataChangeSet;
+import com.demo.cache.DataChangingEvent;
+import com.demo.cache.RebuildScheduler;
+import com.demo.mapper.DailyStatCubeMapper;
+import com.demo.mapper.GcsScoreMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.InterventionTimeMapper;
+import com.demo.mapper.IssInjuryMapper;
+import com.demo.mapper.PatientMapper;
+import com.demo.mapper.RtsScoreMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 每日统计聚合服务实现
+ * 启动时全量重建一次（保证与明细表一致），之后随病例、患者、评分、干预时间的写入增量刷新（见 {@link DataChangingEvent}）：
+ * 写入方报告了接诊日期或患者时，在写事务提交前按合并后的日期刷新一次，与明细数据一起提交或回滚；
+ * 未报告范围的写入、初始化或增量刷新失败后，标记不可用并于后台全量重建
+ */
+@Slf4j
+@Service
+public class DailyStatCubeServiceImpl implements IDailyStatCubeService {
+
+    /**
+     * 单条 IN 语句的最大日期数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String[] ISS_CATEGORIES = {"light", "severe", "critical"};
+
+    /**
+     * 聚合表汇总时读取的业务表
+     */
+    private static final Class<?>[] SOURCE_MAPPERS = {
+            InjuryRecordMapper.class, PatientMapper.class, IssInjuryMapper.class,
+            GcsScoreMapper.class, RtsScoreMapper.class, InterventionTimeMapper.class
+    };
+
+    @Autowired
+    private DailyStatCubeMapper dailyStatCubeMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final RebuildScheduler rebuildScheduler = new RebuildScheduler("daily-stat-cube", this::rebuild);
+
+    /**
+     * 在患者集合索引等依赖统计表的组件之前完成
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!rebuildScheduler.runNow()) {
+            log.warn("每日统计聚合表初始化失败，热力图与分布统计将使用明细查询");
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return rebuildScheduler.isReady();
+    }
+
+    /**
+     * 清空与重新汇总在同一事务中提交，提交前其他会话读到的仍是旧数据。
+     * 由初始化和后台重建在本类内部调用，不经过代理，因此用 TransactionTemplate 而非 @Transactional
+     */
+    @Override
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        Integer rows = transactionTemplate.execute(status -> {
+            dailyStatCubeMapper.deleteAll();
+            return dailyStatCubeMapper.insertAggregates(null, true);
+        });
+        log.info("每日统计聚合表重建完成: {} 行, 耗时 {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 在写事务提交前执行，此时同一事务中的病例、评分等已全部写入；
+     * 刷新失败不影响业务写入，只把聚合表标记为不可用并安排后台重建
+     */
+    @EventListener
+    public void onDataChanging(DataChangingEvent event) {
+        DataChangeSet changes = event.getChanges();
+        if (!changes.touches(SOURCE_MAPPERS)) {
+            return;
+        }
+        if (!changes.isScoped()) {
+            rebuildScheduler.invalidate();
+            return;
+        }
+        if (!rebuildScheduler.isReady()) {
+            // 聚合表不可用（或正在重建）：本次变更由重建覆盖
+            rebuildScheduler.requestAfterCompletion();
+            return;
+        }
+        Set<LocalDate> dates = changes.getAdmissionDates();
+        List<LocalDate> distinctDates = new ArrayList<>(dates);
+        distinctDates.removeIf(Objects::isNull);
+        try {
+            if (dates.contains(null)) {
+                dailyStatCubeMapper.deleteByDates(null, true);
+                dailyStatCubeMapper.insertAggregates(new ArrayList<>(), true);
+            }
+            for (int from = 0; from < distinctDates.size(); from += BATCH_SIZE) {
+                List<LocalDate> batch = distinctDates.subList(from, Math.min(from + BATCH_SIZE, distinctDates.size()));
+                dailyStatCubeMapper.deleteByDates(batch, false);
+                dailyStatCubeMapper.insertAggregates(batch, false);
+            }
+            log.debug("每日统计聚合表增量刷新: {} 个日期", dates.size());
+        } catch (Exception e) {
+            log.error("每日统计聚合表增量刷新失败，已回退到明细查询，将在后台重建", e);
+            rebuildScheduler.invalidate();
+        }
+    }
+
+    /**
+     * 建表（初始化可能在建表时失败）并全量重建；失败时由调度器标记为不可用
+     */
+    private void rebuild() {
+        dailyStatCubeMapper.createTableIfNotExists();
+        rebuildAll();
+    }
+
+    @Override
+    public List<Map<String, Object>> getMonthlyTimeRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod) {
+        return dailyStatCubeMapper.selectMonthlyTimeRows(year, startDate, endDate, season, timePeriod);
+    }
+
+    @Override
+    public List<Map<String, Object>> getInjuryCauseRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod) {
+        return dailyStatCubeMapper.selectInjuryCauseRows(year, startDate, endDate, season, timePeriod);
+    }
+
+    @Override
+    public Map<String, Long> getIssCategoryCounts(Integer year, String startDate, String endDate, Integer season, Integer timePeriod) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String category : ISS_CATEGORIES) {
+            counts.put(category, 0L);
+        }
+        for (Map<String, Object> row : dailyStatCubeMapper.selectIssBandCounts(year, startDate, endDate, season, timePeriod)) {
+            int band = ((Number) row.get("band")).intValue();
+            if (band >= 0 && band < ISS_CATEGORIES.length) {
+                counts.put(ISS_CATEGORIES[band], ((Number) row.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Map<String, Object>> getGcsLevelRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod) {
+        return dailyStatCubeMapper.selectGcsLevelCounts(year, startDate, endDate, season, timePeriod);
+    }
+
+    @Override
+    public List<Map<String, Object>> getRtsScoreRows(Integer year, String startDate, String endDate, Integer season, Integer timePeriod) {
+        return dailyStatCubeMapper.selectRtsScoreCounts(year, startDate, endDate, season, timePeriod);
+    }
+
+    @Override
+    public List<Map<String, Object>> getMonthlyBuckets(Integer year, String startDate, String endDate, Integer season, Integer timePeriod) {
+        return dailyStatCubeMapper.selectMonthlyBuckets(year, startDate, endDate, season, timePeriod);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdown();
+    }}
@@ -0,0 +1,291 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IDailyTrendService;
+import com.demo.cache.DailyTrendSeries;
+import com.demo.cache.DataChangeSet;
+import com.demo.cache.DataChangedEvent;
+import com.demo.cache.RebuildScheduler;
+import com.demo.dto.TrendSeriesDTO;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.InterventionTimeMapper;
+import com.demo.mapper.PatientStatisticsMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 每日趋势序列服务实现
+ * 启动后在后台线程全量汇总一次；之后每次病例或干预时间的写入提交后（{@link DataChangedEvent}），
+ * 由同一后台线程只重新汇总受影响的接诊日期并覆盖序列中的对应天，写入方未报告范围时全量汇总。
+ * 汇总失败时序列不可用，由调度器退避重试。查询只读内存序列，不访问明细表
+ */
+@Slf4j
+@Service
+public class DailyTrendServiceImpl implements IDailyTrendService {
+
+    /**
+     * 单条 IN 语句的最大日期数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final int DEFAULT_WINDOW = 7;
+
+    private static final int MAX_WINDOW = 366;
+
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    /**
+     * 单次查询的最大天数（约3年）
+     */
+    private static final int MAX_RANGE_DAYS = 3 * 366;
+
+    private static final String[] ROW_COLUMNS = new String[DailyTrendSeries.COLUMN_COUNT];
+
+    static {
+        ROW_COLUMNS[DailyTrendSeries.ADMISSIONS] = "admissions";
+        ROW_COLUMNS[DailyTrendSeries.DEATHS] = "deaths";
+        for (int i = 0; i < DailyTrendSeries.CAUSE_COUNT; i++) {
+            ROW_COLUMNS[DailyTrendSeries.CAUSE_0 + i] = "cause_" + i;
+        }
+        ROW_COLUMNS[DailyTrendSeries.CT_MINUTES_SUM] = "ct_minutes_sum";
+        ROW_COLUMNS[DailyTrendSeries.CT_COUNT] = "ct_count";
+    }
+
+    @Autowired
+    private PatientStatisticsMapper patientStatisticsMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private DailyTrendSeries series = new DailyTrendSeries();
+
+    private final Set<LocalDate> pendingDates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 有未报告范围的写入提交，下一次刷新需要全量汇总
+     */
+    private volatile boolean fullRebuildPending = false;
+
+    private final RebuildScheduler refreshScheduler = new RebuildScheduler("daily-trend-series", this::process);
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refreshScheduler.request();
+    }
+
+    @Override
+    public boolean isReady() {
+        return refreshScheduler.isReady();
+    }
+
+    /**
+     * 写入提交后调用（读取已提交数据）；序列汇总自病例表与干预时间表
+     */
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        DataChangeSet changes = event.getChanges();
+        if (!changes.touches(InjuryRecordMapper.class, InterventionTimeMapper.class)) {
+            return;
+        }
+        if (changes.isScoped()) {
+            for (LocalDate date : changes.getAdmissionDates()) {
+                if (date != null) {
+                    pendingDates.add(date);
+                }
+            }
+        } else {
+            fullRebuildPending = true;
+        }
+        refreshScheduler.request();
+    }
+
+    /**
+     * 后台线程：尚未构建、上次汇总失败（调度器标记不可用）或有未报告范围的写入时全量汇总，否则只汇总待刷新的日期；
+     * 抛出异常时由调度器退避重试，重试时全量汇总
+     */
+    private void process() {
+        if (!refreshScheduler.isReady() || fullRebuildPending) {
+            rebuildAll();
+            return;
+        }
+        List<LocalDate> dateList = new ArrayList<>(drain(pendingDates));
+        for (int from = 0; from < dateList.size(); from += BATCH_SIZE) {
+            List<LocalDate> batch = dateList.subList(from, Math.min(from + BATCH_SIZE, dateList.size()));
+            List<Map<String, Object>> rows = patientStatisticsMapper.selectDailyTrendRows(batch);
+            lock.writeLock().lock();
+            try {
+                for (LocalDate date : batch) {
+                    series.clear((int) date.toEpochDay());
+                }
+                apply(series, rows);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (!dateList.isEmpty()) {
+            log.debug("每日趋势序列增量刷新: {} 个日期", dateList.size());
+        }
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        // 先清空待刷新标记：全量汇总读取的数据已包含此前提交的变更
+        fullRebuildPending = false;
+        drain(pendingDates);
+        DailyTrendSeries built = new DailyTrendSeries();
+        apply(built, patientStatisticsMapper.selectDailyTrendRows(null));
+        lock.writeLock().lock();
+        try {
+            series = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("每日趋势序列构建完成: 日期范围 {} ~ {}, 耗时 {} ms",
+                built.isEmpty() ? "-" : LocalDate.ofEpochDay(built.minDay()),
+                built.isEmpty() ? "-" : LocalDate.ofEpochDay(built.maxDay()),
+                System.currentTimeMillis() - start);
+    }
+
+    private static void apply(DailyTrendSeries target, List<Map<String, Object>> rows) {
+        int[] values = new int[DailyTrendSeries.COLUMN_COUNT];
+        for (Map<String, Object> row : rows) {
+            Object day = row.get("stat_day");
+            if (day == null) {
+                continue;
+            }
+            for (int c = 0; c < values.length; c++) {
+                Object value = row.get(ROW_COLUMNS[c]);
+                values[c] = value == null ? 0 : ((Number) value).intValue();
+            }
+            target.put(((Number) day).intValue(), values);
+        }
+    }
+
+    private static <T> Set<T> drain(Set<T> pending) {
+        Set<T> drained = new LinkedHashSet<>();
+        Iterator<T> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    @Override
+    public TrendSeriesDTO getTrend(String startDate, String endDate, Integer window) {
+        if (!refreshScheduler.isReady()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE.getCode(), "趋势序列正在构建，请稍后重试");
+        }
+        int windowDays = window == null ? DEFAULT_WINDOW : window;
+        if (windowDays < 1 || windowDays > MAX_WINDOW) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "滚动窗口天数应在1-" + MAX_WINDOW + "之间");
+        }
+
+        lock.readLock().lock();
+        try {
+            LocalDate to = hasText(endDate) ? parseDate(endDate)
+                    : series.isEmpty() ? LocalDate.now() : LocalDate.ofEpochDay(series.maxDay());
+            LocalDate from = hasText(startDate) ? parseDate(startDate) : to.minusDays(DEFAULT_RANGE_DAYS - 1);
+            if (from.isAfter(to)) {
+                throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "开始日期不能晚于结束日期");
+            }
+            if (to.toEpochDay() - from.toEpochDay() + 1 > MAX_RANGE_DAYS) {
+                throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "查询区间不能超过" + MAX_RANGE_DAYS + "天");
+            }
+            return buildTrend(from, to, windowDays);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TrendSeriesDTO buildTrend(LocalDate from, LocalDate to, int window) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int n = toDay - fromDay + 1;
+
+        TrendSeriesDTO dto = new TrendSeriesDTO();
+        dto.setWindow(window);
+        List<String> dates = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dates.add(LocalDate.ofEpochDay(fromDay + i).toString());
+        }
+        dto.setDates(dates);
+        dto.setAdmissions(series.rollingSum(DailyTrendSeries.ADMISSIONS, fromDay, toDay, window));
+        dto.setDeaths(series.rollingSum(DailyTrendSeries.DEATHS, fromDay, toDay, window));
+        Map<String, long[]> causes = new LinkedHashMap<>();
+        for (int i = 0; i < DailyTrendSeries.CAUSE_COUNT; i++) {
+            causes.put(String.valueOf(i), series.rollingSum(DailyTrendSeries.CAUSE_0 + i, fromDay, toDay, window));
+        }
+        dto.setCauses(causes);
+        dto.setAvgDoorToCtMinutes(average(
+                series.rollingSum(DailyTrendSeries.CT_MINUTES_SUM, fromDay, toDay, window),
+                series.rollingSum(DailyTrendSeries.CT_COUNT, fromDay, toDay, window)));
+
+        // 上一年同一天：按自然日期减一年对齐（闰年2月29日对应2月28日）
+        int prevFromDay = (int) from.minusYears(1).toEpochDay();
+        int prevToDay = (int) to.minusYears(1).toEpochDay();
+        int[] prevIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            prevIndex[i] = (int) (LocalDate.ofEpochDay(fromDay + i).minusYears(1).toEpochDay() - prevFromDay);
+        }
+        dto.setLastYearAdmissions(align(series.rollingSum(DailyTrendSeries.ADMISSIONS, prevFromDay, prevToDay, window), prevIndex));
+        dto.setLastYearDeaths(align(series.rollingSum(DailyTrendSeries.DEATHS, prevFromDay, prevToDay, window), prevIndex));
+        dto.setLastYearAvgDoorToCtMinutes(average(
+                align(series.rollingSum(DailyTrendSeries.CT_MINUTES_SUM, prevFromDay, prevToDay, window), prevIndex),
+                align(series.rollingSum(DailyTrendSeries.CT_COUNT, prevFromDay, prevToDay, window), prevIndex)));
+        return dto;
+    }
+
+    private static long[] align(long[] values, int[] index) {
+        long[] aligned = new long[index.length];
+        for (int i = 0; i < index.length; i++) {
+            aligned[i] = values[index[i]];
+        }
+        return aligned;
+    }
+
+    private static Double[] average(long[] sums, long[] counts) {
+        Double[] averages = new Double[sums.length];
+        for (int i = 0; i < sums.length; i++) {
+            averages[i] = counts[i] == 0 ? null : Math.round(sums[i] * 10.0 / counts[i]) / 10.0;
+        }
+        return averages;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "日期格式不正确，应为 YYYY-MM-DD");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshScheduler.shutdown();
+    }
+}
@@ -0,0 +1,129 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IInjuryHourCubeService;
+import com.demo.cache.DataChangeSet;
+import com.demo.cache.DataChangingEvent;
+import com.demo.cache.RebuildScheduler;
+import com.demo.dto.HourlyStatisticsDTO;
+import com.demo.mapper.InjuryHourCubeMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 接诊小时聚合服务实现
+ * 启动时全量重建一次（保证与明细表一致），之后随病例写入按接诊日期增量刷新（见 {@link DataChangingEvent}）：
+ * 写入方报告了接诊日期时在写事务中刷新这些日期，否则标记不可用并在事务结束后于后台全量重建；
+ * 初始化或增量刷新失败后同样于后台全量重建
+ */
+@Slf4j
+@Service
+public class InjuryHourCubeServiceImpl implements IInjuryHourCubeService {
+
+    /**
+     * 单条 IN 语句的最大日期数
+     */
+    private static final int DATE_BATCH_SIZE = 500;
+
+    @Autowired
+    private InjuryHourCubeMapper injuryHourCubeMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final RebuildScheduler rebuildScheduler = new RebuildScheduler("injury-hour-cube", this::rebuild);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!rebuildScheduler.runNow()) {
+            log.warn("接诊小时聚合表初始化失败，24小时统计将使用明细查询");
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return rebuildScheduler.isReady();
+    }
+
+    /**
+     * 清空与重新汇总在同一事务中提交，提交前其他会话读到的仍是旧数据。
+     * 由初始化和后台重建在本类内部调用，不经过代理，因此用 TransactionTemplate 而非 @Transactional
+     */
+    @Override
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        Integer rows = transactionTemplate.execute(status -> {
+            injuryHourCubeMapper.deleteAll();
+            return injuryHourCubeMapper.insertAggregates(null);
+        });
+        log.info("接诊小时聚合表重建完成: {} 行, 耗时 {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 在写事务提交前执行，与明细数据一起提交或回滚；
+     * 刷新失败不影响业务写入，只把聚合表标记为不可用并安排后台重建
+     */
+    @EventListener
+    public void onDataChanging(DataChangingEvent event) {
+        DataChangeSet changes = event.getChanges();
+        if (!changes.touches(InjuryRecordMapper.class)) {
+            return;
+        }
+        if (!changes.isScoped()) {
+            rebuildScheduler.invalidate();
+            return;
+        }
+        if (!rebuildScheduler.isReady()) {
+            // 聚合表不可用（或正在重建）：本次变更由重建覆盖
+            rebuildScheduler.requestAfterCompletion();
+            return;
+        }
+        List<LocalDate> dates = new ArrayList<>(changes.getAdmissionDates());
+        dates.removeIf(Objects::isNull);
+        try {
+            for (int from = 0; from < dates.size(); from += DATE_BATCH_SIZE) {
+                List<LocalDate> batch = dates.subList(from, Math.min(from + DATE_BATCH_SIZE, dates.size()));
+                injuryHourCubeMapper.deleteByDates(batch);
+                injuryHourCubeMapper.insertAggregates(batch);
+            }
+            log.debug("接诊小时聚合表增量刷新: {} 个日期", dates.size());
+        } catch (Exception e) {
+            log.error("接诊小时聚合表增量刷新失败，已回退到明细查询，将在后台重建", e);
+            rebuildScheduler.invalidate();
+        }
+    }
+
+    /**
+     * 建表（初始化可能在建表时失败）并全量重建；失败时由调度器标记为不可用
+     */
+    private void rebuild() {
+        injuryHourCubeMapper.createTableIfNotExists();
+        rebuildAll();
+    }
+
+    @Override
+    public List<HourlyStatisticsDTO> getHourlyStatistics(Integer year, List<Integer> seasons, String startDate, String endDate) {
+        return injuryHourCubeMapper.selectHourlyStatistics(year, seasons, startDate, endDate);
+    }
+
+    @Override
+    public List<Integer> getAvailableYears() {
+        return injuryHourCubeMapper.selectAvailableYears();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdown();
+    }
+}
@@ -1,7 +1,9 @@
 package com.demo.Service.impl.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.demo.Service.impl.IInjuryHourCubeService;
 import com.demo.Service.impl.IInjuryRecordService;
+import com.demo.cache.SharedStatisticsQuery;
 import com.demo.dto.AddressCountDTO;
 import com.demo.dto.HourlyStatisticsDTO;
 import com.demo.dto.HourlyGroupDTO;
@@ -12,14 +14,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class InjuryRecordImpl extends ServiceImpl<InjuryRecordMapper, InjuryRecord> implements IInjuryRecordService {
+    private static final int HOURS_PER_DAY = 24;
+
     @Autowired
     private InjuryRecordMapper injuryRecordMapper;
 
+    @Autowired
+    private IInjuryHourCubeService injuryHourCubeService;
+
+    @SharedStatisticsQuery
     @Override
     public List<AddressCountDTO> getAllLocations() {
         // 查询所有经纬度和病例数数据
@@ -29,27 +39,39 @@ public class InjuryRecordImpl extends ServiceImpl<InjuryRecordMapper, InjuryReco
                 .filter(dto -> dto.getLatitude() != null && dto.getLongitude() != null)
                 .collect(Collectors.toList());
     }
+    @SharedStatisticsQuery
     @Override
     public List<AddressCountDTO> getLocationsByTimeRange(String startDate, String endDate, List<Integer> timePeriods) {
         return baseMapper.selectLocationsByTimeRange(startDate, endDate, timePeriods);
     }
 
+    @SharedStatisticsQuery
     @Override
     public List<AddressCountDTO> getLocationsBySeasonsAndTime(List<Integer> seasons, List<Integer> timePeriods, List<Integer> years) {
         return baseMapper.selectLocationsBySeasonsAndTime(seasons, timePeriods, years);
     }
 
+    @SharedStatisticsQuery
     @Override
     public List<HourlyStatisticsDTO> getHourlyStatistics(Integer year, List<Integer> seasons, String startDate, String endDate) {
+        // 优先使用按（日期, 小时）预聚合的结果，聚合表不可用时回退到明细查询
+        if (injuryHourCubeService.isReady()) {
+            return injuryHourCubeService.getHourlyStatistics(year, seasons, startDate, endDate);
+        }
         return baseMapper.selectHourlyStatistics(year, seasons, startDate, endDate);
     }
 
+    @SharedStatisticsQuery
     @Override
     public List<HourlyGroupStatisticsDTO> getHourlyStatisticsByGroups(Integer year, List<Integer> seasons, String startDate, String endDate, List<HourlyGroupDTO> groups) {
         if (groups == null || groups.isEmpty()) {
             return new ArrayList<>();
         }
         
+        // 一次扫描取出每小时的去重患者集合，各分组的去重人数在内存中做并集得到，
+        // 查询次数不再随分组数量增长
+        BitSet[] patientsByHour = loadPatientsByHour(year, seasons, startDate, endDate);
+
         List<HourlyGroupStatisticsDTO> result = new ArrayList<>();
         
         for (HourlyGroupDTO group : groups) {
@@ -57,11 +79,14 @@ public class InjuryRecordImpl extends ServiceImpl<InjuryRecordMapper, InjuryReco
                 continue;
             }
             
-            // 查询该组的患者总数
-            Integer count = baseMapper.selectPatientCountByHours(year, seasons, startDate, endDate, group.getHours());
-            if (count == null) {
-                count = 0;
+            // 该组的患者总数（跨小时去重）
+            BitSet union = new BitSet();
+            for (Integer hour : group.getHours()) {
+                if (hour != null && hour >= 0 && hour < HOURS_PER_DAY) {
+                    union.or(patientsByHour[hour]);
+                }
             }
+            Integer count = union.cardinality();
             
             // 生成组标签（如 "0-1,1-2,2-3"）
             String groupLabel = group.getHours().stream()
@@ -90,8 +115,36 @@ public class InjuryRecordImpl extends ServiceImpl<InjuryRecordMapper, InjuryReco
         return result;
     }
 
+    /**
+     * 按小时加载去重患者集合（位图下标即患者ID）
+     */
+    private BitSet[] loadPatientsByHour(Integer year, List<Integer> seasons, String startDate, String endDate) {
+        BitSet[] patientsByHour = new BitSet[HOURS_PER_DAY];
+        for (int h = 0; h < HOURS_PER_DAY; h++) {
+            patientsByHour[h] = new BitSet();
+        }
+        List<Map<String, Object>> rows = baseMapper.selectDistinctPatientHours(year, seasons, startDate, endDate);
+        for (Map<String, Object> row : rows) {
+            Object hour = row.get("hour");
+            Object patientId = row.get("patient_id");
+            if (hour == null || patientId == null) {
+                continue;
+            }
+            int h = ((Number) hour).intValue();
+            int id = ((Number) patientId).intValue();
+            if (h >= 0 && h < HOURS_PER_DAY && id >= 0) {
+                patientsByHour[h].set(id);
+            }
+        }
+        return patientsByHour;
+    }
+
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getAvailableYears() {
+        if (injuryHourCubeService.isReady()) {
+            return injuryHourCubeService.getAvailableYears();
+        }
         return baseMapper.selectAvailableYears();
     }
 
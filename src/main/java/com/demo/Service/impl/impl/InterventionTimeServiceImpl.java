@@ -2,15 +2,20 @@ package com.demo.Service.impl.impl;
 
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.demo.cache.SharedStatisticsQuery;
 import com.demo.entity.InterventionTime;
 import com.demo.mapper.InterventionTimeMapper;
 import com.demo.Service.impl.IInterventionTimeService;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.PatientDetailCache;
 import com.demo.dto.TimelineEventDTO;
 import com.demo.dto.TimelineStatisticsDTO;
 import com.demo.dto.AllKeyEventsStatisticsDTO;
 import com.demo.dto.KeyEventStatisticsDTO;
 import com.demo.dto.DataErrorDTO;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -25,10 +30,16 @@ import java.util.stream.Collectors;
 @Service
 public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMapper, InterventionTime> implements IInterventionTimeService {
 
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
 
     @Override
     public List<InterventionTime> getByPatientId(Integer patientId) {
-        return baseMapper.selectByPatientId(patientId);
+        return patientDetailCache.get(PatientDetailCache.INTERVENTION, patientId, null,
+                () -> baseMapper.selectByPatientId(patientId));
     }
 
     @Override
@@ -205,6 +216,7 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
         return nonKeyEvents;
     }
 
+    @SharedStatisticsQuery
     @Override
     public TimelineStatisticsDTO getEventStatistics(String eventType) {
         return getEventStatistics(eventType, null);
@@ -424,8 +436,23 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
     /**
      * 获取所有关键事件的正态分布统计信息
      */
+    @SharedStatisticsQuery
     @Override
     public AllKeyEventsStatisticsDTO getAllKeyEventsStatistics() {
+        // 获取所有患者数据
+        List<InterventionTime> allInterventions = baseMapper.selectAll();
+        AllKeyEventsStatisticsDTO result = computeKeyEventsStatistics(allInterventions);
+
+        // 保存错误数据到txt文件
+        saveErrorDataToFile(result.getErrorData());
+
+        return result;
+    }
+
+    /**
+     * 根据干预时间记录计算各关键事件的统计信息（不访问数据库、不写错误文件）
+     */
+    AllKeyEventsStatisticsDTO computeKeyEventsStatistics(List<InterventionTime> allInterventions) {
         // 定义关键事件列表：事件名称、事件类型key、获取事件时间的方法
         Map<String, EventInfo> keyEventsMap = new LinkedHashMap<>();
         keyEventsMap.put("入室", new EventInfo("admission", (intervention, admissionDate) -> 
@@ -447,9 +474,6 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
             return parseDateTime(deathDate, intervention.getDeathTime());
         }));
         
-        // 获取所有患者数据
-        List<InterventionTime> allInterventions = baseMapper.selectAll();
-        
         // 存储所有错误数据
         List<DataErrorDTO> allErrorData = new ArrayList<>();
         
@@ -548,9 +572,6 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
             eventStatisticsList.add(stats);
         }
         
-        // 保存错误数据到txt文件
-        saveErrorDataToFile(allErrorData);
-        
         // 创建返回DTO
         AllKeyEventsStatisticsDTO result = new AllKeyEventsStatisticsDTO();
         result.setEventStatistics(eventStatisticsList);
@@ -784,8 +805,10 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
      * 更新干预时间记录
      * 使用 UpdateWrapper 来确保 null 值也能被更新（允许清空字段）
      * 针对事件的时间字段：如果值为"否"、"无"或空值，则转换为null；否则存储正确的时间
+     * 在事务中执行，使聚合表按本患者的接诊日期在提交前增量刷新
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean updateInterventionTime(InterventionTime interventionTime) {
         if (interventionTime == null || interventionTime.getPatientId() == null) {
             return false;
@@ -803,7 +826,11 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
         if (existing == null) {
             // 如果不存在，则插入新记录
             interventionTime.setInterventionId(null); // 确保ID为null，让数据库自动生成
-            return save(interventionTime);
+            boolean saved = save(interventionTime);
+            if (saved) {
+                refreshDerivedStatistics(interventionTime.getPatientId());
+            }
+            return saved;
         } else {
             // 如果存在，则更新记录
             // 使用 UpdateWrapper 来显式更新所有字段，包括 null 值
@@ -840,9 +867,22 @@ public class InterventionTimeServiceImpl extends ServiceImpl<InterventionTimeMap
             updateWrapper.set("death_date", interventionTime.getDeathDate());
             updateWrapper.set("death_time", interventionTime.getDeathTime());
             
-            return update(updateWrapper);
+            boolean updated = update(updateWrapper);
+            if (updated) {
+                refreshDerivedStatistics(interventionTime.getPatientId());
+            }
+            return updated;
         }
     }
+
+    /**
+     * 干预时间记录新增或修改后，报告受影响的患者：每日统计聚合表（病例连接、死亡）和趋势序列（死亡、CT时间）按其接诊日期刷新
+     */
+    private void refreshDerivedStatistics(Integer patientId) {
+        patientDetailCache.invalidate(patientId);
+        List<Integer> patientIds = Collections.singletonList(patientId);
+        dataChangeTracker.reportPatients(patientIds);
+    }
     
     /**
      * 处理时间字段：将"否"、"无"、空值转换为null
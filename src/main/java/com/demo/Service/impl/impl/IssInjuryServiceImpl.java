@@ -2,44 +2,68 @@ package com.demo.Service.impl.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.demo.Service.impl.IIssInjuryService;
+import com.demo.cache.PatientDetailCache;
 import com.demo.dto.IssInjuryDTO;
 import com.demo.entity.IssInjury;
 import com.demo.mapper.IssInjuryMapper;
+import com.demo.utils.PatientIdBatches;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class IssInjuryServiceImpl extends ServiceImpl<IssInjuryMapper, IssInjury> implements IIssInjuryService {
     @Autowired
     private IssInjuryMapper issInjuryMapper;
+    @Autowired
+    private PatientDetailCache patientDetailCache;
     @Override
     public IssInjury getByPatientId(Integer patientId) {
         return baseMapper.selectByPatientId(patientId);
     }
     @Override
     public IssInjuryDTO getInjuryDTOByPatientId(Integer patientId) {
-        IssInjury injury = getByPatientId(patientId);
-        if (injury == null) {
-            return null; // 或抛异常
+        return patientDetailCache.get(PatientDetailCache.ISS, patientId, null, () -> {
+            IssInjury injury = getByPatientId(patientId);
+            if (injury == null) {
+                return null; // 或抛异常
+            }
+            return toInjuryDTO(injury);
+        });
+    }
+
+    @Override
+    public Map<Integer, IssInjuryDTO> getInjuryDTOsByPatientIds(List<Integer> patientIds) {
+        Map<Integer, IssInjuryDTO> result = new TreeMap<>();
+        for (List<Integer> batch : PatientIdBatches.partition(patientIds)) {
+            for (IssInjury injury : baseMapper.selectLatestByPatientIds(batch)) {
+                result.put(injury.getPatientId(), toInjuryDTO(injury));
+            }
         }
+        return result;
+    }
 
+    private static IssInjuryDTO toInjuryDTO(IssInjury injury) {
         // 计算伤情等级
-        int severity;
-        if (injury.getIssScore() <= 16) {
-            severity = 0; // 轻伤
-        } else if (injury.getIssScore() > 25) {
-            severity = 2; // 严重
-        } else {
-            severity = 1; // 重伤
+        Integer severity = null;
+        if (injury.getIssScore() != null) {
+            if (injury.getIssScore() <= 16) {
+                severity = 0; // 轻伤
+            } else if (injury.getIssScore() > 25) {
+                severity = 2; // 严重
+            } else {
+                severity = 1; // 重伤
+            }
         }
 
         // 复制公共字段
         IssInjuryDTO dto = new IssInjuryDTO();
         BeanUtils.copyProperties(injury, dto);
-        dto.setPatientId(patientId);
+        dto.setPatientId(injury.getPatientId());
         dto.setInjurySeverity(severity);
 
         return dto;
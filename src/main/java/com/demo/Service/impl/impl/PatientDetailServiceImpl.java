@@ -0,0 +1,158 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.IGcsScoreService;
+import com.demo.Service.IPatientInfoOffAdmissionService;
+import com.demo.Service.IPatientInfoOnAdmissionService;
+import com.demo.Service.IRtsScoreService;
+import com.demo.Service.impl.IInterventionTimeService;
+import com.demo.Service.impl.IIssInjuryService;
+import com.demo.Service.impl.IPatientDetailService;
+import com.demo.Service.impl.IPatientInjuryDetailService;
+import com.demo.Service.impl.IPatientService;
+import com.demo.dto.GcsScoreWithPatientDTO;
+import com.demo.dto.IssInjuryDTO;
+import com.demo.dto.PatientFullDTO;
+import com.demo.dto.PatientInjuryDetailDTO;
+import com.demo.dto.RtsScoreWithPatientDTO;
+import com.demo.dto.TimelineEventDTO;
+import com.demo.entity.Patient;
+import com.demo.entity.PatientInfoOffAdmission;
+import com.demo.entity.PatientInfoOnAdmission;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 患者详情页聚合服务实现
+ * 各分区查询在患者详情线程池中并行执行，详情页一次请求即可加载，总耗时取决于最慢的分区
+ */
+@Slf4j
+@Service
+public class PatientDetailServiceImpl implements IPatientDetailService {
+
+    @Autowired
+    private IPatientService patientService;
+
+    @Autowired
+    private IGcsScoreService gcsScoreService;
+
+    @Autowired
+    private IRtsScoreService rtsScoreService;
+
+    @Autowired
+    private IIssInjuryService issInjuryService;
+
+    @Autowired
+    private IPatientInjuryDetailService patientInjuryDetailService;
+
+    @Autowired
+    private IPatientInfoOnAdmissionService patientInfoOnAdmissionService;
+
+    @Autowired
+    private IPatientInfoOffAdmissionService patientInfoOffAdmissionService;
+
+    @Autowired
+    private IInterventionTimeService interventionTimeService;
+
+    @Autowired
+    @Qualifier("patientDetailExecutor")
+    private ThreadPoolTaskExecutor patientDetailExecutor;
+
+    /**
+     * 整体等待时间上限（秒），超时的分区记为失败
+     */
+    @Value("${patient.detail.timeout-seconds:10}")
+    private long timeoutSeconds;
+
+    @Override
+    public PatientFullDTO getPatientFull(Integer patientId) {
+        if (patientId == null || patientId <= 0) {
+            throw new BusinessException(ErrorCode.PATIENT_ID_INVALID.getCode(), ErrorCode.PATIENT_ID_INVALID.getMessage());
+        }
+        long start = System.currentTimeMillis();
+
+        CompletableFuture<Patient> patient = submit(() -> patientService.getById(patientId));
+        CompletableFuture<Object> gcs = submit(() -> {
+            // 与 /api/gcs/score/{id} 一致：无带患者信息的结果时回退到评分记录
+            GcsScoreWithPatientDTO withPatient = gcsScoreService.getGcsScoreWithPatientInfo(patientId);
+            return withPatient != null ? withPatient : gcsScoreService.getGcsScoreByPatientId(patientId);
+        });
+        CompletableFuture<Object> rts = submit(() -> {
+            RtsScoreWithPatientDTO withPatient = rtsScoreService.getRtsScoreWithPatientInfo(patientId);
+            return withPatient != null ? withPatient : rtsScoreService.getRtsScoreByPatientId(patientId);
+        });
+        CompletableFuture<IssInjuryDTO> iss = submit(() -> issInjuryService.getInjuryDTOByPatientId(patientId));
+        CompletableFuture<PatientInjuryDetailDTO> details = submit(() -> patientInjuryDetailService.getInjuryDetailsByPatientId(patientId));
+        CompletableFuture<PatientInfoOnAdmission> onAdmission = submit(() ->
+                patientInfoOnAdmissionService.getPatientInfoOnAdmissionByPatientId(patientId));
+        CompletableFuture<PatientInfoOffAdmission> offAdmission = submit(() ->
+                patientInfoOffAdmissionService.getPatientInfoOffAdmissionByPatientId(patientId));
+        CompletableFuture<List<TimelineEventDTO>> timeline = submit(() -> interventionTimeService.getTimelineEvents(patientId));
+
+        awaitAll(patient, gcs, rts, iss, details, onAdmission, offAdmission, timeline);
+
+        // 在请求线程中组装结果，避免超时后仍在运行的任务并发写入DTO
+        PatientFullDTO full = new PatientFullDTO();
+        Map<String, String> errors = new LinkedHashMap<>();
+        collect("patient", patient, full::setPatient, errors);
+        if (errors.isEmpty() && full.getPatient() == null) {
+            throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND.getCode(), ErrorCode.PATIENT_NOT_FOUND.getMessage());
+        }
+        collect("gcsScore", gcs, full::setGcsScore, errors);
+        collect("rtsScore", rts, full::setRtsScore, errors);
+        collect("issInjury", iss, full::setIssInjury, errors);
+        collect("injuryDetails", details, full::setInjuryDetails, errors);
+        collect("onAdmission", onAdmission, full::setOnAdmission, errors);
+        collect("offAdmission", offAdmission, full::setOffAdmission, errors);
+        collect("timeline", timeline, full::setTimeline, errors);
+        full.setErrors(errors);
+
+        log.debug("患者详情聚合查询完成: patientId={}, 耗时 {} ms, 失败分区 {}",
+                patientId, System.currentTimeMillis() - start, errors.keySet());
+        return full;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, patientDetailExecutor);
+    }
+
+    private void awaitAll(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // 单个分区的失败或超时在 collect 中分别记录
+        }
+    }
+
+    private <T> void collect(String section, CompletableFuture<T> future, Consumer<T> setter, Map<String, String> errors) {
+        if (!future.isDone()) {
+            future.cancel(true);
+            errors.put(section, "查询超时");
+            return;
+        }
+        try {
+            setter.accept(future.join());
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("患者详情分区 {} 查询失败: {}", section, cause.getMessage(), cause);
+            errors.put(section, cause.getMessage());
+        }
+    }
+}
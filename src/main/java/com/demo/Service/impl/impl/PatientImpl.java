@@ -1,6 +1,8 @@
 package com.demo.Service.impl.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.demo.Service.impl.IPatientService;
@@ -11,22 +13,74 @@ import com.demo.Service.IGcsScoreService;
 import com.demo.Service.IRtsScoreService;
 import com.demo.Service.IPatientInfoOnAdmissionService;
 import com.demo.Service.IPatientInfoOffAdmissionService;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.DataVersion;
+import com.demo.cache.PatientDetailCache;
+import com.demo.cache.StatisticsResultCache;
+import com.demo.dto.PatientBulkDeleteDTO;
+import com.demo.dto.PatientBulkDeleteResultDTO;
 import com.demo.dto.PatientPageDTO;
 import com.demo.dto.PatientQueryDTO;
 import com.demo.dto.PatientUpdateResultDTO;
+import com.demo.entity.GcsScore;
+import com.demo.entity.InjuryRecord;
+import com.demo.entity.IssInjury;
 import com.demo.entity.Patient;
 import com.demo.entity.InterventionTime;
 import com.demo.entity.InterventionExtra;
+import com.demo.entity.PatientInfoOffAdmission;
+import com.demo.entity.PatientInfoOnAdmission;
+import com.demo.entity.RtsScore;
 import com.demo.mapper.PatientMapper;
 import com.demo.mapper.InterventionExtraMapper;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.utils.PatientFieldProjection;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements IPatientService {
 
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_KEYSET_PAGE_SIZE = 1000;
+
+    /**
+     * 流式输出时的刷新间隔（行）
+     */
+    private static final int STREAM_FLUSH_ROWS = 500;
+
+    /**
+     * 批量删除时单条 IN 语句的患者数
+     */
+    private static final int BULK_DELETE_CHUNK = 500;
+
+    /**
+     * 单次批量删除的患者数上限
+     */
+    private static final int MAX_BULK_DELETE_PATIENTS = 10000;
+
     @Autowired
     private IInjuryRecordService injuryRecordService;
 
@@ -51,12 +105,91 @@ public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements
     @Autowired
     private InterventionExtraMapper interventionExtraMapper;
 
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private StatisticsResultCache resultCache;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     public PatientPageDTO getPatientPage(PatientQueryDTO queryDTO) {
-        // 创建分页对象
-        Page<Patient> page = new Page<>(queryDTO.getCurrent(), queryDTO.getSize());
+        // 总数按筛选条件缓存，翻页时不再重复 COUNT(*)
+        long total = countPatients(queryDTO);
+        if (queryDTO.getAfterId() != null) {
+            return getPatientPageAfter(queryDTO, total);
+        }
+
+        // 创建分页对象（不执行分页插件的 COUNT 查询）
+        Page<Patient> page = new Page<>(queryDTO.getCurrent(), queryDTO.getSize(), false);
+        
+        // 构建查询条件，按患者ID排序
+        LambdaQueryWrapper<Patient> queryWrapper = buildPatientFilter(queryDTO);
+        queryWrapper.orderByAsc(Patient::getPatientId);
+        
+        // 执行分页查询
+        Page<Patient> result = this.page(page, queryWrapper);
+        result.setTotal(total);
         
-        // 构建查询条件
+        // 构建返回结果
+        PatientPageDTO pageDTO = new PatientPageDTO();
+        pageDTO.setRecords(result.getRecords());
+        pageDTO.setTotal(result.getTotal());
+        pageDTO.setCurrent(result.getCurrent());
+        pageDTO.setSize(result.getSize());
+        pageDTO.setPages(result.getPages());
+        
+        return pageDTO;
+    }
+
+    /**
+     * 游标分页：WHERE patient_id > afterId ORDER BY patient_id LIMIT size，
+     * 走主键索引范围扫描，任意深度的翻页开销相同
+     */
+    private PatientPageDTO getPatientPageAfter(PatientQueryDTO queryDTO, long total) {
+        int size = queryDTO.getSize() == null || queryDTO.getSize() < 1 ? 10 : Math.min(queryDTO.getSize(), MAX_KEYSET_PAGE_SIZE);
+
+        LambdaQueryWrapper<Patient> queryWrapper = buildPatientFilter(queryDTO);
+        queryWrapper.gt(Patient::getPatientId, queryDTO.getAfterId())
+                .orderByAsc(Patient::getPatientId)
+                .last("LIMIT " + size);
+        List<Patient> records = this.list(queryWrapper);
+
+        PatientPageDTO pageDTO = new PatientPageDTO();
+        pageDTO.setRecords(records);
+        pageDTO.setTotal(total);
+        pageDTO.setSize((long) size);
+        pageDTO.setPages((total + size - 1) / size);
+        pageDTO.setNextAfterId(records.size() == size ? records.get(records.size() - 1).getPatientId() : null);
+        return pageDTO;
+    }
+
+    /**
+     * 按筛选条件统计患者总数
+     * 结果以 筛选条件 + 数据版本 为键放入统计结果缓存，导入、删除等写入后自动失效
+     */
+    private long countPatients(PatientQueryDTO queryDTO) {
+        List<Object> key = Arrays.asList("patientCount", queryDTO.getPatientId(),
+                StringUtils.hasText(queryDTO.getGender()) ? queryDTO.getGender() : null,
+                queryDTO.getMinAge(), queryDTO.getMaxAge(), dataVersion.current());
+        Object cached = resultCache.get(key);
+        if (cached != null) {
+            return (Long) cached;
+        }
+        long total = this.count(buildPatientFilter(queryDTO));
+        resultCache.put(key, total);
+        return total;
+    }
+
+    private LambdaQueryWrapper<Patient> buildPatientFilter(PatientQueryDTO queryDTO) {
         LambdaQueryWrapper<Patient> queryWrapper = new LambdaQueryWrapper<>();
         
         // 按患者ID查询
@@ -76,22 +209,37 @@ public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements
         if (queryDTO.getMaxAge() != null) {
             queryWrapper.le(Patient::getAge, queryDTO.getMaxAge());
         }
-        
-        // 按患者ID排序
-        queryWrapper.orderByAsc(Patient::getPatientId);
-        
-        // 执行分页查询
-        Page<Patient> result = this.page(page, queryWrapper);
-        
-        // 构建返回结果
-        PatientPageDTO pageDTO = new PatientPageDTO();
-        pageDTO.setRecords(result.getRecords());
-        pageDTO.setTotal(result.getTotal());
-        pageDTO.setCurrent(result.getCurrent());
-        pageDTO.setSize(result.getSize());
-        pageDTO.setPages(result.getPages());
-        
-        return pageDTO;
+        return queryWrapper;
+    }
+
+    /**
+     * 只读事务保证游标遍历期间占用同一连接；每 {@value #STREAM_FLUSH_ROWS} 行刷新一次输出，首字节尽早到达客户端
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writePatientList(OutputStream out, List<String> fields) throws IOException {
+        long total = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+             Cursor<Patient> cursor = baseMapper.selectAllCursor()) {
+            // 输出流由框架关闭；中途失败时不自动补全括号，客户端得到不完整的JSON而不是截断的“成功”结果
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeNullField("errorMsg");
+            generator.writeNumberField("code", ErrorCode.SUCCESS.getCode());
+            generator.writeArrayFieldStart("data");
+            generator.flush();
+            for (Patient patient : cursor) {
+                PatientFieldProjection.write(generator, patient, fields);
+                if (++total % STREAM_FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("total", total);
+            generator.writeEndObject();
+        }
     }
 
     @Override
@@ -114,11 +262,19 @@ public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements
                     .eq(InterventionTime::getPatientId, patientId)
             );
 
-            // 3. 删除病例记录
+            // 3. 删除病例记录（先记下接诊日期，提交前据此刷新聚合表）
+            List<LocalDate> admissionDates = injuryRecordService.list(
+                new LambdaQueryWrapper<com.demo.entity.InjuryRecord>()
+                    .select(com.demo.entity.InjuryRecord::getAdmissionDate)
+                    .eq(com.demo.entity.InjuryRecord::getPatientId, patientId)
+            ).stream().map(com.demo.entity.InjuryRecord::getAdmissionDate).collect(Collectors.toList());
             injuryRecordService.remove(
                 new LambdaQueryWrapper<com.demo.entity.InjuryRecord>()
                     .eq(com.demo.entity.InjuryRecord::getPatientId, patientId)
             );
+            // 聚合表在事务提交前按这些日期刷新，此时评分等关联数据也已删除
+            dataChangeTracker.reportAdmissionDates(admissionDates);
+            dataChangeTracker.reportPatients(Collections.singletonList(patientId));
 
             // 4. 删除ISS创伤严重度信息
             issInjuryService.remove(
@@ -152,6 +308,7 @@ public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements
 
             // 9. 最后删除患者基本信息
             boolean result = this.removeById(patientId);
+            patientDetailCache.invalidate(patientId);
 
             return result;
         } catch (Exception e) {
@@ -159,6 +316,92 @@ public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements
         }
     }
 
+    /**
+     * 每个表按 {@value #BULK_DELETE_CHUNK} 个患者一块执行 DELETE ... IN，删除顺序与单个删除一致（先关联表，最后患者表）；
+     * 聚合表、趋势序列按被删病例的接诊日期统一刷新一次
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public PatientBulkDeleteResultDTO deletePatients(PatientBulkDeleteDTO request) {
+        List<Integer> patientIds = resolveBulkDeleteIds(request);
+
+        Map<String, Integer> tableCounts = new LinkedHashMap<>();
+        Set<LocalDate> admissionDates = new LinkedHashSet<>();
+        for (int from = 0; from < patientIds.size(); from += BULK_DELETE_CHUNK) {
+            List<Integer> chunk = patientIds.subList(from, Math.min(from + BULK_DELETE_CHUNK, patientIds.size()));
+
+            for (InjuryRecord record : injuryRecordService.list(new LambdaQueryWrapper<InjuryRecord>()
+                    .select(InjuryRecord::getAdmissionDate)
+                    .in(InjuryRecord::getPatientId, chunk))) {
+                if (record != null) {
+                    // null 日期对应每日统计聚合表中接诊日期为空的汇总行
+                    admissionDates.add(record.getAdmissionDate());
+                }
+            }
+
+            tableCounts.merge("intervention_extra", deleteByPatientIds(interventionExtraMapper, InterventionExtra::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("interventiontime", deleteByPatientIds(interventionTimeService.getBaseMapper(), InterventionTime::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("injuryrecord", deleteByPatientIds(injuryRecordService.getBaseMapper(), InjuryRecord::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("iss_patient_injury_severity", deleteByPatientIds(issInjuryService.getBaseMapper(), IssInjury::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("gcs_score", deleteByPatientIds(gcsScoreService.getBaseMapper(), GcsScore::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("rts_score", deleteByPatientIds(rtsScoreService.getBaseMapper(), RtsScore::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("patient_info_on_admission", deleteByPatientIds(patientInfoOnAdmissionService.getBaseMapper(), PatientInfoOnAdmission::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("patient_info_off_admission", deleteByPatientIds(patientInfoOffAdmissionService.getBaseMapper(), PatientInfoOffAdmission::getPatientId, chunk), Integer::sum);
+            tableCounts.merge("patient", deleteByPatientIds(baseMapper, Patient::getPatientId, chunk), Integer::sum);
+        }
+
+        dataChangeTracker.reportAdmissionDates(admissionDates);
+        dataChangeTracker.reportPatients(patientIds);
+        patientDetailCache.invalidate(patientIds);
+
+        PatientBulkDeleteResultDTO result = new PatientBulkDeleteResultDTO();
+        result.setRequestedPatients(patientIds.size());
+        result.setDeletedPatients(tableCounts.getOrDefault("patient", 0));
+        result.setTableCounts(tableCounts);
+        return result;
+    }
+
+    private <T> int deleteByPatientIds(BaseMapper<T> mapper, SFunction<T, ?> patientIdColumn, List<Integer> patientIds) {
+        return mapper.delete(new LambdaQueryWrapper<T>().in(patientIdColumn, patientIds));
+    }
+
+    /**
+     * 解析待删除的患者ID（去重、升序）
+     */
+    private List<Integer> resolveBulkDeleteIds(PatientBulkDeleteDTO request) {
+        if (request == null) {
+            throw new BusinessException(ErrorCode.PARAM_MISSING.getCode(), "请指定患者ID或筛选条件");
+        }
+        List<Integer> patientIds;
+        if (request.getPatientIds() != null && !request.getPatientIds().isEmpty()) {
+            patientIds = request.getPatientIds().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+        } else {
+            // 不允许无条件删除全部患者
+            if (!StringUtils.hasText(request.getGender()) && request.getMinAge() == null && request.getMaxAge() == null) {
+                throw new BusinessException(ErrorCode.PARAM_MISSING.getCode(), "请指定患者ID或至少一个筛选条件");
+            }
+            PatientQueryDTO filter = new PatientQueryDTO();
+            filter.setGender(request.getGender());
+            filter.setMinAge(request.getMinAge());
+            filter.setMaxAge(request.getMaxAge());
+            patientIds = this.list(buildPatientFilter(filter)
+                            .select(Patient::getPatientId)
+                            .orderByAsc(Patient::getPatientId))
+                    .stream()
+                    .map(Patient::getPatientId)
+                    .collect(Collectors.toList());
+        }
+        if (patientIds.size() > MAX_BULK_DELETE_PATIENTS) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(),
+                    "单次最多删除 " + MAX_BULK_DELETE_PATIENTS + " 位患者，当前 " + patientIds.size() + " 位");
+        }
+        return patientIds;
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public PatientUpdateResultDTO updatePatient(Patient patient) {
@@ -216,6 +459,8 @@ public class PatientImpl extends ServiceImpl<PatientMapper, Patient> implements
         if (!result) {
             return PatientUpdateResultDTO.fail("更新患者信息失败");
         }
+        // GCS等详情中带有患者年龄、性别
+        patientDetailCache.invalidate(patient.getPatientId());
         
         // 9. 获取更新后的患者信息
         Patient updatedPatient = this.getById(patient.getPatientId());
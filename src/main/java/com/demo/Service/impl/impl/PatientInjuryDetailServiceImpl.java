@@ -2,6 +2,7 @@ package com.demo.Service.impl.impl;
 
 import com.demo.Service.impl.IIssInjuryService;
 import com.demo.Service.impl.IPatientInjuryDetailService;
+import com.demo.cache.PatientDetailCache;
 import com.demo.dto.IssInjuryDTO;
 import com.demo.dto.PatientInjuryDetailDTO;
 import com.demo.entity.IssInjury;
@@ -22,6 +23,9 @@ public class PatientInjuryDetailServiceImpl implements IPatientInjuryDetailServi
     
     @Autowired
     private PatientInjuryDetailMapper patientInjuryDetailMapper;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
     
     @Override
     public PatientInjuryDetailDTO getInjuryDetailsByPatientId(Integer patientId) {
@@ -65,6 +69,7 @@ public class PatientInjuryDetailServiceImpl implements IPatientInjuryDetailServi
      * 根据身体部位获取伤情详情
      */
     private List<com.demo.dto.InjuryDetailDTO> getInjuryDetailsByBodyPart(Integer patientId, String bodyPart) {
-        return patientInjuryDetailMapper.selectInjuryDetailsByPatientIdAndBodyPart(patientId, bodyPart);
+        return patientDetailCache.get(PatientDetailCache.INJURY_DETAIL, patientId, bodyPart,
+                () -> patientInjuryDetailMapper.selectInjuryDetailsByPatientIdAndBodyPart(patientId, bodyPart));
     }
 }
@@ -0,0 +1,225 @@
+package com.demo.Service.impl.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.Service.impl.IPatientRegionAisService;
+import com.demo.cache.DataChangeSet;
+import com.demo.cache.DataChangingEvent;
+import com.demo.cache.DataVersion;
+import com.demo.cache.RebuildScheduler;
+import com.demo.entity.IssInjury;
+import com.demo.entity.PatientRegionAis;
+import com.demo.mapper.IssInjuryMapper;
+import com.demo.mapper.PatientRegionAisMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 患者分区域AIS事实表维护服务实现
+ * 启动时全量重建，之后随ISS写入按患者增量维护（见 {@link DataChangingEvent}）：
+ * 写入方报告了患者时在写事务中重新生成这些患者的区域行，否则标记不可用并在事务结束后于后台全量重建；
+ * 不可用期间区域统计返回服务不可用，初始化或增量维护失败后同样于后台全量重建
+ */
+@Slf4j
+@Service
+public class PatientRegionAisServiceImpl implements IPatientRegionAisService {
+
+    /**
+     * 单批处理的患者数/插入行数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 区域标识与ISS表字段的对应关系（区域标识与统计接口的 bodyPart/bodyRegion 参数一致）
+     */
+    private static final Map<String, Function<IssInjury, String>> REGION_COLUMNS = new LinkedHashMap<>();
+    static {
+        REGION_COLUMNS.put("head_neck", IssInjury::getHeadNeck);
+        REGION_COLUMNS.put("face", IssInjury::getFace);
+        REGION_COLUMNS.put("chest", IssInjury::getChest);
+        REGION_COLUMNS.put("abdomen", IssInjury::getAbdomen);
+        REGION_COLUMNS.put("limbs", IssInjury::getLimbs);
+        REGION_COLUMNS.put("body", IssInjury::getBody);
+    }
+
+    @Autowired
+    private PatientRegionAisMapper patientRegionAisMapper;
+
+    @Autowired
+    private IssInjuryMapper issInjuryMapper;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 启动时的首次重建完成后为true；之后的后台重建需要递增数据版本
+     */
+    private volatile boolean initialized = false;
+
+    private final RebuildScheduler rebuildScheduler = new RebuildScheduler("patient-region-ais", this::rebuild);
+
+    /**
+     * 先于依赖本表的内存索引（PatientFacetIndex）初始化
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!rebuildScheduler.runNow()) {
+            log.warn("患者分区域AIS事实表初始化失败，身体区域统计暂不可用，将在后台重建");
+        }
+        initialized = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return rebuildScheduler.isReady();
+    }
+
+    /**
+     * 清空与重新插入在同一事务中提交，提交前其他会话读到的仍是旧数据。
+     * 由初始化和后台重建在本类内部调用，不经过代理，因此用 TransactionTemplate 而非 @Transactional
+     */
+    @Override
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<PatientRegionAis> rows = toRegionRows(issInjuryMapper.selectList(regionColumnsQuery()));
+        transactionTemplate.executeWithoutResult(status -> {
+            patientRegionAisMapper.deleteAll();
+            insertInBatches(rows);
+        });
+        log.info("患者分区域AIS事实表重建完成: {} 行, 耗时 {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 在写事务提交前执行，与ISS数据一起提交或回滚；被删除的患者在ISS表中已无记录，重新生成后即没有区域行。
+     * 维护失败不影响业务写入，只把事实表标记为不可用并安排后台重建
+     */
+    @EventListener
+    public void onDataChanging(DataChangingEvent event) {
+        DataChangeSet changes = event.getChanges();
+        if (!changes.touches(IssInjuryMapper.class)) {
+            return;
+        }
+        if (!changes.isScoped() || changes.getPatientIds().isEmpty()) {
+            rebuildScheduler.invalidate();
+            return;
+        }
+        if (!rebuildScheduler.isReady()) {
+            // 事实表不可用（或正在重建）：本次变更由重建覆盖
+            rebuildScheduler.requestAfterCompletion();
+            return;
+        }
+        List<Integer> ids = distinctIds(changes.getPatientIds());
+        try {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<Integer> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                patientRegionAisMapper.deleteByPatientIds(batch);
+                insertInBatches(toRegionRows(issInjuryMapper.selectList(regionColumnsQuery().in(IssInjury::getPatientId, batch))));
+            }
+            log.debug("患者分区域AIS事实表增量维护: {} 个患者", ids.size());
+        } catch (Exception e) {
+            log.error("患者分区域AIS事实表增量维护失败，身体区域统计暂不可用，将在后台重建", e);
+            rebuildScheduler.invalidate();
+        }
+    }
+
+    /**
+     * 建表（初始化可能在建表时失败）并全量重建；失败时由调度器标记为不可用。
+     * 启动后的重建成功时递增数据版本，使依赖本表的内存索引随之重建
+     */
+    private void rebuild() {
+        patientRegionAisMapper.createTableIfNotExists();
+        rebuildAll();
+        if (initialized) {
+            dataVersion.bump();
+        }
+    }
+
+    /**
+     * 解析"2|3"格式的区域分值，返回最高分值；无伤情（空、"0"、非数字）返回0
+     */
+    static int parseMaxAis(String scoreStr) {
+        if (scoreStr == null || scoreStr.trim().isEmpty()) {
+            return 0;
+        }
+        int max = 0;
+        for (String part : scoreStr.split("\\|")) {
+            part = part.trim();
+            if (part.matches("\\d{1,2}")) {
+                max = Math.max(max, Integer.parseInt(part));
+            }
+        }
+        return max;
+    }
+
+    private LambdaQueryWrapper<IssInjury> regionColumnsQuery() {
+        return new LambdaQueryWrapper<IssInjury>()
+                .select(IssInjury::getPatientId, IssInjury::getHeadNeck, IssInjury::getFace, IssInjury::getChest,
+                        IssInjury::getAbdomen, IssInjury::getLimbs, IssInjury::getBody);
+    }
+
+    /**
+     * 拆分为区域行；同一患者有多条ISS记录时取各区域最高分值
+     */
+    private List<PatientRegionAis> toRegionRows(List<IssInjury> injuries) {
+        Map<String, PatientRegionAis> merged = new LinkedHashMap<>();
+        for (IssInjury injury : injuries) {
+            if (injury == null || injury.getPatientId() == null) {
+                continue;
+            }
+            for (Map.Entry<String, Function<IssInjury, String>> entry : REGION_COLUMNS.entrySet()) {
+                int maxAis = parseMaxAis(entry.getValue().apply(injury));
+                if (maxAis <= 0) {
+                    continue;
+                }
+                String key = injury.getPatientId() + ":" + entry.getKey();
+                PatientRegionAis existing = merged.get(key);
+                if (existing == null) {
+                    merged.put(key, new PatientRegionAis(injury.getPatientId(), entry.getKey(), maxAis));
+                } else if (maxAis > existing.getMaxAis()) {
+                    existing.setMaxAis(maxAis);
+                }
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private void insertInBatches(List<PatientRegionAis> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            patientRegionAisMapper.insertBatch(rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private List<Integer> distinctIds(Collection<Integer> patientIds) {
+        List<Integer> ids = new ArrayList<>();
+        if (patientIds != null) {
+            ids.addAll(new LinkedHashSet<>(patientIds));
+            ids.removeIf(Objects::isNull);
+        }
+        return ids;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdown();
+    }
+}
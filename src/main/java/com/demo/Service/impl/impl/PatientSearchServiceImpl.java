@@ -0,0 +1,100 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IPatientSearchService;
+import com.demo.Service.impl.IPatientService;
+import com.demo.cache.PatientSearchIndex;
+import com.demo.cache.PatientSearchSnapshot;
+import com.demo.dto.PatientSearchHitDTO;
+import com.demo.dto.PatientSearchResultDTO;
+import com.demo.entity.Patient;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 患者全文检索服务实现
+ * 在内存倒排索引中求交集并排序，只对当前页的患者ID回表取基本信息，替代多字段 LIKE '%...%' 全表扫描
+ */
+@Service
+public class PatientSearchServiceImpl implements IPatientSearchService {
+
+    /**
+     * 每页大小上限
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 查询文本长度上限
+     */
+    static final int MAX_QUERY_LENGTH = 100;
+
+    @Autowired
+    private PatientSearchIndex patientSearchIndex;
+
+    @Autowired
+    private IPatientService patientService;
+
+    @Override
+    public PatientSearchResultDTO search(String query, Integer current, Integer size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAM_MISSING.getCode(), "请输入检索内容");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "检索内容不能超过 " + MAX_QUERY_LENGTH + " 个字符");
+        }
+        PatientSearchSnapshot snapshot = patientSearchIndex.latest();
+        if (snapshot == null) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE.getCode(), "检索索引正在构建，请稍后重试");
+        }
+        int pageNo = current == null || current < 1 ? 1 : current;
+        int pageSize = size == null || size < 1 ? 10 : Math.min(size, MAX_PAGE_SIZE);
+
+        List<PatientSearchSnapshot.Hit> hits = snapshot.search(query);
+        int from = (int) Math.min((long) (pageNo - 1) * pageSize, hits.size());
+        List<PatientSearchSnapshot.Hit> pageHits = hits.subList(from, Math.min(from + pageSize, hits.size()));
+
+        PatientSearchResultDTO result = new PatientSearchResultDTO();
+        result.setRecords(hydrate(pageHits));
+        result.setTotal((long) hits.size());
+        result.setCurrent((long) pageNo);
+        result.setSize((long) pageSize);
+        result.setStale(!patientSearchIndex.isCurrent(snapshot));
+        return result;
+    }
+
+    /**
+     * 按命中顺序回填患者信息；索引构建后被删除的患者跳过
+     */
+    private List<PatientSearchHitDTO> hydrate(List<PatientSearchSnapshot.Hit> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> ids = new ArrayList<>(hits.size());
+        for (PatientSearchSnapshot.Hit hit : hits) {
+            ids.add(hit.getPatientId());
+        }
+        Map<Integer, Patient> patients = new HashMap<>();
+        for (Patient patient : patientService.listByIds(ids)) {
+            patients.put(patient.getPatientId(), patient);
+        }
+        List<PatientSearchHitDTO> records = new ArrayList<>(hits.size());
+        for (PatientSearchSnapshot.Hit hit : hits) {
+            Patient patient = patients.get(hit.getPatientId());
+            if (patient == null) {
+                continue;
+            }
+            PatientSearchHitDTO record = new PatientSearchHitDTO();
+            record.setPatient(patient);
+            record.setScore(hit.getScore());
+            record.setMatchedFields(hit.getMatchedFields());
+            records.add(record);
+        }
+        return records;
+    }
+}
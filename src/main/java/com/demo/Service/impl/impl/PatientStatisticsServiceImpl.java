@@ -1,24 +1,38 @@
 package com.demo.Service.impl.impl;
 
+import com.demo.Service.impl.IDailyStatCubeService;
+import com.demo.Service.impl.IPatientRegionAisService;
 import com.demo.Service.impl.IPatientStatisticsService;
-import com.demo.dto.InterventionTimeDTO;
+import com.demo.cache.PatientFacetFilter;
+import com.demo.cache.PatientFacetIndex;
+import com.demo.cache.PatientFacetSnapshot;
+import com.demo.cache.SharedStatisticsQuery;
+import com.demo.dto.CrossfilterQueryDTO;
+import com.demo.dto.CrossfilterResultDTO;
 import com.demo.dto.PatientStatisticsDTO;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
 import com.demo.mapper.PatientStatisticsMapper;
+import com.demo.utils.InterventionDurationAccumulator;
+import com.demo.utils.InterventionStatisticsAccumulator;
+import com.demo.utils.PercentageUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * 患者统计服务实现类
@@ -26,10 +40,35 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
+
+    /**
+     * SQL中有对应条件的ISS/GCS分段取值，其他取值不添加分段条件
+     */
+    private static final List<String> ISS_SEGMENTS = Arrays.asList("light", "severe", "critical");
+    private static final List<String> GCS_SEGMENTS = Arrays.asList("clear", "mild", "moderate", "coma");
+
+    /**
+     * 交叉筛选直方图中固定输出的取值（计数为0也输出，保证前端图例稳定）
+     */
+    private static final List<String> SEASON_VALUES = Arrays.asList("0", "1", "2", "3");
+    private static final List<String> TIME_PERIOD_VALUES = Arrays.asList("0", "1", "2", "3", "4", "5");
+    private static final List<String> CAUSE_VALUES = Arrays.asList("0", "1", "2", "3", "4");
+    private static final List<String> DEATH_VALUES = Arrays.asList("1", "0");
+    private static final List<String> BODY_PART_VALUES = Arrays.asList("head_neck", "face", "chest", "abdomen", "limbs", "body");
     
     @Autowired
     private PatientStatisticsMapper patientStatisticsMapper;
+
+    @Autowired
+    private PatientFacetIndex patientFacetIndex;
+
+    @Autowired
+    private IDailyStatCubeService dailyStatCubeService;
+
+    @Autowired
+    private IPatientRegionAisService patientRegionAisService;
     
+    @SharedStatisticsQuery
     @Override
     public PatientStatisticsDTO getPatientStatistics(String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         
@@ -41,6 +80,20 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         // 如果所有筛选条件都为 null（包括日期范围和年份），不设置默认日期范围，查询所有数据
         // 只有当用户明确选择了筛选条件时，才应用日期范围限制
         
+        // 在Service层处理时间转换
+        Integer customStartTimeMinutes = null;
+        Integer customEndTimeMinutes = null;
+        if (customStartTime != null && customEndTime != null) {
+            customStartTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customStartTime);
+            customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
+        }
+        
+        // 总患者数、死亡人数、平均干预时间、最早接诊日期由一次流式扫描得到 - 支持自定义时间段筛选
+        InterventionStatisticsAccumulator statistics = new InterventionStatisticsAccumulator();
+        patientStatisticsMapper.getPatientStatisticsRows(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes, statistics);
+        long totalPatients = statistics.getPatientCount();
+        long deathCount = statistics.getDeathCount();
+        
         // 计算总天数
         long totalDays = 0;
         if (startDate != null && endDate != null) {
@@ -49,8 +102,8 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         LocalDate end = LocalDate.parse(endDate);
             totalDays = ChronoUnit.DAYS.between(start, end) + 1;
         } else {
-            // 如果查询全部数据（没有指定日期范围），获取最久远的日期，然后计算从最久远日期到当前日期的总天数
-            String earliestDate = patientStatisticsMapper.getEarliestAdmissionDate(year, season, timePeriod);
+            // 如果查询全部数据（没有指定日期范围），使用最久远的日期，计算从最久远日期到当前日期的总天数
+            String earliestDate = statistics.getEarliestRecordAdmissionDate();
             if (earliestDate != null && !earliestDate.isEmpty()) {
                 LocalDate start = LocalDate.parse(earliestDate);
                 LocalDate end = LocalDate.now();
@@ -58,47 +111,42 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             }
         }
         
-        // 在Service层处理时间转换
-        Integer customStartTimeMinutes = null;
-        Integer customEndTimeMinutes = null;
-        if (customStartTime != null && customEndTime != null) {
-            customStartTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customStartTime);
-            customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
-        }
-        
-        // 获取统计数据 - 现在支持自定义时间段筛选
-        Long totalPatients = patientStatisticsMapper.getTotalPatients(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
-        
-        // 获取干预时间原始数据，在Service层计算平均时间
-        List<InterventionTimeDTO> interventionTimeList = patientStatisticsMapper.getAverageInterventionTime(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
-        
-        Double averageInterventionTime = calculateAverageInterventionTime(interventionTimeList);
-        
-        Long deathCount = patientStatisticsMapper.getDeathCount(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
+        Double averageInterventionTime = statistics.getDurations().getAverageMinutes();
         
         // 计算日均患者数
         Double averagePatientsPerDay = 0.0;
-        if (totalDays > 0 && totalPatients != null) {
-            averagePatientsPerDay = totalPatients.doubleValue() / totalDays;
+        if (totalDays > 0) {
+            averagePatientsPerDay = (double) totalPatients / totalDays;
         }
         
         return new PatientStatisticsDTO(
-            totalPatients != null ? totalPatients : 0L,
+            totalPatients,
             averagePatientsPerDay,
             averageInterventionTime != null ? averageInterventionTime : 0.0,
-            deathCount != null ? deathCount : 0L,
+            deathCount,
             startDate,
             endDate,
             (int) totalDays
         );
     }
     
+    /**
+     * 是否从每日统计聚合表读取
+     * 聚合表按接诊日期、时间段、季节聚合，不含接诊时刻，自定义时间段筛选仍走明细查询
+     */
+    private boolean useDailyCube(String customStartTime, String customEndTime) {
+        return dailyStatCubeService.isReady() && (customStartTime == null || customEndTime == null);
+    }
+    
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getMonthlyTimeHeatmapData(Integer year, String startDate, String endDate, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         
         // 不设置默认值，如果参数为null，Mapper会查询全部数据
         // 只有在用户明确指定了筛选条件时，才使用这些条件进行查询
-        List<Map<String, Object>> rawData = patientStatisticsMapper.getMonthlyTimeHeatmapData(year, startDate, endDate, season, timePeriod, customStartTime, customEndTime);
+        List<Map<String, Object>> rawData = useDailyCube(customStartTime, customEndTime)
+            ? dailyStatCubeService.getMonthlyTimeRows(year, startDate, endDate, season, timePeriod)
+            : patientStatisticsMapper.getMonthlyTimeHeatmapData(year, startDate, endDate, season, timePeriod, customStartTime, customEndTime);
         
         // 处理7x13矩阵数据
         return processHeatmapData(rawData);
@@ -109,7 +157,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
      * @param rawData 原始数据
      * @return 处理后的矩阵数据
      */
-    private List<Map<String, Object>> processHeatmapData(List<Map<String, Object>> rawData) {
+    static List<Map<String, Object>> processHeatmapData(List<Map<String, Object>> rawData) {
         // 定义时间段顺序
         String[] timePeriods = {
             "night_0_7", "morning_rush_8_9", "lunch_rush_10_11", 
@@ -174,7 +222,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
      * 计算总和行和总和列
      * @param matrix 矩阵数据
      */
-    private void calculateTotals(int[][] matrix) {
+    private static void calculateTotals(int[][] matrix) {
         // 计算每行的总和（时间段总和）
         for (int i = 0; i < 6; i++) { // 前6行是时间段，第7行是总和行
             int rowSum = 0;
@@ -194,6 +242,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         }
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getInjuryAnalysisData(String startDate, String endDate, Integer season, Integer timePeriod) {
         // 如果没有指定日期范围，使用默认范围（最近一年）
@@ -204,9 +253,11 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             endDate = end.format(DateTimeFormatter.ISO_LOCAL_DATE);
         }
         
-        return patientStatisticsMapper.getInjuryAnalysisData(startDate, endDate, season, timePeriod);
+        return PercentageUtils.fromRollup(patientStatisticsMapper.getInjuryAnalysisData(startDate, endDate, season, timePeriod),
+            "injury_site", "patient_count", "record_total", 10);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getISSScoreDistributionData(String startDate, String endDate) {
         // 如果没有指定日期范围，使用默认范围（最近一年）
@@ -217,28 +268,34 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             endDate = end.format(DateTimeFormatter.ISO_LOCAL_DATE);
         }
         
-        return patientStatisticsMapper.getISSScoreDistributionData(startDate, endDate);
+        return PercentageUtils.fromRollup(patientStatisticsMapper.getISSScoreDistributionData(startDate, endDate),
+            "score_range", "patient_count", "record_total", null);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getBodyRegionInjuryData(String startDate, String endDate) {
         // 不设置默认值，只在传递了对应参数时才添加查询条件
         // startDate、endDate 如果为 null，则不在SQL中添加对应的查询条件
         
-        return patientStatisticsMapper.getBodyRegionInjuryData(startDate, endDate);
+        return PercentageUtils.fromRollup(patientStatisticsMapper.getBodyRegionInjuryData(startDate, endDate),
+            "body_region", "injury_count", "record_total", null);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getBodyRegionSunburstData(Integer season, Integer timePeriod, String startDate, String endDate, Integer year, String customStartTime, String customEndTime) {
         
         // 不设置默认值，只在传递了对应参数时才添加查询条件
         // year、startDate、endDate、season、timePeriod、customStartTime、customEndTime 如果为 null，则不在SQL中添加对应的查询条件
         
+        requireRegionTable();
         List<Map<String, Object>> rawData = patientStatisticsMapper.getBodyRegionSunburstData(season, timePeriod, startDate, endDate, year, customStartTime, customEndTime);
         
         return rawData;
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getInterventionTimeEfficiencyData(String startDate, String endDate) {
         // 如果没有指定日期范围，使用默认范围（最近一年）
@@ -249,93 +306,35 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             endDate = end.format(DateTimeFormatter.ISO_LOCAL_DATE);
         }
         
-        // 获取干预时间原始数据
-        List<InterventionTimeDTO> interventionTimeList = patientStatisticsMapper.getInterventionTimeEfficiencyData(startDate, endDate);
+        // 流式读取干预时间原始数据，一次扫描同时累加时间段分布与总患者数
+        InterventionStatisticsAccumulator statistics = new InterventionStatisticsAccumulator();
+        patientStatisticsMapper.getInterventionTimeEfficiencyData(startDate, endDate, statistics);
         
         // 在Service层计算时间段分布
-        return calculateInterventionTimeEfficiency(interventionTimeList, startDate, endDate);
-    }
-    
-    /**
-     * 计算平均干预时间（分钟）
-     * @param interventionTimeList 干预时间原始数据列表
-     * @return 平均干预时间（分钟），如果没有有效数据则返回null
-     */
-    private Double calculateAverageInterventionTime(List<InterventionTimeDTO> interventionTimeList) {
-        if (interventionTimeList == null || interventionTimeList.isEmpty()) {
-            return null;
-        }
-        
-        // 过滤出完整的数据（入室和离室时间都存在），并计算时间差
-        // 只计算合理的时间差（不超过48小时，即2880分钟）
-        List<Long> timeDiffs = interventionTimeList.stream()
-            .filter(InterventionTimeDTO::isComplete)
-            .map(this::calculateTimeDifferenceMinutes)
-            .filter(diff -> diff != null && diff >= 0 && diff <= 2880)  // 过滤掉无效的时间差和异常大的时间差
-            .collect(Collectors.toList());
-        
-        if (timeDiffs.isEmpty()) {
-            return null;
-        }
-        
-        // 计算平均值
-        long sum = timeDiffs.stream().mapToLong(Long::longValue).sum();
-        double average = (double) sum / timeDiffs.size();
-        
-        return average;
+        return calculateInterventionTimeEfficiency(statistics.getDurations(), statistics.getPatientCount());
     }
     
     /**
      * 计算干预时间效率数据（时间段分布）
-     * @param interventionTimeList 干预时间原始数据列表
-     * @param startDate 开始日期（用于计算总患者数）
-     * @param endDate 结束日期（用于计算总患者数）
+     * @param durations 已累加的干预时长统计
+     * @param totalPatients 总患者数（用于计算百分比）
      * @return 时间段分布数据
      */
     private List<Map<String, Object>> calculateInterventionTimeEfficiency(
-            List<InterventionTimeDTO> interventionTimeList, String startDate, String endDate) {
+            InterventionDurationAccumulator durations, long totalPatients) {
         
-        // 获取总患者数（用于计算百分比）
-        Long totalPatients = patientStatisticsMapper.getTotalPatients(startDate, endDate, null, null, null, null, null);
-        if (totalPatients == null || totalPatients == 0) {
+        if (totalPatients == 0) {
             totalPatients = 1L; // 避免除零
         }
         
-        // 初始化时间段统计
+        // 时间段统计
         Map<String, Integer> timeRangeCounts = new HashMap<>();
-        timeRangeCounts.put("无数据", 0);
-        timeRangeCounts.put("30分钟以内", 0);
-        timeRangeCounts.put("31-60分钟", 0);
-        timeRangeCounts.put("61-120分钟", 0);
-        timeRangeCounts.put("121-240分钟", 0);
-        timeRangeCounts.put("240分钟以上", 0);
-        
-        // 计算每个患者的时间差并分类
-        for (InterventionTimeDTO dto : interventionTimeList) {
-            String timeRange;
-            
-            if (!dto.isComplete()) {
-                // 数据不完整，归为"无数据"
-                timeRange = "无数据";
-            } else {
-                Long timeDiffMinutes = calculateTimeDifferenceMinutes(dto);
-                if (timeDiffMinutes == null || timeDiffMinutes < 0) {
-                    timeRange = "无数据";
-                } else if (timeDiffMinutes <= 30) {
-                    timeRange = "30分钟以内";
-                } else if (timeDiffMinutes <= 60) {
-                    timeRange = "31-60分钟";
-                } else if (timeDiffMinutes <= 120) {
-                    timeRange = "61-120分钟";
-                } else if (timeDiffMinutes <= 240) {
-                    timeRange = "121-240分钟";
-                } else {
-                    timeRange = "240分钟以上";
-                }
-            }
-            
-            timeRangeCounts.put(timeRange, timeRangeCounts.get(timeRange) + 1);
-        }
+        timeRangeCounts.put("无数据", durations.getBucketCount(InterventionDurationAccumulator.BUCKET_NO_DATA));
+        timeRangeCounts.put("30分钟以内", durations.getBucketCount(InterventionDurationAccumulator.BUCKET_WITHIN_30));
+        timeRangeCounts.put("31-60分钟", durations.getBucketCount(InterventionDurationAccumulator.BUCKET_31_60));
+        timeRangeCounts.put("61-120分钟", durations.getBucketCount(InterventionDurationAccumulator.BUCKET_61_120));
+        timeRangeCounts.put("121-240分钟", durations.getBucketCount(InterventionDurationAccumulator.BUCKET_121_240));
+        timeRangeCounts.put("240分钟以上", durations.getBucketCount(InterventionDurationAccumulator.BUCKET_OVER_240));
         
         // 构建返回数据
         List<Map<String, Object>> result = new ArrayList<>();
@@ -359,91 +358,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return result;
     }
     
-    /**
-     * 计算时间差（分钟）
-     * @param dto 干预时间DTO
-     * @return 时间差（分钟），如果计算失败或数据异常返回null
-     */
-    private Long calculateTimeDifferenceMinutes(InterventionTimeDTO dto) {
-        try {
-            // 将4位字符串时间（如"2326"）转换为LocalDateTime
-            LocalDateTime admissionDateTime = parseDateTime(dto.getAdmissionDate(), dto.getAdmissionTime());
-            LocalDateTime leaveDateTime = parseDateTime(dto.getLeaveSurgeryDate(), dto.getLeaveSurgeryTime());
-            
-            if (admissionDateTime == null || leaveDateTime == null) {
-                return null;
-            }
-            
-            // 计算时间差（分钟）
-            long minutes = ChronoUnit.MINUTES.between(admissionDateTime, leaveDateTime);
-            
-            // 如果时间差为负数，说明离室时间早于入室时间，数据异常
-            if (minutes < 0) {
-                return null;
-            }
-            
-            // 检查日期差是否异常（超过7天认为是数据错误）
-            long daysDiff = ChronoUnit.DAYS.between(admissionDateTime.toLocalDate(), leaveDateTime.toLocalDate());
-            if (daysDiff > 7) {
-                // 如果日期差超过7天，但时间上看起来应该是同一天或相邻天，尝试修正
-                // 例如：入室2024-11-26 23:26，离室2025-10-27 00:30，可能是年份错误
-                // 尝试将离室日期修正为入室日期的下一天
-                LocalDate admissionDate = admissionDateTime.toLocalDate();
-                
-                // 如果离室时间小于入室时间（跨天），且日期差很大，尝试修正
-                if (leaveDateTime.toLocalTime().isBefore(admissionDateTime.toLocalTime()) && daysDiff > 30) {
-                    // 尝试修正：将离室日期设为入室日期的下一天
-                    LocalDate correctedLeaveDate = admissionDate.plusDays(1);
-                    LocalDateTime correctedLeaveDateTime = LocalDateTime.of(correctedLeaveDate, leaveDateTime.toLocalTime());
-                    long correctedMinutes = ChronoUnit.MINUTES.between(admissionDateTime, correctedLeaveDateTime);
-                    
-                    // 如果修正后的时间差合理（不超过48小时），使用修正后的值
-                    if (correctedMinutes >= 0 && correctedMinutes <= 2880) {
-                        return correctedMinutes;
-                    }
-                }
-                
-                // 如果无法修正或修正后仍不合理，返回null（不参与计算）
-                return null;
-            }
-            
-            return minutes;
-        } catch (Exception e) {
-            // 如果解析失败，返回null
-            return null;
-        }
-    }
-    
-    /**
-     * 解析日期时间
-     * @param dateStr 日期字符串（YYYY-MM-DD）
-     * @param timeStr 时间字符串（4位，如"2326"表示23:26）
-     * @return LocalDateTime对象，如果解析失败返回null
-     */
-    private LocalDateTime parseDateTime(String dateStr, String timeStr) {
-        try {
-            if (dateStr == null || timeStr == null || timeStr.length() != 4) {
-                return null;
-            }
-            
-            // 解析日期
-            LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
-            
-            // 解析时间：将4位字符串（如"2326"）转换为小时和分钟
-            int hour = Integer.parseInt(timeStr.substring(0, 2));
-            int minute = Integer.parseInt(timeStr.substring(2, 4));
-            
-            // 验证时间有效性
-            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
-                return null;
-            }
-            
-            return LocalDateTime.of(date, java.time.LocalTime.of(hour, minute));
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getPatientFlowData(String startDate, String endDate) {
         // 如果没有指定日期范围，使用默认范围（最近一年）
@@ -454,16 +369,20 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             endDate = end.format(DateTimeFormatter.ISO_LOCAL_DATE);
         }
         
-        return patientStatisticsMapper.getPatientFlowData(startDate, endDate);
+        return PercentageUtils.fromRollup(patientStatisticsMapper.getPatientFlowData(startDate, endDate),
+            "destination", "patient_count", "record_total", 10);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getInjuryCauseDistributionData(Integer year, String startDate, String endDate, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         
         // 不设置默认值，只在传递了对应参数时才添加查询条件
         // year、startDate、endDate、season、timePeriod、customStartTime、customEndTime 如果为 null，则不在SQL中添加对应的查询条件
         
-        List<Map<String, Object>> rawData = patientStatisticsMapper.getInjuryCauseDistributionData(year, startDate, endDate, season, timePeriod, customStartTime, customEndTime);
+        List<Map<String, Object>> rawData = useDailyCube(customStartTime, customEndTime)
+            ? dailyStatCubeService.getInjuryCauseRows(year, startDate, endDate, season, timePeriod)
+            : patientStatisticsMapper.getInjuryCauseDistributionData(year, startDate, endDate, season, timePeriod, customStartTime, customEndTime);
         
         // 处理伤因分布数据，构建12个月x5种伤因的柱状图数据
         return processInjuryCauseData(rawData);
@@ -528,9 +447,15 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return result;
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getISSDistributionData(String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         
+        // 无自定义时间段时直接使用聚合表中的分段人数
+        if (useDailyCube(customStartTime, customEndTime)) {
+            return buildISSPieData(dailyStatCubeService.getIssCategoryCounts(year, startDate, endDate, season, timePeriod));
+        }
+        
         // 在Service层处理时间转换和参数验证
         Integer customStartTimeMinutes = null;
         Integer customEndTimeMinutes = null;
@@ -557,13 +482,13 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
      * @return 处理后的饼状图数据
      */
     private List<Map<String, Object>> processISSDistributionData(List<Map<String, Object>> rawData) {
-        // 首先对患者进行去重处理，因为同一个患者可能有多条记录（由于JOIN interventiontime表）
-        // 使用LinkedHashMap保持插入顺序，以patient_id为key去重
+        // 首先对患者进行去重处理，因为同一个患者可能有多条记录（多条ISS记录、JOIN interventiontime表）
+        // 使用LinkedHashMap保持插入顺序，以patient_id为key去重；与每日统计聚合表一致，按患者的最高ISS评分分段
         Map<Object, Map<String, Object>> uniquePatients = new LinkedHashMap<>();
         for (Map<String, Object> record : rawData) {
             Object patientId = record.get("patient_id");
-            // 如果该患者还未被记录，或者当前记录的ISS评分不为空，则更新
-            if (!uniquePatients.containsKey(patientId)) {
+            Map<String, Object> existing = uniquePatients.get(patientId);
+            if (existing == null || issScoreOf(record) > issScoreOf(existing)) {
                 uniquePatients.put(patientId, record);
             }
         }
@@ -625,6 +550,23 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             categoryCounts.put(category, categoryCounts.get(category) + 1);
         }
         
+        return buildISSPieData(categoryCounts);
+    }
+    
+    /**
+     * 记录中的ISS评分，为空时返回-1（任何评分都比它高）
+     */
+    private static int issScoreOf(Map<String, Object> record) {
+        Object issScore = record.get("iss_score");
+        return issScore == null ? -1 : ((Number) issScore).intValue();
+    }
+    
+    /**
+     * 根据各等级患者数构建ISS饼状图数据
+     * @param categoryCounts light/severe/critical -> 患者数
+     * @return 饼状图数据（固定包含三个等级）
+     */
+    private List<Map<String, Object>> buildISSPieData(Map<String, Long> categoryCounts) {
         // 计算总患者数
         long totalPatients = categoryCounts.values().stream().mapToLong(Long::longValue).sum();
         
@@ -667,6 +609,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return result;
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getGCSDistributionData(String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         
@@ -674,7 +617,9 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         // startDate、endDate、year、season、timePeriod、customStartTime、customEndTime 如果为 null，则不在SQL中添加对应的查询条件
         
         // 获取GCS分布数据
-        List<Map<String, Object>> rawData = patientStatisticsMapper.getGCSDistributionData(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime);
+        List<Map<String, Object>> rawData = useDailyCube(customStartTime, customEndTime)
+            ? dailyStatCubeService.getGcsLevelRows(year, startDate, endDate, season, timePeriod)
+            : patientStatisticsMapper.getGCSDistributionData(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime);
         
         // 计算总数
         int totalCount = rawData.stream().mapToInt(item -> ((Number) item.get("count")).intValue()).sum();
@@ -714,11 +659,14 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return result;
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getRTSDistributionData(String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         
         // 获取RTS分布数据
-        List<Map<String, Object>> rawData = patientStatisticsMapper.getRTSDistributionData(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime);
+        List<Map<String, Object>> rawData = useDailyCube(customStartTime, customEndTime)
+            ? dailyStatCubeService.getRtsScoreRows(year, startDate, endDate, season, timePeriod)
+            : patientStatisticsMapper.getRTSDistributionData(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime);
         
         // 计算总数
         int totalCount = rawData.stream().mapToInt(item -> ((Number) item.get("count")).intValue()).sum();
@@ -778,33 +726,53 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return result;
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Map<String, Object>> getPopulationBodyHeatmapData(String startDate, String endDate, Integer year, Integer season, Integer timePeriod, Integer ageGroup, Integer gender, Integer severity, String customStartTime, String customEndTime) {
         
         // 不设置默认值，只在传递了对应参数时才添加查询条件
         // startDate、endDate、year、season、timePeriod、ageGroup、gender、severity、customStartTime、customEndTime 如果为 null，则不在SQL中添加对应的查询条件
         
+        requireRegionTable();
         List<Map<String, Object>> rawData = patientStatisticsMapper.getPopulationBodyHeatmapData(startDate, endDate, year, season, timePeriod, ageGroup, gender, severity, customStartTime, customEndTime);
         
         return rawData;
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getDeathPatientIds(String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 不设置默认值，只在传递了对应参数时才添加查询条件
         // startDate、endDate、year、season、timePeriod、customStartTime、customEndTime 如果为 null，则不在SQL中添加对应的查询条件
         
+        // 优先使用内存索引（日期范围按干预时间表的接诊日期，与SQL口径一致）
+        List<Integer> indexed = queryFacetIndex(hhmmFacetFilter(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime, true),
+                snapshot -> snapshot.facetValue(PatientFacetSnapshot.FACET_DEATH, "1"));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         return patientStatisticsMapper.getDeathPatientIds(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getInjuryCausePatientIds(Integer injuryCauseCategory, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 不设置默认值，只在传递了对应参数时才添加查询条件
         // injuryCauseCategory、startDate、endDate、year、season、timePeriod、customStartTime、customEndTime 如果为 null，则不在SQL中添加对应的查询条件
         
+        // 优先使用内存索引（日期范围按干预时间表的接诊日期，与SQL口径一致；伤因为空时SQL不匹配任何记录）
+        List<Integer> indexed = queryFacetIndex(hhmmFacetFilter(startDate, endDate, year, season, timePeriod, customStartTime, customEndTime, true),
+                snapshot -> injuryCauseCategory == null ? new RoaringBitmap()
+                        : snapshot.facetValue(PatientFacetSnapshot.FACET_CAUSE, String.valueOf(injuryCauseCategory)));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         return patientStatisticsMapper.getInjuryCausePatientIds(injuryCauseCategory, startDate, endDate, year, season, timePeriod, customStartTime, customEndTime);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getISSSegmentPatientIds(String issSegment, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 在Service层处理时间转换和参数验证，与 getISSDistributionData 保持一致
@@ -815,6 +783,15 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
         }
         
+        // 优先使用内存索引，索引未就绪时回退到SQL
+        List<Integer> indexed = queryFacetIndex(new PatientFacetFilter(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes),
+                snapshot -> ISS_SEGMENTS.contains(issSegment)
+                        ? snapshot.facetValue(PatientFacetSnapshot.FACET_ISS_SEGMENT, issSegment)
+                        : snapshot.presence(PatientFacetSnapshot.PRESENCE_ISS_SCORE));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         // 获取患者ID列表
         List<Integer> patientIds = patientStatisticsMapper.getISSSegmentPatientIds(issSegment, startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
         
@@ -825,6 +802,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return new ArrayList<>(uniquePatientIds);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getGCSSegmentPatientIds(String gcsSegment, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 在Service层处理时间转换和参数验证，与 getGCSDistributionData 保持一致
@@ -835,6 +813,15 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
         }
         
+        // 优先使用内存索引，索引未就绪时回退到SQL
+        List<Integer> indexed = queryFacetIndex(new PatientFacetFilter(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes),
+                snapshot -> GCS_SEGMENTS.contains(gcsSegment)
+                        ? snapshot.facetValue(PatientFacetSnapshot.FACET_GCS_SEGMENT, gcsSegment)
+                        : snapshot.presence(PatientFacetSnapshot.PRESENCE_GCS));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         // 获取患者ID列表
         List<Integer> patientIds = patientStatisticsMapper.getGCSSegmentPatientIds(gcsSegment, startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
         
@@ -845,6 +832,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return new ArrayList<>(uniquePatientIds);
     }
 
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getRTSScorePatientIds(Integer rtsScore, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 在Service层处理时间转换和参数验证，与 getRTSDistributionData 保持一致
@@ -855,6 +843,15 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
         }
         
+        // 优先使用内存索引，索引未就绪时回退到SQL
+        List<Integer> indexed = queryFacetIndex(new PatientFacetFilter(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes),
+                snapshot -> rtsScore == null
+                        ? snapshot.presence(PatientFacetSnapshot.PRESENCE_RTS)
+                        : snapshot.facetValue(PatientFacetSnapshot.FACET_RTS_SCORE, String.valueOf(rtsScore)));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         // 获取患者ID列表
         List<Integer> patientIds = patientStatisticsMapper.getRTSScorePatientIds(rtsScore, startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
         
@@ -865,6 +862,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return new ArrayList<>(uniquePatientIds);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getBodyPartPatientIds(String bodyPart, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 在Service层处理时间转换和参数验证
@@ -875,6 +873,18 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
         }
         
+        // 区域维度来自区域事实表（内存索引也由其构建）；优先使用内存索引，索引未就绪时回退到SQL
+        if (bodyPart != null) {
+            requireRegionTable();
+        }
+        List<Integer> indexed = queryFacetIndex(new PatientFacetFilter(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes),
+                snapshot -> bodyPart == null
+                        ? snapshot.presence(PatientFacetSnapshot.PRESENCE_ISS_RECORD)
+                        : snapshot.facetValue(PatientFacetSnapshot.FACET_BODY_PART, bodyPart));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         // 获取患者ID列表
         List<Integer> patientIds = patientStatisticsMapper.getBodyPartPatientIds(bodyPart, startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
         
@@ -885,6 +895,7 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return new ArrayList<>(uniquePatientIds);
     }
     
+    @SharedStatisticsQuery
     @Override
     public List<Integer> getBodyRegionSeverityPatientIds(String bodyRegion, String severityLevel, String startDate, String endDate, Integer year, Integer season, Integer timePeriod, String customStartTime, String customEndTime) {
         // 在Service层处理时间转换和参数验证
@@ -895,6 +906,16 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
             customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
         }
         
+        // 区域维度来自区域事实表（内存索引也由其构建）；优先使用内存索引，索引未就绪时回退到SQL
+        if (bodyRegion != null && severityLevel != null) {
+            requireRegionTable();
+        }
+        List<Integer> indexed = queryFacetIndex(new PatientFacetFilter(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes),
+                snapshot -> bodyRegionSeverityBitmap(snapshot, bodyRegion, severityLevel));
+        if (indexed != null) {
+            return indexed;
+        }
+        
         // 获取患者ID列表
         List<Integer> patientIds = patientStatisticsMapper.getBodyRegionSeverityPatientIds(bodyRegion, severityLevel, startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
         
@@ -905,6 +926,188 @@ public class PatientStatisticsServiceImpl implements IPatientStatisticsService {
         return new ArrayList<>(uniquePatientIds);
     }
     
+    @SharedStatisticsQuery
+    @Override
+    public CrossfilterResultDTO getCrossfilter(CrossfilterQueryDTO query) {
+        PatientFacetSnapshot snapshot = patientFacetIndex.current();
+        if (snapshot == null) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE.getCode(), "统计索引正在构建，请稍后重试");
+        }
+
+        Integer customStartTimeMinutes = null;
+        Integer customEndTimeMinutes = null;
+        if (query.getCustomStartTime() != null && query.getCustomEndTime() != null) {
+            customStartTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(query.getCustomStartTime());
+            customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(query.getCustomEndTime());
+            if (customStartTimeMinutes == null || customEndTimeMinutes == null) {
+                throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "自定义时间格式不正确，应为 HH:mm");
+            }
+        }
+
+        // 季节、时间段也作为可交叉的维度，基础集合只应用日期和时刻条件
+        RoaringBitmap base = snapshot.cohort(new PatientFacetFilter(query.getStartDate(), query.getEndDate(), query.getYear(),
+                null, null, customStartTimeMinutes, customEndTimeMinutes));
+        if (base == null) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), "日期格式不正确，应为 YYYY-MM-DD");
+        }
+
+        // 各维度的选中集合（未筛选为 null）；body 维度同时输出 bodyPart 和 bodyRegionSeverity 两个直方图
+        List<String> groups = Arrays.asList(PatientFacetSnapshot.FACET_SEASON, PatientFacetSnapshot.FACET_TIME_PERIOD,
+                PatientFacetSnapshot.FACET_CAUSE, PatientFacetSnapshot.FACET_DEATH, PatientFacetSnapshot.FACET_ISS_SEGMENT,
+                PatientFacetSnapshot.FACET_GCS_SEGMENT, PatientFacetSnapshot.FACET_RTS_SCORE, PatientFacetSnapshot.FACET_BODY_PART);
+        List<RoaringBitmap> selections = Arrays.asList(
+                selection(snapshot, PatientFacetSnapshot.FACET_SEASON, query.getSeason()),
+                selection(snapshot, PatientFacetSnapshot.FACET_TIME_PERIOD, query.getTimePeriod()),
+                selection(snapshot, PatientFacetSnapshot.FACET_CAUSE, query.getInjuryCauseCategory()),
+                selection(snapshot, PatientFacetSnapshot.FACET_DEATH, query.getDeath()),
+                selection(snapshot, PatientFacetSnapshot.FACET_ISS_SEGMENT, query.getIssSegment()),
+                selection(snapshot, PatientFacetSnapshot.FACET_GCS_SEGMENT, query.getGcsSegment()),
+                selection(snapshot, PatientFacetSnapshot.FACET_RTS_SCORE, query.getRtsScore()),
+                bodySelection(snapshot, query.getBodyPart(), query.getSeverityLevel()));
+
+        // 后缀交集：suffix[i] 为第 i 个及之后维度选中集合的交集，配合前缀交集使每个维度的"其余条件"只需一次与运算
+        int k = selections.size();
+        RoaringBitmap[] suffix = new RoaringBitmap[k + 1];
+        for (int i = k - 1; i >= 0; i--) {
+            suffix[i] = intersect(selections.get(i), suffix[i + 1]);
+        }
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        RoaringBitmap prefix = base;
+        for (int i = 0; i < k; i++) {
+            RoaringBitmap others = intersect(prefix, suffix[i + 1]);
+            String group = groups.get(i);
+            if (PatientFacetSnapshot.FACET_BODY_PART.equals(group)) {
+                facets.put(PatientFacetSnapshot.FACET_BODY_PART, snapshot.histogram(PatientFacetSnapshot.FACET_BODY_PART, others, BODY_PART_VALUES));
+                facets.put(PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY,
+                        snapshot.histogram(PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY, others, Collections.<String>emptyList()));
+            } else {
+                facets.put(group, snapshot.histogram(group, others, preferredValues(group)));
+            }
+            prefix = intersect(prefix, selections.get(i));
+        }
+
+        CrossfilterResultDTO result = new CrossfilterResultDTO();
+        result.setCohortSize(prefix.getLongCardinality());
+        result.setFacets(facets);
+        result.setDataVersion(snapshot.getVersion());
+        return result;
+    }
+
+    private RoaringBitmap selection(PatientFacetSnapshot snapshot, String facet, Object value) {
+        return value == null ? null : snapshot.facetValue(facet, String.valueOf(value));
+    }
+
+    /**
+     * 身体区域维度：传递严重程度时按"区域:严重程度"筛选，否则按区域筛选；未传递区域时不筛选
+     */
+    private RoaringBitmap bodySelection(PatientFacetSnapshot snapshot, String bodyPart, String severityLevel) {
+        if (bodyPart == null) {
+            return null;
+        }
+        if (severityLevel == null) {
+            return snapshot.facetValue(PatientFacetSnapshot.FACET_BODY_PART, bodyPart);
+        }
+        return snapshot.facetValue(PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY,
+                PatientFacetSnapshot.regionSeverityKey(bodyPart, severityLevel));
+    }
+
+    /**
+     * 两个集合的交集（null 表示不限制），返回新位图，不修改参数
+     */
+    private RoaringBitmap intersect(RoaringBitmap a, RoaringBitmap b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return RoaringBitmap.and(a, b);
+    }
+
+    private List<String> preferredValues(String facet) {
+        switch (facet) {
+            case PatientFacetSnapshot.FACET_SEASON: return SEASON_VALUES;
+            case PatientFacetSnapshot.FACET_TIME_PERIOD: return TIME_PERIOD_VALUES;
+            case PatientFacetSnapshot.FACET_CAUSE: return CAUSE_VALUES;
+            case PatientFacetSnapshot.FACET_DEATH: return DEATH_VALUES;
+            case PatientFacetSnapshot.FACET_ISS_SEGMENT: return ISS_SEGMENTS;
+            case PatientFacetSnapshot.FACET_GCS_SEGMENT: return GCS_SEGMENTS;
+            default: return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 区域统计只查询区域事实表；事实表不可用（初始化失败或正在重建）时返回服务不可用，由调用方稍后重试
+     */
+    private void requireRegionTable() {
+        if (!patientRegionAisService.isReady()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE.getCode(), "身体区域统计正在构建，请稍后重试");
+        }
+    }
+
+    /**
+     * 在内存索引上计算患者ID列表
+     * @param filter 基础筛选条件，为 null 表示参数无法在索引上表达
+     * @param selector 下钻维度位图（只读）
+     * @return 升序患者ID列表；索引不可用时返回 null，调用方回退到SQL
+     */
+    private List<Integer> queryFacetIndex(PatientFacetFilter filter, Function<PatientFacetSnapshot, RoaringBitmap> selector) {
+        if (filter == null) {
+            return null;
+        }
+        PatientFacetSnapshot snapshot = patientFacetIndex.current();
+        if (snapshot == null) {
+            return null;
+        }
+        RoaringBitmap cohort = snapshot.cohort(filter);
+        if (cohort == null) {
+            return null;
+        }
+        cohort.and(selector.apply(snapshot));
+        return PatientFacetSnapshot.toList(cohort);
+    }
+
+    /**
+     * 构建"HH:mm"格式自定义时间的索引筛选条件
+     * @return 自定义时间无法解析时返回 null（SQL按字符串截取解析，口径不同，交由SQL处理）
+     */
+    private PatientFacetFilter hhmmFacetFilter(String startDate, String endDate, Integer year, Integer season, Integer timePeriod,
+                                               String customStartTime, String customEndTime, boolean interventionDateRange) {
+        Integer customStartTimeMinutes = null;
+        Integer customEndTimeMinutes = null;
+        if (customStartTime != null && customEndTime != null) {
+            customStartTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customStartTime);
+            customEndTimeMinutes = com.demo.utils.TimeConversionUtils.convertHHmmToMinutes(customEndTime);
+            if (customStartTimeMinutes == null || customEndTimeMinutes == null) {
+                return null;
+            }
+        }
+        PatientFacetFilter filter = new PatientFacetFilter(startDate, endDate, year, season, timePeriod, customStartTimeMinutes, customEndTimeMinutes);
+        filter.setInterventionDateRange(interventionDateRange);
+        return filter;
+    }
+
+    /**
+     * 身体区域+严重程度的下钻位图，与 getBodyRegionSeverityPatientIds SQL 的条件一致
+     */
+    private RoaringBitmap bodyRegionSeverityBitmap(PatientFacetSnapshot snapshot, String bodyRegion, String severityLevel) {
+        if (bodyRegion == null || severityLevel == null) {
+            return snapshot.presence(PatientFacetSnapshot.PRESENCE_ISS_RECORD);
+        }
+        switch (severityLevel) {
+            case "mild":
+            case "moderate":
+            case "severe":
+            case "critical":
+                return snapshot.facetValue(PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY,
+                        PatientFacetSnapshot.regionSeverityKey(bodyRegion, severityLevel));
+            default:
+                // 未知严重程度时SQL不添加AIS条件
+                return snapshot.facetValue(PatientFacetSnapshot.FACET_BODY_PART, bodyRegion);
+        }
+    }
+
     /**
      * 获取季节名称
      */
@@ -0,0 +1,226 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IDailyStatCubeService;
+import com.demo.Service.impl.IPatientStatisticsService;
+import com.demo.Service.impl.IStatisticsComparisonService;
+import com.demo.dto.ComparisonDeltaDTO;
+import com.demo.dto.ComparisonFilterDTO;
+import com.demo.dto.ComparisonQueryDTO;
+import com.demo.dto.ComparisonResultDTO;
+import com.demo.dto.ComparisonSideDTO;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.utils.PercentageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 统计对比分析服务实现
+ * 两组筛选条件各执行一次每日统计聚合表的月度桶查询（在统计线程池中并行），
+ * 再在内存中折叠为KPI与各分布，一次对比的开销接近单个面板查询。
+ * 聚合表按天去重患者，跨天求和得到的是患者日而不是患者数，
+ * 因此接诊患者数取自 /statistics 同一查询（按范围去重，结果经统计结果缓存共享）
+ */
+@Slf4j
+@Service
+public class StatisticsComparisonServiceImpl implements IStatisticsComparisonService {
+
+    static final String[] ISS_CATEGORIES = {"light", "severe", "critical"};
+
+    static final String[] GCS_LEVELS = {"15", "12-14", "9-11", "3-8"};
+
+    @Autowired
+    private IDailyStatCubeService dailyStatCubeService;
+
+    @Autowired
+    private IPatientStatisticsService patientStatisticsService;
+
+    @Autowired
+    @Qualifier("statisticsExecutor")
+    private ThreadPoolTaskExecutor statisticsExecutor;
+
+    /**
+     * 等待时间上限（秒）
+     */
+    @Value("${statistics.comparison.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @Override
+    public ComparisonResultDTO compare(ComparisonQueryDTO query) {
+        if (!dailyStatCubeService.isReady()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE.getCode(), "统计聚合表正在构建，请稍后重试");
+        }
+        ComparisonFilterDTO base = query == null || query.getBase() == null ? new ComparisonFilterDTO() : query.getBase();
+        ComparisonFilterDTO target = query == null || query.getTarget() == null ? new ComparisonFilterDTO() : query.getTarget();
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<ComparisonSideDTO> baseSide = CompletableFuture.supplyAsync(() -> loadSide(base), statisticsExecutor);
+        CompletableFuture<ComparisonSideDTO> targetSide = CompletableFuture.supplyAsync(() -> loadSide(target), statisticsExecutor);
+
+        ComparisonResultDTO result = new ComparisonResultDTO();
+        result.setBase(await(baseSide));
+        result.setTarget(await(targetSide));
+        fillDeltas(result);
+        log.debug("对比分析完成: 耗时 {} ms", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private ComparisonSideDTO loadSide(ComparisonFilterDTO filter) {
+        boolean hasDateRange = filter.getStartDate() != null && filter.getEndDate() != null;
+        String startDate = hasDateRange ? filter.getStartDate() : null;
+        String endDate = hasDateRange ? filter.getEndDate() : null;
+        List<Map<String, Object>> rows = dailyStatCubeService.getMonthlyBuckets(filter.getYear(),
+                startDate, endDate, filter.getSeason(), filter.getTimePeriod());
+        Long totalPatients = patientStatisticsService.getPatientStatistics(startDate, endDate,
+                filter.getYear(), filter.getSeason(), filter.getTimePeriod(), null, null).getTotalPatients();
+        return foldBuckets(rows, totalPatients == null ? 0L : totalPatients);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("对比分析被中断", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BusinessException("对比分析查询超时", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new BusinessException("对比分析查询失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 将月度桶折叠为一组KPI与分布
+     * @param rows metric, metric_value, month, record_count, patient_count
+     * @param totalPatients 范围内去重后的接诊患者数（不能由各天的患者数相加得到）
+     */
+    static ComparisonSideDTO foldBuckets(List<Map<String, Object>> rows, long totalPatients) {
+        long deathCount = 0;
+        Map<String, Long> injuryCause = zeroCounts("0", "1", "2", "3", "4");
+        Map<String, Long> issSegment = zeroCounts(ISS_CATEGORIES);
+        Map<String, Long> gcsLevel = zeroCounts(GCS_LEVELS);
+        Map<String, Long> rtsScore = new LinkedHashMap<>();
+        Map<String, Long> monthlyPatients = new LinkedHashMap<>();
+        for (int month = 1; month <= 12; month++) {
+            monthlyPatients.put(String.valueOf(month), 0L);
+        }
+
+        for (Map<String, Object> row : rows) {
+            String metric = String.valueOf(row.get("metric"));
+            int value = ((Number) row.get("metric_value")).intValue();
+            int month = ((Number) row.get("month")).intValue();
+            long records = ((Number) row.get("record_count")).longValue();
+            long patients = ((Number) row.get("patient_count")).longValue();
+            switch (metric) {
+                case "outcome":
+                    if (value == 1) {
+                        deathCount += records;
+                    }
+                    if (month > 0) {
+                        monthlyPatients.merge(String.valueOf(month), patients, Long::sum);
+                    }
+                    break;
+                case "case":
+                    // 与伤因分布一致：伤因为空的病例不展示
+                    if (value >= 0) {
+                        injuryCause.merge(String.valueOf(value), records, Long::sum);
+                    }
+                    break;
+                case "iss":
+                    if (value >= 0 && value < ISS_CATEGORIES.length) {
+                        issSegment.merge(ISS_CATEGORIES[value], patients, Long::sum);
+                    }
+                    break;
+                case "gcs":
+                    if (value >= 0 && value < GCS_LEVELS.length) {
+                        gcsLevel.merge(GCS_LEVELS[value], patients, Long::sum);
+                    }
+                    break;
+                case "rts":
+                    rtsScore.merge(String.valueOf(value), patients, Long::sum);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        ComparisonSideDTO side = new ComparisonSideDTO();
+        side.setTotalPatients(totalPatients);
+        side.setDeathCount(deathCount);
+        side.setMortalityRate(PercentageUtils.percentage(deathCount, totalPatients));
+        side.setInjuryCause(injuryCause);
+        side.setIssSegment(issSegment);
+        side.setGcsLevel(gcsLevel);
+        side.setRtsScore(rtsScore);
+        side.setMonthlyPatients(monthlyPatients);
+        return side;
+    }
+
+    static void fillDeltas(ComparisonResultDTO result) {
+        ComparisonSideDTO base = result.getBase();
+        ComparisonSideDTO target = result.getTarget();
+
+        Map<String, ComparisonDeltaDTO> kpis = new LinkedHashMap<>();
+        kpis.put("totalPatients", delta(BigDecimal.valueOf(base.getTotalPatients()), BigDecimal.valueOf(target.getTotalPatients())));
+        kpis.put("deathCount", delta(BigDecimal.valueOf(base.getDeathCount()), BigDecimal.valueOf(target.getDeathCount())));
+        kpis.put("mortalityRate", delta(base.getMortalityRate(), target.getMortalityRate()));
+        result.setKpis(kpis);
+
+        Map<String, Map<String, ComparisonDeltaDTO>> distributions = new LinkedHashMap<>();
+        distributions.put("injuryCause", deltas(base.getInjuryCause(), target.getInjuryCause()));
+        distributions.put("issSegment", deltas(base.getIssSegment(), target.getIssSegment()));
+        distributions.put("gcsLevel", deltas(base.getGcsLevel(), target.getGcsLevel()));
+        distributions.put("rtsScore", deltas(base.getRtsScore(), target.getRtsScore()));
+        distributions.put("monthlyPatients", deltas(base.getMonthlyPatients(), target.getMonthlyPatients()));
+        result.setDistributions(distributions);
+    }
+
+    private static Map<String, ComparisonDeltaDTO> deltas(Map<String, Long> base, Map<String, Long> target) {
+        Set<String> keys = new LinkedHashSet<>(base.keySet());
+        keys.addAll(target.keySet());
+        Map<String, ComparisonDeltaDTO> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            result.put(key, delta(BigDecimal.valueOf(base.getOrDefault(key, 0L)), BigDecimal.valueOf(target.getOrDefault(key, 0L))));
+        }
+        return result;
+    }
+
+    /**
+     * 变化量与变化率；任一侧为null（如死亡率分母为0）时变化量也为null
+     */
+    static ComparisonDeltaDTO delta(BigDecimal base, BigDecimal target) {
+        if (base == null || target == null) {
+            return new ComparisonDeltaDTO(base, target, null, null);
+        }
+        BigDecimal delta = target.subtract(base);
+        BigDecimal changeRate = base.signum() == 0 ? null
+                : delta.multiply(BigDecimal.valueOf(100)).divide(base.abs(), 2, RoundingMode.HALF_UP);
+        return new ComparisonDeltaDTO(base, target, delta, changeRate);
+    }
+
+    private static Map<String, Long> zeroCounts(String... keys) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String key : keys) {
+            counts.put(key, 0L);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,115 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IPatientStatisticsService;
+import com.demo.Service.impl.IStatisticsDashboardService;
+import com.demo.dto.DashboardDTO;
+import com.demo.dto.PatientStatisticsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 统计大屏首屏数据服务实现
+ * 筛选参数只解析一次，各面板查询在统计线程池中并行执行，总耗时取决于最慢的面板而非各面板之和
+ */
+@Slf4j
+@Service
+public class StatisticsDashboardServiceImpl implements IStatisticsDashboardService {
+
+    @Autowired
+    private IPatientStatisticsService patientStatisticsService;
+
+    @Autowired
+    @Qualifier("statisticsExecutor")
+    private ThreadPoolTaskExecutor statisticsExecutor;
+
+    /**
+     * 整体等待时间上限（秒），超时的面板记为失败
+     */
+    @Value("${statistics.dashboard.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @Override
+    public DashboardDTO getDashboard(String startDate, String endDate, Integer year, Integer timePeriod,
+                                     String customStartTime, String customEndTime,
+                                     Integer ageGroup, Integer gender, Integer severity) {
+        long start = System.currentTimeMillis();
+
+        CompletableFuture<PatientStatisticsDTO> statistics = submit(() ->
+                patientStatisticsService.getPatientStatistics(startDate, endDate, year, null, timePeriod, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> monthlyHeatmap = submit(() ->
+                patientStatisticsService.getMonthlyTimeHeatmapData(year, startDate, endDate, null, timePeriod, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> injuryCause = submit(() ->
+                patientStatisticsService.getInjuryCauseDistributionData(year, startDate, endDate, null, timePeriod, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> iss = submit(() ->
+                patientStatisticsService.getISSDistributionData(startDate, endDate, year, null, timePeriod, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> gcs = submit(() ->
+                patientStatisticsService.getGCSDistributionData(startDate, endDate, year, null, timePeriod, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> rts = submit(() ->
+                patientStatisticsService.getRTSDistributionData(startDate, endDate, year, null, timePeriod, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> bodyHeatmap = submit(() ->
+                patientStatisticsService.getPopulationBodyHeatmapData(startDate, endDate, year, null, timePeriod, ageGroup, gender, severity, customStartTime, customEndTime));
+        CompletableFuture<List<Map<String, Object>>> sunburst = submit(() ->
+                patientStatisticsService.getBodyRegionSunburstData(null, timePeriod, startDate, endDate, year, customStartTime, customEndTime));
+
+        awaitAll(statistics, monthlyHeatmap, injuryCause, iss, gcs, rts, bodyHeatmap, sunburst);
+
+        // 在请求线程中组装结果，避免超时后仍在运行的任务并发写入DTO
+        DashboardDTO dashboard = new DashboardDTO();
+        Map<String, String> errors = new LinkedHashMap<>();
+        collect("statistics", statistics, dashboard::setStatistics, errors);
+        collect("monthlyHeatmap", monthlyHeatmap, dashboard::setMonthlyHeatmap, errors);
+        collect("injuryCauseDistribution", injuryCause, dashboard::setInjuryCauseDistribution, errors);
+        collect("issDistribution", iss, dashboard::setIssDistribution, errors);
+        collect("gcsDistribution", gcs, dashboard::setGcsDistribution, errors);
+        collect("rtsDistribution", rts, dashboard::setRtsDistribution, errors);
+        collect("populationBodyHeatmap", bodyHeatmap, dashboard::setPopulationBodyHeatmap, errors);
+        collect("bodyRegionSunburst", sunburst, dashboard::setBodyRegionSunburst, errors);
+        dashboard.setErrors(errors);
+
+        log.debug("首屏数据查询完成: 耗时 {} ms, 失败面板 {}", System.currentTimeMillis() - start, errors.keySet());
+        return dashboard;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, statisticsExecutor);
+    }
+
+    private void awaitAll(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // 单个面板的失败或超时在 collect 中分别记录
+        }
+    }
+
+    private <T> void collect(String panel, CompletableFuture<T> future, Consumer<T> setter, Map<String, String> errors) {
+        if (!future.isDone()) {
+            future.cancel(true);
+            errors.put(panel, "查询超时");
+            return;
+        }
+        try {
+            setter.accept(future.join());
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("首屏面板 {} 查询失败: {}", panel, cause.getMessage(), cause);
+            errors.put(panel, cause.getMessage());
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IInjuryRecordService;
+import com.demo.Service.impl.IInterventionTimeService;
+import com.demo.Service.impl.IPatientStatisticsService;
+import com.demo.Service.impl.IStatisticsWarmupService;
+import com.demo.cache.DataVersion;
+import com.demo.cache.RebuildScheduler;
+import com.demo.cache.StatisticsResultCache;
+import com.demo.cache.StatisticsSingleFlightAspect;
+import com.demo.dto.WarmupStatusDTO;
+import com.demo.metrics.WarmupMetricsBinder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 统计缓存预热服务实现
+ * 启动后及综合导入提交后，在后台线程按配置的筛选组合生成查询任务，提交到统计线程池执行，
+ * 同时在途的任务数不超过 parallelism，为用户请求保留线程与数据库连接。
+ * 查询经过 {@link StatisticsSingleFlightAspect}，结果写入统计结果缓存，参数与首屏、地图接口的调用一致，
+ * 因此只能预热标记了 {@link com.demo.cache.SharedStatisticsQuery} 的汇总查询；
+ * 预热与用户请求共用同一个容量有限的缓存，任务数超过缓存容量时只执行前面的任务，避免预热结果相互淘汰。
+ * 每次预热的耗时与进度见 {@link WarmupMetricsBinder}
+ */
+@Slf4j
+@Service
+public class StatisticsWarmupServiceImpl implements IStatisticsWarmupService {
+
+    @Autowired
+    private IPatientStatisticsService patientStatisticsService;
+
+    @Autowired
+    private IInterventionTimeService interventionTimeService;
+
+    @Autowired
+    private IInjuryRecordService injuryRecordService;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private StatisticsResultCache resultCache;
+
+    /**
+     * 请求合并切面关闭时结果不会进入缓存，预热没有意义
+     */
+    @Autowired(required = false)
+    private StatisticsSingleFlightAspect singleFlightAspect;
+
+    @Autowired
+    @Qualifier("statisticsExecutor")
+    private ThreadPoolTaskExecutor statisticsExecutor;
+
+    @Lazy
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${statistics.warmup.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 预热的筛选组合，逗号分隔，每项为 年份[:季节]；年份为 all（不限）、current（当年）或具体年份，季节 0-3
+     */
+    @Value("${statistics.warmup.filters:all,current,current:0,current:1,current:2,current:3}")
+    private String filters;
+
+    /**
+     * 同时在途的预热查询数上限
+     */
+    @Value("${statistics.warmup.parallelism:2}")
+    private int parallelism;
+
+    /**
+     * 单次预热的等待时间上限（秒）
+     */
+    @Value("${statistics.warmup.timeout-seconds:600}")
+    private long timeoutSeconds;
+
+    private volatile boolean running = false;
+
+    private volatile String reason;
+
+    private volatile long version;
+
+    private volatile int totalTasks;
+
+    private final AtomicInteger completedTasks = new AtomicInteger();
+
+    private final AtomicInteger failedTasks = new AtomicInteger();
+
+    private volatile Long startedAt;
+
+    private volatile Long lastDurationMs;
+
+    private final AtomicLong completedRuns = new AtomicLong();
+
+    /**
+     * 最近一次请求的触发原因，由排队的预热读取
+     */
+    private volatile String requestedReason;
+
+    private final RebuildScheduler warmupScheduler = new RebuildScheduler("statistics-warmup", () -> warmup(requestedReason));
+
+    /**
+     * 在内存索引、聚合表初始化任务之后安排
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        scheduleWarmup("startup");
+    }
+
+    @Override
+    public void scheduleWarmup(String reason) {
+        if (!enabled || singleFlightAspect == null) {
+            return;
+        }
+        requestedReason = reason;
+        warmupScheduler.requestAfterCommit();
+    }
+
+    @Override
+    public WarmupStatusDTO getStatus() {
+        WarmupStatusDTO status = new WarmupStatusDTO();
+        status.setRunning(running);
+        status.setReason(reason);
+        status.setDataVersion(version);
+        status.setTotalTasks(totalTasks);
+        status.setCompletedTasks(completedTasks.get());
+        status.setFailedTasks(failedTasks.get());
+        status.setStartedAt(startedAt);
+        status.setLastDurationMs(lastDurationMs);
+        status.setCompletedRuns(completedRuns.get());
+        status.setCacheSize(resultCache.size());
+        status.setCacheHits(resultCache.getHits());
+        status.setCacheMisses(resultCache.getMisses());
+        return status;
+    }
+
+    /**
+     * 后台线程：生成任务并以有限并发执行，等待全部完成后记录耗时
+     */
+    private void warmup(String trigger) {
+        Map<String, Supplier<Object>> tasks;
+        try {
+            tasks = buildTasks(parseFilters(filters, LocalDate.now().getYear()));
+        } catch (IllegalArgumentException e) {
+            log.error("统计缓存预热配置无效: {}", e.getMessage());
+            return;
+        }
+        if (tasks.size() > resultCache.getMaxEntries()) {
+            log.warn("统计缓存预热查询数 {} 超过缓存容量 {}，只预热前 {} 项，请减少 statistics.warmup.filters 或增大 statistics.result-cache.max-entries",
+                    tasks.size(), resultCache.getMaxEntries(), resultCache.getMaxEntries());
+            tasks = limit(tasks, resultCache.getMaxEntries());
+        }
+
+        long start = System.currentTimeMillis();
+        running = true;
+        reason = trigger;
+        version = dataVersion.current();
+        totalTasks = tasks.size();
+        completedTasks.set(0);
+        failedTasks.set(0);
+        startedAt = start;
+
+        String outcome = "success";
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Map.Entry<String, Supplier<Object>> task : tasks.entrySet()) {
+                permits.acquire();
+                futures.add(CompletableFuture.runAsync(() -> task.getValue().get(), statisticsExecutor)
+                        .whenComplete((ignored, error) -> {
+                            permits.release();
+                            if (error != null) {
+                                failedTasks.incrementAndGet();
+                                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                                log.warn("预热查询 {} 失败: {}", task.getKey(), cause.getMessage());
+                            }
+                            completedTasks.incrementAndGet();
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            // 单个查询的失败已在 whenComplete 中记录
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            log.warn("统计缓存预热未在 {} 秒内完成", timeoutSeconds);
+        } finally {
+            running = false;
+        }
+
+        lastDurationMs = System.currentTimeMillis() - start;
+        completedRuns.incrementAndGet();
+        if ("success".equals(outcome) && failedTasks.get() > 0) {
+            outcome = "failed";
+        }
+        Timer.builder(WarmupMetricsBinder.TIMER_NAME)
+                .description("统计缓存预热耗时")
+                .tag("reason", trigger)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(lastDurationMs, TimeUnit.MILLISECONDS);
+        log.info("统计缓存预热完成: reason={}, version={}, 查询数={}, 失败={}, 耗时 {} ms",
+                trigger, version, totalTasks, failedTasks.get(), lastDurationMs);
+    }
+
+    /**
+     * 预热查询：每个无季节的组合预热首屏各面板（参数同 /dashboard）与该年份的地图点位，
+     * 带季节的组合预热该季节的地图点位（参数同 /api/map/locations），关键事件统计只预热一次
+     */
+    private Map<String, Supplier<Object>> buildTasks(List<WarmupFilter> filterList) {
+        Map<String, Supplier<Object>> tasks = new LinkedHashMap<>();
+        tasks.put("allKeyEventsStatistics", () -> interventionTimeService.getAllKeyEventsStatistics());
+        for (WarmupFilter filter : filterList) {
+            Integer year = filter.getYear();
+            List<Integer> years = year == null ? null : Collections.singletonList(year);
+            if (filter.getSeason() != null) {
+                List<Integer> seasons = Collections.singletonList(filter.getSeason());
+                tasks.put("locations" + filter, () -> injuryRecordService.getLocationsBySeasonsAndTime(seasons, null, years));
+                continue;
+            }
+            tasks.put("statistics" + filter, () ->
+                    patientStatisticsService.getPatientStatistics(null, null, year, null, null, null, null));
+            tasks.put("monthlyHeatmap" + filter, () ->
+                    patientStatisticsService.getMonthlyTimeHeatmapData(year, null, null, null, null, null, null));
+            tasks.put("injuryCauseDistribution" + filter, () ->
+                    patientStatisticsService.getInjuryCauseDistributionData(year, null, null, null, null, null, null));
+            tasks.put("issDistribution" + filter, () ->
+                    patientStatisticsService.getISSDistributionData(null, null, year, null, null, null, null));
+            tasks.put("gcsDistribution" + filter, () ->
+                    patientStatisticsService.getGCSDistributionData(null, null, year, null, null, null, null));
+            tasks.put("rtsDistribution" + filter, () ->
+                    patientStatisticsService.getRTSDistributionData(null, null, year, null, null, null, null));
+            tasks.put("populationBodyHeatmap" + filter, () ->
+                    patientStatisticsService.getPopulationBodyHeatmapData(null, null, year, null, null, null, null, null, null, null));
+            tasks.put("bodyRegionSunburst" + filter, () ->
+                    patientStatisticsService.getBodyRegionSunburstData(null, null, null, null, year, null, null));
+            tasks.put("locations" + filter, () -> injuryRecordService.getLocationsBySeasonsAndTime(null, null, years));
+        }
+        return tasks;
+    }
+
+    private static Map<String, Supplier<Object>> limit(Map<String, Supplier<Object>> tasks, int maxTasks) {
+        Map<String, Supplier<Object>> limited = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<Object>> task : tasks.entrySet()) {
+            if (limited.size() >= maxTasks) {
+                break;
+            }
+            limited.put(task.getKey(), task.getValue());
+        }
+        return limited;
+    }
+
+    /**
+     * 解析筛选组合配置，重复项只保留一次
+     * @param spec 如 all,current,current:0,2024:3
+     * @param currentYear current 对应的年份
+     * @throws IllegalArgumentException 格式错误
+     */
+    static List<WarmupFilter> parseFilters(String spec, int currentYear) {
+        List<WarmupFilter> result = new ArrayList<>();
+        if (spec == null || spec.trim().isEmpty()) {
+            return result;
+        }
+        for (String item : spec.split(",")) {
+            String trimmed = item.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":", -1);
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("预热筛选组合格式错误: " + trimmed);
+            }
+            Integer year = parseYear(parts[0].trim(), currentYear, trimmed);
+            Integer season = null;
+            if (parts.length == 2) {
+                try {
+                    season = Integer.valueOf(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("预热筛选组合季节无效: " + trimmed);
+                }
+                if (season < 0 || season > 3) {
+                    throw new IllegalArgumentException("预热筛选组合季节无效: " + trimmed);
+                }
+            }
+            WarmupFilter filter = new WarmupFilter(year, season);
+            if (!result.contains(filter)) {
+                result.add(filter);
+            }
+        }
+        return result;
+    }
+
+    private static Integer parseYear(String value, int currentYear, String item) {
+        if ("all".equalsIgnoreCase(value)) {
+            return null;
+        }
+        if ("current".equalsIgnoreCase(value)) {
+            return currentYear;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("预热筛选组合年份无效: " + item);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmupScheduler.shutdown();
+    }
+
+    /**
+     * 预热筛选组合：年份（null 为不限）与季节（null 为不限）
+     */
+    static final class WarmupFilter {
+
+        private final Integer year;
+
+        private final Integer season;
+
+        WarmupFilter(Integer year, Integer season) {
+            this.year = year;
+            this.season = season;
+        }
+
+        Integer getYear() {
+            return year;
+        }
+
+        Integer getSeason() {
+            return season;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WarmupFilter)) {
+                return false;
+            }
+            WarmupFilter other = (WarmupFilter) o;
+            return Objects.equals(year, other.year) && Objects.equals(season, other.season);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(year, season);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + (year == null ? "all" : year) + (season == null ? "" : ":" + season) + "]";
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.demo.cache;
+
+/**
+ * 每日趋势计数序列
+ * 每个指标一列 int 数组，下标为「日期距1970-01-01天数 - firstDay」，未出现的日期计数为0；
+ * 滚动窗口求和只扫描区间内的天数，不访问明细表
+ *
+ * <p>非线程安全，由调用方加锁
+ */
+public final class DailyTrendSeries {
+
+    public static final int ADMISSIONS = 0;
+    public static final int DEATHS = 1;
+    /**
+     * 伤因分类 0-4 依次为 CAUSE_0 ~ CAUSE_0 + 4
+     */
+    public static final int CAUSE_0 = 2;
+    public static final int CAUSE_COUNT = 5;
+    /**
+     * 接诊到CT分钟数之和
+     */
+    public static final int CT_MINUTES_SUM = CAUSE_0 + CAUSE_COUNT;
+    /**
+     * 有有效CT时间的患者数
+     */
+    public static final int CT_COUNT = CT_MINUTES_SUM + 1;
+
+    public static final int COLUMN_COUNT = CT_COUNT + 1;
+
+    /**
+     * 扩容时额外预留的天数，避免逐日导入时频繁复制
+     */
+    private static final int GROWTH_SLACK = 366;
+
+    private int firstDay;
+    private int[][] columns = new int[COLUMN_COUNT][0];
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+
+    /**
+     * 是否没有任何日期
+     */
+    public boolean isEmpty() {
+        return minDay > maxDay;
+    }
+
+    /**
+     * 有数据的最早日期（天数），为空时无意义
+     */
+    public int minDay() {
+        return minDay;
+    }
+
+    /**
+     * 有数据的最晚日期（天数），为空时无意义
+     */
+    public int maxDay() {
+        return maxDay;
+    }
+
+    /**
+     * 覆盖某一天的全部指标
+     * @param day 日期距1970-01-01天数
+     * @param values 各列取值，长度为 {@link #COLUMN_COUNT}
+     */
+    public void put(int day, int[] values) {
+        ensureDay(day);
+        int index = day - firstDay;
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            columns[c][index] = values[c];
+        }
+        minDay = Math.min(minDay, day);
+        maxDay = Math.max(maxDay, day);
+    }
+
+    /**
+     * 清空某一天（该日期已没有病例）
+     */
+    public void clear(int day) {
+        int index = day - firstDay;
+        if (index < 0 || columns[0].length <= index) {
+            return;
+        }
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            columns[c][index] = 0;
+        }
+    }
+
+    /**
+     * 某列某天的值，超出范围为0
+     */
+    public int value(int column, int day) {
+        int index = day - firstDay;
+        int[] values = columns[column];
+        return index < 0 || index >= values.length ? 0 : values[index];
+    }
+
+    /**
+     * 滚动窗口求和：结果第 i 项为 [fromDay + i - window + 1, fromDay + i] 区间之和
+     * @param column 列
+     * @param fromDay 起始日期（含）
+     * @param toDay 结束日期（含）
+     * @param window 窗口天数，不小于1
+     * @return 长度为 toDay - fromDay + 1 的数组
+     */
+    public long[] rollingSum(int column, int fromDay, int toDay, int window) {
+        int n = Math.max(0, toDay - fromDay + 1);
+        long[] result = new long[n];
+        long sum = 0;
+        for (int day = fromDay - window + 1; day < fromDay; day++) {
+            sum += value(column, day);
+        }
+        for (int i = 0; i < n; i++) {
+            int day = fromDay + i;
+            sum += value(column, day);
+            result[i] = sum;
+            sum -= value(column, day - window + 1);
+        }
+        return result;
+    }
+
+    private void ensureDay(int day) {
+        int length = columns[0].length;
+        if (length == 0) {
+            firstDay = day - GROWTH_SLACK;
+            resize(firstDay, 2 * GROWTH_SLACK + 1);
+            return;
+        }
+        if (day < firstDay) {
+            int newFirst = day - GROWTH_SLACK;
+            resize(newFirst, length + (firstDay - newFirst));
+        } else if (day >= firstDay + length) {
+            resize(firstDay, day - firstDay + 1 + GROWTH_SLACK);
+        }
+    }
+
+    private void resize(int newFirst, int newLength) {
+        int offset = firstDay - newFirst;
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            int[] grown = new int[newLength];
+            int[] old = columns[c];
+            if (old.length > 0) {
+                System.arraycopy(old, 0, grown, offset, old.length);
+            }
+            columns[c] = grown;
+        }
+        firstDay = newFirst;
+    }
+}
@@ -0,0 +1,102 @@
+package com.demo.cache;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 一次写入（一个事务，或无事务时的一条语句）涉及的业务数据范围
+ * 记录写过的 Mapper；写入方报告了受影响的接诊日期/患者时为有范围的变更，派生数据可按范围增量刷新，
+ * 否则（或解析范围失败）派生数据只能按写过的 Mapper 判断是否需要全量重建
+ */
+public class DataChangeSet {
+
+    /**
+     * 不涉及任何业务表的变更（如派生表重建后递增版本）
+     */
+    public static final DataChangeSet NONE = new DataChangeSet();
+
+    private final Set<String> mappers = new LinkedHashSet<>();
+
+    private final Set<LocalDate> admissionDates = new LinkedHashSet<>();
+
+    private final Set<Integer> patientIds = new LinkedHashSet<>();
+
+    private boolean scoped = false;
+
+    DataChangeSet() {
+    }
+
+    /**
+     * @param mapperNamespace 写过的 Mapper 全限定名
+     */
+    void recordMapper(String mapperNamespace) {
+        mappers.add(mapperNamespace);
+    }
+
+    void addAdmissionDates(Collection<LocalDate> dates) {
+        admissionDates.addAll(dates);
+        scoped = true;
+    }
+
+    void addPatients(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            if (id != null) {
+                patientIds.add(id);
+            }
+        }
+        scoped = true;
+    }
+
+    /**
+     * 范围无法确定（如按患者解析接诊日期失败），派生数据应全量重建
+     */
+    void markUnscoped() {
+        scoped = false;
+    }
+
+    /**
+     * 是否写过给定 Mapper 中的任意一个
+     */
+    public boolean touches(Class<?>... mapperTypes) {
+        for (Class<?> mapperType : mapperTypes) {
+            if (mappers.contains(mapperType.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return mappers.isEmpty();
+    }
+
+    /**
+     * 写入方是否报告了完整的受影响范围
+     */
+    public boolean isScoped() {
+        return scoped;
+    }
+
+    /**
+     * 受影响的接诊日期（含按患者解析出的日期；null 表示接诊日期为空的病例）
+     */
+    public Set<LocalDate> getAdmissionDates() {
+        return Collections.unmodifiableSet(admissionDates);
+    }
+
+    /**
+     * 写入方报告的受影响患者
+     */
+    public Set<Integer> getPatientIds() {
+        return Collections.unmodifiableSet(patientIds);
+    }
+
+    @Override
+    public String toString() {
+        return "DataChangeSet{mappers=" + mappers + ", dates=" + admissionDates.size()
+                + ", patients=" + patientIds.size() + ", scoped=" + scoped + "}";
+    }
+}
@@ -0,0 +1,144 @@
+package com.demo.cache;
+
+import com.demo.mapper.PatientStatisticsMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 业务数据变更跟踪
+ * {@link DataVersionInterceptor} 记录每条业务写语句所属的 Mapper，写入方可另外报告受影响的接诊日期或患者；
+ * 同一事务内的记录合并为一个 {@link DataChangeSet}：
+ * 提交前发布 {@link DataChangingEvent}（聚合表等在同一事务中刷新），提交后递增 {@link DataVersion} 并发布 {@link DataChangedEvent}。
+ * 无事务的写语句各自立即发布两个事件，且没有范围
+ */
+@Component
+public class DataChangeTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataChangeTracker.class);
+
+    /**
+     * 单条 IN 语句的最大患者数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 事务资源键：当前事务的变更集合
+     */
+    private final Object resourceKey = new Object();
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Lazy
+    @Autowired
+    private PatientStatisticsMapper patientStatisticsMapper;
+
+    /**
+     * 业务写语句执行后调用
+     * @param mapperNamespace 语句所属 Mapper 的全限定名
+     */
+    public void recordWrite(String mapperNamespace) {
+        DataChangeSet changes = current();
+        if (changes == null) {
+            DataChangeSet single = new DataChangeSet();
+            single.recordMapper(mapperNamespace);
+            eventPublisher.publishEvent(new DataChangingEvent(this, single));
+            dataVersion.bump(single);
+            return;
+        }
+        changes.recordMapper(mapperNamespace);
+    }
+
+    /**
+     * 报告当前事务影响的接诊日期（删除病例前收集的日期、导入的病例日期）；
+     * 报告的范围须覆盖本事务的全部写入。不在事务中时忽略（写语句已按无范围发布）
+     * @param dates 接诊日期，null 表示接诊日期为空的病例
+     */
+    public void reportAdmissionDates(Collection<LocalDate> dates) {
+        DataChangeSet changes = current();
+        if (changes != null && dates != null) {
+            changes.addAdmissionDates(dates);
+        }
+    }
+
+    /**
+     * 报告当前事务影响的患者；提交前按明细解析为接诊日期。不在事务中时忽略
+     */
+    public void reportPatients(Collection<Integer> patientIds) {
+        DataChangeSet changes = current();
+        if (changes != null && patientIds != null) {
+            changes.addPatients(patientIds);
+        }
+    }
+
+    /**
+     * 当前事务的变更集合；首次使用时注册事务回调。不在事务中时返回 null
+     */
+    private DataChangeSet current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        DataChangeSet existing = (DataChangeSet) TransactionSynchronizationManager.getResource(resourceKey);
+        if (existing != null) {
+            return existing;
+        }
+        DataChangeSet created = new DataChangeSet();
+        TransactionSynchronizationManager.bindResource(resourceKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (created.isEmpty()) {
+                    return;
+                }
+                // 提交前明细已全部写入，此时按患者解析的接诊日期即为最终结果
+                resolveDates(created);
+                eventPublisher.publishEvent(new DataChangingEvent(DataChangeTracker.this, created));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                if (status == STATUS_COMMITTED && !created.isEmpty()) {
+                    dataVersion.bump(created);
+                }
+            }
+        });
+        return created;
+    }
+
+    private void resolveDates(DataChangeSet changes) {
+        if (!changes.isScoped() || changes.getPatientIds().isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(changes.getPatientIds());
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        try {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                for (String date : patientStatisticsMapper.selectAdmissionDatesByPatients(
+                        ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())))) {
+                    dates.add(date == null || date.isEmpty() ? null : LocalDate.parse(date));
+                }
+            }
+            changes.addAdmissionDates(dates);
+        } catch (Exception e) {
+            changes.markUnscoped();
+            logger.error("解析患者接诊日期失败，本次变更按无范围处理: {}", e.getMessage(), e);
+        }
+    }
+}
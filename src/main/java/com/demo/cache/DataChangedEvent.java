@@ -0,0 +1,35 @@
+package com.demo.cache;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 业务数据变更事件
+ * 数据版本号递增后发布（事务内的写操作在提交后才发布），内存索引和缓存据此失效或重建
+ */
+public class DataChangedEvent extends ApplicationEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 变更后的数据版本号
+     */
+    private final long version;
+
+    /**
+     * 本次变更的范围
+     */
+    private final transient DataChangeSet changes;
+
+    public DataChangedEvent(Object source, long version, DataChangeSet changes) {
+        super(source);
+        this.version = version;
+        this.changes = changes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public DataChangeSet getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.cache;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 业务数据即将提交事件
+ * 在写事务提交前（无事务时在写语句执行后）同步发布，监听方在同一事务中刷新派生表，与明细一起提交或回滚；
+ * 监听方不得抛出异常，刷新失败时应自行标记派生数据不可用
+ */
+public class DataChangingEvent extends ApplicationEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 本次写入的范围
+     */
+    private final transient DataChangeSet changes;
+
+    public DataChangingEvent(Object source, DataChangeSet changes) {
+        super(source);
+        this.changes = changes;
+    }
+
+    public DataChangeSet getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,52 @@
+package com.demo.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 业务数据版本号
+ * 任何业务表的写入提交后递增一次（见 {@link DataChangeTracker}），
+ * 内存索引、统计缓存等派生数据以此判断是否过期
+ */
+@Component
+public class DataVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataVersion.class);
+
+    private final AtomicLong version = new AtomicLong(1);
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 当前版本号
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 版本号递增并发布不涉及业务表的 {@link DataChangedEvent}（如派生表重建完成后）
+     * @return 递增后的版本号
+     */
+    public long bump() {
+        return bump(DataChangeSet.NONE);
+    }
+
+    /**
+     * 版本号递增并发布 {@link DataChangedEvent}
+     * @param changes 本次变更的范围
+     * @return 递增后的版本号
+     */
+    public long bump(DataChangeSet changes) {
+        long next = version.incrementAndGet();
+        logger.debug("数据版本递增: {}, {}", next, changes);
+        eventPublisher.publishEvent(new DataChangedEvent(this, next, changes));
+        return next;
+    }
+}
@@ -0,0 +1,57 @@
+package com.demo.cache;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MyBatis写操作拦截器
+ * 业务表发生 INSERT/UPDATE/DELETE 后交给 {@link DataChangeTracker} 记录：
+ * 在Spring事务中时，每个事务提交前后各发布一次变更事件（回滚不发布）；无事务时立即发布
+ */
+@Component
+@Intercepts({@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
+public class DataVersionInterceptor implements Interceptor {
+
+    /**
+     * 派生表（聚合表、事实表）的Mapper，写入它们不代表业务数据变化
+     */
+    private static final List<String> DERIVED_MAPPERS = Arrays.asList(
+            "com.demo.mapper.InjuryHourCubeMapper.",
+            "com.demo.mapper.DailyStatCubeMapper.",
+            "com.demo.mapper.PatientRegionAisMapper."
+    );
+
+    @Lazy
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        String statementId = ms.getId();
+        if (!isDerived(statementId)) {
+            dataChangeTracker.recordWrite(statementId.substring(0, statementId.lastIndexOf('.')));
+        }
+        return result;
+    }
+
+    private boolean isDerived(String statementId) {
+        for (String prefix : DERIVED_MAPPERS) {
+            if (statementId.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,230 @@
+package com.demo.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 患者详情读穿缓存
+ * 按（数据类型，患者ID，附加参数）缓存单个患者的详情查询结果（GCS、ISS、干预时间、部位伤情明细），
+ * 容量有限，超出后淘汰最久未访问的结果；查询结果为 null 时同样缓存，避免反复查询没有记录的患者。
+ *
+ * <p>不随 {@link DataChangedEvent} 整体清空，而由修改患者数据的代码（患者修改/删除、干预时间修改、各导入服务）
+ * 按患者ID精确失效；在事务中调用时于提交后失效。加载期间若发生过失效，加载结果不写入缓存，
+ * 避免并发读把提交前的旧数据重新放回缓存。
+ */
+@Component
+public class PatientDetailCache {
+
+    public static final String GCS = "gcs";
+
+    public static final String ISS = "iss";
+
+    public static final String INTERVENTION = "intervention";
+
+    public static final String INJURY_DETAIL = "injuryDetail";
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final int maxEntries;
+
+    private final Map<Key, Object> entries;
+
+    /**
+     * 失效次数（在 entries 锁内修改），用于判断加载期间是否发生过失效
+     */
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public PatientDetailCache(@Value("${patient.detail-cache.max-entries:2000}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > PatientDetailCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 加载并写入缓存
+     * @param type 数据类型，见本类常量
+     * @param patientId 患者ID，为 null 时不缓存
+     * @param qualifier 附加参数（如身体部位），没有时传 null
+     * @param loader 加载函数
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String type, Integer patientId, Object qualifier, Supplier<T> loader) {
+        if (patientId == null) {
+            return loader.get();
+        }
+        Key key = new Key(type, patientId, qualifier);
+        Object cached;
+        long loadGeneration;
+        synchronized (entries) {
+            cached = entries.get(key);
+            loadGeneration = generation;
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached == NULL_VALUE ? null : (T) cached;
+        }
+        misses.increment();
+        T value = loader.get();
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(key, value == null ? NULL_VALUE : value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 失效单个患者的全部缓存
+     */
+    public void invalidate(Integer patientId) {
+        if (patientId != null) {
+            invalidate(Collections.singleton(patientId));
+        }
+    }
+
+    /**
+     * 失效多个患者的全部缓存；当前线程处于事务中时于提交后执行，回滚时不失效
+     */
+    public void invalidate(Collection<Integer> patientIds) {
+        if (patientIds == null || patientIds.isEmpty()) {
+            return;
+        }
+        Set<Integer> ids = new HashSet<>(patientIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+    private void evict(Set<Integer> patientIds) {
+        synchronized (entries) {
+            generation++;
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (patientIds.contains(iterator.next().patientId)) {
+                    iterator.remove();
+                }
+            }
+        }
+        invalidations.add(patientIds.size());
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 因容量不足被淘汰的条目数
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 被失效的患者数（按每次失效的患者ID累计）
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * 命中率（0~1），尚无请求时为 0
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    static final class Key {
+
+        private final String type;
+
+        private final Integer patientId;
+
+        private final Object qualifier;
+
+        Key(String type, Integer patientId, Object qualifier) {
+            this.type = type;
+            this.patientId = patientId;
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(type, other.type)
+                    && Objects.equals(patientId, other.patientId)
+                    && Objects.equals(qualifier, other.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, patientId, qualifier);
+        }
+    }
+}
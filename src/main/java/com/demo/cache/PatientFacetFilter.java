@@ -0,0 +1,55 @@
+package com.demo.cache;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 患者集合索引的基础筛选条件（与统计接口的公共查询参数一致）
+ */
+@Data
+@NoArgsConstructor
+public class PatientFacetFilter {
+    /**
+     * 开始日期（yyyy-MM-dd，与endDate同时传递才生效）
+     */
+    private String startDate;
+    /**
+     * 结束日期（yyyy-MM-dd）
+     */
+    private String endDate;
+    /**
+     * 年份
+     */
+    private Integer year;
+    /**
+     * 季节（0-春季，1-夏季，2-秋季，3-冬季）
+     */
+    private Integer season;
+    /**
+     * 时间段（0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
+     */
+    private Integer timePeriod;
+    /**
+     * 自定义开始时间（当日分钟数，与customEndMinutes同时传递才生效）
+     */
+    private Integer customStartMinutes;
+    /**
+     * 自定义结束时间（当日分钟数）
+     */
+    private Integer customEndMinutes;
+    /**
+     * 日期范围是否按干预时间表的接诊日期筛选（死亡、伤因下钻沿用该口径），默认按病例表接诊日期
+     */
+    private boolean interventionDateRange;
+
+    public PatientFacetFilter(String startDate, String endDate, Integer year, Integer season, Integer timePeriod,
+                              Integer customStartMinutes, Integer customEndMinutes) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.year = year;
+        this.season = season;
+        this.timePeriod = timePeriod;
+        this.customStartMinutes = customStartMinutes;
+        this.customEndMinutes = customEndMinutes;
+    }
+}
@@ -0,0 +1,159 @@
+package com.demo.cache;
+
+import com.demo.mapper.PatientStatisticsMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 患者集合内存索引
+ * 启动后及每次业务数据变化（{@link DataChangedEvent}）后在后台线程全量重建快照；
+ * 快照版本落后于当前数据版本时 {@link #current()} 返回 null，调用方回退到SQL查询，保证不返回过期结果
+ */
+@Component
+public class PatientFacetIndex extends SnapshotIndex<PatientFacetSnapshot> {
+
+    @Autowired
+    private PatientStatisticsMapper patientStatisticsMapper;
+
+    public PatientFacetIndex() {
+        super("patient-facet-index", "患者集合索引");
+    }
+
+    /**
+     * 当前可用的快照
+     * @return 与当前数据版本一致的快照；尚未构建完成或已过期时返回 null
+     */
+    public PatientFacetSnapshot current() {
+        PatientFacetSnapshot current = snapshot();
+        if (current == null || !isCurrent(current.getVersion())) {
+            return null;
+        }
+        return current;
+    }
+
+    @Override
+    protected String describe(PatientFacetSnapshot built) {
+        return "患者数=" + built.all().getCardinality();
+    }
+
+    @Override
+    protected PatientFacetSnapshot build(long version) {
+        PatientFacetSnapshot.Builder builder = new PatientFacetSnapshot.Builder(version);
+
+        for (Map<String, Object> row : patientStatisticsMapper.selectFacetCaseRows()) {
+            Integer patientId = toInteger(row.get("patient_id"));
+            if (patientId == null) {
+                continue;
+            }
+            builder.addToAll(patientId)
+                    .addRecordDay(toInteger(row.get("record_day")), patientId)
+                    .addInterventionDay(toInteger(row.get("intervention_day")), patientId)
+                    .addAdmissionMinute(toInteger(row.get("admission_minutes")), patientId)
+                    .addFacet(PatientFacetSnapshot.FACET_SEASON, toKey(row.get("season")), patientId)
+                    .addFacet(PatientFacetSnapshot.FACET_TIME_PERIOD, toKey(row.get("time_period")), patientId)
+                    .addFacet(PatientFacetSnapshot.FACET_CAUSE, toKey(row.get("injury_cause_category")), patientId)
+                    .addFacet(PatientFacetSnapshot.FACET_DEATH, toKey(row.get("death")), patientId);
+        }
+
+        for (Map<String, Object> row : patientStatisticsMapper.selectFacetIssRows()) {
+            Integer patientId = toInteger(row.get("patient_id"));
+            if (patientId == null) {
+                continue;
+            }
+            builder.addPresence(PatientFacetSnapshot.PRESENCE_ISS_RECORD, patientId);
+            Integer score = toInteger(row.get("iss_score"));
+            if (score != null) {
+                builder.addPresence(PatientFacetSnapshot.PRESENCE_ISS_SCORE, patientId)
+                        .addFacet(PatientFacetSnapshot.FACET_ISS_SEGMENT, issSegment(score), patientId);
+            }
+        }
+
+        for (Map<String, Object> row : patientStatisticsMapper.selectFacetGcsRows()) {
+            Integer patientId = toInteger(row.get("patient_id"));
+            Integer score = toInteger(row.get("total_score"));
+            if (patientId == null || score == null) {
+                continue;
+            }
+            builder.addPresence(PatientFacetSnapshot.PRESENCE_GCS, patientId)
+                    .addFacet(PatientFacetSnapshot.FACET_GCS_SEGMENT, gcsSegment(score), patientId);
+        }
+
+        for (Map<String, Object> row : patientStatisticsMapper.selectFacetRtsRows()) {
+            Integer patientId = toInteger(row.get("patient_id"));
+            Integer total = toInteger(row.get("rts_total"));
+            if (patientId == null || total == null) {
+                continue;
+            }
+            builder.addPresence(PatientFacetSnapshot.PRESENCE_RTS, patientId)
+                    .addFacet(PatientFacetSnapshot.FACET_RTS_SCORE, String.valueOf(total), patientId);
+        }
+
+        for (Map<String, Object> row : patientStatisticsMapper.selectFacetRegionRows()) {
+            Integer patientId = toInteger(row.get("patient_id"));
+            Object region = row.get("region");
+            Integer maxAis = toInteger(row.get("max_ais"));
+            if (patientId == null || region == null) {
+                continue;
+            }
+            builder.addFacet(PatientFacetSnapshot.FACET_BODY_PART, region.toString(), patientId);
+            String severity = maxAis == null ? null : severityLevel(maxAis);
+            if (severity != null) {
+                builder.addFacet(PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY,
+                        PatientFacetSnapshot.regionSeverityKey(region.toString(), severity), patientId);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * ISS分段，与 getISSSegmentPatientIds 的区间一致
+     */
+    static String issSegment(int score) {
+        if (score >= 0 && score <= 16) {
+            return "light";
+        }
+        if (score >= 17 && score <= 25) {
+            return "severe";
+        }
+        return score > 25 ? "critical" : null;
+    }
+
+    /**
+     * GCS分段，与 getGCSSegmentPatientIds 的区间一致
+     */
+    static String gcsSegment(int score) {
+        if (score == 15) {
+            return "clear";
+        }
+        if (score >= 12 && score <= 14) {
+            return "mild";
+        }
+        if (score >= 9 && score <= 11) {
+            return "moderate";
+        }
+        return score >= 3 && score <= 8 ? "coma" : null;
+    }
+
+    /**
+     * 区域严重程度，与 regionSeverityLevel 片段一致
+     */
+    static String severityLevel(int maxAis) {
+        if (maxAis >= 1 && maxAis <= 2) {
+            return "mild";
+        }
+        if (maxAis == 3) {
+            return "moderate";
+        }
+        if (maxAis >= 4 && maxAis <= 5) {
+            return "severe";
+        }
+        return maxAis == 6 ? "critical" : null;
+    }
+
+    private static String toKey(Object value) {
+        Integer number = toInteger(value);
+        return number == null ? null : String.valueOf(number);
+    }
+}
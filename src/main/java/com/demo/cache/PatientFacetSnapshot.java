@@ -0,0 +1,285 @@
+package com.demo.cache;
+
+import com.demo.utils.SortedIdList;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 患者集合索引快照（只读）
+ * 每个维度取值对应一个压缩位图（位图下标即患者ID），筛选与下钻通过位图的与/或运算完成
+ *
+ * <p>维度（facet）及取值：
+ * <ul>
+ *   <li>cause：受伤原因分类 0-4</li>
+ *   <li>death：1-死亡，0-未死亡</li>
+ *   <li>season：季节 0-3</li>
+ *   <li>timePeriod：时间段 0-5</li>
+ *   <li>issSegment：light（ISS 0-16）、severe（17-25）、critical（&gt;25）</li>
+ *   <li>gcsSegment：clear（15）、mild（12-14）、moderate（9-11）、coma（3-8）</li>
+ *   <li>rtsScore：RTS总分</li>
+ *   <li>bodyPart：受伤区域 head_neck/face/chest/abdomen/limbs/body</li>
+ *   <li>bodyRegionSeverity：区域:严重程度，如 head_neck:mild</li>
+ * </ul>
+ * 全集 {@link #all()} 为同时存在病例记录和干预时间记录的患者，与统计SQL的连接口径一致。
+ */
+public final class PatientFacetSnapshot {
+
+    public static final String FACET_CAUSE = "cause";
+    public static final String FACET_DEATH = "death";
+    public static final String FACET_SEASON = "season";
+    public static final String FACET_TIME_PERIOD = "timePeriod";
+    public static final String FACET_ISS_SEGMENT = "issSegment";
+    public static final String FACET_GCS_SEGMENT = "gcsSegment";
+    public static final String FACET_RTS_SCORE = "rtsScore";
+    public static final String FACET_BODY_PART = "bodyPart";
+    public static final String FACET_BODY_REGION_SEVERITY = "bodyRegionSeverity";
+
+    /**
+     * 有ISS评分（iss_score非空）的患者
+     */
+    public static final String PRESENCE_ISS_SCORE = "issScore";
+    /**
+     * 有ISS记录（不论评分是否为空）的患者
+     */
+    public static final String PRESENCE_ISS_RECORD = "issRecord";
+    /**
+     * 有GCS总分的患者
+     */
+    public static final String PRESENCE_GCS = "gcs";
+    /**
+     * 有完整RTS三项评分的患者
+     */
+    public static final String PRESENCE_RTS = "rts";
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final long version;
+    private final RoaringBitmap all;
+    private final Map<String, Map<String, RoaringBitmap>> facets;
+    private final Map<String, RoaringBitmap> presence;
+    private final NavigableMap<Integer, RoaringBitmap> byRecordDay;
+    private final NavigableMap<Integer, RoaringBitmap> byInterventionDay;
+    private final NavigableMap<Integer, RoaringBitmap> byAdmissionMinute;
+
+    private PatientFacetSnapshot(Builder builder) {
+        this.version = builder.version;
+        this.all = builder.all;
+        this.facets = builder.facets;
+        this.presence = builder.presence;
+        this.byRecordDay = builder.byRecordDay;
+        this.byInterventionDay = builder.byInterventionDay;
+        this.byAdmissionMinute = builder.byAdmissionMinute;
+    }
+
+    /**
+     * 构建时的数据版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 全集（只读，调用方不得修改）
+     */
+    public RoaringBitmap all() {
+        return all;
+    }
+
+    /**
+     * 维度的全部取值位图（只读）
+     */
+    public Map<String, RoaringBitmap> facet(String facet) {
+        Map<String, RoaringBitmap> values = facets.get(facet);
+        return values == null ? Collections.<String, RoaringBitmap>emptyMap() : Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 维度某一取值的位图（只读），不存在时返回空位图
+     */
+    public RoaringBitmap facetValue(String facet, String value) {
+        RoaringBitmap bitmap = facet(facet).get(value);
+        return bitmap == null ? EMPTY : bitmap;
+    }
+
+    /**
+     * 存在性位图（只读），见 PRESENCE_* 常量
+     */
+    public RoaringBitmap presence(String name) {
+        RoaringBitmap bitmap = presence.get(name);
+        return bitmap == null ? EMPTY : bitmap;
+    }
+
+    /**
+     * 计算基础筛选条件下的患者集合（新位图，调用方可修改）
+     * @param filter 筛选条件，null 表示不筛选
+     * @return 患者集合；日期参数无法解析时返回 null，调用方应回退到SQL查询
+     */
+    public RoaringBitmap cohort(PatientFacetFilter filter) {
+        RoaringBitmap result = all.clone();
+        if (filter == null) {
+            return result;
+        }
+        if (filter.getStartDate() != null && filter.getEndDate() != null) {
+            Integer from = parseEpochDay(filter.getStartDate());
+            Integer to = parseEpochDay(filter.getEndDate());
+            if (from == null || to == null) {
+                return null;
+            }
+            NavigableMap<Integer, RoaringBitmap> days = filter.isInterventionDateRange() ? byInterventionDay : byRecordDay;
+            result.and(union(days, from, to));
+        }
+        if (filter.getYear() != null) {
+            int from = (int) LocalDate.of(filter.getYear(), 1, 1).toEpochDay();
+            int to = (int) LocalDate.of(filter.getYear(), 12, 31).toEpochDay();
+            result.and(union(byRecordDay, from, to));
+        }
+        if (filter.getSeason() != null) {
+            result.and(facetValue(FACET_SEASON, String.valueOf(filter.getSeason())));
+        }
+        if (filter.getTimePeriod() != null) {
+            result.and(facetValue(FACET_TIME_PERIOD, String.valueOf(filter.getTimePeriod())));
+        }
+        if (filter.getCustomStartMinutes() != null && filter.getCustomEndMinutes() != null) {
+            result.and(union(byAdmissionMinute, filter.getCustomStartMinutes(), filter.getCustomEndMinutes()));
+        }
+        return result;
+    }
+
+    /**
+     * 维度直方图：各取值位图与给定集合的交集基数
+     * @param facet 维度名
+     * @param within 限定集合
+     * @param preferredOrder 优先输出的取值（即使计数为0也输出），可以为空
+     * @return 取值 -> 患者数；其余取值按数值（非数值按字典序）升序排在后面
+     */
+    public Map<String, Long> histogram(String facet, RoaringBitmap within, List<String> preferredOrder) {
+        Map<String, RoaringBitmap> values = facet(facet);
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String value : preferredOrder) {
+            RoaringBitmap bitmap = values.get(value);
+            result.put(value, bitmap == null ? 0L : RoaringBitmap.andCardinality(bitmap, within));
+        }
+        List<String> rest = new ArrayList<>(values.keySet());
+        rest.removeAll(result.keySet());
+        rest.sort(PatientFacetSnapshot::compareValues);
+        for (String value : rest) {
+            result.put(value, (long) RoaringBitmap.andCardinality(values.get(value), within));
+        }
+        return result;
+    }
+
+    private static int compareValues(String a, String b) {
+        boolean numericA = a.matches("-?\\d+");
+        boolean numericB = b.matches("-?\\d+");
+        if (numericA && numericB) {
+            return Long.compare(Long.parseLong(a), Long.parseLong(b));
+        }
+        if (numericA != numericB) {
+            return numericA ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * bodyRegionSeverity 维度的取值键
+     */
+    public static String regionSeverityKey(String region, String severityLevel) {
+        return region + ":" + severityLevel;
+    }
+
+    /**
+     * 位图转为升序患者ID列表（只读视图，不展开为 Integer 列表；位图之后不得再修改）
+     */
+    public static List<Integer> toList(RoaringBitmap bitmap) {
+        return new SortedIdList(bitmap);
+    }
+
+    private static RoaringBitmap union(NavigableMap<Integer, RoaringBitmap> index, int from, int to) {
+        if (from > to) {
+            return new RoaringBitmap();
+        }
+        return FastAggregation.or(index.subMap(from, true, to, true).values().iterator());
+    }
+
+    private static Integer parseEpochDay(String date) {
+        try {
+            return (int) LocalDate.parse(date.trim()).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 快照构建器（非线程安全，仅在重建线程中使用）
+     */
+    public static final class Builder {
+        private final long version;
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<String, Map<String, RoaringBitmap>> facets = new LinkedHashMap<>();
+        private final Map<String, RoaringBitmap> presence = new LinkedHashMap<>();
+        private final NavigableMap<Integer, RoaringBitmap> byRecordDay = new TreeMap<>();
+        private final NavigableMap<Integer, RoaringBitmap> byInterventionDay = new TreeMap<>();
+        private final NavigableMap<Integer, RoaringBitmap> byAdmissionMinute = new TreeMap<>();
+
+        public Builder(long version) {
+            this.version = version;
+        }
+
+        public Builder addToAll(int patientId) {
+            all.add(patientId);
+            return this;
+        }
+
+        public Builder addFacet(String facet, String value, int patientId) {
+            if (value != null) {
+                facets.computeIfAbsent(facet, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(value, k -> new RoaringBitmap())
+                        .add(patientId);
+            }
+            return this;
+        }
+
+        public Builder addPresence(String name, int patientId) {
+            presence.computeIfAbsent(name, k -> new RoaringBitmap()).add(patientId);
+            return this;
+        }
+
+        public Builder addRecordDay(Integer epochDay, int patientId) {
+            return addRange(byRecordDay, epochDay, patientId);
+        }
+
+        public Builder addInterventionDay(Integer epochDay, int patientId) {
+            return addRange(byInterventionDay, epochDay, patientId);
+        }
+
+        public Builder addAdmissionMinute(Integer minute, int patientId) {
+            return addRange(byAdmissionMinute, minute, patientId);
+        }
+
+        private Builder addRange(NavigableMap<Integer, RoaringBitmap> index, Integer key, int patientId) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new RoaringBitmap()).add(patientId);
+            }
+            return this;
+        }
+
+        public PatientFacetSnapshot build() {
+            all.runOptimize();
+            for (Map<String, RoaringBitmap> values : facets.values()) {
+                values.values().forEach(RoaringBitmap::runOptimize);
+            }
+            presence.values().forEach(RoaringBitmap::runOptimize);
+            return new PatientFacetSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.cache;
+
+import com.demo.mapper.PatientStatisticsMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 患者全文检索索引
+ * 启动后及每次业务数据变化（导入、修改、删除后的 {@link DataChangedEvent}）在后台线程全量重建快照；
+ * 重建期间检索继续使用上一个快照（见 {@link #latest()}），调用方可据版本号判断结果是否可能过期
+ */
+@Component
+public class PatientSearchIndex extends SnapshotIndex<PatientSearchSnapshot> {
+
+    @Autowired
+    private PatientStatisticsMapper patientStatisticsMapper;
+
+    public PatientSearchIndex() {
+        super("patient-search-index", "患者检索索引");
+    }
+
+    /**
+     * 最近一次构建完成的快照
+     * @return 快照，版本可能落后于当前数据版本；尚未构建完成时返回 null
+     */
+    public PatientSearchSnapshot latest() {
+        return snapshot();
+    }
+
+    /**
+     * 快照是否与当前数据版本一致
+     */
+    public boolean isCurrent(PatientSearchSnapshot candidate) {
+        return candidate != null && isCurrent(candidate.getVersion());
+    }
+
+    @Override
+    protected String describe(PatientSearchSnapshot built) {
+        return "患者数=" + built.getDocumentCount() + ", 词项数=" + built.getTermCount();
+    }
+
+    @Override
+    protected PatientSearchSnapshot build(long version) {
+        PatientSearchSnapshot.Builder builder = new PatientSearchSnapshot.Builder(version);
+        for (Map<String, Object> row : patientStatisticsMapper.selectSearchPatientRows()) {
+            builder.add(toInteger(row.get("patient_id")), PatientSearchSnapshot.FIELD_NAME, toText(row.get("name")));
+        }
+        for (Map<String, Object> row : patientStatisticsMapper.selectSearchInjuryRows()) {
+            Integer patientId = toInteger(row.get("patient_id"));
+            builder.add(patientId, PatientSearchSnapshot.FIELD_INJURY_LOCATION, toText(row.get("injury_location")))
+                    .add(patientId, PatientSearchSnapshot.FIELD_INJURY_CAUSE, toText(row.get("injury_cause_detail")))
+                    .add(patientId, PatientSearchSnapshot.FIELD_STATION, toText(row.get("station_name")));
+        }
+        return builder.build();
+    }
+
+    private static String toText(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,310 @@
+package com.demo.cache;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 患者全文检索倒排索引快照（只读）
+ * 文本经 NFKC 归一化并转小写后切分：连续的中日韩字符按二元组（bigram）切分，并额外索引单字以支持单字查询；
+ * 连续的字母数字作为一个词。每个词项对应按患者ID升序的倒排表，记录该词出现在患者的哪些字段中。
+ *
+ * <p>查询的所有词项都必须命中（AND），得分为各词项 idf 与命中字段最高权重之积的和：
+ * idf = ln(1 + 患者总数 / 文档频率)，字段权重见 {@link #FIELD_WEIGHTS}。
+ */
+public final class PatientSearchSnapshot {
+
+    public static final int FIELD_NAME = 0;
+    public static final int FIELD_INJURY_LOCATION = 1;
+    public static final int FIELD_INJURY_CAUSE = 2;
+    public static final int FIELD_STATION = 3;
+
+    /**
+     * 字段名（用于返回命中字段），下标与 FIELD_* 一致
+     */
+    public static final String[] FIELD_NAMES = {"name", "injuryLocation", "injuryCause", "stationName"};
+
+    /**
+     * 字段权重：姓名命中最相关，其次为急救站点
+     */
+    static final double[] FIELD_WEIGHTS = {3.0, 1.0, 1.0, 1.5};
+
+    private final long version;
+
+    private final int documentCount;
+
+    private final Map<String, Postings> index;
+
+    private PatientSearchSnapshot(long version, int documentCount, Map<String, Postings> index) {
+        this.version = version;
+        this.documentCount = documentCount;
+        this.index = index;
+    }
+
+    /**
+     * 构建快照时的数据版本号
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 有可检索文本的患者数
+     */
+    public int getDocumentCount() {
+        return documentCount;
+    }
+
+    public int getTermCount() {
+        return index.size();
+    }
+
+    /**
+     * 检索
+     * @param query 查询文本
+     * @return 按得分降序、患者ID升序排列的全部命中；查询没有可用词项时返回空列表
+     */
+    public List<Hit> search(String query) {
+        List<String> terms = tokenize(query, true);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Postings> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings postings = index.get(term);
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            lists.add(postings);
+        }
+        // 从最短的倒排表开始求交集
+        lists.sort((a, b) -> Integer.compare(a.ids.length, b.ids.length));
+
+        Postings first = lists.get(0);
+        int[] ids = first.ids.clone();
+        double[] scores = new double[ids.length];
+        int[] masks = new int[ids.length];
+        int size = ids.length;
+        for (int i = 0; i < size; i++) {
+            scores[i] = first.score(i, documentCount);
+            masks[i] = first.masks[i];
+        }
+
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            Postings next = lists.get(l);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < next.ids.length && next.ids[j] < ids[i]) {
+                    j++;
+                }
+                if (j == next.ids.length) {
+                    break;
+                }
+                if (next.ids[j] == ids[i]) {
+                    ids[kept] = ids[i];
+                    scores[kept] = scores[i] + next.score(j, documentCount);
+                    masks[kept] = masks[i] | next.masks[j];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        List<Hit> hits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hits.add(new Hit(ids[i], scores[i], masks[i]));
+        }
+        hits.sort((a, b) -> {
+            int byScore = Double.compare(b.score, a.score);
+            return byScore != 0 ? byScore : Integer.compare(a.patientId, b.patientId);
+        });
+        return hits;
+    }
+
+    /**
+     * 切分文本
+     * @param text 文本
+     * @param forQuery 查询时长度不小于2的中日韩字符串只取二元组；建索引时同时输出单字
+     * @return 去重后的词项，保持出现顺序
+     */
+    public static List<String> tokenize(String text, boolean forQuery) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        Set<String> terms = new LinkedHashSet<>();
+        List<String> cjkRun = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                flushWord(word, terms);
+                cjkRun.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, terms, forQuery);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushCjk(cjkRun, terms, forQuery);
+                flushWord(word, terms);
+            }
+        }
+        flushCjk(cjkRun, terms, forQuery);
+        flushWord(word, terms);
+        return new ArrayList<>(terms);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void flushCjk(List<String> run, Set<String> terms, boolean forQuery) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1 || !forQuery) {
+            terms.addAll(run);
+        }
+        for (int i = 0; i + 1 < run.size(); i++) {
+            terms.add(run.get(i) + run.get(i + 1));
+        }
+        run.clear();
+    }
+
+    private static void flushWord(StringBuilder word, Set<String> terms) {
+        if (word.length() > 0) {
+            terms.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    /**
+     * 检索命中
+     */
+    public static final class Hit {
+
+        private final int patientId;
+
+        private final double score;
+
+        private final int fieldMask;
+
+        Hit(int patientId, double score, int fieldMask) {
+            this.patientId = patientId;
+            this.score = score;
+            this.fieldMask = fieldMask;
+        }
+
+        public int getPatientId() {
+            return patientId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * 命中的字段名，按 FIELD_* 顺序
+         */
+        public List<String> getMatchedFields() {
+            List<String> fields = new ArrayList<>();
+            for (int field = 0; field < FIELD_NAMES.length; field++) {
+                if ((fieldMask & (1 << field)) != 0) {
+                    fields.add(FIELD_NAMES[field]);
+                }
+            }
+            return fields;
+        }
+    }
+
+    /**
+     * 倒排表：患者ID升序，masks[i] 为词项在患者 ids[i] 中出现的字段位集
+     */
+    private static final class Postings {
+
+        private final int[] ids;
+
+        private final byte[] masks;
+
+        private Postings(int[] ids, byte[] masks) {
+            this.ids = ids;
+            this.masks = masks;
+        }
+
+        private double score(int i, int documentCount) {
+            double idf = Math.log(1.0 + (double) documentCount / ids.length);
+            double weight = 0;
+            for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                if ((masks[i] & (1 << field)) != 0) {
+                    weight = Math.max(weight, FIELD_WEIGHTS[field]);
+                }
+            }
+            return idf * weight;
+        }
+    }
+
+    /**
+     * 快照构建器（非线程安全）
+     */
+    public static final class Builder {
+
+        private final long version;
+
+        private final Map<String, Map<Integer, Integer>> terms = new HashMap<>();
+
+        private final Set<Integer> documents = new HashSet<>();
+
+        public Builder(long version) {
+            this.version = version;
+        }
+
+        /**
+         * 索引患者某个字段的文本；同一患者同一字段可多次添加（如多条病例）
+         */
+        public Builder add(Integer patientId, int field, String text) {
+            if (patientId == null || field < 0 || field >= FIELD_NAMES.length) {
+                return this;
+            }
+            List<String> tokens = tokenize(text, false);
+            if (tokens.isEmpty()) {
+                return this;
+            }
+            documents.add(patientId);
+            for (String token : tokens) {
+                terms.computeIfAbsent(token, k -> new HashMap<>()).merge(patientId, 1 << field, (a, b) -> a | b);
+            }
+            return this;
+        }
+
+        public PatientSearchSnapshot build() {
+            Map<String, Postings> index = new HashMap<>(terms.size() * 4 / 3 + 1);
+            for (Map.Entry<String, Map<Integer, Integer>> entry : terms.entrySet()) {
+                int[] ids = new int[entry.getValue().size()];
+                int n = 0;
+                for (Integer id : entry.getValue().keySet()) {
+                    ids[n++] = id;
+                }
+                Arrays.sort(ids);
+                byte[] masks = new byte[ids.length];
+                for (int i = 0; i < ids.length; i++) {
+                    masks[i] = entry.getValue().get(ids[i]).byteValue();
+                }
+                index.put(entry.getKey(), new Postings(ids, masks));
+            }
+            return new PatientSearchSnapshot(version, documents.size(), index);
+        }
+    }
+}
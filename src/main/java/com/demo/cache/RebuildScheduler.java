@@ -0,0 +1,173 @@
+package com.demo.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 派生数据的后台重建调度
+ * 内存索引、聚合表、趋势序列与统计预热共用：每个实例一个守护线程顺序执行同一个重建任务；
+ * 队列容量1，重建期间的多次请求合并为一次后续重建。
+ * 同时维护派生数据是否可用：任务成功完成且期间没有新的 {@link #invalidate()} 时可用；
+ * 任务抛出异常时不可用，并按退避间隔（{@value #INITIAL_RETRY_DELAY_MILLIS} ms 起倍增，最长 {@value #MAX_RETRY_DELAY_MILLIS} ms）自动重试，直到成功
+ */
+public class RebuildScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RebuildScheduler.class);
+
+    static final long INITIAL_RETRY_DELAY_MILLIS = 1000L;
+
+    static final long MAX_RETRY_DELAY_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * 所有调度器共用的重试定时线程，只负责到期后提交重建请求
+     */
+    private static final ScheduledExecutorService RETRY_TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rebuild-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String threadName;
+
+    private final Runnable task;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 下一次失败后的重试间隔；由 run 的同步块保护
+     */
+    private long retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+
+    private volatile ScheduledFuture<?> pendingRetry;
+
+    /**
+     * @param threadName 重建线程名
+     * @param task 重建任务，抛出异常表示失败
+     */
+    public RebuildScheduler(String threadName, Runnable task) {
+        this.threadName = threadName;
+        this.task = task;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                r -> {
+                    Thread thread = new Thread(r, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 最近一次任务成功完成，且之后没有被标记为失效
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 在调用线程中立即执行一次任务（用于启动时同步构建）
+     * @return 是否成功
+     */
+    public boolean runNow() {
+        return run();
+    }
+
+    /**
+     * 请求一次重建；已有排队的重建时合并
+     */
+    public void request() {
+        executor.execute(this::run);
+    }
+
+    /**
+     * 在事务中时于事务结束后（提交或回滚，此时明细变更已落定）请求重建，否则立即请求
+     */
+    public void requestAfterCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            request();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                request();
+            }
+        });
+    }
+
+    /**
+     * 在事务中时于提交后请求重建（回滚时不请求），否则立即请求
+     */
+    public void requestAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            request();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                request();
+            }
+        });
+    }
+
+    /**
+     * 标记派生数据已过期并安排重建（事务中时于事务结束后）；
+     * 正在进行的重建可能读不到本次变更，其完成后仍保持不可用，直到下一次重建完成
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        ready = false;
+        requestAfterCompletion();
+    }
+
+    private synchronized boolean run() {
+        long seen = invalidations.get();
+        try {
+            task.run();
+            ready = invalidations.get() == seen;
+            retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+            cancelRetry();
+            return true;
+        } catch (RuntimeException e) {
+            ready = false;
+            logger.error("后台重建失败 [{}]，{} ms 后重试: {}", threadName, retryDelayMillis, e.getMessage(), e);
+            scheduleRetry();
+            return false;
+        }
+    }
+
+    private void scheduleRetry() {
+        if (executor.isShutdown() || (pendingRetry != null && !pendingRetry.isDone())) {
+            return;
+        }
+        pendingRetry = RETRY_TIMER.schedule(this::request, retryDelayMillis, TimeUnit.MILLISECONDS);
+        retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    private void cancelRetry() {
+        ScheduledFuture<?> retry = pendingRetry;
+        if (retry != null) {
+            retry.cancel(false);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        cancelRetry();
+    }
+}
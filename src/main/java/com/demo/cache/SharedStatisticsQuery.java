@@ -0,0 +1,19 @@
+package com.demo.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记可合并、可缓存的统计查询方法（见 {@link StatisticsSingleFlightAspect}）
+ * 只用于不含单个患者参数的汇总查询：返回值在并发调用方与后续缓存命中之间共享，调用方不得修改；
+ * 单个患者的查询（如按患者ID查询干预时间）返回的对象会被调用方修改，不应标记
+ * @author system
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SharedStatisticsQuery {
+}
@@ -0,0 +1,85 @@
+package com.demo.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求合并（single-flight）
+ * 同一键的并发调用只执行一次加载，其余调用等待并共享同一结果（或同一异常）；
+ * 加载结束即移除，不缓存结果，之后的调用会重新执行
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 实际执行的加载次数
+     */
+    private final LongAdder executions = new LongAdder();
+
+    /**
+     * 搭便车共享结果的调用次数
+     */
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * 执行或加入同键的进行中加载
+     * @param key 需实现值相等的 equals/hashCode
+     * @param loader 加载逻辑，在首个调用者线程中执行
+     * @return 加载结果
+     * @throws Exception 加载抛出的原始异常
+     */
+    public Object execute(Object key, Callable<?> loader) throws Exception {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            Object value = loader.call();
+            created.complete(value);
+            return value;
+        } catch (Throwable e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 当前进行中的加载数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getShared() {
+        return shared.sum();
+    }
+}
@@ -0,0 +1,112 @@
+package com.demo.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * 按数据版本全量重建的内存快照索引
+ * 启动后及每次业务数据变化（{@link DataChangedEvent}）后在后台线程重建快照，构建期间继续使用上一个快照；
+ * 快照是否过期由子类按 {@link #isCurrent} 决定如何对外暴露
+ * @param <T> 快照类型，构建后不再修改
+ */
+public abstract class SnapshotIndex<T> {
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    protected DataVersion dataVersion;
+
+    private volatile T snapshot;
+
+    private final RebuildScheduler rebuildScheduler;
+
+    private final String name;
+
+    /**
+     * @param threadName 重建线程名
+     * @param name 日志中的索引名称
+     */
+    protected SnapshotIndex(String threadName, String name) {
+        this.rebuildScheduler = new RebuildScheduler(threadName, this::rebuild);
+        this.name = name;
+    }
+
+    /**
+     * 在派生表（如 patient_region_ais）初始化之后构建
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuildScheduler.request();
+    }
+
+    @EventListener(DataChangedEvent.class)
+    public void onDataChanged() {
+        rebuildScheduler.request();
+    }
+
+    /**
+     * 最近一次构建完成的快照，尚未构建完成时返回 null
+     */
+    protected T snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 快照是否与当前数据版本一致
+     */
+    protected boolean isCurrent(long version) {
+        return version == dataVersion.current();
+    }
+
+    /**
+     * 按给定数据版本构建快照
+     */
+    protected abstract T build(long version);
+
+    /**
+     * 重建完成日志中的规模描述
+     */
+    protected abstract String describe(T built);
+
+    private void rebuild() {
+        long version = dataVersion.current();
+        long start = System.currentTimeMillis();
+        try {
+            T built = build(version);
+            snapshot = built;
+            logger.info("{}重建完成: version={}, {}, 耗时 {} ms", name, version, describe(built), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("{}重建失败，继续使用上一个快照: {}", name, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 查询结果列转整数；数字或数字字符串以外的值返回 null
+     */
+    protected static Integer toInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 统计查询结果缓存
+ * 键包含数据版本号和当天日期（见 {@link StatisticsSingleFlightAspect}），数据变化或跨过零点后旧结果不会再命中，
+ * 并在 {@link DataChangedEvent} 时整体清空；容量有限，超出后淘汰最久未访问的结果。
+ * 患者分页总数等其他按数据版本失效的查询结果也可放入，键中需自带数据版本号
+ */
+@Component
+public class StatisticsResultCache {
+
+    private final int maxEntries;
+
+    private final Map<Object, Object> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public StatisticsResultCache(@Value("${statistics.result-cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                return size() > StatisticsResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return 缓存的结果；未命中时返回 null
+     */
+    public Object get(Object key) {
+        Object value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * null 结果不缓存
+     */
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    @EventListener(DataChangedEvent.class)
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,117 @@
+package com.demo.cache;
+
+import com.demo.exception.BusinessException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 统计查询请求合并切面
+ * 拦截标记了 {@link SharedStatisticsQuery} 的汇总查询方法：
+ * 方法与参数（按值比较）相同且数据版本相同的并发调用只执行一次查询，共享同一结果对象，
+ * 调用方不应修改返回值；数据版本变化后的调用不会加入旧的进行中查询。
+ * 查询结果写入 {@link StatisticsResultCache}，同一数据版本内的后续相同调用直接命中（见缓存预热）；
+ * 部分查询的默认时间范围和日均值依赖当天日期，因此键中同时包含当天日期，跨过零点后不再命中前一天的结果；
+ * 单个患者的查询不标记，其中干预时间查询由 {@link PatientDetailCache} 缓存
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "statistics.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+public class StatisticsSingleFlightAspect {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private StatisticsResultCache resultCache;
+
+    @Around("@annotation(com.demo.cache.SharedStatisticsQuery)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, joinPoint.getArgs(), dataVersion.current(), LocalDate.now());
+        Object cached = resultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return singleFlight.execute(key, () -> {
+                try {
+                    Object value = joinPoint.proceed();
+                    resultCache.put(key, value);
+                    return value;
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("统计查询被中断", e);
+        }
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * 调用键：方法 + 参数 + 数据版本 + 当天日期
+     */
+    static final class CallKey {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final long version;
+
+        private final LocalDate day;
+
+        private final int hash;
+
+        CallKey(Method method, Object[] args, long version, LocalDate day) {
+            this.method = method;
+            this.args = args == null ? new Object[0] : args.clone();
+            this.version = version;
+            this.day = day;
+            this.hash = 31 * (31 * (31 * method.hashCode() + Arrays.deepHashCode(this.args)) + Long.hashCode(version))
+                    + day.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CallKey)) {
+                return false;
+            }
+            CallKey other = (CallKey) o;
+            return version == other.version
+                    && day.equals(other.day)
+                    && method.equals(other.method)
+                    && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return method.getName() + Arrays.deepToString(args) + "@v" + version + "@" + day;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.demo.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import javax.servlet.http.HttpServletRequest;
@@ -7,15 +9,17 @@ import javax.servlet.http.HttpServletResponse;
 
 public class AuthInterceptor implements HandlerInterceptor {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthInterceptor.class);
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         // 排除登录、登出和状态检查接口
         String requestURI = request.getRequestURI();
         String method = request.getMethod();
-        System.out.println("拦截器 - 请求URI: " + requestURI + ", 方法: " + method);
+        logger.debug("拦截器 - 请求URI: {}, 方法: {}", requestURI, method);
         
         if (requestURI.startsWith("/api/auth/")) {
-            System.out.println("拦截器 - 允许访问认证接口: " + requestURI);
+            logger.debug("拦截器 - 允许访问认证接口: {}", requestURI);
             return true;
         }
 
@@ -0,0 +1,114 @@
+package com.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 业务线程池配置
+ * 各线程池均为固定大小、有界队列，只在线程名前缀、大小和队列满时的处理方式上不同：
+ * 统计线程池用于一次请求内并行执行多个统计查询及缓存预热；
+ * 患者详情线程池用于详情页聚合接口并行查询各分区，与统计线程池分开，避免详情页排在大屏统计查询之后；
+ * 流式响应线程池用于 StreamingResponseBody 等 MVC 异步请求（见 {@link WebConfig#configureAsyncSupport}），
+ * 自定义线程池存在时 Spring Boot 不会创建默认的 applicationTaskExecutor，需显式注册，
+ * 否则 MVC 退回到每个请求新建一个线程的 SimpleAsyncTaskExecutor。
+ * 每个线程在执行期间占用一个数据库连接，三个线程池的大小之和必须小于数据库连接池大小，
+ * 为请求线程和后台重建保留连接，启动时检查
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${statistics.executor.pool-size:4}")
+    private int statisticsPoolSize;
+
+    @Value("${statistics.executor.queue-capacity:64}")
+    private int statisticsQueueCapacity;
+
+    @Value("${patient.detail.executor.pool-size:4}")
+    private int patientDetailPoolSize;
+
+    @Value("${patient.detail.executor.queue-capacity:64}")
+    private int patientDetailQueueCapacity;
+
+    @Value("${streaming.executor.pool-size:2}")
+    private int streamingPoolSize;
+
+    @Value("${streaming.executor.queue-capacity:16}")
+    private int streamingQueueCapacity;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @PostConstruct
+    public void checkConnectionBudget() {
+        checkConnectionBudget(connectionPoolSize, statisticsPoolSize, patientDetailPoolSize, streamingPoolSize);
+    }
+
+    /**
+     * 队列满时由调用线程执行，限制并发而不丢弃任务
+     */
+    @Bean(name = "statisticsExecutor")
+    public ThreadPoolTaskExecutor statisticsExecutor() {
+        return boundedExecutor("statistics-", statisticsPoolSize, statisticsQueueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 队列满时由调用线程执行，限制并发而不丢弃任务
+     */
+    @Bean(name = "patientDetailExecutor")
+    public ThreadPoolTaskExecutor patientDetailExecutor() {
+        return boundedExecutor("patient-detail-", patientDetailPoolSize, patientDetailQueueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 队列满时拒绝新请求，不在容器线程中同步输出
+     */
+    @Bean(name = "streamingExecutor")
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        return boundedExecutor("mvc-stream-", streamingPoolSize, streamingQueueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @param connectionPoolSize 数据库连接池大小
+     * @param poolSizes 各线程池大小
+     * @throws IllegalStateException 线程池大小之和不小于连接池大小
+     */
+    static void checkConnectionBudget(int connectionPoolSize, int... poolSizes) {
+        int total = 0;
+        for (int poolSize : poolSizes) {
+            total += poolSize;
+        }
+        if (total >= connectionPoolSize) {
+            throw new IllegalStateException("线程池大小之和 " + total + " 不小于数据库连接池大小 " + connectionPoolSize
+                    + "，请调小 *.executor.pool-size 或增大 spring.datasource.hikari.maximum-pool-size");
+        }
+    }
+
+    /**
+     * 创建固定大小、有界队列的线程池，关闭时不等待未完成的任务
+     * @param threadNamePrefix 线程名前缀
+     * @param poolSize 线程数
+     * @param queueCapacity 队列容量
+     * @param rejectedHandler 队列满时的处理方式
+     */
+    static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int poolSize, int queueCapacity,
+                                                  RejectedExecutionHandler rejectedHandler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectedHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,9 +1,13 @@
 package com.demo.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,6 +17,13 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * 切片测试（@WebMvcTest）不加载线程池配置，此时沿用 MVC 默认设置
+     */
+    @Autowired(required = false)
+    @Qualifier("streamingExecutor")
+    private ThreadPoolTaskExecutor streamingExecutor;
+
     @Bean
     public HttpMessageConverter<String> responseBodyConverter() {
         StringHttpMessageConverter converter = new StringHttpMessageConverter(StandardCharsets.UTF_8);
@@ -31,4 +42,12 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/**")  // 拦截所有/api/**路径
                 .excludePathPatterns("/api/auth/**");  // 排除登录相关接口
     }
+
+    // 异步请求（流式响应）使用有界线程池；超时时间见 spring.mvc.async.request-timeout
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        if (streamingExecutor != null) {
+            configurer.setTaskExecutor(streamingExecutor);
+        }
+    }
 }
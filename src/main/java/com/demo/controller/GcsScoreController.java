@@ -4,9 +4,13 @@ import com.demo.Service.IGcsScoreService;
 import com.demo.entity.GcsScore;
 import com.demo.dto.GcsScoreWithPatientDTO;
 import com.demo.dto.Result;
+import com.demo.exception.ErrorCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * GCS评分控制器
  */
@@ -42,4 +46,21 @@ public class GcsScoreController {
             return Result.error("获取GCS评分失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 批量获取多位患者最新的GCS评分（包含患者基本信息），替代逐个调用 /score/{patientId}
+     * @param patientIds 患者ID列表（单次最多2000个）
+     * @return 以患者ID为键的GCS评分，没有GCS评分的患者不在结果中
+     */
+    @PostMapping("/score/batch")
+    public Result getGcsScoresByPatientIds(@RequestBody List<Integer> patientIds) {
+        try {
+            Map<Integer, GcsScoreWithPatientDTO> scores = gcsScoreService.getGcsScoresWithPatientInfo(patientIds);
+            return Result.success(scores);
+        } catch (IllegalArgumentException e) {
+            return Result.error(ErrorCode.PARAM_INVALID, e.getMessage());
+        } catch (Exception e) {
+            return Result.error("批量获取GCS评分失败: " + e.getMessage());
+        }
+    }
 }
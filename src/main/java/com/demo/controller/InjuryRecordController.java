@@ -6,12 +6,18 @@ import com.demo.dto.HourlyStatisticsDTO;
 import com.demo.dto.HourlyGroupDTO;
 import com.demo.dto.HourlyGroupStatisticsDTO;
 import com.demo.dto.Result;
+import com.demo.utils.LocationPayloadCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,15 +39,20 @@ public class InjuryRecordController {
      *      *   "seasons": [0,2],       //  可选，0：春 2：秋
      *      *   "timePeriods": [3],     // 可选，空列表 为全天
      *      * }
+     * 响应编码由 Accept 头协商：
+     *      * application/octet-stream：差分定点二进制
+     *      * application/vnd.healthineers.columnar+json：列式JSON（平行数组）
+     *      * 其他：默认 Result 包装的对象数组
      * @param seasons
      * @param timePeriods
      * @return
      */
     @GetMapping("/locations")
-    public Result getLocations(@RequestParam(required = false) Integer[] seasons,
+    public ResponseEntity<?> getLocations(@RequestParam(required = false) Integer[] seasons,
                                @RequestParam(required = false, name = "season") Integer season,
                                @RequestParam(required = false) Integer[] timePeriods,
-                               @RequestParam(required = false) Integer[] years) {
+                               @RequestParam(required = false) Integer[] years,
+                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         // 归一化参数：数组、多值与单值均支持
         java.util.List<Integer> seasonList = new java.util.ArrayList<>();
         if (seasons != null) {
@@ -68,7 +79,7 @@ public class InjuryRecordController {
                 timePeriodList.isEmpty() ? null : timePeriodList,
                 yearList.isEmpty() ? null : yearList
         );
-        return Result.ok(locations);
+        return encodeLocations(locations, accept);
     }
     /**
      * 根据日期查询地点
@@ -79,17 +90,64 @@ public class InjuryRecordController {
      *      *   "endDate": "2025-09-30",   // 必须传递
      *      *   "timePeriods": [0,1,2],  // 可选，空列表 为全天
      *      * }
+     * 响应编码协商同 /locations
      * @param startDate
      * @param endDate
      * @param timePeriods
      * @return
      */
     @GetMapping("/location-filtered")
-    public Result getLocationsByTimeRange(@RequestParam String startDate,
+    public ResponseEntity<?> getLocationsByTimeRange(@RequestParam String startDate,
                                           @RequestParam String endDate,
-                                          @RequestParam(required = false) List<Integer> timePeriods) {
+                                          @RequestParam(required = false) List<Integer> timePeriods,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.error("seasons = " + startDate.toString() + ",    timePeriods = " + endDate.toString());
-        return Result.ok(injuryRecordService.getLocationsByTimeRange(startDate, endDate, timePeriods));
+        return encodeLocations(injuryRecordService.getLocationsByTimeRange(startDate, endDate, timePeriods), accept);
+    }
+
+    /**
+     * 按 Accept 头选择点位响应编码
+     * 只有显式声明的紧凑格式才会生效，通配符（如 *&#47;*）仍返回默认JSON，保证旧客户端不受影响
+     */
+    private ResponseEntity<?> encodeLocations(List<AddressCountDTO> locations, String accept) {
+        MediaType preferred = resolveLocationMediaType(accept);
+        if (MediaType.APPLICATION_OCTET_STREAM.equals(preferred)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(LocationPayloadCodec.encodeBinary(locations));
+        }
+        if (LocationPayloadCodec.COLUMNAR_JSON.equals(preferred)) {
+            return ResponseEntity.ok()
+                    .contentType(LocationPayloadCodec.COLUMNAR_JSON)
+                    .body(Result.ok(LocationPayloadCodec.toColumnar(locations)));
+        }
+        return ResponseEntity.ok(Result.ok(locations));
+    }
+
+    private MediaType resolveLocationMediaType(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return null;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            log.warn("Invalid Accept header: {}", accept);
+            return null;
+        }
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                continue;
+            }
+            MediaType bare = new MediaType(mediaType.getType(), mediaType.getSubtype());
+            if (MediaType.APPLICATION_OCTET_STREAM.equals(bare) || LocationPayloadCodec.COLUMNAR_JSON.equals(bare)) {
+                return bare;
+            }
+            // 客户端优先要求普通JSON等格式时保持默认
+            return null;
+        }
+        return null;
     }
 //    /**
 //     * 查看系统中全部时间的地点
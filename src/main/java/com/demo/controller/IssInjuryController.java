@@ -3,10 +3,12 @@ package com.demo.controller;
 import com.demo.Service.impl.IIssInjuryService;
 import com.demo.dto.IssInjuryDTO;
 import com.demo.dto.Result;
+import com.demo.exception.ErrorCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/iss/injury")
@@ -22,6 +24,23 @@ public class IssInjuryController {
         return Result.ok(issInjuryService.getInjuryDTOByPatientId(patientId));
     }
 
+    /**
+     * 批量获取多位患者的创伤信息，用于地图侧栏展示 /search/ids 返回的全部患者的伤情等级
+     * @param patientIds 患者ID列表（单次最多2000个）
+     * @return 以患者ID为键的创伤信息，没有ISS记录的患者不在结果中
+     */
+    @PostMapping("/batch")
+    public Result getInjuryByPatientIds(@RequestBody List<Integer> patientIds) {
+        try {
+            Map<Integer, IssInjuryDTO> injuries = issInjuryService.getInjuryDTOsByPatientIds(patientIds);
+            return Result.ok(injuries);
+        } catch (IllegalArgumentException e) {
+            return Result.fail(ErrorCode.PARAM_INVALID.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("批量获取创伤信息失败：" + e.getMessage());
+        }
+    }
+
     /**
      * 根据经度、纬度、季节和时间段查询伤情信息（返回完整数据）
      * @param longitude
@@ -1,13 +1,27 @@
 package com.demo.controller;
 
+import com.demo.Service.impl.IPatientDetailService;
+import com.demo.Service.impl.IPatientSearchService;
 import com.demo.Service.impl.IPatientService;
+import com.demo.cache.PatientDetailCache;
+import com.demo.dto.PatientBulkDeleteDTO;
+import com.demo.dto.PatientBulkDeleteResultDTO;
+import com.demo.dto.PatientDetailCacheStatsDTO;
+import com.demo.dto.PatientFullDTO;
 import com.demo.dto.PatientPageDTO;
 import com.demo.dto.PatientQueryDTO;
+import com.demo.dto.PatientSearchResultDTO;
 import com.demo.dto.PatientUpdateResultDTO;
 import com.demo.dto.Result;
 import com.demo.entity.Patient;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.utils.PatientFieldProjection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +32,15 @@ public class PatientController {
     @Autowired
     private IPatientService patientService;
 
+    @Autowired
+    private IPatientDetailService patientDetailService;
+
+    @Autowired
+    private IPatientSearchService patientSearchService;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+
     /**
      * 查询所有患者基本信息（保留原接口）
      */
@@ -27,6 +50,23 @@ public class PatientController {
         return Result.ok(patients);
     }
 
+    /**
+     * 流式查询所有患者基本信息
+     * 以游标逐行读取、逐条写出JSON，响应格式与 /list 相同，内存占用不随患者数增长
+     * @param fields 输出字段（可选，逗号分隔，如 patientId,gender,age；默认全部字段）
+     */
+    @GetMapping("/list/stream")
+    public ResponseEntity<?> streamPatients(@RequestParam(required = false) String fields) {
+        List<String> projection;
+        try {
+            projection = PatientFieldProjection.resolve(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(Result.fail(ErrorCode.PARAM_INVALID.getCode(), e.getMessage()));
+        }
+        StreamingResponseBody body = out -> patientService.writePatientList(out, projection);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * 分页查询患者信息
      */
@@ -38,6 +78,7 @@ public class PatientController {
 
     /**
      * 分页查询患者信息（GET方式，用于简单查询）
+     * 传入 afterId 时按患者ID游标分页（忽略 current），下一页游标见返回的 nextAfterId
      */
     @GetMapping("/page")
     public Result getPatientPageByGet(
@@ -46,7 +87,8 @@ public class PatientController {
             @RequestParam(required = false) Integer minAge,
             @RequestParam(required = false) Integer maxAge,
             @RequestParam(defaultValue = "1") Integer current,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Integer afterId) {
         
         PatientQueryDTO queryDTO = new PatientQueryDTO();
         queryDTO.setPatientId(patientId);
@@ -55,11 +97,66 @@ public class PatientController {
         queryDTO.setMaxAge(maxAge);
         queryDTO.setCurrent(current);
         queryDTO.setSize(size);
+        queryDTO.setAfterId(afterId);
         
         PatientPageDTO pageDTO = patientService.getPatientPage(queryDTO);
         return Result.ok(pageDTO);
     }
 
+    /**
+     * 全文检索患者（姓名、受伤地点、伤因描述、急救站点），按相关度排序
+     * 返回的 stale 为 true 表示索引正在按最新数据重建，刚写入的数据可能暂未被检索到
+     * @param q 检索内容，多个词之间为“且”关系
+     */
+    @GetMapping("/search")
+    public Result searchPatients(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "1") Integer current,
+            @RequestParam(defaultValue = "10") Integer size) {
+        try {
+            PatientSearchResultDTO result = patientSearchService.search(q, current, size);
+            return Result.ok(result);
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("检索患者失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取患者详情页全部数据（基本信息、GCS、RTS、ISS、伤情明细、入室前、离室后、干预时间线）
+     * 各分区并行查询，某个分区失败时该字段为null，错误信息见 errors
+     * @param patientId 患者ID
+     * @return 详情聚合数据
+     */
+    @GetMapping("/{patientId}/full")
+    public Result getPatientFull(@PathVariable Integer patientId) {
+        try {
+            PatientFullDTO full = patientDetailService.getPatientFull(patientId);
+            return Result.ok(full);
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("获取患者详情失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取患者详情缓存（GCS、ISS、干预时间、部位伤情明细）的命中率与淘汰统计
+     */
+    @GetMapping("/detail-cache/stats")
+    public Result getDetailCacheStats() {
+        PatientDetailCacheStatsDTO stats = new PatientDetailCacheStatsDTO();
+        stats.setSize(patientDetailCache.size());
+        stats.setMaxEntries(patientDetailCache.getMaxEntries());
+        stats.setHits(patientDetailCache.getHits());
+        stats.setMisses(patientDetailCache.getMisses());
+        stats.setHitRatio(patientDetailCache.getHitRatio());
+        stats.setEvictions(patientDetailCache.getEvictions());
+        stats.setInvalidations(patientDetailCache.getInvalidations());
+        return Result.ok(stats);
+    }
+
     /**
      * 删除患者及其所有相关数据
      * @param patientId 患者ID
@@ -83,6 +180,24 @@ public class PatientController {
         }
     }
 
+    /**
+     * 批量删除患者及其所有相关数据
+     * 例如 {"patientIds": [101, 102]} 或 {"gender": "男", "minAge": 90}；所有表在一个事务中删除
+     * @param request 患者ID列表或筛选条件（二选一）
+     * @return 各表删除行数
+     */
+    @PostMapping("/bulk-delete")
+    public Result deletePatients(@RequestBody PatientBulkDeleteDTO request) {
+        try {
+            PatientBulkDeleteResultDTO result = patientService.deletePatients(request);
+            return Result.ok(result);
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("批量删除失败：" + e.getMessage());
+        }
+    }
+
     /**
      * 更新患者基本信息
      * @param patient 患者信息
@@ -1,8 +1,23 @@
 package com.demo.controller;
 
+import com.demo.Service.impl.IDailyTrendService;
 import com.demo.Service.impl.IPatientStatisticsService;
+import com.demo.Service.impl.IStatisticsComparisonService;
+import com.demo.Service.impl.IStatisticsDashboardService;
+import com.demo.Service.impl.IStatisticsWarmupService;
+import com.demo.dto.ComparisonQueryDTO;
+import com.demo.dto.ComparisonResultDTO;
+import com.demo.dto.CrossfilterQueryDTO;
+import com.demo.dto.CrossfilterResultDTO;
+import com.demo.dto.DashboardDTO;
+import com.demo.dto.PatientIdPageDTO;
 import com.demo.dto.PatientStatisticsDTO;
 import com.demo.dto.Result;
+import com.demo.dto.TrendSeriesDTO;
+import com.demo.dto.WarmupStatusDTO;
+import com.demo.exception.BusinessException;
+import com.demo.exception.ErrorCode;
+import com.demo.utils.PatientIdCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +34,18 @@ public class PatientStatisticsController {
     
     @Autowired
     private IPatientStatisticsService patientStatisticsService;
+
+    @Autowired
+    private IStatisticsDashboardService statisticsDashboardService;
+
+    @Autowired
+    private IDailyTrendService dailyTrendService;
+
+    @Autowired
+    private IStatisticsComparisonService statisticsComparisonService;
+
+    @Autowired
+    private IStatisticsWarmupService statisticsWarmupService;
     
     /**
      * 获取患者统计数据
@@ -431,7 +458,10 @@ public class PatientStatisticsController {
      * @param timePeriod 时间段（可选，night-夜间，morning_peak-早高峰，noon_peak-午高峰，afternoon-下午，evening_peak-晚高峰，evening-晚上）
      * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
      * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
-     * @return 死亡患者ID列表
+     * @param afterId 分页游标（可选，只返回大于该ID的患者，取上一页的 nextAfterId）
+     * @param limit 每页数量（可选）
+     * @param encoding 编码方式（可选，plain、delta-varint、ranges）
+     * @return 死亡患者ID列表；传入 afterId、limit 或 encoding 时返回分页结果
      */
     @GetMapping("/death-patient-ids")
     public Result getDeathPatientIds(@RequestParam(required = false) String startDate,
@@ -439,7 +469,10 @@ public class PatientStatisticsController {
                                     @RequestParam(required = false) String year,
                                     @RequestParam(required = false) String timePeriod,
                                     @RequestParam(required = false) String customStartTime,
-                                    @RequestParam(required = false) String customEndTime) {
+                                    @RequestParam(required = false) String customEndTime,
+                                    @RequestParam(required = false) Integer afterId,
+                                    @RequestParam(required = false) Integer limit,
+                                    @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -465,7 +498,9 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getDeathPatientIds(startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取死亡患者ID列表失败：" + e.getMessage());
         }
@@ -480,6 +515,9 @@ public class PatientStatisticsController {
      * @param timePeriod 时间段（可选，night-夜间，morning_peak-早高峰，noon_peak-午高峰，afternoon-下午，evening_peak-晚高峰，evening-晚上）
      * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
      * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param afterId 分页游标（可选，只返回大于该ID的患者，取上一页的 nextAfterId）
+     * @param limit 每页数量（可选）
+     * @param encoding 编码方式（可选，plain、delta-varint、ranges）
      * @return 患者ID列表
      */
     @GetMapping("/injury-cause-patient-ids")
@@ -489,7 +527,10 @@ public class PatientStatisticsController {
                                           @RequestParam(required = false) String year,
                                           @RequestParam(required = false) String timePeriod,
                                           @RequestParam(required = false) String customStartTime,
-                                          @RequestParam(required = false) String customEndTime) {
+                                          @RequestParam(required = false) String customEndTime,
+                                          @RequestParam(required = false) Integer afterId,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -515,7 +556,9 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getInjuryCausePatientIds(injuryCauseCategory, startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取患者ID列表失败：" + e.getMessage());
         }
@@ -530,6 +573,9 @@ public class PatientStatisticsController {
      * @param timePeriod 时间段（可选，night-夜间，morning_peak-早高峰，noon_peak-午高峰，afternoon-下午，evening_peak-晚高峰，evening-晚上）
      * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
      * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param afterId 分页游标（可选，只返回大于该ID的患者，取上一页的 nextAfterId）
+     * @param limit 每页数量（可选）
+     * @param encoding 编码方式（可选，plain、delta-varint、ranges）
      * @return 患者ID列表
      */
     @GetMapping("/iss-segment-patient-ids")
@@ -539,7 +585,10 @@ public class PatientStatisticsController {
                                           @RequestParam(required = false) String year,
                                           @RequestParam(required = false) String timePeriod,
                                           @RequestParam(required = false) String customStartTime,
-                                          @RequestParam(required = false) String customEndTime) {
+                                          @RequestParam(required = false) String customEndTime,
+                                          @RequestParam(required = false) Integer afterId,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -571,7 +620,9 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getISSSegmentPatientIds(issSegment, startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取患者ID列表失败：" + e.getMessage());
         }
@@ -586,6 +637,9 @@ public class PatientStatisticsController {
      * @param timePeriod 时间段（可选，night-夜间，morning_peak-早高峰，noon_peak-午高峰，afternoon-下午，evening_peak-晚高峰，evening-晚上）
      * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
      * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param afterId 分页游标（可选，只返回大于该ID的患者，取上一页的 nextAfterId）
+     * @param limit 每页数量（可选）
+     * @param encoding 编码方式（可选，plain、delta-varint、ranges）
      * @return 患者ID列表
      */
     @GetMapping("/gcs-segment-patient-ids")
@@ -595,7 +649,10 @@ public class PatientStatisticsController {
                                           @RequestParam(required = false) String year,
                                           @RequestParam(required = false) String timePeriod,
                                           @RequestParam(required = false) String customStartTime,
-                                          @RequestParam(required = false) String customEndTime) {
+                                          @RequestParam(required = false) String customEndTime,
+                                          @RequestParam(required = false) Integer afterId,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -627,7 +684,9 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getGCSSegmentPatientIds(gcsSegment, startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取患者ID列表失败：" + e.getMessage());
         }
@@ -640,7 +699,10 @@ public class PatientStatisticsController {
                                         @RequestParam(required = false) String year,
                                         @RequestParam(required = false) String timePeriod,
                                         @RequestParam(required = false) String customStartTime,
-                                        @RequestParam(required = false) String customEndTime) {
+                                        @RequestParam(required = false) String customEndTime,
+                                        @RequestParam(required = false) Integer afterId,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -672,7 +734,9 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getRTSScorePatientIds(rtsScore, startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取患者ID列表失败：" + e.getMessage());
         }
@@ -687,6 +751,9 @@ public class PatientStatisticsController {
      * @param timePeriod 时间段（可选，night-夜间，morning_peak-早高峰，noon_peak-午高峰，afternoon-下午，evening_peak-晚高峰，evening-晚上）
      * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
      * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param afterId 分页游标（可选，只返回大于该ID的患者，取上一页的 nextAfterId）
+     * @param limit 每页数量（可选）
+     * @param encoding 编码方式（可选，plain、delta-varint、ranges）
      * @return 患者ID列表
      */
     @GetMapping("/body-part-patient-ids")
@@ -696,7 +763,10 @@ public class PatientStatisticsController {
                                        @RequestParam(required = false) String year,
                                        @RequestParam(required = false) String timePeriod,
                                        @RequestParam(required = false) String customStartTime,
-                                       @RequestParam(required = false) String customEndTime) {
+                                       @RequestParam(required = false) String customEndTime,
+                                       @RequestParam(required = false) Integer afterId,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -728,7 +798,9 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getBodyPartPatientIds(bodyPart, startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取患者ID列表失败：" + e.getMessage());
         }
@@ -744,6 +816,9 @@ public class PatientStatisticsController {
      * @param timePeriod 时间段（可选，0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
      * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
      * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param afterId 分页游标（可选，只返回大于该ID的患者，取上一页的 nextAfterId）
+     * @param limit 每页数量（可选）
+     * @param encoding 编码方式（可选，plain、delta-varint、ranges）
      * @return 患者ID列表
      */
     @GetMapping("/body-region-severity-patient-ids")
@@ -754,7 +829,10 @@ public class PatientStatisticsController {
                                                   @RequestParam(required = false) String year,
                                                   @RequestParam(required = false) String timePeriod,
                                                   @RequestParam(required = false) String customStartTime,
-                                                  @RequestParam(required = false) String customEndTime) {
+                                                  @RequestParam(required = false) String customEndTime,
+                                                  @RequestParam(required = false) Integer afterId,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String encoding) {
         try {
             // 处理年份参数
             Integer yearInt = null;
@@ -786,9 +864,160 @@ public class PatientStatisticsController {
             }
             
             List<Integer> patientIds = patientStatisticsService.getBodyRegionSeverityPatientIds(bodyRegion, severityLevel, startDate, endDate, yearInt, null, timePeriodInt, customStartTime, customEndTime);
-            return Result.ok(patientIds);
+            return Result.ok(toPatientIdPayload(patientIds, afterId, limit, encoding));
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
         } catch (Exception e) {
             return Result.fail("获取患者ID列表失败：" + e.getMessage());
         }
     }
+    
+    /**
+     * 多维交叉筛选
+     * 任意组合伤因、死亡、ISS/GCS分段、RTS总分、身体区域/严重程度、季节、时间段、日期范围等条件，
+     * 一次返回交集人数及各维度直方图（每个维度的直方图不应用该维度自身的条件）
+     * 例如：/crossfilter?death=1&issSegment=critical&season=3&timePeriod=0
+     * @param query 筛选条件（均可选，参数名与 CrossfilterQueryDTO 字段一致）
+     * @return 交叉筛选结果
+     */
+    @GetMapping("/crossfilter")
+    public Result getCrossfilter(CrossfilterQueryDTO query) {
+        try {
+            CrossfilterResultDTO result = patientStatisticsService.getCrossfilter(query);
+            return Result.ok(result);
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("交叉筛选失败：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 一次获取首屏全部面板数据
+     * 合并 /statistics、/monthly-heatmap、/injury-cause-distribution、/iss-distribution、/gcs-distribution、
+     * /rts-distribution、/population-body-heatmap、/body-region-sunburst 八个接口，参数只解析一次，各面板并行查询
+     * @param startDate 开始日期（可选，格式：YYYY-MM-DD）
+     * @param endDate 结束日期（可选，格式：YYYY-MM-DD）
+     * @param year 年份（可选，可以是 "all" 表示查询所有年份）
+     * @param timePeriod 时间段（可选，0-5 或 night/morning_peak/noon_peak/afternoon/evening_peak/evening）
+     * @param customStartTime 自定义开始时间（可选，格式：HH:mm）
+     * @param customEndTime 自定义结束时间（可选，格式：HH:mm）
+     * @param ageGroup 年龄组（可选，仅用于人群身体热力图）
+     * @param gender 性别（可选，仅用于人群身体热力图）
+     * @param severity 严重程度（可选，仅用于人群身体热力图）
+     * @return 首屏数据，失败的面板记录在 errors 中
+     */
+    @GetMapping("/dashboard")
+    public Result getDashboard(@RequestParam(required = false) String startDate,
+                               @RequestParam(required = false) String endDate,
+                               @RequestParam(required = false) String year,
+                               @RequestParam(required = false) String timePeriod,
+                               @RequestParam(required = false) String customStartTime,
+                               @RequestParam(required = false) String customEndTime,
+                               @RequestParam(required = false) Integer ageGroup,
+                               @RequestParam(required = false) Integer gender,
+                               @RequestParam(required = false) Integer severity) {
+        try {
+            // 处理年份参数：将 "all" 或 "NaN" 转换为 null
+            Integer yearInt = null;
+            if (year != null && !year.equals("all") && !year.isEmpty() && !year.equalsIgnoreCase("NaN")) {
+                try {
+                    yearInt = Integer.parseInt(year);
+                } catch (NumberFormatException e) {
+                    // 如果转换失败，保持为null
+                }
+            }
+            
+            // 处理时间段参数（兼容数字和字符串两种形式）
+            Integer timePeriodInt = null;
+            if (timePeriod != null && !timePeriod.equals("all") && !timePeriod.isEmpty()) {
+                try {
+                    timePeriodInt = Integer.parseInt(timePeriod);
+                } catch (NumberFormatException e) {
+                    switch (timePeriod) {
+                        case "night": timePeriodInt = 0; break;
+                        case "morning_peak": timePeriodInt = 1; break;
+                        case "noon_peak": timePeriodInt = 2; break;
+                        case "afternoon": timePeriodInt = 3; break;
+                        case "evening_peak": timePeriodInt = 4; break;
+                        case "evening": timePeriodInt = 5; break;
+                    }
+                }
+            }
+            
+            DashboardDTO dashboard = statisticsDashboardService.getDashboard(startDate, endDate, yearInt, timePeriodInt,
+                    customStartTime, customEndTime, ageGroup, gender, severity);
+            return Result.ok(dashboard);
+        } catch (Exception e) {
+            return Result.fail("获取首屏数据失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取滚动窗口趋势序列（接诊、死亡、各伤因患者数及平均接诊到CT时长，含上一年同期）
+     * @param startDate 开始日期（可选，格式：YYYY-MM-DD，默认为结束日期前89天）
+     * @param endDate 结束日期（可选，格式：YYYY-MM-DD，默认为最近有病例的日期）
+     * @param window 滚动窗口天数（可选，如7、30、90，默认7）
+     * @return 趋势序列
+     */
+    @GetMapping("/trend")
+    public Result getTrend(@RequestParam(required = false) String startDate,
+                           @RequestParam(required = false) String endDate,
+                           @RequestParam(required = false) Integer window) {
+        try {
+            TrendSeriesDTO trend = dailyTrendService.getTrend(startDate, endDate, window);
+            return Result.ok(trend);
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("获取趋势数据失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 对比两组筛选条件下的KPI与分布（如 2024年冬季 对比 2025年冬季）
+     * 两组条件并行查询每日统计聚合表，返回两组结果及各指标的变化量与变化率
+     * @param query 对比条件，例如 {"base": {"year": 2024, "season": 3}, "target": {"year": 2025, "season": 3}}
+     * @return 对比结果
+     */
+    @PostMapping("/compare")
+    public Result compare(@RequestBody ComparisonQueryDTO query) {
+        try {
+            ComparisonResultDTO result = statisticsComparisonService.compare(query);
+            return Result.ok(result);
+        } catch (BusinessException e) {
+            return Result.fail(e.getCode(), e.getMessage());
+        } catch (Exception e) {
+            return Result.fail("对比分析失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取统计缓存预热进度与耗时，以及统计结果缓存的命中情况
+     * @return 预热状态
+     */
+    @GetMapping("/warmup-status")
+    public Result getWarmupStatus() {
+        try {
+            WarmupStatusDTO status = statisticsWarmupService.getStatus();
+            return Result.ok(status);
+        } catch (Exception e) {
+            return Result.fail("获取预热状态失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 下钻患者ID列表的返回体
+     * 未传分页及编码参数时保持原有的ID数组格式，否则返回 {@link PatientIdPageDTO}
+     */
+    private Object toPatientIdPayload(List<Integer> patientIds, Integer afterId, Integer limit, String encoding) {
+        if (afterId == null && limit == null && (encoding == null || encoding.isEmpty())) {
+            return patientIds;
+        }
+        try {
+            return PatientIdCodec.page(patientIds, afterId, limit, encoding);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID.getCode(), e.getMessage());
+        }
+    }
 }
@@ -4,9 +4,13 @@ import com.demo.Service.IRtsScoreService;
 import com.demo.entity.RtsScore;
 import com.demo.dto.RtsScoreWithPatientDTO;
 import com.demo.dto.Result;
+import com.demo.exception.ErrorCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * RTS评分控制器
  */
@@ -42,4 +46,21 @@ public class RtsScoreController {
             return Result.error("获取RTS评分失败: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 批量获取多位患者最新的RTS评分（包含患者基本信息），替代逐个调用 /score/{patientId}
+     * @param patientIds 患者ID列表（单次最多2000个）
+     * @return 以患者ID为键的RTS评分，没有RTS评分的患者不在结果中
+     */
+    @PostMapping("/score/batch")
+    public Result getRtsScoresByPatientIds(@RequestBody List<Integer> patientIds) {
+        try {
+            Map<Integer, RtsScoreWithPatientDTO> scores = rtsScoreService.getRtsScoresWithPatientInfo(patientIds);
+            return Result.success(scores);
+        } catch (IllegalArgumentException e) {
+            return Result.error(ErrorCode.PARAM_INVALID, e.getMessage());
+        } catch (Exception e) {
+            return Result.error("批量获取RTS评分失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 地图点位列式DTO
+ * 以平行数组代替逐点对象，坐标为定点数（乘以10^precision取整）并按顺序差分编码：
+ * 第一个元素为绝对值，其后每个元素为与前一个点的差值，前端累加即可还原。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnarLocationDTO {
+    /**
+     * 坐标小数位数（定点精度）
+     */
+    private Integer precision;
+
+    /**
+     * 点位数量
+     */
+    private Integer size;
+
+    /**
+     * 纬度差分数组（定点整数）
+     */
+    private int[] latitudes;
+
+    /**
+     * 经度差分数组（定点整数）
+     */
+    private int[] longitudes;
+
+    /**
+     * 病例数量数组
+     */
+    private long[] counts;
+}
@@ -0,0 +1,35 @@
+package com.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 对比分析中单个指标的变化
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparisonDeltaDTO {
+    /**
+     * 基准组取值
+     */
+    private BigDecimal base;
+
+    /**
+     * 对比组取值
+     */
+    private BigDecimal target;
+
+    /**
+     * 变化量（对比组 - 基准组）
+     */
+    private BigDecimal delta;
+
+    /**
+     * 变化率（百分比，保留两位小数；基准组为0时为null）
+     */
+    private BigDecimal changeRate;
+}
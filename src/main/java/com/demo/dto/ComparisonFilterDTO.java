@@ -0,0 +1,35 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 对比分析的一组筛选条件
+ * 对比基于每日统计聚合表计算，只支持聚合表保留的维度（不支持自定义时间段 HH:mm）
+ */
+@Data
+public class ComparisonFilterDTO {
+    /**
+     * 开始日期（格式：YYYY-MM-DD，与endDate同时传递才生效）
+     */
+    private String startDate;
+
+    /**
+     * 结束日期（格式：YYYY-MM-DD）
+     */
+    private String endDate;
+
+    /**
+     * 年份
+     */
+    private Integer year;
+
+    /**
+     * 季节（0-春季，1-夏季，2-秋季，3-冬季）
+     */
+    private Integer season;
+
+    /**
+     * 时间段（0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
+     */
+    private Integer timePeriod;
+}
@@ -0,0 +1,20 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 对比分析请求DTO
+ * 例如 2024年冬季 对比 2025年冬季：{"base": {"year": 2024, "season": 3}, "target": {"year": 2025, "season": 3}}
+ */
+@Data
+public class ComparisonQueryDTO {
+    /**
+     * 基准组筛选条件
+     */
+    private ComparisonFilterDTO base;
+
+    /**
+     * 对比组筛选条件
+     */
+    private ComparisonFilterDTO target;
+}
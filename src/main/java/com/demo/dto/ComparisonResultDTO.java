@@ -0,0 +1,31 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 对比分析结果DTO
+ */
+@Data
+public class ComparisonResultDTO {
+    /**
+     * 基准组
+     */
+    private ComparisonSideDTO base;
+
+    /**
+     * 对比组
+     */
+    private ComparisonSideDTO target;
+
+    /**
+     * KPI变化：totalPatients、deathCount、mortalityRate
+     */
+    private Map<String, ComparisonDeltaDTO> kpis;
+
+    /**
+     * 分布变化：injuryCause、issSegment、gcsLevel、rtsScore、monthlyPatients -> 取值 -> 变化
+     */
+    private Map<String, Map<String, ComparisonDeltaDTO>> distributions;
+}
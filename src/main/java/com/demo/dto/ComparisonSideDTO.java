@@ -0,0 +1,53 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 对比分析中一组筛选条件的KPI与分布
+ * 口径与 /statistics、/injury-cause-distribution、/iss-distribution、/gcs-distribution、/rts-distribution 一致
+ */
+@Data
+public class ComparisonSideDTO {
+    /**
+     * 接诊患者数（范围内按患者去重，与 /statistics 一致）
+     */
+    private Long totalPatients;
+
+    /**
+     * 死亡人数
+     */
+    private Long deathCount;
+
+    /**
+     * 死亡率（百分比，保留两位小数；患者数为0时为null）
+     */
+    private BigDecimal mortalityRate;
+
+    /**
+     * 伤因分布：伤因分类（0-交通伤，1-高坠伤，2-机械伤，3-跌倒，4-其他） -> 病例数
+     */
+    private Map<String, Long> injuryCause;
+
+    /**
+     * ISS分段：light/severe/critical -> 患者数
+     */
+    private Map<String, Long> issSegment;
+
+    /**
+     * GCS分级：15/12-14/9-11/3-8 -> 患者数
+     */
+    private Map<String, Long> gcsLevel;
+
+    /**
+     * RTS总分 -> 患者数
+     */
+    private Map<String, Long> rtsScore;
+
+    /**
+     * 月份（1-12） -> 接诊患者日（各天去重患者数之和，同一患者在当月多天接诊时计多次）
+     */
+    private Map<String, Long> monthlyPatients;
+}
@@ -0,0 +1,80 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 交叉筛选查询条件DTO
+ * 所有条件均可选，任意组合后取交集；未传递的维度不参与筛选
+ */
+@Data
+public class CrossfilterQueryDTO {
+    /**
+     * 开始日期（格式：YYYY-MM-DD，与endDate同时传递才生效）
+     */
+    private String startDate;
+
+    /**
+     * 结束日期（格式：YYYY-MM-DD）
+     */
+    private String endDate;
+
+    /**
+     * 年份
+     */
+    private Integer year;
+
+    /**
+     * 自定义开始时间（格式：HH:mm，与customEndTime同时传递才生效）
+     */
+    private String customStartTime;
+
+    /**
+     * 自定义结束时间（格式：HH:mm）
+     */
+    private String customEndTime;
+
+    /**
+     * 季节（0-春季，1-夏季，2-秋季，3-冬季）
+     */
+    private Integer season;
+
+    /**
+     * 时间段（0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
+     */
+    private Integer timePeriod;
+
+    /**
+     * 伤因类型（0-交通伤，1-高坠伤，2-机械伤，3-跌倒，4-其他）
+     */
+    private Integer injuryCauseCategory;
+
+    /**
+     * 是否死亡（1-死亡，0-未死亡）
+     */
+    private Integer death;
+
+    /**
+     * ISS分段（light-轻度，severe-重度，critical-危害）
+     */
+    private String issSegment;
+
+    /**
+     * GCS分段（clear-意识清楚，mild-轻度，moderate-中度，coma-昏迷）
+     */
+    private String gcsSegment;
+
+    /**
+     * RTS总分
+     */
+    private Integer rtsScore;
+
+    /**
+     * 身体区域（head_neck-头颈部，face-面部，chest-胸部，abdomen-腹部，limbs-四肢，body-体表）
+     */
+    private String bodyPart;
+
+    /**
+     * 身体区域的严重程度（mild-轻度，moderate-中度，severe-重度，critical-无法医治），需同时传递bodyPart
+     */
+    private String severityLevel;
+}
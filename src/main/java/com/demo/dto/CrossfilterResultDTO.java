@@ -0,0 +1,28 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 交叉筛选结果DTO
+ */
+@Data
+public class CrossfilterResultDTO {
+    /**
+     * 满足全部筛选条件的患者数
+     */
+    private Long cohortSize;
+
+    /**
+     * 各维度直方图：维度名 -> (取值 -> 患者数)
+     * 每个维度的直方图应用除该维度自身以外的全部筛选条件，便于前端展示“切换该维度取值后”的人数
+     * 维度名：cause、death、season、timePeriod、issSegment、gcsSegment、rtsScore、bodyPart、bodyRegionSeverity
+     */
+    private Map<String, Map<String, Long>> facets;
+
+    /**
+     * 计算所基于的数据版本号
+     */
+    private Long dataVersion;
+}
@@ -0,0 +1,58 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计大屏首屏数据DTO
+ * 各面板数据与对应的独立接口返回值一致，某个面板查询失败时该字段为null，错误信息记录在errors中
+ */
+@Data
+public class DashboardDTO {
+    /**
+     * 患者统计（同 /statistics）
+     */
+    private PatientStatisticsDTO statistics;
+
+    /**
+     * 月度时间热力图（同 /monthly-heatmap）
+     */
+    private List<Map<String, Object>> monthlyHeatmap;
+
+    /**
+     * 伤因分布（同 /injury-cause-distribution）
+     */
+    private List<Map<String, Object>> injuryCauseDistribution;
+
+    /**
+     * ISS分布（同 /iss-distribution）
+     */
+    private List<Map<String, Object>> issDistribution;
+
+    /**
+     * GCS分布（同 /gcs-distribution）
+     */
+    private List<Map<String, Object>> gcsDistribution;
+
+    /**
+     * RTS分布（同 /rts-distribution）
+     */
+    private List<Map<String, Object>> rtsDistribution;
+
+    /**
+     * 人群身体热力图（同 /population-body-heatmap）
+     */
+    private List<Map<String, Object>> populationBodyHeatmap;
+
+    /**
+     * 身体区域损伤旭日图（同 /body-region-sunburst）
+     */
+    private List<Map<String, Object>> bodyRegionSunburst;
+
+    /**
+     * 查询失败的面板：面板字段名 -> 错误信息
+     */
+    private Map<String, String> errors;
+}
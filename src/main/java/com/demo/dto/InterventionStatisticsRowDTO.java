@@ -0,0 +1,46 @@
+package com.demo.dto;
+
+/**
+ * 干预时间统计扫描行 - 在干预时间原始数据之外带上该行计入哪些统计的标记
+ * 标记由SQL按各统计原来的筛选口径计算，一次扫描即可同时得到时长、患者数与死亡人数
+ */
+public class InterventionStatisticsRowDTO extends InterventionTimeDTO {
+    private static final long serialVersionUID = 1L;
+
+    private String recordAdmissionDate; // 病例接诊日期 (YYYY-MM-DD)
+    private boolean timed;              // 是否参与干预时长统计
+    private boolean counted;            // 是否计入患者数
+    private boolean death;              // 是否计入死亡人数
+
+    public String getRecordAdmissionDate() {
+        return recordAdmissionDate;
+    }
+
+    public void setRecordAdmissionDate(String recordAdmissionDate) {
+        this.recordAdmissionDate = recordAdmissionDate;
+    }
+
+    public boolean isTimed() {
+        return timed;
+    }
+
+    public void setTimed(boolean timed) {
+        this.timed = timed;
+    }
+
+    public boolean isCounted() {
+        return counted;
+    }
+
+    public void setCounted(boolean counted) {
+        this.counted = counted;
+    }
+
+    public boolean isDeath() {
+        return death;
+    }
+
+    public void setDeath(boolean death) {
+        this.death = death;
+    }
+}
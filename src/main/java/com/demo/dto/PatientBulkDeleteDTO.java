@@ -0,0 +1,32 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量删除患者请求DTO
+ * patientIds 与筛选条件二选一：传入 patientIds 时只按ID删除，否则删除满足筛选条件的全部患者（至少需要一个条件）
+ */
+@Data
+public class PatientBulkDeleteDTO {
+    /**
+     * 要删除的患者ID
+     */
+    private List<Integer> patientIds;
+
+    /**
+     * 性别
+     */
+    private String gender;
+
+    /**
+     * 最小年龄
+     */
+    private Integer minAge;
+
+    /**
+     * 最大年龄
+     */
+    private Integer maxAge;
+}
@@ -0,0 +1,26 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 批量删除患者结果DTO
+ */
+@Data
+public class PatientBulkDeleteResultDTO {
+    /**
+     * 解析出的待删除患者数（去重后）
+     */
+    private Integer requestedPatients;
+
+    /**
+     * 实际删除的患者数
+     */
+    private Integer deletedPatients;
+
+    /**
+     * 各表删除的行数：表名 -> 行数
+     */
+    private Map<String, Integer> tableCounts;
+}
@@ -0,0 +1,44 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 患者详情缓存统计DTO
+ */
+@Data
+public class PatientDetailCacheStatsDTO {
+    /**
+     * 当前条目数
+     */
+    private Integer size;
+
+    /**
+     * 容量上限
+     */
+    private Integer maxEntries;
+
+    /**
+     * 命中次数
+     */
+    private Long hits;
+
+    /**
+     * 未命中次数
+     */
+    private Long misses;
+
+    /**
+     * 命中率（0~1）
+     */
+    private Double hitRatio;
+
+    /**
+     * 因容量不足被淘汰的条目数
+     */
+    private Long evictions;
+
+    /**
+     * 因数据修改被失效的患者数
+     */
+    private Long invalidations;
+}
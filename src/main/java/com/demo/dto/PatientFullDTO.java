@@ -0,0 +1,61 @@
+package com.demo.dto;
+
+import com.demo.entity.Patient;
+import com.demo.entity.PatientInfoOffAdmission;
+import com.demo.entity.PatientInfoOnAdmission;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 患者详情页聚合数据DTO
+ * 各分区与对应的独立接口返回值一致，某个分区查询失败时该字段为null，错误信息记录在errors中
+ */
+@Data
+public class PatientFullDTO {
+    /**
+     * 患者基本信息
+     */
+    private Patient patient;
+
+    /**
+     * GCS评分（同 /api/gcs/score/{id}，无带患者信息的结果时为评分记录）
+     */
+    private Object gcsScore;
+
+    /**
+     * RTS评分（同 /api/rts/score/{id}，无带患者信息的结果时为评分记录）
+     */
+    private Object rtsScore;
+
+    /**
+     * 创伤信息（同 /api/iss/injury/{id}）
+     */
+    private IssInjuryDTO issInjury;
+
+    /**
+     * 详细伤情信息（同 /api/iss/injury/{id}/details）
+     */
+    private PatientInjuryDetailDTO injuryDetails;
+
+    /**
+     * 入室前信息（同 /api/patient/on-admission/{id}）
+     */
+    private PatientInfoOnAdmission onAdmission;
+
+    /**
+     * 离室后信息（同 /api/patient/off-admission/{id}）
+     */
+    private PatientInfoOffAdmission offAdmission;
+
+    /**
+     * 干预时间线事件（同 /api/intervention/timeline/{id}）
+     */
+    private List<TimelineEventDTO> timeline;
+
+    /**
+     * 查询失败的分区：分区字段名 -> 错误信息
+     */
+    private Map<String, String> errors;
+}
@@ -0,0 +1,44 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 患者ID列表分页结果DTO
+ * 按患者ID升序的游标分页（keyset）：下一页以 nextAfterId 作为 afterId 请求，nextAfterId 为空表示已到末尾。
+ * encoding 为 plain 时ID放在 ids 中；为 delta-varint 或 ranges 时 ids 为空，编码后的Base64字符串放在 data 中，
+ * 格式见 {@link com.demo.utils.PatientIdCodec}
+ */
+@Data
+public class PatientIdPageDTO {
+    /**
+     * 编码方式：plain、delta-varint、ranges
+     */
+    private String encoding;
+
+    /**
+     * 满足条件的患者总数（不受分页影响）
+     */
+    private Integer total;
+
+    /**
+     * 本页患者数量
+     */
+    private Integer size;
+
+    /**
+     * 本页患者ID（plain编码时返回）
+     */
+    private List<Integer> ids;
+
+    /**
+     * 本页编码数据（Base64，非plain编码时返回）
+     */
+    private String data;
+
+    /**
+     * 下一页游标（本页最后一个患者ID），为空表示没有更多数据
+     */
+    private Integer nextAfterId;
+}
@@ -38,4 +38,9 @@ public class PatientPageDTO {
      * 总页数
      */
     private Long pages;
+    
+    /**
+     * 游标分页时下一页的 afterId；没有下一页时为null
+     */
+    private Integer nextAfterId;
 }
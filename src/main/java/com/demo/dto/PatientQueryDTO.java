@@ -40,4 +40,9 @@ public class PatientQueryDTO {
      * 每页大小，默认10条
      */
     private Integer size = 10;
+    
+    /**
+     * 游标分页：返回患者ID大于该值的下一页（传入时忽略 current）；首页可传0
+     */
+    private Integer afterId;
 }
@@ -0,0 +1,27 @@
+package com.demo.dto;
+
+import com.demo.entity.Patient;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 患者检索命中DTO
+ */
+@Data
+public class PatientSearchHitDTO {
+    /**
+     * 患者基本信息
+     */
+    private Patient patient;
+
+    /**
+     * 相关度得分（越大越相关）
+     */
+    private Double score;
+
+    /**
+     * 命中的字段：name、injuryLocation、injuryCause、stationName
+     */
+    private List<String> matchedFields;
+}
@@ -0,0 +1,36 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 患者检索结果DTO
+ */
+@Data
+public class PatientSearchResultDTO {
+    /**
+     * 当前页命中，按相关度降序
+     */
+    private List<PatientSearchHitDTO> records;
+
+    /**
+     * 命中总数
+     */
+    private Long total;
+
+    /**
+     * 当前页码
+     */
+    private Long current;
+
+    /**
+     * 每页大小
+     */
+    private Long size;
+
+    /**
+     * 索引是否落后于最新数据（正在重建，刚写入的数据可能暂未被检索到）
+     */
+    private Boolean stale;
+}
@@ -0,0 +1,59 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 滚动窗口趋势序列DTO
+ * 各数组与 dates 一一对应，第 i 项为截至 dates[i]（含）的 window 天滚动合计；
+ * lastYear* 为对应日期上一年同一天的滚动合计，用于同比
+ */
+@Data
+public class TrendSeriesDTO {
+    /**
+     * 滚动窗口天数
+     */
+    private Integer window;
+
+    /**
+     * 日期（YYYY-MM-DD）
+     */
+    private List<String> dates;
+
+    /**
+     * 接诊患者数
+     */
+    private long[] admissions;
+
+    /**
+     * 死亡患者数
+     */
+    private long[] deaths;
+
+    /**
+     * 各伤因患者数：伤因分类（0-交通伤，1-高坠伤，2-机械伤，3-跌倒，4-其他） -> 序列
+     */
+    private Map<String, long[]> causes;
+
+    /**
+     * 平均接诊到CT分钟数，窗口内没有有效CT时间时为null
+     */
+    private Double[] avgDoorToCtMinutes;
+
+    /**
+     * 上一年同期接诊患者数
+     */
+    private long[] lastYearAdmissions;
+
+    /**
+     * 上一年同期死亡患者数
+     */
+    private long[] lastYearDeaths;
+
+    /**
+     * 上一年同期平均接诊到CT分钟数
+     */
+    private Double[] lastYearAvgDoorToCtMinutes;
+}
@@ -0,0 +1,69 @@
+package com.demo.dto;
+
+import lombok.Data;
+
+/**
+ * 统计缓存预热状态DTO
+ */
+@Data
+public class WarmupStatusDTO {
+    /**
+     * 是否正在预热
+     */
+    private boolean running;
+
+    /**
+     * 最近一次预热的触发原因（startup、import）
+     */
+    private String reason;
+
+    /**
+     * 最近一次预热针对的数据版本
+     */
+    private long dataVersion;
+
+    /**
+     * 最近一次预热的查询总数
+     */
+    private int totalTasks;
+
+    /**
+     * 已完成的查询数（含失败）
+     */
+    private int completedTasks;
+
+    /**
+     * 失败的查询数
+     */
+    private int failedTasks;
+
+    /**
+     * 最近一次预热开始时间（毫秒时间戳）
+     */
+    private Long startedAt;
+
+    /**
+     * 最近一次完成的预热耗时（毫秒）
+     */
+    private Long lastDurationMs;
+
+    /**
+     * 累计完成的预热次数
+     */
+    private long completedRuns;
+
+    /**
+     * 统计结果缓存条目数
+     */
+    private int cacheSize;
+
+    /**
+     * 统计结果缓存命中次数
+     */
+    private long cacheHits;
+
+    /**
+     * 统计结果缓存未命中次数
+     */
+    private long cacheMisses;
+}
@@ -0,0 +1,42 @@
+package com.demo.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 建表语句（启动时自动创建）：
+ CREATE TABLE patient_region_ais (
+ patient_id INT NOT NULL COMMENT '患者ID',
+ region VARCHAR(16) NOT NULL COMMENT '身体区域（head_neck/face/chest/abdomen/limbs/body）',
+ max_ais TINYINT NOT NULL COMMENT '该区域最高AIS分值（1-6）',
+ PRIMARY KEY (patient_id, region),
+ INDEX idx_region_ais (region, max_ais, patient_id)
+ ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='患者分区域AIS事实表';
+
+ * 由 iss_patient_injury_severity 的"2|3"格式分值拆分而来，每个患者每个受伤区域一行，
+ * 只保存分值大于0的区域
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("patient_region_ais")
+public class PatientRegionAis implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 患者ID
+     */
+    private Integer patientId;
+    /**
+     * 身体区域（head_neck-头颈部，face-面部，chest-胸部，abdomen-腹部，limbs-四肢，body-体表）
+     */
+    private String region;
+    /**
+     * 该区域最高AIS分值
+     */
+    private Integer maxAis;
+}
@@ -0,0 +1,124 @@
+package com.demo.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每日统计聚合表Mapper
+ * 按（接诊日期, 时间段, 季节, 指标, 指标取值）预聚合，供月度热力图、伤因分布及ISS/GCS/RTS分布直接求和
+ *
+ * <p>指标（metric）：
+ * <ul>
+ *   <li>case：病例（injuryrecord JOIN interventiontime），取值为伤因分类</li>
+ *   <li>iss：ISS分段，0-轻度（≤16），1-重度（17-25），2-危重（&gt;25）</li>
+ *   <li>gcs：GCS分级，0-15分，1-12~14分，2-9~11分，3-3~8分，4-其他</li>
+ *   <li>rts：RTS总分</li>
+ *   <li>outcome：转归（与 case 相同的连接方式），1-死亡，0-其他；各取值患者数之和即接诊患者数</li>
+ * </ul>
+ * 每个指标单独成行，同一患者有多条评分时不会在不同指标之间交叉放大计数。
+ * 时间段、季节、伤因为空时记为 -1；接诊日期为空的病例保留为 stat_date 为 NULL 的行，
+ * 使不带日期条件的统计与明细查询一致。
+ */
+@Mapper
+public interface DailyStatCubeMapper {
+
+    /**
+     * 建表（不存在时）
+     */
+    @Update("CREATE TABLE IF NOT EXISTS patient_daily_cube (" +
+            " id BIGINT NOT NULL AUTO_INCREMENT," +
+            " stat_date DATE NULL COMMENT '接诊日期'," +
+            " time_period TINYINT NOT NULL COMMENT '时间段（0-5，-1为未知）'," +
+            " season TINYINT NOT NULL COMMENT '季节（0-3，-1为未知）'," +
+            " metric VARCHAR(8) NOT NULL COMMENT '指标：case/iss/gcs/rts/outcome'," +
+            " metric_value INT NOT NULL COMMENT '指标取值'," +
+            " record_count INT NOT NULL COMMENT '明细行数'," +
+            " patient_count INT NOT NULL COMMENT '去重患者数'," +
+            " PRIMARY KEY (id)," +
+            " KEY idx_metric_date (metric, stat_date)," +
+            " KEY idx_date (stat_date)" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日统计聚合表'")
+    void createTableIfNotExists();
+
+    /**
+     * 清空聚合表
+     */
+    int deleteAll();
+
+    /**
+     * 删除指定日期的聚合行
+     * @param dates 日期（非空）
+     * @param includeNullDate 是否同时删除接诊日期为空的行
+     */
+    int deleteByDates(@Param("dates") Collection<LocalDate> dates,
+                      @Param("includeNullDate") boolean includeNullDate);
+
+    /**
+     * 从明细表重新聚合
+     * @param dates 日期范围，为 null 时聚合全部日期
+     * @param includeNullDate 是否同时聚合接诊日期为空的病例
+     */
+    int insertAggregates(@Param("dates") Collection<LocalDate> dates,
+                         @Param("includeNullDate") boolean includeNullDate);
+
+    /**
+     * 月度时间热力图原始数据：time_period（时间段编码）, month, patient_count
+     */
+    List<Map<String, Object>> selectMonthlyTimeRows(@Param("year") Integer year,
+                                                    @Param("startDate") String startDate,
+                                                    @Param("endDate") String endDate,
+                                                    @Param("season") Integer season,
+                                                    @Param("timePeriod") Integer timePeriod);
+
+    /**
+     * 伤因分布原始数据：month, injury_cause_category, patient_count
+     */
+    List<Map<String, Object>> selectInjuryCauseRows(@Param("year") Integer year,
+                                                    @Param("startDate") String startDate,
+                                                    @Param("endDate") String endDate,
+                                                    @Param("season") Integer season,
+                                                    @Param("timePeriod") Integer timePeriod);
+
+    /**
+     * ISS分段人数：band（0-轻度，1-重度，2-危重）, count
+     */
+    List<Map<String, Object>> selectIssBandCounts(@Param("year") Integer year,
+                                                  @Param("startDate") String startDate,
+                                                  @Param("endDate") String endDate,
+                                                  @Param("season") Integer season,
+                                                  @Param("timePeriod") Integer timePeriod);
+
+    /**
+     * GCS分级人数：level（15/12-14/9-11/3-8/unknown）, count
+     */
+    List<Map<String, Object>> selectGcsLevelCounts(@Param("year") Integer year,
+                                                   @Param("startDate") String startDate,
+                                                   @Param("endDate") String endDate,
+                                                   @Param("season") Integer season,
+                                                   @Param("timePeriod") Integer timePeriod);
+
+    /**
+     * RTS总分人数：score, count（按总分降序）
+     */
+    List<Map<String, Object>> selectRtsScoreCounts(@Param("year") Integer year,
+                                                   @Param("startDate") String startDate,
+                                                   @Param("endDate") String endDate,
+                                                   @Param("season") Integer season,
+                                                   @Param("timePeriod") Integer timePeriod);
+
+    /**
+     * 按月汇总的全部指标桶，供两组筛选条件对比
+     * @return metric, metric_value, month（接诊日期为空时为0）, record_count, patient_count
+     */
+    List<Map<String, Object>> selectMonthlyBuckets(@Param("year") Integer year,
+                                                   @Param("startDate") String startDate,
+                                                   @Param("endDate") String endDate,
+                                                   @Param("season") Integer season,
+                                                   @Param("timePeriod") Integer timePeriod);
+}
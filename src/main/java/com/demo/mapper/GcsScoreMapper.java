@@ -6,6 +6,8 @@ import com.demo.dto.GcsScoreWithPatientDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 /**
  * GCS评分Mapper接口
  */
@@ -25,4 +27,11 @@ public interface GcsScoreMapper extends BaseMapper<GcsScore> {
      * @return GCS评分及患者信息
      */
     GcsScoreWithPatientDTO selectWithPatientInfo(@Param("patientId") Integer patientId);
+
+    /**
+     * 批量查询多位患者最新的GCS评分及患者基本信息（每位患者取 gcs_id 最大的一条）
+     * @param patientIds 患者ID列表（非空）
+     * @return 有GCS评分的患者各一条
+     */
+    List<GcsScoreWithPatientDTO> selectLatestWithPatientInfoByPatientIds(@Param("patientIds") List<Integer> patientIds);
 }
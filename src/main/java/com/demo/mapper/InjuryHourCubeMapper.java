@@ -0,0 +1,63 @@
+package com.demo.mapper;
+
+import com.demo.dto.HourlyStatisticsDTO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 接诊小时聚合表Mapper
+ * 按（接诊日期, 接诊小时, 季节）预聚合 injuryrecord，供24小时统计面板直接求和
+ * stat_hour = -1 表示接诊时间缺失或无法解析，season = -1 表示季节为空，
+ * 这样年份下拉仍能覆盖所有有接诊日期的病例
+ */
+@Mapper
+public interface InjuryHourCubeMapper {
+
+    /**
+     * 建表（不存在时）
+     */
+    @Update("CREATE TABLE IF NOT EXISTS injury_hour_cube (" +
+            " stat_date DATE NOT NULL COMMENT '接诊日期'," +
+            " stat_hour TINYINT NOT NULL COMMENT '接诊小时（0-23，-1为未知）'," +
+            " season TINYINT NOT NULL COMMENT '季节（0-3，-1为未知）'," +
+            " case_count INT NOT NULL COMMENT '病例数'," +
+            " patient_count INT NOT NULL COMMENT '去重患者数'," +
+            " PRIMARY KEY (stat_date, stat_hour, season)" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='接诊小时聚合表'")
+    void createTableIfNotExists();
+
+    /**
+     * 清空聚合表
+     */
+    int deleteAll();
+
+    /**
+     * 删除指定日期的聚合行
+     */
+    int deleteByDates(@Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * 从 injuryrecord 重新聚合（dates 为空时聚合全部日期）
+     */
+    int insertAggregates(@Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * 24小时统计（对聚合行求和）
+     */
+    List<HourlyStatisticsDTO> selectHourlyStatistics(
+            @Param("year") Integer year,
+            @Param("seasons") List<Integer> seasons,
+            @Param("startDate") String startDate,
+            @Param("endDate") String endDate
+    );
+
+    /**
+     * 可用年份（去重、升序）
+     */
+    List<Integer> selectAvailableYears();
+}
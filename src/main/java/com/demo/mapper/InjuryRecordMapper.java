@@ -9,6 +9,7 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface InjuryRecordMapper extends BaseMapper<InjuryRecord> {
@@ -49,19 +50,17 @@ public interface InjuryRecordMapper extends BaseMapper<InjuryRecord> {
     List<Integer> selectAvailableYears();
 
     /**
-     * 根据时间段分组查询患者数量
+     * 一次扫描查询每小时的去重患者
      * @param year 年份（可选）
      * @param seasons 季节列表（可选）
      * @param startDate 开始日期（可选）
      * @param endDate 结束日期（可选）
-     * @param hours 小时列表（0-23）
-     * @return 该时间段的患者总数
+     * @return (hour, patient_id) 去重列表
      */
-    Integer selectPatientCountByHours(
+    List<Map<String, Object>> selectDistinctPatientHours(
             @Param("year") Integer year,
             @Param("seasons") List<Integer> seasons,
             @Param("startDate") String startDate,
-            @Param("endDate") String endDate,
-            @Param("hours") List<Integer> hours
+            @Param("endDate") String endDate
     );
 }
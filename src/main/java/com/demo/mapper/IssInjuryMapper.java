@@ -28,4 +28,9 @@ public interface IssInjuryMapper extends BaseMapper<IssInjury> {
             @Param("latitude") Double latitude,
             @Param("seasons") List<Integer> seasons,
             @Param("timePeriods") List<Integer> timePeriods);
+
+    /**
+     * 批量查询多位患者最新的创伤信息（每位患者取 injury_id 最大的一条）
+     */
+    List<IssInjury> selectLatestByPatientIds(@Param("patientIds") List<Integer> patientIds);
 }
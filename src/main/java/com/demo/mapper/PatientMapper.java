@@ -3,7 +3,11 @@ package com.demo.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.demo.entity.Patient;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 import java.util.List;
 
@@ -18,4 +22,15 @@ public interface PatientMapper extends BaseMapper<Patient> {
      * @return 插入的记录数
      */
     int insertBatch(@Param("patients") List<Patient> patients);
+    
+    /**
+     * 按患者ID顺序流式读取全部患者
+     * fetchSize 为 Integer.MIN_VALUE 时 MySQL 驱动逐行返回结果，不在内存中缓存整个结果集；
+     * 游标需在事务（同一连接）内遍历完毕
+     *
+     * @return 患者游标
+     */
+    @Select("SELECT patient_id, gender, age, is_green_channel, height, weight, name FROM patient ORDER BY patient_id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Patient> selectAllCursor();
 }
@@ -0,0 +1,44 @@
+package com.demo.mapper;
+
+import com.demo.entity.PatientRegionAis;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 患者分区域AIS事实表Mapper
+ * SQL 定义在 PatientRegionAisMapper.xml 中
+ */
+@Mapper
+public interface PatientRegionAisMapper {
+
+    /**
+     * 建表（不存在时）
+     */
+    @Update("CREATE TABLE IF NOT EXISTS patient_region_ais (" +
+            " patient_id INT NOT NULL COMMENT '患者ID'," +
+            " region VARCHAR(16) NOT NULL COMMENT '身体区域'," +
+            " max_ais TINYINT NOT NULL COMMENT '该区域最高AIS分值'," +
+            " PRIMARY KEY (patient_id, region)," +
+            " INDEX idx_region_ais (region, max_ais, patient_id)" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='患者分区域AIS事实表'")
+    void createTableIfNotExists();
+
+    /**
+     * 清空事实表
+     */
+    int deleteAll();
+
+    /**
+     * 删除指定患者的全部区域行
+     */
+    int deleteByPatientIds(@Param("patientIds") Collection<Integer> patientIds);
+
+    /**
+     * 批量插入区域行
+     */
+    int insertBatch(@Param("rows") List<PatientRegionAis> rows);
+}
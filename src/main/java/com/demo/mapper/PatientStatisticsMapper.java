@@ -2,7 +2,9 @@ package com.demo.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -31,25 +33,6 @@ public interface PatientStatisticsMapper {
                          @Param("customStartTimeMinutes") Integer customStartTimeMinutes,
                          @Param("customEndTimeMinutes") Integer customEndTimeMinutes);
     
-    /**
-     * 获取干预时间原始数据（用于计算平均干预时间）
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param year 年份（可选）
-     * @param season 季节（可选，0-春季，1-夏季，2-秋季，3-冬季）
-     * @param timePeriod 时间段（可选，0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
-     * @param customStartTimeMinutes 自定义开始时间（分钟数，可选）
-     * @param customEndTimeMinutes 自定义结束时间（分钟数，可选）
-     * @return 干预时间原始数据列表
-     */
-    List<com.demo.dto.InterventionTimeDTO> getAverageInterventionTime(@Param("startDate") String startDate, 
-                                     @Param("endDate") String endDate,
-                                     @Param("year") Integer year,
-                                     @Param("season") Integer season,
-                                     @Param("timePeriod") Integer timePeriod,
-                                     @Param("customStartTimeMinutes") Integer customStartTimeMinutes,
-                                     @Param("customEndTimeMinutes") Integer customEndTimeMinutes);
-    
     /**
      * 获取死亡人数
      * @param startDate 开始日期
@@ -94,7 +77,8 @@ public interface PatientStatisticsMapper {
      * @param endDate 结束日期
      * @param season 季节（可选，0-春季，1-夏季，2-秋季，3-冬季）
      * @param timePeriod 时间段（可选，0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
-     * @return 创伤部位分析数据
+     * @return 按部位分组的计数（injury_site, patient_count）及 WITH ROLLUP 汇总行（record_total 为日期范围内病例总数），
+     *         占比由Service层计算
      */
     List<Map<String, Object>> getInjuryAnalysisData(@Param("startDate") String startDate, 
                                 @Param("endDate") String endDate,
@@ -105,7 +89,7 @@ public interface PatientStatisticsMapper {
      * 获取ISS评分分布数据
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return ISS评分分布数据
+     * @return 按评分段分组的计数（score_range, patient_count）及 WITH ROLLUP 汇总行（record_total 为日期范围内病例总数）
      */
     List<Map<String, Object>> getISSScoreDistributionData(@Param("startDate") String startDate, @Param("endDate") String endDate);
     
@@ -113,7 +97,7 @@ public interface PatientStatisticsMapper {
      * 获取身体区域损伤数据
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return 身体区域损伤数据
+     * @return 按区域分组的计数（body_region, injury_count）及 WITH ROLLUP 汇总行（record_total 为日期范围内病例总数）
      */
     List<Map<String, Object>> getBodyRegionInjuryData(@Param("startDate") String startDate, @Param("endDate") String endDate);
     
@@ -137,18 +121,20 @@ public interface PatientStatisticsMapper {
                                                          @Param("customEndTime") String customEndTime);
     
     /**
-     * 获取干预时间效率原始数据（用于计算时间段分布）
+     * 流式读取干预时间效率原始数据（单次扫描），逐行交给 handler
+     * timed 行用于计算时间段分布，counted 行用于计算总患者数（口径与 getTotalPatients 一致）
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return 干预时间原始数据列表
+     * @param handler 逐行处理器
      */
-    List<com.demo.dto.InterventionTimeDTO> getInterventionTimeEfficiencyData(@Param("startDate") String startDate, @Param("endDate") String endDate);
+    void getInterventionTimeEfficiencyData(@Param("startDate") String startDate, @Param("endDate") String endDate,
+                                           ResultHandler<com.demo.dto.InterventionStatisticsRowDTO> handler);
     
     /**
      * 获取患者流向数据
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return 患者流向数据
+     * @return 按去向分组的计数（destination, patient_count）及 WITH ROLLUP 汇总行（record_total 为日期范围内病例总数）
      */
     List<Map<String, Object>> getPatientFlowData(@Param("startDate") String startDate, @Param("endDate") String endDate);
     
@@ -283,6 +269,28 @@ public interface PatientStatisticsMapper {
                                     @Param("season") Integer season,
                                     @Param("timePeriod") Integer timePeriod);
     
+    /**
+     * 流式读取统计卡片扫描行（单次扫描），逐行交给 handler，不在内存中保留结果列表
+     * 每行带 counted/death/timed 标记，口径分别与 getTotalPatients、getDeathCount 及平均干预时长一致；
+     * 指定日期范围时最早接诊日期无意义（调用方不使用）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param year 年份（可选）
+     * @param season 季节（可选，0-春季，1-夏季，2-秋季，3-冬季）
+     * @param timePeriod 时间段（可选，0-夜间，1-早高峰，2-午高峰，3-下午，4-晚高峰，5-晚上）
+     * @param customStartTimeMinutes 自定义开始时间（分钟数，可选）
+     * @param customEndTimeMinutes 自定义结束时间（分钟数，可选）
+     * @param handler 逐行处理器
+     */
+    void getPatientStatisticsRows(@Param("startDate") String startDate,
+                                  @Param("endDate") String endDate,
+                                  @Param("year") Integer year,
+                                  @Param("season") Integer season,
+                                  @Param("timePeriod") Integer timePeriod,
+                                  @Param("customStartTimeMinutes") Integer customStartTimeMinutes,
+                                  @Param("customEndTimeMinutes") Integer customEndTimeMinutes,
+                                  ResultHandler<com.demo.dto.InterventionStatisticsRowDTO> handler);
+    
     /**
      * 根据伤因类型获取患者ID列表
      * @param injuryCauseCategory 伤因类型（0-交通伤，1-高坠伤，2-机械伤，3-跌倒，4-其他）
@@ -401,4 +409,61 @@ public interface PatientStatisticsMapper {
                                                    @Param("timePeriod") Integer timePeriod,
                                                    @Param("customStartTimeMinutes") Integer customStartTimeMinutes,
                                                    @Param("customEndTimeMinutes") Integer customEndTimeMinutes);
+
+    /**
+     * 患者集合索引构建：病例与干预时间维度（每位患者一行）
+     * @return patient_id, record_day, intervention_day, season, time_period, injury_cause_category, admission_minutes, death
+     */
+    List<Map<String, Object>> selectFacetCaseRows();
+
+    /**
+     * 患者集合索引构建：ISS评分（每位患者一行，取最高评分）
+     * @return patient_id, iss_score
+     */
+    List<Map<String, Object>> selectFacetIssRows();
+
+    /**
+     * 患者集合索引构建：GCS总分
+     * @return patient_id, total_score
+     */
+    List<Map<String, Object>> selectFacetGcsRows();
+
+    /**
+     * 患者集合索引构建：RTS总分
+     * @return patient_id, rts_total
+     */
+    List<Map<String, Object>> selectFacetRtsRows();
+
+    /**
+     * 患者集合索引构建：区域最高AIS
+     * @return patient_id, region, max_ais
+     */
+    List<Map<String, Object>> selectFacetRegionRows();
+
+    /**
+     * 患者全文检索索引构建：患者姓名
+     * @return patient_id, name
+     */
+    List<Map<String, Object>> selectSearchPatientRows();
+
+    /**
+     * 患者全文检索索引构建：病例文本字段（每条病例一行）
+     * @return patient_id, injury_location, injury_cause_detail, station_name
+     */
+    List<Map<String, Object>> selectSearchInjuryRows();
+
+    /**
+     * 每日趋势序列构建：按病例接诊日期汇总（每个日期一行，接诊日期为空的病例不计入）
+     * 一位患者同一天有多条病例时只计一次；死亡与CT时间取自干预时间表
+     * @param dates 只汇总这些接诊日期；null 表示全部日期
+     * @return stat_day（距1970-01-01天数）, admissions, deaths, cause_0 ~ cause_4, ct_minutes_sum, ct_count
+     */
+    List<Map<String, Object>> selectDailyTrendRows(@Param("dates") List<LocalDate> dates);
+
+    /**
+     * 指定患者的病例接诊日期（去重）
+     * @param patientIds 患者ID
+     * @return 接诊日期 yyyy-MM-dd，接诊日期为空的病例返回空字符串
+     */
+    List<String> selectAdmissionDatesByPatients(@Param("patientIds") List<Integer> patientIds);
 }
@@ -6,6 +6,8 @@ import com.demo.dto.RtsScoreWithPatientDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 /**
  * RTS评分Mapper接口
  */
@@ -25,4 +27,11 @@ public interface RtsScoreMapper extends BaseMapper<RtsScore> {
      * @return RTS评分及患者信息
      */
     RtsScoreWithPatientDTO selectWithPatientInfo(@Param("patientId") Integer patientId);
-}
\ No newline at end of file
+
+    /**
+     * 批量查询多位患者最新的RTS评分及患者基本信息（每位患者取 rts_id 最大的一条）
+     * @param patientIds 患者ID列表（非空）
+     * @return 有RTS评分的患者各一条
+     */
+    List<RtsScoreWithPatientDTO> selectLatestWithPatientInfoByPatientIds(@Param("patientIds") List<Integer> patientIds);
+}
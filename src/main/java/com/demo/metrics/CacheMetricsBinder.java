@@ -0,0 +1,75 @@
+package com.demo.metrics;
+
+import com.demo.cache.PatientDetailCache;
+import com.demo.cache.StatisticsResultCache;
+import com.demo.utils.LongitudeLatitudeUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 进程内缓存指标
+ * 按 Micrometer 缓存指标命名：cache.gets（result=hit/miss）、cache.size、cache.evictions，另提供 cache.hit.ratio（0~1）；
+ * 标签 cache 为 statistics-result（统计结果缓存）、patient-detail（患者详情缓存）、geocoder-address（地址经纬度缓存）
+ */
+@Component
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final StatisticsResultCache statisticsResultCache;
+
+    private final PatientDetailCache patientDetailCache;
+
+    public CacheMetricsBinder(StatisticsResultCache statisticsResultCache, PatientDetailCache patientDetailCache) {
+        this.statisticsResultCache = statisticsResultCache;
+        this.patientDetailCache = patientDetailCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "statistics-result", statisticsResultCache,
+                StatisticsResultCache::getHits, StatisticsResultCache::getMisses, StatisticsResultCache::size);
+
+        bindCache(registry, "patient-detail", patientDetailCache,
+                PatientDetailCache::getHits, PatientDetailCache::getMisses, PatientDetailCache::size);
+        FunctionCounter.builder("cache.evictions", patientDetailCache, PatientDetailCache::getEvictions)
+                .tag("cache", "patient-detail")
+                .description("因容量不足被淘汰的条目数")
+                .register(registry);
+
+        // 地址缓存是工具类中的静态缓存，以本对象作为采集对象
+        bindCache(registry, "geocoder-address", this,
+                binder -> LongitudeLatitudeUtils.getCacheHits(),
+                binder -> LongitudeLatitudeUtils.getCacheMisses(),
+                binder -> LongitudeLatitudeUtils.getCacheSize());
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache,
+                                      ToDoubleFunction<T> hits, ToDoubleFunction<T> misses, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", cache, hits)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("缓存未命中次数")
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tag("cache", name)
+                .description("缓存条目数")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, c -> {
+                    double hitCount = hits.applyAsDouble(c);
+                    double total = hitCount + misses.applyAsDouble(c);
+                    return total == 0 ? 0 : hitCount / total;
+                })
+                .tag("cache", name)
+                .description("缓存累计命中率")
+                .register(registry);
+    }
+}
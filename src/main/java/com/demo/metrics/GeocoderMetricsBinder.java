@@ -0,0 +1,36 @@
+package com.demo.metrics;
+
+import com.demo.utils.LongitudeLatitudeUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 高德地图API调用指标
+ * geocoder.requests 为HTTP请求次数（含重试），geocoder.failures 为未取得经纬度的请求次数；
+ * 标签 api 为 geocode（地理编码）或 place（地点搜索，地理编码失败时的兜底）。地址缓存命中率见 {@link CacheMetricsBinder}
+ */
+@Component
+public class GeocoderMetricsBinder implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("geocoder.requests", this, binder -> LongitudeLatitudeUtils.getGeocodeRequests())
+                .tag("api", "geocode")
+                .description("高德API请求次数")
+                .register(registry);
+        FunctionCounter.builder("geocoder.failures", this, binder -> LongitudeLatitudeUtils.getGeocodeFailures())
+                .tag("api", "geocode")
+                .description("高德API未取得经纬度的请求次数")
+                .register(registry);
+        FunctionCounter.builder("geocoder.requests", this, binder -> LongitudeLatitudeUtils.getPlaceSearchRequests())
+                .tag("api", "place")
+                .description("高德API请求次数")
+                .register(registry);
+        FunctionCounter.builder("geocoder.failures", this, binder -> LongitudeLatitudeUtils.getPlaceSearchFailures())
+                .tag("api", "place")
+                .description("高德API未取得经纬度的请求次数")
+                .register(registry);
+    }
+}
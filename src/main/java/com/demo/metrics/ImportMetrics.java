@@ -0,0 +1,51 @@
+package com.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel导入分阶段计时
+ * 记录到计时器 import.phase，标签 table 与 {@link com.demo.upload.service.ComprehensiveDataImportService} 中的表名一致，
+ * phase 为 parse（打开工作簿、读取列名）、validate（逐行校验）、geocode（地址转经纬度，仅受伤记录）、write（写库及派生表刷新）。
+ * 校验失败时不会进入 geocode/write 阶段
+ */
+@Component
+public class ImportMetrics {
+
+    public static final String METRIC_NAME = "import.phase";
+
+    public static final String PHASE_PARSE = "parse";
+
+    public static final String PHASE_VALIDATE = "validate";
+
+    public static final String PHASE_GEOCODE = "geocode";
+
+    public static final String PHASE_WRITE = "write";
+
+    private final MeterRegistry meterRegistry;
+
+    public ImportMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     * @param table 表名
+     * @param phase 阶段，见本类 PHASE_* 常量
+     * @param startNanos 阶段开始时的 {@link System#nanoTime()}
+     * @return 当前的 {@link System#nanoTime()}，可作为下一阶段的开始时间
+     */
+    public long record(String table, String phase, long startNanos) {
+        long now = System.nanoTime();
+        Timer.builder(METRIC_NAME)
+                .description("Excel导入各阶段耗时")
+                .tag("table", table)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
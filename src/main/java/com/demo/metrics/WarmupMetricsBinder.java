@@ -0,0 +1,53 @@
+package com.demo.metrics;
+
+import com.demo.Service.impl.IStatisticsWarmupService;
+import com.demo.dto.WarmupStatusDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 统计缓存预热指标
+ * statistics.warmup 为每次预热的耗时（计时器，由 {@link com.demo.Service.impl.impl.StatisticsWarmupServiceImpl} 记录），
+ * 标签 reason 为触发原因（startup、import），outcome 为 success、failed（有查询失败）或 timeout；
+ * statistics.warmup.tasks 为进行中或最近一次预热的查询数，标签 state 为 total、completed（含失败）、failed；
+ * statistics.warmup.progress 为 completed/total（0~1，尚未预热时为0）
+ */
+@Component
+public class WarmupMetricsBinder implements MeterBinder {
+
+    public static final String TIMER_NAME = "statistics.warmup";
+
+    private final IStatisticsWarmupService statisticsWarmupService;
+
+    /**
+     * 延迟注入：预热服务依赖各统计服务，不应在 MeterRegistry 初始化时创建
+     */
+    public WarmupMetricsBinder(@Lazy IStatisticsWarmupService statisticsWarmupService) {
+        this.statisticsWarmupService = statisticsWarmupService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("statistics.warmup.tasks", statisticsWarmupService, s -> s.getStatus().getTotalTasks())
+                .tag("state", "total")
+                .description("预热查询数")
+                .register(registry);
+        Gauge.builder("statistics.warmup.tasks", statisticsWarmupService, s -> s.getStatus().getCompletedTasks())
+                .tag("state", "completed")
+                .description("预热查询数")
+                .register(registry);
+        Gauge.builder("statistics.warmup.tasks", statisticsWarmupService, s -> s.getStatus().getFailedTasks())
+                .tag("state", "failed")
+                .description("预热查询数")
+                .register(registry);
+        Gauge.builder("statistics.warmup.progress", statisticsWarmupService, s -> {
+                    WarmupStatusDTO status = s.getStatus();
+                    return status.getTotalTasks() == 0 ? 0 : (double) status.getCompletedTasks() / status.getTotalTasks();
+                })
+                .description("预热进度（已完成查询数/查询总数）")
+                .register(registry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.demo.upload.service;
 
+import com.demo.Service.impl.IStatisticsWarmupService;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
 import com.demo.upload.dto.ValidationResultDTO;
@@ -49,6 +50,9 @@ public class ComprehensiveDataImportService {
     @Autowired
     private IssPatientInjurySeverityImportService issPatientInjurySeverityImportService;
     
+    @Autowired
+    private IStatisticsWarmupService statisticsWarmupService;
+    
     /**
      * 表信息配置
      */
@@ -239,6 +243,9 @@ public class ComprehensiveDataImportService {
         
         logger.info("所有表验证通过，数据已成功导入数据库");
         
+        // 事务提交后在后台预热首屏统计缓存
+        statisticsWarmupService.scheduleWarmup("import");
+        
         // 构建最终结果
         result.put("success", true);
         result.put("allValid", true);
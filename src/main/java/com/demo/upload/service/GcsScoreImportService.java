@@ -1,10 +1,13 @@
 package com.demo.upload.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.PatientDetailCache;
 import com.demo.entity.GcsScore;
 import com.demo.entity.Patient;
 import com.demo.mapper.GcsScoreMapper;
 import com.demo.mapper.PatientMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.GcsScoreColumnConstants;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
@@ -30,6 +33,11 @@ public class GcsScoreImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(GcsScoreImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "gcs_score";
+    
     @Autowired
     private GcsScoreMapper gcsScoreMapper;
     
@@ -39,6 +47,15 @@ public class GcsScoreImportService {
     @Autowired
     private PatientMapper patientMapper;
     
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
     /**
      * 验证并导入GCS评分数据（一步完成）
      * 读取Excel全部数据，验证所有数据并记录所有错误
@@ -67,6 +84,7 @@ public class GcsScoreImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -147,6 +165,8 @@ public class GcsScoreImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 读取并验证所有数据行，记录所有错误
             List<ValidationErrorDTO> allErrors = new ArrayList<>();
             List<GcsScore> validRecords = new ArrayList<>();
@@ -230,6 +250,8 @@ public class GcsScoreImportService {
                 validationResult.setMessage("数据验证失败，共发现 " + allErrors.size() + " 个错误");
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 如果验证失败，不插入数据库
             if (!allErrors.isEmpty()) {
                 ImportResultDTO importResult = new ImportResultDTO();
@@ -250,6 +272,7 @@ public class GcsScoreImportService {
             
             // 验证通过，导入数据
             ImportResultDTO importResult = importGcsScoreData(validRecords);
+            importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             
             result.put("validation", validationResult);
             result.put("import", importResult);
@@ -323,6 +346,14 @@ public class GcsScoreImportService {
                     }
                     
                     logger.info("批量插入GCS评分数据完成，新插入: {} 条，更新: {} 条", insertCount, updateCount);
+                    
+                    // 同步每日统计聚合表，失效这些患者的详情缓存
+                    List<Integer> patientIds = new ArrayList<>();
+                    for (GcsScore record : gcsScores) {
+                        patientIds.add(record.getPatientId());
+                    }
+                    dataChangeTracker.reportPatients(patientIds);
+                    patientDetailCache.invalidate(patientIds);
                 } catch (RuntimeException e) {
                     // 重新抛出RuntimeException，保持错误信息
                     throw e;
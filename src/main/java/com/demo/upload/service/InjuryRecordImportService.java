@@ -1,10 +1,12 @@
 package com.demo.upload.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.cache.DataChangeTracker;
 import com.demo.entity.InjuryRecord;
 import com.demo.entity.Patient;
 import com.demo.mapper.InjuryRecordMapper;
 import com.demo.mapper.PatientMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.InjuryRecordColumnConstants;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
@@ -36,6 +38,11 @@ public class InjuryRecordImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(InjuryRecordImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "injury_record";
+    
     @Autowired
     private InjuryRecordMapper injuryRecordMapper;
     
@@ -48,6 +55,12 @@ public class InjuryRecordImportService {
     @Autowired
     private AmapConfig amapConfig;
     
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
     /**
      * 受伤原因分类映射
      */
@@ -88,6 +101,7 @@ public class InjuryRecordImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -168,6 +182,8 @@ public class InjuryRecordImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 验证所有数据行
             List<ValidationErrorDTO> allErrors = new ArrayList<>();
             List<InjuryRecord> validRecords = new ArrayList<>();
@@ -316,6 +332,8 @@ public class InjuryRecordImportService {
                 validationResult.setMessage("数据验证失败，共发现 " + allErrors.size() + " 个错误");
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 如果验证失败，不插入数据库
             if (!allErrors.isEmpty()) {
                 ImportResultDTO importResult = new ImportResultDTO();
@@ -355,6 +373,7 @@ public class InjuryRecordImportService {
             }
             
             // 更新经纬度（调用高德地图API，即使失败也不影响数据导入）
+            phaseStart = System.nanoTime();
             try {
                 LongitudeLatitudeUtils.updateLongitudeLatitude(
                     validRecords, 
@@ -366,8 +385,11 @@ public class InjuryRecordImportService {
                 logger.warn("经纬度更新失败，但继续导入数据: {}", e.getMessage());
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_GEOCODE, phaseStart);
+            
             // 导入数据
             ImportResultDTO importResult = importInjuryRecordData(validRecords);
+            importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             
             result.put("validation", validationResult);
             result.put("import", importResult);
@@ -409,6 +431,8 @@ public class InjuryRecordImportService {
             int insertCount = 0;  // 新插入的记录数
             int updateCount = 0;  // 更新的记录数
             int totalCount = injuryRecords.size();
+            // 受影响的接诊日期（含被更新记录的原日期），用于增量刷新小时聚合表
+            Set<LocalDate> affectedDates = new HashSet<>();
             
             if (!injuryRecords.isEmpty()) {
                 try {
@@ -427,6 +451,7 @@ public class InjuryRecordImportService {
                             
                             // 更新现有记录（只有一条）
                             InjuryRecord existing = existingList.get(0);
+                            affectedDates.add(existing.getAdmissionDate());
                             record.setInjuryId(existing.getInjuryId());
                             injuryRecordMapper.updateById(record);
                             updateCount++;
@@ -440,6 +465,11 @@ public class InjuryRecordImportService {
                     }
                     
                     logger.info("批量插入创伤病例数据完成，新插入: {} 条，更新: {} 条", insertCount, updateCount);
+                    
+                    for (InjuryRecord record : injuryRecords) {
+                        affectedDates.add(record.getAdmissionDate());
+                    }
+                    dataChangeTracker.reportAdmissionDates(affectedDates);
                 } catch (RuntimeException e) {
                     // 重新抛出RuntimeException，保持错误信息
                     throw e;
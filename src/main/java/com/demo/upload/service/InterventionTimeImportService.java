@@ -1,10 +1,13 @@
 package com.demo.upload.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.PatientDetailCache;
 import com.demo.entity.InterventionTime;
 import com.demo.entity.Patient;
 import com.demo.mapper.InterventionTimeMapper;
 import com.demo.mapper.PatientMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.InterventionTimeColumnConstants;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
@@ -30,6 +33,11 @@ public class InterventionTimeImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(InterventionTimeImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "intervention_time";
+    
     @Autowired
     private InterventionTimeMapper interventionTimeMapper;
     
@@ -39,6 +47,15 @@ public class InterventionTimeImportService {
     @Autowired
     private PatientMapper patientMapper;
     
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
     /**
      * 验证并导入干预时间数据（一步完成）
      * 读取Excel全部数据，验证所有数据并记录所有错误
@@ -67,6 +84,7 @@ public class InterventionTimeImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -147,6 +165,8 @@ public class InterventionTimeImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 读取并验证所有数据行，记录所有错误
             List<ValidationErrorDTO> allErrors = new ArrayList<>();
             List<InterventionTime> validRecords = new ArrayList<>();
@@ -490,6 +510,8 @@ public class InterventionTimeImportService {
                 validationResult.setMessage("数据验证失败，共发现 " + allErrors.size() + " 个错误");
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 如果验证失败，不插入数据库
             if (!allErrors.isEmpty()) {
                 ImportResultDTO importResult = new ImportResultDTO();
@@ -510,6 +532,7 @@ public class InterventionTimeImportService {
             
             // 验证通过，导入数据
             ImportResultDTO importResult = importInterventionTimeData(validRecords);
+            importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             
             result.put("validation", validationResult);
             result.put("import", importResult);
@@ -605,6 +628,14 @@ public class InterventionTimeImportService {
                     }
                     
                     logger.info("批量插入干预时间数据完成，新插入: {} 条，更新: {} 条", insertCount, updateCount);
+                    
+                    // 同步每日统计聚合表与趋势序列（死亡、CT时间来自干预时间表）
+                    List<Integer> patientIds = new ArrayList<>();
+                    for (InterventionTime record : interventionTimes) {
+                        patientIds.add(record.getPatientId());
+                    }
+                    dataChangeTracker.reportPatients(patientIds);
+                    patientDetailCache.invalidate(patientIds);
                 } catch (RuntimeException e) {
                     // 重新抛出RuntimeException，保持错误信息
                     throw e;
@@ -1,10 +1,13 @@
 package com.demo.upload.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.PatientDetailCache;
 import com.demo.entity.IssInjury;
 import com.demo.entity.Patient;
 import com.demo.mapper.IssInjuryMapper;
 import com.demo.mapper.PatientMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.IssColumnConstants;
 import com.demo.upload.constants.BodyPartScoreMapping;
 import com.demo.upload.dto.ImportResultDTO;
@@ -30,6 +33,11 @@ public class IssPatientInjurySeverityImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(IssPatientInjurySeverityImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "iss";
+    
     @Autowired
     private IssInjuryMapper issInjuryMapper;
     
@@ -39,6 +47,15 @@ public class IssPatientInjurySeverityImportService {
     @Autowired
     private PatientMapper patientMapper;
     
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
     /**
      * 验证并导入ISS数据（一步完成）
      * 读取Excel全部数据，验证所有数据并记录所有错误
@@ -67,6 +84,7 @@ public class IssPatientInjurySeverityImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -147,6 +165,8 @@ public class IssPatientInjurySeverityImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 验证所有数据行
             List<ValidationErrorDTO> allErrors = new ArrayList<>();
             List<IssInjury> validRecords = new ArrayList<>();
@@ -330,6 +350,8 @@ public class IssPatientInjurySeverityImportService {
                 validationResult.setMessage("数据验证失败，共发现 " + allErrors.size() + " 个错误");
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 如果验证失败，不插入数据库
             if (!allErrors.isEmpty()) {
                 ImportResultDTO importResult = new ImportResultDTO();
@@ -351,6 +373,7 @@ public class IssPatientInjurySeverityImportService {
             // 验证通过，导入数据
             logger.info("数据验证通过，开始导入ISS数据...");
             ImportResultDTO importResult = importIssData(validRecords);
+            importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             
             result.put("validation", validationResult);
             result.put("import", importResult);
@@ -421,6 +444,14 @@ public class IssPatientInjurySeverityImportService {
                             logger.debug("插入新的ISS记录，患者ID: {}", record.getPatientId());
                         }
                     }
+                    
+                    // 报告变更患者（分区域AIS事实表、每日统计聚合表据此刷新），失效这些患者的详情缓存
+                    List<Integer> patientIds = new ArrayList<>();
+                    for (IssInjury record : issInjuries) {
+                        patientIds.add(record.getPatientId());
+                    }
+                    dataChangeTracker.reportPatients(patientIds);
+                    patientDetailCache.invalidate(patientIds);
                 } catch (RuntimeException e) {
                     // 重新抛出RuntimeException，保持错误信息
                     throw e;
@@ -1,8 +1,11 @@
 package com.demo.upload.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.PatientDetailCache;
 import com.demo.entity.Patient;
 import com.demo.mapper.PatientMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.PatientColumnConstants;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
@@ -29,11 +32,25 @@ public class PatientDataImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(PatientDataImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "patient";
+    
     @Autowired
     private PatientMapper patientMapper;
     
     @Autowired
     private PatientFieldValidator fieldValidator;
+
+    @Autowired
+    private PatientDetailCache patientDetailCache;
+
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
     
     /**
      * 验证Excel文件中的数据（纯Java实现）
@@ -279,6 +296,7 @@ public class PatientDataImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -359,6 +377,8 @@ public class PatientDataImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 查询数据库中已存在的患者ID
             Set<Integer> existingPatientIds = new HashSet<>();
             try {
@@ -529,6 +549,8 @@ public class PatientDataImportService {
             
             logger.info("数据验证完成: 共 {} 行数据，发现 {} 个错误", sheet.getLastRowNum(), errors.size());
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 根据错误数决定是否插入数据库
             ImportResultDTO importResult = new ImportResultDTO();
             
@@ -540,6 +562,12 @@ public class PatientDataImportService {
                         int affectedRows = patientMapper.insertBatch(validPatientList);
                         successCount = affectedRows;
                         logger.info("批量插入患者数据完成，影响行数: {}", affectedRows);
+                        // 详情缓存中可能有先于患者导入的评分（年龄、性别为空），每日统计聚合表的GCS/RTS行连接患者表
+                        List<Integer> importedIds = validPatientList.stream()
+                            .map(Patient::getPatientId)
+                            .collect(Collectors.toList());
+                        patientDetailCache.invalidate(importedIds);
+                        dataChangeTracker.reportPatients(importedIds);
                     }
                     
                     importResult.setSuccess(true);
@@ -575,6 +603,7 @@ public class PatientDataImportService {
                     result.put("success", false);
                     result.put("message", errorMessage);
                 }
+                importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             } else {
                 // 错误数不为0，不插入，返回所有错误信息
                 importResult.setSuccess(false);
@@ -761,6 +790,9 @@ public class PatientDataImportService {
                     int affectedRows = patientMapper.insertBatch(patientList);
                     successCount = affectedRows;
                     logger.info("批量插入患者数据完成，影响行数: {}", affectedRows);
+                    // 详情缓存中可能有先于患者导入的评分（年龄、性别为空），每日统计聚合表的GCS/RTS行连接患者表
+                    patientDetailCache.invalidate(patientIds);
+                    dataChangeTracker.reportPatients(patientIds);
                 } catch (RuntimeException e) {
                     // 患者ID重复异常，直接抛出以触发回滚
                     logger.error("批量插入患者数据时发现重复的患者ID", e);
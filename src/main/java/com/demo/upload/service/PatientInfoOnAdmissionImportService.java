@@ -5,6 +5,7 @@ import com.demo.entity.Patient;
 import com.demo.entity.PatientInfoOnAdmission;
 import com.demo.mapper.PatientInfoOnAdmissionMapper;
 import com.demo.mapper.PatientMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.PatientInfoOnAdmissionColumnConstants;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
@@ -30,6 +31,11 @@ public class PatientInfoOnAdmissionImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(PatientInfoOnAdmissionImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "patient_info_on_admission";
+    
     @Autowired
     private PatientInfoOnAdmissionMapper patientInfoOnAdmissionMapper;
     
@@ -39,6 +45,9 @@ public class PatientInfoOnAdmissionImportService {
     @Autowired
     private PatientMapper patientMapper;
     
+    @Autowired
+    private ImportMetrics importMetrics;
+    
     /**
      * 验证并导入患者入室信息数据（一步完成）
      * 读取Excel全部数据，验证所有数据并记录所有错误
@@ -67,6 +76,7 @@ public class PatientInfoOnAdmissionImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -147,6 +157,8 @@ public class PatientInfoOnAdmissionImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 读取并验证所有数据行，记录所有错误
             List<ValidationErrorDTO> allErrors = new ArrayList<>();
             List<PatientInfoOnAdmission> validRecords = new ArrayList<>();
@@ -228,6 +240,8 @@ public class PatientInfoOnAdmissionImportService {
                 validationResult.setMessage("数据验证失败，共发现 " + allErrors.size() + " 个错误");
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 如果验证失败，不插入数据库
             if (!allErrors.isEmpty()) {
                 ImportResultDTO importResult = new ImportResultDTO();
@@ -248,6 +262,7 @@ public class PatientInfoOnAdmissionImportService {
             
             // 验证通过，导入数据
             ImportResultDTO importResult = importPatientInfoOnAdmissionData(validRecords);
+            importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             
             result.put("validation", validationResult);
             result.put("import", importResult);
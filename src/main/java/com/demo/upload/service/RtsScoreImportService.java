@@ -1,10 +1,12 @@
 package com.demo.upload.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.cache.DataChangeTracker;
 import com.demo.entity.Patient;
 import com.demo.entity.RtsScore;
 import com.demo.mapper.PatientMapper;
 import com.demo.mapper.RtsScoreMapper;
+import com.demo.metrics.ImportMetrics;
 import com.demo.upload.constants.RtsScoreColumnConstants;
 import com.demo.upload.dto.ImportResultDTO;
 import com.demo.upload.dto.ValidationErrorDTO;
@@ -30,6 +32,11 @@ public class RtsScoreImportService {
     
     private static final Logger logger = LoggerFactory.getLogger(RtsScoreImportService.class);
     
+    /**
+     * 导入指标中的表名，与综合导入中的表名一致
+     */
+    private static final String METRIC_TABLE = "rts_score";
+    
     @Autowired
     private RtsScoreMapper rtsScoreMapper;
     
@@ -39,6 +46,12 @@ public class RtsScoreImportService {
     @Autowired
     private PatientMapper patientMapper;
     
+    @Autowired
+    private DataChangeTracker dataChangeTracker;
+    
+    @Autowired
+    private ImportMetrics importMetrics;
+    
     /**
      * 验证并导入RTS评分数据（一步完成）
      * 读取Excel全部数据，验证所有数据并记录所有错误
@@ -67,6 +80,7 @@ public class RtsScoreImportService {
             }
             
             // 使用Apache POI读取Excel文件
+            long phaseStart = System.nanoTime();
             workbook = WorkbookFactory.create(excelFile);
             Sheet sheet = workbook.getSheetAt(0);
             
@@ -147,6 +161,8 @@ public class RtsScoreImportService {
                 return result;
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_PARSE, phaseStart);
+            
             // 读取并验证所有数据行，记录所有错误
             List<ValidationErrorDTO> allErrors = new ArrayList<>();
             List<RtsScore> validRecords = new ArrayList<>();
@@ -254,6 +270,8 @@ public class RtsScoreImportService {
                 validationResult.setMessage("数据验证失败，共发现 " + allErrors.size() + " 个错误");
             }
             
+            phaseStart = importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_VALIDATE, phaseStart);
+            
             // 如果验证失败，不插入数据库
             if (!allErrors.isEmpty()) {
                 ImportResultDTO importResult = new ImportResultDTO();
@@ -274,6 +292,7 @@ public class RtsScoreImportService {
             
             // 验证通过，导入数据
             ImportResultDTO importResult = importRtsScoreData(validRecords);
+            importMetrics.record(METRIC_TABLE, ImportMetrics.PHASE_WRITE, phaseStart);
             
             result.put("validation", validationResult);
             result.put("import", importResult);
@@ -347,6 +366,13 @@ public class RtsScoreImportService {
                     }
                     
                     logger.info("批量插入RTS评分数据完成，新插入: {} 条，更新: {} 条", insertCount, updateCount);
+                    
+                    // 同步每日统计聚合表
+                    List<Integer> patientIds = new ArrayList<>();
+                    for (RtsScore record : rtsScores) {
+                        patientIds.add(record.getPatientId());
+                    }
+                    dataChangeTracker.reportPatients(patientIds);
                 } catch (RuntimeException e) {
                     // 重新抛出RuntimeException，保持错误信息
                     throw e;
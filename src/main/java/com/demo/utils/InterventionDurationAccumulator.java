@@ -0,0 +1,87 @@
+package com.demo.utils;
+
+import com.demo.dto.InterventionTimeDTO;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * 干预时长流式统计
+ * 作为 MyBatis ResultHandler 逐行累加，不保留明细行，内存占用与数据量无关
+ *
+ * <p>同时统计两项：
+ * <ul>
+ *   <li>平均时长：数据完整且时长在 0-48 小时内的记录</li>
+ *   <li>时长分段：无数据、30分钟以内、31-60分钟、61-120分钟、121-240分钟、240分钟以上</li>
+ * </ul>
+ *
+ * @author system
+ */
+public final class InterventionDurationAccumulator implements ResultHandler<InterventionTimeDTO> {
+
+    public static final int BUCKET_NO_DATA = 0;
+    public static final int BUCKET_WITHIN_30 = 1;
+    public static final int BUCKET_31_60 = 2;
+    public static final int BUCKET_61_120 = 3;
+    public static final int BUCKET_121_240 = 4;
+    public static final int BUCKET_OVER_240 = 5;
+
+    /**
+     * 参与平均值计算的最大时长（48小时）
+     */
+    private static final long MAX_AVERAGE_MINUTES = 2880;
+
+    private final int[] buckets = new int[6];
+    private long sumMinutes;
+    private int averageCount;
+
+    @Override
+    public void handleResult(ResultContext<? extends InterventionTimeDTO> context) {
+        accept(context.getResultObject());
+    }
+
+    /**
+     * 累加一行
+     */
+    public void accept(InterventionTimeDTO dto) {
+        if (dto == null || !dto.isComplete()) {
+            buckets[BUCKET_NO_DATA]++;
+            return;
+        }
+        long minutes = InterventionDurationUtils.minutesBetween(dto.getAdmissionDate(), dto.getAdmissionTime(),
+                dto.getLeaveSurgeryDate(), dto.getLeaveSurgeryTime());
+        if (minutes < 0) {
+            buckets[BUCKET_NO_DATA]++;
+            return;
+        }
+        if (minutes <= MAX_AVERAGE_MINUTES) {
+            sumMinutes += minutes;
+            averageCount++;
+        }
+        if (minutes <= 30) {
+            buckets[BUCKET_WITHIN_30]++;
+        } else if (minutes <= 60) {
+            buckets[BUCKET_31_60]++;
+        } else if (minutes <= 120) {
+            buckets[BUCKET_61_120]++;
+        } else if (minutes <= 240) {
+            buckets[BUCKET_121_240]++;
+        } else {
+            buckets[BUCKET_OVER_240]++;
+        }
+    }
+
+    /**
+     * 平均时长（分钟）
+     * @return 没有有效数据时返回 null
+     */
+    public Double getAverageMinutes() {
+        return averageCount == 0 ? null : (double) sumMinutes / averageCount;
+    }
+
+    /**
+     * 某一时长分段的记录数，见 BUCKET_* 常量
+     */
+    public int getBucketCount(int bucket) {
+        return buckets[bucket];
+    }
+}
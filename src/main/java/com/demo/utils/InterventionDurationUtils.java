@@ -0,0 +1,180 @@
+package com.demo.utils;
+
+/**
+ * 干预时长计算工具类
+ * 入室/离室日期（YYYY-MM-DD）和4位时间（如"2326"表示23:26）直接按字符解析为纪元日和当日分钟数，
+ * 不创建 LocalDate/LocalDateTime 或子字符串，适合在流式统计中逐行调用
+ *
+ * <p>计算规则：
+ * <ul>
+ *   <li>离室早于入室视为无效</li>
+ *   <li>日期差超过7天视为录入错误；若同时超过30天且离室时刻早于入室时刻（疑似跨天录错年份/月份），
+ *       按入室次日的离室时刻修正，修正后不超过48小时则采用</li>
+ * </ul>
+ *
+ * @author system
+ */
+public final class InterventionDurationUtils {
+
+    /**
+     * 无法计算时的返回值
+     */
+    public static final long INVALID = -1L;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * 修正后允许的最大时长（48小时）
+     */
+    private static final long MAX_CORRECTED_MINUTES = 2880;
+
+    /**
+     * 1970-01-01 与 0000-03-01 之间的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private InterventionDurationUtils() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 计算入室到离室的分钟数
+     *
+     * @param admissionDate 入室日期（YYYY-MM-DD）
+     * @param admissionTime 入室时间（4位，如"2326"）
+     * @param leaveDate 离室日期（YYYY-MM-DD）
+     * @param leaveTime 离室时间（4位，如"0030"）
+     * @return 分钟数；数据缺失、格式错误或时长异常时返回 {@link #INVALID}
+     */
+    public static long minutesBetween(String admissionDate, String admissionTime, String leaveDate, String leaveTime) {
+        long admissionDay = parseEpochDay(admissionDate);
+        int admissionMinute = parseHHmm(admissionTime);
+        long leaveDay = parseEpochDay(leaveDate);
+        int leaveMinute = parseHHmm(leaveTime);
+        if (admissionDay == Long.MIN_VALUE || admissionMinute < 0 || leaveDay == Long.MIN_VALUE || leaveMinute < 0) {
+            return INVALID;
+        }
+
+        long minutes = (leaveDay - admissionDay) * MINUTES_PER_DAY + (leaveMinute - admissionMinute);
+        if (minutes < 0) {
+            return INVALID;
+        }
+
+        long daysDiff = leaveDay - admissionDay;
+        if (daysDiff > 7) {
+            if (leaveMinute < admissionMinute && daysDiff > 30) {
+                long corrected = MINUTES_PER_DAY - admissionMinute + leaveMinute;
+                if (corrected >= 0 && corrected <= MAX_CORRECTED_MINUTES) {
+                    return corrected;
+                }
+            }
+            return INVALID;
+        }
+        return minutes;
+    }
+
+    /**
+     * 解析4位时间为当日分钟数
+     *
+     * @param time 4位时间字符串（HHmm）
+     * @return 0-1439；格式错误或超出范围时返回 -1
+     */
+    public static int parseHHmm(String time) {
+        if (time == null || time.length() != 4) {
+            return -1;
+        }
+        int hour = twoDigits(time, 0);
+        int minute = twoDigits(time, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return -1;
+        }
+        return hour * 60 + minute;
+    }
+
+    /**
+     * 解析 YYYY-MM-DD 为纪元日（1970-01-01 为0）
+     *
+     * @param date 日期字符串
+     * @return 纪元日；格式错误或日期不存在时返回 {@link Long#MIN_VALUE}
+     */
+    public static long parseEpochDay(String date) {
+        if (date == null || date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return Long.MIN_VALUE;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * 两位数字；与 Integer.parseInt 一致，首位允许 '+'
+     */
+    private static int twoDigits(String s, int from) {
+        char first = s.charAt(from);
+        int second = s.charAt(from + 1) - '0';
+        if (second < 0 || second > 9) {
+            return -1;
+        }
+        if (first == '+') {
+            return second;
+        }
+        int tens = first - '0';
+        if (tens < 0 || tens > 9) {
+            return -1;
+        }
+        return tens * 10 + second;
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 与 LocalDate.toEpochDay 相同的算法（年份非负）
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+            if (!leap) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
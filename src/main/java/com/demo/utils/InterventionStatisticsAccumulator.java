@@ -0,0 +1,78 @@
+package com.demo.utils;
+
+import com.demo.dto.InterventionStatisticsRowDTO;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * 干预时间统计流式累加
+ * 作为 MyBatis ResultHandler 逐行累加带标记的扫描行（见 {@link InterventionStatisticsRowDTO}），
+ * 同一次扫描得到干预时长、去重患者数、死亡人数和最早病例接诊日期；患者去重用位图，不保留明细行
+ *
+ * @author system
+ */
+public final class InterventionStatisticsAccumulator implements ResultHandler<InterventionStatisticsRowDTO> {
+
+    private final InterventionDurationAccumulator durations = new InterventionDurationAccumulator();
+    private final RoaringBitmap patients = new RoaringBitmap();
+    private long deathCount;
+    private String earliestRecordAdmissionDate;
+
+    @Override
+    public void handleResult(ResultContext<? extends InterventionStatisticsRowDTO> context) {
+        accept(context.getResultObject());
+    }
+
+    /**
+     * 累加一行
+     */
+    public void accept(InterventionStatisticsRowDTO row) {
+        if (row == null) {
+            return;
+        }
+        if (row.isTimed()) {
+            durations.accept(row);
+        }
+        if (row.isCounted() && row.getPatientId() != null) {
+            patients.add(row.getPatientId());
+        }
+        if (row.isDeath()) {
+            deathCount++;
+        }
+        String recordDate = row.getRecordAdmissionDate();
+        // YYYY-MM-DD 格式按字符串比较即按日期比较
+        if (recordDate != null && (earliestRecordAdmissionDate == null || recordDate.compareTo(earliestRecordAdmissionDate) < 0)) {
+            earliestRecordAdmissionDate = recordDate;
+        }
+    }
+
+    /**
+     * 干预时长统计（只含 timed 行）
+     */
+    public InterventionDurationAccumulator getDurations() {
+        return durations;
+    }
+
+    /**
+     * 去重患者数（只含 counted 行）
+     */
+    public long getPatientCount() {
+        return patients.getLongCardinality();
+    }
+
+    /**
+     * 死亡人数（death 行数）
+     */
+    public long getDeathCount() {
+        return deathCount;
+    }
+
+    /**
+     * 最早病例接诊日期（全部行）
+     * @return 没有数据时返回 null
+     */
+    public String getEarliestRecordAdmissionDate() {
+        return earliestRecordAdmissionDate;
+    }
+}
@@ -0,0 +1,167 @@
+package com.demo.utils;
+
+import com.demo.dto.AddressCountDTO;
+import com.demo.dto.ColumnarLocationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 地图点位紧凑编码工具类
+ * 将 {@link AddressCountDTO} 列表编码为列式JSON或二进制格式，减少传输体积与序列化开销
+ *
+ * <p>二进制格式（application/octet-stream）：
+ * <ul>
+ *   <li>1字节：格式版本（当前为1）</li>
+ *   <li>1字节：坐标小数位数</li>
+ *   <li>varint：点位数量</li>
+ *   <li>逐点：zigzag varint 纬度差值、zigzag varint 经度差值、varint 病例数量（varint 格式见 {@link VarintCodec}）</li>
+ * </ul>
+ * 点位按（纬度, 经度）排序后差分，相邻点差值较小，varint 通常只需1-3字节。
+ * 经纬度为空的点位无法在地图上展示，编码时直接跳过。
+ *
+ * @author system
+ */
+public final class LocationPayloadCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationPayloadCodec.class);
+
+    /**
+     * 列式JSON媒体类型
+     */
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.healthineers.columnar+json";
+
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType(COLUMNAR_JSON_VALUE);
+
+    /**
+     * 二进制格式版本
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * 默认坐标精度：小数点后6位（约0.1米）
+     */
+    public static final int DEFAULT_PRECISION = 6;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private LocationPayloadCodec() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 编码为列式DTO（平行数组 + 差分定点坐标）
+     *
+     * @param locations 点位列表，可以为null
+     * @return 列式DTO，不为null
+     */
+    public static ColumnarLocationDTO toColumnar(List<AddressCountDTO> locations) {
+        int[][] points = toSortedFixedPoints(locations, DEFAULT_PRECISION);
+        int n = points.length;
+        int[] latitudes = new int[n];
+        int[] longitudes = new int[n];
+        long[] counts = new long[n];
+
+        int prevLat = 0;
+        int prevLng = 0;
+        for (int i = 0; i < n; i++) {
+            int[] p = points[i];
+            latitudes[i] = p[0] - prevLat;
+            longitudes[i] = p[1] - prevLng;
+            counts[i] = p[2];
+            prevLat = p[0];
+            prevLng = p[1];
+        }
+        return new ColumnarLocationDTO(DEFAULT_PRECISION, n, latitudes, longitudes, counts);
+    }
+
+    /**
+     * 编码为二进制格式
+     *
+     * @param locations 点位列表，可以为null
+     * @return 编码后的字节数组
+     */
+    public static byte[] encodeBinary(List<AddressCountDTO> locations) {
+        int[][] points = toSortedFixedPoints(locations, DEFAULT_PRECISION);
+        // 预估每点约6字节，避免频繁扩容
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + points.length * 6);
+        out.write(FORMAT_VERSION);
+        out.write(DEFAULT_PRECISION);
+        VarintCodec.writeVarint(out, points.length);
+
+        int prevLat = 0;
+        int prevLng = 0;
+        for (int[] p : points) {
+            VarintCodec.writeVarint(out, VarintCodec.zigzag(p[0] - prevLat));
+            VarintCodec.writeVarint(out, VarintCodec.zigzag(p[1] - prevLng));
+            VarintCodec.writeVarint(out, p[2]);
+            prevLat = p[0];
+            prevLng = p[1];
+        }
+        byte[] bytes = out.toByteArray();
+        logger.debug("点位二进制编码完成: points={}, bytes={}", points.length, bytes.length);
+        return bytes;
+    }
+
+    /**
+     * 解码二进制格式（供测试及Java客户端使用）
+     *
+     * @param bytes 编码后的字节数组
+     * @return 点位列表（坐标精度为编码时的精度）
+     * @throws IllegalArgumentException 格式版本不支持或数据被截断时抛出
+     */
+    public static List<AddressCountDTO> decodeBinary(byte[] bytes) {
+        int[] pos = {0};
+        int version = VarintCodec.readByte(bytes, pos);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("不支持的点位编码版本: " + version);
+        }
+        int precision = VarintCodec.readByte(bytes, pos);
+        double scale = Math.pow(10, precision);
+        int n = VarintCodec.readVarint(bytes, pos);
+
+        List<AddressCountDTO> result = new ArrayList<>(n);
+        int lat = 0;
+        int lng = 0;
+        for (int i = 0; i < n; i++) {
+            lat += VarintCodec.unzigzag(VarintCodec.readVarint(bytes, pos));
+            lng += VarintCodec.unzigzag(VarintCodec.readVarint(bytes, pos));
+            long count = VarintCodec.readVarint(bytes, pos) & 0xFFFFFFFFL;
+            result.add(new AddressCountDTO(lat / scale, lng / scale, count));
+        }
+        return result;
+    }
+
+    /**
+     * 转换为按（纬度, 经度）排序的定点数组：[lat, lng, count]
+     */
+    private static int[][] toSortedFixedPoints(List<AddressCountDTO> locations, int precision) {
+        if (locations == null || locations.isEmpty()) {
+            return new int[0][];
+        }
+        double scale = Math.pow(10, precision);
+        int[][] points = new int[locations.size()][];
+        int n = 0;
+        for (AddressCountDTO dto : locations) {
+            if (dto == null || dto.getLatitude() == null || dto.getLongitude() == null) {
+                continue;
+            }
+            long count = dto.getCount() == null ? 0L : dto.getCount();
+            points[n++] = new int[]{
+                    (int) Math.round(dto.getLatitude() * scale),
+                    (int) Math.round(dto.getLongitude() * scale),
+                    (int) Math.min(count, Integer.MAX_VALUE)
+            };
+        }
+        int[][] sorted = n == points.length ? points : Arrays.copyOf(points, n);
+        Arrays.sort(sorted, Comparator.<int[]>comparingInt(p -> p[0]).thenComparingInt(p -> p[1]));
+        return sorted;
+    }
+}
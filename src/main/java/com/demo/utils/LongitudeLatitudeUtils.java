@@ -13,6 +13,7 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 经纬度获取工具类
@@ -74,6 +75,21 @@ public final class LongitudeLatitudeUtils {
      */
     private static final Map<String, double[]> ADDRESS_CACHE = new ConcurrentHashMap<>();
     
+    /**
+     * 调用统计（供运行指标采集）：缓存命中/未命中次数，各API的HTTP请求次数（含重试）与失败次数
+     */
+    private static final LongAdder CACHE_HITS = new LongAdder();
+    
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+    
+    private static final LongAdder GEOCODE_REQUESTS = new LongAdder();
+    
+    private static final LongAdder GEOCODE_FAILURES = new LongAdder();
+    
+    private static final LongAdder PLACE_SEARCH_REQUESTS = new LongAdder();
+    
+    private static final LongAdder PLACE_SEARCH_FAILURES = new LongAdder();
+    
     /**
      * 私有构造函数，防止实例化
      */
@@ -228,10 +244,13 @@ public final class LongitudeLatitudeUtils {
         }
         
         // 先检查缓存
-        if (ADDRESS_CACHE.containsKey(normalizedAddress)) {
+        double[] cached = ADDRESS_CACHE.get(normalizedAddress);
+        if (cached != null) {
+            CACHE_HITS.increment();
             logger.debug("从缓存获取经纬度: {}", normalizedAddress);
-            return ADDRESS_CACHE.get(normalizedAddress);
+            return cached;
         }
+        CACHE_MISSES.increment();
         
         // 尝试地理编码API
         double[] result = geocodeAddress(normalizedAddress, apiKey, city);
@@ -273,6 +292,7 @@ public final class LongitudeLatitudeUtils {
                     + "&batch=false";
                 
                 URL url = new URL(urlStr);
+                GEOCODE_REQUESTS.increment();
                 HttpURLConnection conn = (HttpURLConnection) url.openConnection();
                 conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
                 conn.setReadTimeout(READ_TIMEOUT_MS);
@@ -290,7 +310,9 @@ public final class LongitudeLatitudeUtils {
                 } else {
                     logger.debug("地理编码API返回非200状态码: {}", responseCode);
                 }
+                GEOCODE_FAILURES.increment();
             } catch (Exception e) {
+                GEOCODE_FAILURES.increment();
                 if (attempt < MAX_RETRY_COUNT) {
                     logger.debug("地理编码API调用失败，重试中... (尝试 {}/{}): {}", 
                         attempt + 1, MAX_RETRY_COUNT + 1, e.getMessage());
@@ -329,6 +351,7 @@ public final class LongitudeLatitudeUtils {
                     + "&page=1";
                 
                 URL url = new URL(urlStr);
+                PLACE_SEARCH_REQUESTS.increment();
                 HttpURLConnection conn = (HttpURLConnection) url.openConnection();
                 conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
                 conn.setReadTimeout(READ_TIMEOUT_MS);
@@ -346,7 +369,9 @@ public final class LongitudeLatitudeUtils {
                 } else {
                     logger.debug("地点搜索API返回非200状态码: {}", responseCode);
                 }
+                PLACE_SEARCH_FAILURES.increment();
             } catch (Exception e) {
+                PLACE_SEARCH_FAILURES.increment();
                 if (attempt < MAX_RETRY_COUNT) {
                     logger.debug("地点搜索API调用失败，重试中... (尝试 {}/{}): {}", 
                         attempt + 1, MAX_RETRY_COUNT + 1, e.getMessage());
@@ -498,5 +523,47 @@ public final class LongitudeLatitudeUtils {
     public static int getCacheSize() {
         return ADDRESS_CACHE.size();
     }
+    
+    /**
+     * 缓存命中次数（按唯一地址计）
+     */
+    public static long getCacheHits() {
+        return CACHE_HITS.sum();
+    }
+    
+    /**
+     * 缓存未命中次数（即需要调用API的唯一地址数）
+     */
+    public static long getCacheMisses() {
+        return CACHE_MISSES.sum();
+    }
+    
+    /**
+     * 地理编码API请求次数（含重试）
+     */
+    public static long getGeocodeRequests() {
+        return GEOCODE_REQUESTS.sum();
+    }
+    
+    /**
+     * 地理编码API未取得经纬度的请求次数（非200、异常或无结果）
+     */
+    public static long getGeocodeFailures() {
+        return GEOCODE_FAILURES.sum();
+    }
+    
+    /**
+     * 地点搜索API请求次数（含重试）
+     */
+    public static long getPlaceSearchRequests() {
+        return PLACE_SEARCH_REQUESTS.sum();
+    }
+    
+    /**
+     * 地点搜索API未取得经纬度的请求次数（非200、异常或无结果）
+     */
+    public static long getPlaceSearchFailures() {
+        return PLACE_SEARCH_FAILURES.sum();
+    }
 }
 
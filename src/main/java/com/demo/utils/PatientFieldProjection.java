@@ -0,0 +1,82 @@
+package com.demo.utils;
+
+import com.demo.entity.Patient;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 患者字段投影工具类
+ * 流式输出患者列表时按字段名选择输出的属性，字段名与 {@link Patient} 的JSON属性名一致，
+ * 输出顺序与请求顺序一致
+ *
+ * @author system
+ */
+public final class PatientFieldProjection {
+
+    private static final Map<String, Function<Patient, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("patientId", Patient::getPatientId);
+        FIELDS.put("gender", Patient::getGender);
+        FIELDS.put("age", Patient::getAge);
+        FIELDS.put("isGreenChannel", Patient::getIsGreenChannel);
+        FIELDS.put("height", Patient::getHeight);
+        FIELDS.put("weight", Patient::getWeight);
+        FIELDS.put("name", Patient::getName);
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private PatientFieldProjection() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 解析字段列表
+     * @param fields 逗号分隔的字段名；为空时返回全部字段
+     * @return 去重后的字段名
+     * @throws IllegalArgumentException 包含未知字段
+     */
+    public static List<String> resolve(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return Collections.unmodifiableList(new ArrayList<>(FIELDS.keySet()));
+        }
+        List<String> result = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || result.contains(name)) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("未知字段: " + name + "，可选字段: " + String.join(",", FIELDS.keySet()));
+            }
+            result.add(name);
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("字段列表为空");
+        }
+        return result;
+    }
+
+    /**
+     * 将一位患者按字段投影写为JSON对象
+     * @param generator JSON输出
+     * @param patient 患者
+     * @param fields {@link #resolve(String)} 的结果
+     */
+    public static void write(JsonGenerator generator, Patient patient, List<String> fields) throws IOException {
+        generator.writeStartObject();
+        for (String field : fields) {
+            generator.writeObjectField(field, FIELDS.get(field).apply(patient));
+        }
+        generator.writeEndObject();
+    }
+}
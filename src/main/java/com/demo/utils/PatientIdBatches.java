@@ -0,0 +1,69 @@
+package com.demo.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * 按患者ID批量查询的分批工具类
+ * 供 GCS、RTS、ISS 的批量详情查询使用：限制单次请求的患者数，并控制每条SQL的 IN 列表长度
+ *
+ * @author system
+ */
+public final class PatientIdBatches {
+
+    /**
+     * 单次请求允许的最大患者数
+     */
+    public static final int MAX_PATIENTS = 2000;
+
+    /**
+     * 每条SQL的 IN 列表长度
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private PatientIdBatches() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 按默认上限与批大小切分
+     *
+     * @param patientIds 患者ID列表，可以为null
+     * @return 各批ID（升序），无ID时为空列表
+     * @throws IllegalArgumentException 去重后数量超过 {@link #MAX_PATIENTS} 时抛出
+     */
+    public static List<List<Integer>> partition(List<Integer> patientIds) {
+        return partition(patientIds, MAX_PATIENTS, CHUNK_SIZE);
+    }
+
+    /**
+     * 将患者ID去重（丢弃null）并升序后按批大小切分
+     *
+     * @param patientIds 患者ID列表，可以为null
+     * @param maxTotal   去重后允许的最大数量
+     * @param batchSize  每批数量
+     * @return 各批ID（升序），无ID时为空列表
+     * @throws IllegalArgumentException 去重后数量超过 maxTotal 时抛出
+     */
+    static List<List<Integer>> partition(List<Integer> patientIds, int maxTotal, int batchSize) {
+        List<Integer> ids = new ArrayList<>();
+        if (patientIds != null) {
+            TreeSet<Integer> sorted = new TreeSet<>();
+            patientIds.stream().filter(Objects::nonNull).forEach(sorted::add);
+            ids.addAll(sorted);
+        }
+        if (ids.size() > maxTotal) {
+            throw new IllegalArgumentException("单次最多查询 " + maxTotal + " 位患者，当前 " + ids.size() + " 位");
+        }
+        List<List<Integer>> batches = new ArrayList<>((ids.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,241 @@
+package com.demo.utils;
+
+import com.demo.dto.PatientIdPageDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 患者ID列表分页与紧凑编码工具类
+ * 用于下钻类接口（*-patient-ids）返回大量患者ID时按游标分页，并可选压缩编码以减少传输体积
+ *
+ * <p>编码格式（编码后统一为标准Base64字符串）：
+ * <ul>
+ *   <li>delta-varint：varint 数量，其后逐个 varint 差值（第一个为与0的差值，即ID本身）</li>
+ *   <li>ranges：varint 区间数量，其后逐区间 varint 起点与上一区间终点的差值（第一个区间与0比较）、varint 区间长度减1</li>
+ * </ul>
+ * varint 格式见 {@link VarintCodec}；ID升序且不重复，差值均为正数，无需 zigzag；连续ID较多时 ranges 更紧凑，ID稀疏时 delta-varint 更紧凑。
+ *
+ * @author system
+ */
+public final class PatientIdCodec {
+
+    public static final String ENCODING_PLAIN = "plain";
+
+    public static final String ENCODING_DELTA_VARINT = "delta-varint";
+
+    public static final String ENCODING_RANGES = "ranges";
+
+    /**
+     * 单页最大数量
+     */
+    public static final int MAX_PAGE_SIZE = 50000;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private PatientIdCodec() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 按游标截取一页并编码
+     *
+     * @param patientIds 患者ID列表（通常已升序去重；否则先排序去重；{@link SortedIdList} 只取出本页），可以为null
+     * @param afterId    游标，只返回大于该ID的患者，null 表示从头开始
+     * @param limit      本页最大数量，null 表示返回剩余全部（不超过 {@link #MAX_PAGE_SIZE}）
+     * @param encoding   编码方式，null 或空表示 plain
+     * @return 分页结果，不为null
+     * @throws IllegalArgumentException limit 不是正数或编码方式不支持时抛出
+     */
+    public static PatientIdPageDTO page(List<Integer> patientIds, Integer afterId, Integer limit, String encoding) {
+        String normalized = normalizeEncoding(encoding);
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit 必须大于0");
+        }
+        int pageSize = limit == null ? MAX_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        int total;
+        int from;
+        int[] slice;
+        if (patientIds instanceof SortedIdList) {
+            // 位图列表按游标直接取出一页，不展开全部ID
+            SortedIdList ids = (SortedIdList) patientIds;
+            total = ids.size();
+            from = afterId == null ? 0 : ids.countAtMost(afterId);
+            slice = ids.range(from, pageSize);
+        } else {
+            List<Integer> ids = ascendingDistinct(patientIds);
+            total = ids.size();
+            from = afterId == null ? 0 : firstGreaterThan(ids, afterId);
+            slice = new int[(int) Math.min(pageSize, (long) total - from)];
+            for (int i = 0; i < slice.length; i++) {
+                slice[i] = ids.get(from + i);
+            }
+        }
+        boolean hasMore = from + slice.length < total;
+
+        PatientIdPageDTO page = new PatientIdPageDTO();
+        page.setEncoding(normalized);
+        page.setTotal(total);
+        page.setSize(slice.length);
+        page.setNextAfterId(hasMore ? slice[slice.length - 1] : null);
+        switch (normalized) {
+            case ENCODING_DELTA_VARINT:
+                page.setData(Base64.getEncoder().encodeToString(encodeDeltaVarint(slice)));
+                break;
+            case ENCODING_RANGES:
+                page.setData(Base64.getEncoder().encodeToString(encodeRanges(slice)));
+                break;
+            default:
+                List<Integer> ids = new ArrayList<>(slice.length);
+                for (int id : slice) {
+                    ids.add(id);
+                }
+                page.setIds(ids);
+                break;
+        }
+        return page;
+    }
+
+    /**
+     * 解码 delta-varint 格式（供测试及Java客户端使用）
+     *
+     * @param data Base64字符串
+     * @return 升序患者ID
+     * @throws IllegalArgumentException 数据格式错误或被截断时抛出
+     */
+    public static int[] decodeDeltaVarint(String data) {
+        byte[] bytes = Base64.getDecoder().decode(data);
+        int[] pos = {0};
+        int n = VarintCodec.readVarint(bytes, pos);
+        int[] ids = new int[n];
+        int prev = 0;
+        for (int i = 0; i < n; i++) {
+            prev += VarintCodec.readVarint(bytes, pos);
+            ids[i] = prev;
+        }
+        return ids;
+    }
+
+    /**
+     * 解码 ranges 格式（供测试及Java客户端使用）
+     *
+     * @param data Base64字符串
+     * @return 升序患者ID
+     * @throws IllegalArgumentException 数据格式错误或被截断时抛出
+     */
+    public static int[] decodeRanges(String data) {
+        byte[] bytes = Base64.getDecoder().decode(data);
+        int[] pos = {0};
+        int runs = VarintCodec.readVarint(bytes, pos);
+        int[] ids = new int[Math.max(runs, 16)];
+        int n = 0;
+        int prevEnd = 0;
+        for (int r = 0; r < runs; r++) {
+            int start = prevEnd + VarintCodec.readVarint(bytes, pos);
+            int length = VarintCodec.readVarint(bytes, pos) + 1;
+            if (n + length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, n + length));
+            }
+            for (int k = 0; k < length; k++) {
+                ids[n++] = start + k;
+            }
+            prevEnd = start + length - 1;
+        }
+        return Arrays.copyOf(ids, n);
+    }
+
+    private static byte[] encodeDeltaVarint(int[] ids) {
+        // 相邻ID差值通常只需1-2字节
+        ByteArrayOutputStream out = new ByteArrayOutputStream(5 + ids.length * 2);
+        VarintCodec.writeVarint(out, ids.length);
+        int prev = 0;
+        for (int id : ids) {
+            VarintCodec.writeVarint(out, id - prev);
+            prev = id;
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeRanges(int[] ids) {
+        // 先统计区间数量，再逐区间写出
+        int runs = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1] + 1) {
+                runs++;
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(5 + runs * 3);
+        VarintCodec.writeVarint(out, runs);
+        int prevEnd = 0;
+        int i = 0;
+        while (i < ids.length) {
+            int start = ids[i];
+            int j = i + 1;
+            while (j < ids.length && ids[j] == ids[j - 1] + 1) {
+                j++;
+            }
+            VarintCodec.writeVarint(out, start - prevEnd);
+            VarintCodec.writeVarint(out, j - i - 1);
+            prevEnd = ids[j - 1];
+            i = j;
+        }
+        return out.toByteArray();
+    }
+
+    private static String normalizeEncoding(String encoding) {
+        if (encoding == null || encoding.trim().isEmpty()) {
+            return ENCODING_PLAIN;
+        }
+        String normalized = encoding.trim().toLowerCase(Locale.ROOT);
+        if (ENCODING_PLAIN.equals(normalized) || ENCODING_DELTA_VARINT.equals(normalized) || ENCODING_RANGES.equals(normalized)) {
+            return normalized;
+        }
+        throw new IllegalArgumentException("不支持的编码方式: " + encoding + "（可选 plain、delta-varint、ranges）");
+    }
+
+    /**
+     * 已升序去重时直接返回原列表，否则复制后排序去重（SQL回退路径可能不保证顺序）
+     */
+    private static List<Integer> ascendingDistinct(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        boolean ascending = ids.get(0) != null;
+        for (int i = 1; i < ids.size() && ascending; i++) {
+            ascending = ids.get(i) != null && ids.get(i) > ids.get(i - 1);
+        }
+        if (ascending) {
+            return ids;
+        }
+        int[] values = ids.stream().filter(id -> id != null).mapToInt(Integer::intValue).sorted().distinct().toArray();
+        List<Integer> result = new ArrayList<>(values.length);
+        for (int value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * 二分查找第一个大于 afterId 的下标
+     */
+    private static int firstGreaterThan(List<Integer> ids, int afterId) {
+        int low = 0;
+        int high = ids.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids.get(mid) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,93 @@
+package com.demo.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 占比计算工具类
+ * 配合 GROUP BY ... WITH ROLLUP 的单次扫描查询使用：分组行给出各取值计数，汇总行（分组键为 NULL）给出总数，
+ * 在Service层计算百分比，替代每次在SELECT中嵌入 (SELECT COUNT(*) ...) 子查询重新扫描明细表
+ *
+ * <p>分组键为空字符串的行表示不参与展示、只计入总数的明细（如伤情部位为空的病例）。
+ *
+ * @author system
+ */
+public final class PercentageUtils {
+
+    /**
+     * MySQL 中 count * 100.0 / total 的结果保留 1 + div_precision_increment(4) 位小数
+     */
+    private static final int SQL_DIVISION_SCALE = 5;
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private PercentageUtils() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 计算百分比，结果与 SQL 中 ROUND(count * 100.0 / total, 2) 一致
+     *
+     * @param count 计数
+     * @param total 总数
+     * @return 保留两位小数的百分比；总数为0时返回null（与SQL除零结果一致）
+     */
+    public static BigDecimal percentage(long count, long total) {
+        if (total == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(count).multiply(BigDecimal.valueOf(100))
+                .divide(BigDecimal.valueOf(total), SQL_DIVISION_SCALE, RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 将 WITH ROLLUP 查询结果转换为带百分比的分组数据
+     *
+     * @param rows 查询结果，分组行 + 一行汇总行
+     * @param keyColumn 分组键列名
+     * @param countColumn 分组计数列名
+     * @param totalColumn 总数列名（取汇总行的值）
+     * @param limit 最多返回的分组数，null 表示不限制
+     * @return 按计数降序排列的分组数据（keyColumn, countColumn, percentage），不含总数列
+     */
+    public static List<Map<String, Object>> fromRollup(List<Map<String, Object>> rows, String keyColumn,
+                                                       String countColumn, String totalColumn, Integer limit) {
+        long total = 0;
+        List<Map<String, Object>> groups = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Object key = row.get(keyColumn);
+            if (key == null) {
+                Object totalValue = row.get(totalColumn);
+                total = totalValue == null ? 0 : ((Number) totalValue).longValue();
+            } else if (!key.toString().isEmpty()) {
+                groups.add(row);
+            }
+        }
+        groups.sort((a, b) -> Long.compare(count(b, countColumn), count(a, countColumn)));
+        if (limit != null && groups.size() > limit) {
+            groups = groups.subList(0, limit);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(groups.size());
+        for (Map<String, Object> row : groups) {
+            long count = count(row, countColumn);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put(keyColumn, row.get(keyColumn));
+            item.put(countColumn, count);
+            item.put("percentage", percentage(count, total));
+            result.add(item);
+        }
+        return result;
+    }
+
+    private static long count(Map<String, Object> row, String countColumn) {
+        Object value = row.get(countColumn);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.utils;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.RandomAccess;
+
+/**
+ * 基于位图的只读升序ID列表
+ * 内存索引的下钻结果不展开为 Integer 列表，分页（{@link PatientIdCodec#page}）时按游标直接从位图取出一页；
+ * 列表在调用方之间共享（见统计结果缓存），不支持修改
+ *
+ * @author system
+ */
+public final class SortedIdList extends AbstractList<Integer> implements RandomAccess {
+
+    private final RoaringBitmap bitmap;
+
+    private final int size;
+
+    /**
+     * @param bitmap ID位图，创建后不得再修改
+     */
+    public SortedIdList(RoaringBitmap bitmap) {
+        this.bitmap = bitmap;
+        this.size = bitmap.getCardinality();
+    }
+
+    @Override
+    public Integer get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return bitmap.select(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        IntIterator ids = bitmap.getIntIterator();
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                return ids.next();
+            }
+        };
+    }
+
+    /**
+     * 小于等于 afterId 的ID数量，即游标之后第一个ID的下标
+     */
+    public int countAtMost(int afterId) {
+        // 位图按无符号数排序，负数游标之前没有ID
+        return afterId < 0 ? 0 : (int) bitmap.rankLong(afterId);
+    }
+
+    /**
+     * 从下标 from 开始最多取 limit 个ID
+     */
+    public int[] range(int from, int limit) {
+        int[] ids = new int[Math.max(0, Math.min(limit, size - from))];
+        if (ids.length == 0) {
+            return ids;
+        }
+        PeekableIntIterator iterator = bitmap.getIntIterator();
+        iterator.advanceIfNeeded(bitmap.select(from));
+        int n = 0;
+        while (n < ids.length && iterator.hasNext()) {
+            ids[n++] = iterator.next();
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.utils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * varint 与 zigzag 编码工具类
+ * 供患者ID列表（{@link PatientIdCodec}）与地图点位（{@link LocationPayloadCodec}）的紧凑编码共用：
+ * 每字节低7位为数据、最高位表示后面还有字节，小端序；有符号差值先经 zigzag 映射为无符号数
+ *
+ * @author system
+ */
+public final class VarintCodec {
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private VarintCodec() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 写出一个 varint（按无符号32位处理）
+     */
+    public static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * 读取一个 varint
+     *
+     * @param bytes 编码数据
+     * @param pos   读取位置，读取后前移
+     * @throws IllegalArgumentException 数据被截断或超过5字节时抛出
+     */
+    public static int readVarint(byte[] bytes, int[] pos) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte(bytes, pos);
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varint 格式错误");
+    }
+
+    /**
+     * 读取一个无符号字节
+     *
+     * @throws IllegalArgumentException 数据被截断时抛出
+     */
+    public static int readByte(byte[] bytes, int[] pos) {
+        if (pos[0] >= bytes.length) {
+            throw new IllegalArgumentException("编码数据被截断");
+        }
+        return bytes[pos[0]++] & 0xFF;
+    }
+
+    public static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.cache.DataChanges;
+import com.demo.mapper.DailyStatCubeMapper;
+import com.demo.mapper.GcsScoreMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.InterventionExtraMapper;
+import com.demo.mapper.PatientMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyStatCubeServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private DailyStatCubeMapper mapper;
+
+    private PlatformTransactionManager transactionManager;
+
+    private DailyStatCubeServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(DailyStatCubeMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        service = new DailyStatCubeServiceImpl();
+        ReflectionTestUtils.setField(service, "dailyStatCubeMapper", mapper);
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rebuild_should_replace_rows_including_null_dates_in_one_transaction() {
+        service.initialize();
+
+        InOrder order = inOrder(transactionManager, mapper);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(mapper).deleteAll();
+        order.verify(mapper).insertAggregates(isNull(), eq(true));
+        order.verify(transactionManager).commit(any());
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void null_admission_date_should_refresh_the_null_date_rows_only_once() {
+        service.initialize();
+
+        service.onDataChanging(DataChanges.changing(
+                DataChanges.dates(Arrays.asList(DAY, null), InjuryRecordMapper.class)));
+
+        verify(mapper).deleteByDates(isNull(), eq(true));
+        verify(mapper).insertAggregates(Collections.emptyList(), true);
+        verify(mapper).deleteByDates(Collections.singletonList(DAY), false);
+        verify(mapper).insertAggregates(Collections.singletonList(DAY), false);
+    }
+
+    @Test
+    void score_import_should_refresh_the_resolved_admission_dates() {
+        service.initialize();
+
+        // GCS 导入按患者报告，接诊日期由变更跟踪在提交前解析
+        service.onDataChanging(DataChanges.changing(
+                DataChanges.patients(Collections.singletonList(7), Collections.singletonList(DAY), GcsScoreMapper.class)));
+
+        verify(mapper).deleteByDates(Collections.singletonList(DAY), false);
+        verify(mapper, never()).deleteByDates(isNull(), anyBoolean());
+    }
+
+    @Test
+    void tables_outside_the_cube_should_be_ignored() {
+        service.initialize();
+
+        service.onDataChanging(DataChanges.changing(DataChanges.unscoped(InterventionExtraMapper.class)));
+
+        verify(mapper, never()).deleteByDates(any(), anyBoolean());
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void unscoped_patient_write_should_rebuild_in_background() {
+        service.initialize();
+
+        // 患者信息修改没有报告范围：年龄、性别影响GCS/RTS行，只能全量重建
+        service.onDataChanging(DataChanges.changing(DataChanges.unscoped(PatientMapper.class)));
+
+        assertThat(service.isReady()).isFalse();
+        verify(mapper, timeout(5000).times(2)).insertAggregates(isNull(), eq(true));
+        verify(mapper, never()).deleteByDates(any(), anyBoolean());
+    }
+
+    @Test
+    void failed_refresh_should_fall_back_then_rebuild_in_background() {
+        service.initialize();
+        when(mapper.deleteByDates(any(), anyBoolean())).thenThrow(new IllegalStateException("deadlock"));
+
+        service.onDataChanging(DataChanges.changing(
+                DataChanges.dates(Collections.singletonList(DAY), InjuryRecordMapper.class)));
+
+        assertThat(service.isReady()).isFalse();
+        verify(mapper, timeout(5000).times(2)).insertAggregates(isNull(), eq(true));
+    }
+}
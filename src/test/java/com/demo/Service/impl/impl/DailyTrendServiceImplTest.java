@@ -0,0 +1,113 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.cache.DataChanges;
+import com.demo.exception.BusinessException;
+import com.demo.mapper.GcsScoreMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.InterventionTimeMapper;
+import com.demo.mapper.PatientStatisticsMapper;
+import com.demo.utils.AwaitUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyTrendServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private PatientStatisticsMapper mapper;
+
+    private DailyTrendServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(PatientStatisticsMapper.class);
+        service = new DailyTrendServiceImpl();
+        ReflectionTestUtils.setField(service, "patientStatisticsMapper", mapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void failed_build_should_answer_503_then_recover_without_new_writes() {
+        when(mapper.selectDailyTrendRows(isNull()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(Collections.singletonList(row(DAY, 3)));
+
+        service.initialize();
+        verify(mapper, timeout(5000)).selectDailyTrendRows(isNull());
+        assertThatThrownBy(() -> service.getTrend(DAY.toString(), DAY.toString(), 1))
+                .isInstanceOf(BusinessException.class);
+
+        // 退避重试，不依赖下一次数据变更
+        AwaitUtils.until(service::isReady);
+        assertThat(service.getTrend(DAY.toString(), DAY.toString(), 1).getAdmissions()).containsExactly(3L);
+    }
+
+    @Test
+    void reported_dates_should_only_refresh_those_days() {
+        startReady();
+        when(mapper.selectDailyTrendRows(anyList())).thenReturn(Collections.singletonList(row(DAY, 5)));
+
+        service.onDataChanged(DataChanges.changed(
+                DataChanges.dates(Arrays.asList(DAY, null), InjuryRecordMapper.class)));
+
+        verify(mapper, timeout(5000)).selectDailyTrendRows(Collections.singletonList(DAY));
+        AwaitUtils.until(() -> service.getTrend(DAY.toString(), DAY.toString(), 1).getAdmissions()[0] == 5L);
+        verify(mapper, times(1)).selectDailyTrendRows(isNull());
+    }
+
+    @Test
+    void unscoped_intervention_time_write_should_rebuild_the_whole_series() {
+        startReady();
+
+        service.onDataChanged(DataChanges.changed(DataChanges.unscoped(InterventionTimeMapper.class)));
+
+        verify(mapper, timeout(5000).times(2)).selectDailyTrendRows(isNull());
+        verify(mapper, never()).selectDailyTrendRows(anyList());
+    }
+
+    @Test
+    void writes_to_other_tables_should_be_ignored() throws InterruptedException {
+        startReady();
+
+        service.onDataChanged(DataChanges.changed(DataChanges.unscoped(GcsScoreMapper.class)));
+
+        Thread.sleep(50);
+        verify(mapper, times(1)).selectDailyTrendRows(isNull());
+        verify(mapper, never()).selectDailyTrendRows(anyList());
+    }
+
+    private void startReady() {
+        service.initialize();
+        AwaitUtils.until(service::isReady);
+    }
+
+    private static Map<String, Object> row(LocalDate day, int admissions) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("stat_day", day.toEpochDay());
+        row.put("admissions", admissions);
+        return row;
+    }
+}
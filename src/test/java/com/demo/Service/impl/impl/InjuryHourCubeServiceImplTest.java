@@ -0,0 +1,132 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.cache.DataChanges;
+import com.demo.mapper.GcsScoreMapper;
+import com.demo.mapper.InjuryHourCubeMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InjuryHourCubeServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private InjuryHourCubeMapper mapper;
+
+    private PlatformTransactionManager transactionManager;
+
+    private InjuryHourCubeServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(InjuryHourCubeMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        service = new InjuryHourCubeServiceImpl();
+        ReflectionTestUtils.setField(service, "injuryHourCubeMapper", mapper);
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rebuild_should_replace_rows_in_one_transaction() {
+        service.initialize();
+
+        InOrder order = inOrder(transactionManager, mapper);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(mapper).deleteAll();
+        order.verify(mapper).insertAggregates(isNull());
+        order.verify(transactionManager).commit(any());
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void reported_dates_should_be_refreshed_in_batches_without_null_dates() {
+        service.initialize();
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            dates.add(DAY.plusDays(i));
+        }
+        dates.add(null);
+
+        service.onDataChanging(DataChanges.changing(DataChanges.dates(dates, InjuryRecordMapper.class)));
+
+        verify(mapper).deleteByDates(dates.subList(0, 500));
+        verify(mapper).insertAggregates(dates.subList(0, 500));
+        verify(mapper).deleteByDates(Collections.singletonList(DAY.plusDays(500)));
+        verify(mapper).insertAggregates(Collections.singletonList(DAY.plusDays(500)));
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void changes_without_injury_records_should_be_ignored() {
+        service.initialize();
+
+        service.onDataChanging(DataChanges.changing(DataChanges.unscoped(GcsScoreMapper.class)));
+
+        verify(mapper, never()).deleteByDates(anyList());
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void unscoped_injury_record_write_should_rebuild_in_background() {
+        service.initialize();
+
+        // 通用上传接口直接写入病例，没有报告接诊日期
+        service.onDataChanging(DataChanges.changing(DataChanges.unscoped(InjuryRecordMapper.class)));
+
+        assertThat(service.isReady()).isFalse();
+        verify(mapper, timeout(5000).times(2)).insertAggregates(isNull());
+        verify(mapper, never()).deleteByDates(anyList());
+    }
+
+    @Test
+    void failed_refresh_should_fall_back_then_rebuild_in_background() {
+        service.initialize();
+        when(mapper.deleteByDates(anyList())).thenThrow(new IllegalStateException("deadlock"));
+
+        service.onDataChanging(DataChanges.changing(DataChanges.dates(Arrays.asList(DAY), InjuryRecordMapper.class)));
+
+        assertThat(service.isReady()).isFalse();
+        verify(mapper, timeout(5000).times(2)).insertAggregates(isNull());
+    }
+
+    @Test
+    void failed_initialization_should_be_retried_on_next_change() {
+        doThrow(new IllegalStateException("db down")).doNothing().when(mapper).createTableIfNotExists();
+        service.initialize();
+        assertThat(service.isReady()).isFalse();
+
+        service.onDataChanging(DataChanges.changing(DataChanges.dates(Arrays.asList(DAY), InjuryRecordMapper.class)));
+
+        verify(mapper, timeout(5000).times(2)).createTableIfNotExists();
+        verify(mapper, timeout(5000)).insertAggregates(isNull());
+        verify(mapper, never()).deleteByDates(anyList());
+    }
+}
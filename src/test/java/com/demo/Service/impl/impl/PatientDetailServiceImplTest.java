@@ -0,0 +1,200 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.IGcsScoreService;
+import com.demo.Service.IPatientInfoOffAdmissionService;
+import com.demo.Service.IPatientInfoOnAdmissionService;
+import com.demo.Service.IRtsScoreService;
+import com.demo.Service.impl.IInterventionTimeService;
+import com.demo.Service.impl.IIssInjuryService;
+import com.demo.Service.impl.IPatientInjuryDetailService;
+import com.demo.Service.impl.IPatientService;
+import com.demo.controller.GcsScoreController;
+import com.demo.controller.IssInjuryController;
+import com.demo.controller.RtsScoreController;
+import com.demo.dto.GcsScoreWithPatientDTO;
+import com.demo.dto.IssInjuryDTO;
+import com.demo.dto.PatientFullDTO;
+import com.demo.dto.Result;
+import com.demo.dto.RtsScoreWithPatientDTO;
+import com.demo.entity.GcsScore;
+import com.demo.entity.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientDetailServiceImplTest {
+
+    private static final int PATIENT_ID = 42;
+
+    private final IPatientService patientService = mock(IPatientService.class);
+
+    private final IGcsScoreService gcsScoreService = mock(IGcsScoreService.class);
+
+    private final IRtsScoreService rtsScoreService = mock(IRtsScoreService.class);
+
+    private final IIssInjuryService issInjuryService = mock(IIssInjuryService.class);
+
+    private ThreadPoolTaskExecutor executor;
+
+    private PatientDetailServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        service = new PatientDetailServiceImpl();
+        ReflectionTestUtils.setField(service, "patientService", patientService);
+        ReflectionTestUtils.setField(service, "gcsScoreService", gcsScoreService);
+        ReflectionTestUtils.setField(service, "rtsScoreService", rtsScoreService);
+        ReflectionTestUtils.setField(service, "issInjuryService", issInjuryService);
+        ReflectionTestUtils.setField(service, "patientInjuryDetailService", mock(IPatientInjuryDetailService.class));
+        ReflectionTestUtils.setField(service, "patientInfoOnAdmissionService", mock(IPatientInfoOnAdmissionService.class));
+        ReflectionTestUtils.setField(service, "patientInfoOffAdmissionService", mock(IPatientInfoOffAdmissionService.class));
+        ReflectionTestUtils.setField(service, "interventionTimeService", mock(IInterventionTimeService.class));
+        ReflectionTestUtils.setField(service, "patientDetailExecutor", executor);
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 10L);
+
+        Patient patient = new Patient();
+        patient.setPatientId(PATIENT_ID);
+        when(patientService.getById(PATIENT_ID)).thenReturn(patient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void patient_with_every_score_should_match_individual_endpoints() {
+        stubGcs(true, false);
+        stubRts(true);
+        stubIss(true);
+
+        PatientFullDTO full = service.getPatientFull(PATIENT_ID);
+
+        assertThat(full.getGcsScore()).isNotNull();
+        assertThat(full.getRtsScore()).isNotNull();
+        assertThat(full.getIssInjury()).isNotNull();
+        assertMatchesIndividualEndpoints(full);
+    }
+
+    @Test
+    void patient_without_gcs_should_match_individual_endpoints() {
+        stubGcs(false, false);
+        stubRts(true);
+        stubIss(true);
+
+        PatientFullDTO full = service.getPatientFull(PATIENT_ID);
+
+        assertThat(full.getGcsScore()).isNull();
+        assertMatchesIndividualEndpoints(full);
+    }
+
+    @Test
+    void patient_with_only_plain_gcs_record_should_fall_back_like_gcs_endpoint() {
+        stubGcs(false, true);
+        stubRts(true);
+        stubIss(true);
+
+        PatientFullDTO full = service.getPatientFull(PATIENT_ID);
+
+        assertThat(full.getGcsScore()).isInstanceOf(GcsScore.class);
+        assertMatchesIndividualEndpoints(full);
+    }
+
+    @Test
+    void patient_without_rts_should_match_individual_endpoints() {
+        stubGcs(true, false);
+        stubRts(false);
+        stubIss(true);
+
+        PatientFullDTO full = service.getPatientFull(PATIENT_ID);
+
+        assertThat(full.getRtsScore()).isNull();
+        assertMatchesIndividualEndpoints(full);
+    }
+
+    @Test
+    void patient_without_iss_should_match_individual_endpoints() {
+        stubGcs(true, false);
+        stubRts(true);
+        stubIss(false);
+
+        PatientFullDTO full = service.getPatientFull(PATIENT_ID);
+
+        assertThat(full.getIssInjury()).isNull();
+        assertMatchesIndividualEndpoints(full);
+    }
+
+    /**
+     * 单独接口成功时数据与详情分区相同；单独接口报告“未找到”时详情分区为 null 且不记为失败
+     */
+    private void assertMatchesIndividualEndpoints(PatientFullDTO full) {
+        GcsScoreController gcsController = new GcsScoreController();
+        ReflectionTestUtils.setField(gcsController, "gcsScoreService", gcsScoreService);
+        RtsScoreController rtsController = new RtsScoreController();
+        ReflectionTestUtils.setField(rtsController, "rtsScoreService", rtsScoreService);
+        IssInjuryController issController = new IssInjuryController();
+        ReflectionTestUtils.setField(issController, "issInjuryService", issInjuryService);
+
+        assertSection(full.getGcsScore(), gcsController.getGcsScoreByPatientId(PATIENT_ID));
+        assertSection(full.getRtsScore(), rtsController.getRtsScoreByPatientId(PATIENT_ID));
+        assertSection(full.getIssInjury(), issController.getInjuryByPatientId(PATIENT_ID));
+        assertThat(full.getErrors()).isEqualTo(Collections.emptyMap());
+    }
+
+    private static void assertSection(Object section, Result individual) {
+        if (Boolean.TRUE.equals(individual.getSuccess())) {
+            assertThat(section).isEqualTo(individual.getData());
+        } else {
+            assertThat(section).isNull();
+        }
+    }
+
+    private void stubGcs(boolean withPatient, boolean plainRecord) {
+        GcsScoreWithPatientDTO dto = null;
+        if (withPatient) {
+            dto = new GcsScoreWithPatientDTO();
+            dto.setPatientId(PATIENT_ID);
+            dto.setTotalScore(14);
+        }
+        GcsScore score = null;
+        if (plainRecord) {
+            score = new GcsScore();
+            score.setPatientId(PATIENT_ID);
+            score.setTotalScore(9);
+        }
+        when(gcsScoreService.getGcsScoreWithPatientInfo(PATIENT_ID)).thenReturn(dto);
+        when(gcsScoreService.getGcsScoreByPatientId(PATIENT_ID)).thenReturn(score);
+    }
+
+    private void stubRts(boolean present) {
+        RtsScoreWithPatientDTO dto = null;
+        if (present) {
+            dto = new RtsScoreWithPatientDTO();
+            dto.setPatientId(PATIENT_ID);
+            dto.setTotalScore(11);
+        }
+        when(rtsScoreService.getRtsScoreWithPatientInfo(PATIENT_ID)).thenReturn(dto);
+        when(rtsScoreService.getRtsScoreByPatientId(PATIENT_ID)).thenReturn(null);
+    }
+
+    private void stubIss(boolean present) {
+        IssInjuryDTO dto = null;
+        if (present) {
+            dto = new IssInjuryDTO();
+            dto.setPatientId(PATIENT_ID);
+            dto.setIssScore(17);
+        }
+        when(issInjuryService.getInjuryDTOByPatientId(PATIENT_ID)).thenReturn(dto);
+    }
+}
@@ -0,0 +1,245 @@
+package com.demo.Service.impl.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.demo.Service.IGcsScoreService;
+import com.demo.Service.IPatientInfoOffAdmissionService;
+import com.demo.Service.IPatientInfoOnAdmissionService;
+import com.demo.Service.IRtsScoreService;
+import com.demo.Service.impl.IInjuryRecordService;
+import com.demo.Service.impl.IInterventionTimeService;
+import com.demo.Service.impl.IIssInjuryService;
+import com.demo.cache.DailyTrendSeries;
+import com.demo.cache.DataChanges;
+import com.demo.cache.DataChangeTracker;
+import com.demo.cache.DataChangedEvent;
+import com.demo.cache.DataChangingEvent;
+import com.demo.cache.DataVersion;
+import com.demo.cache.PatientDetailCache;
+import com.demo.dto.PatientBulkDeleteDTO;
+import com.demo.dto.PatientBulkDeleteResultDTO;
+import com.demo.entity.GcsScore;
+import com.demo.entity.InjuryRecord;
+import com.demo.entity.InterventionExtra;
+import com.demo.entity.InterventionTime;
+import com.demo.entity.IssInjury;
+import com.demo.entity.Patient;
+import com.demo.entity.PatientInfoOffAdmission;
+import com.demo.entity.PatientInfoOnAdmission;
+import com.demo.entity.RtsScore;
+import com.demo.mapper.DailyStatCubeMapper;
+import com.demo.mapper.InjuryHourCubeMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.InterventionExtraMapper;
+import com.demo.mapper.IssInjuryMapper;
+import com.demo.mapper.PatientMapper;
+import com.demo.mapper.PatientRegionAisMapper;
+import com.demo.mapper.PatientStatisticsMapper;
+import com.demo.utils.AwaitUtils;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量删除患者后各派生数据的同步：业务表通过 Mapper 模拟，聚合表、区域事实表、趋势序列、详情缓存使用真实实现
+ */
+class PatientImplTest {
+
+    private static final LocalDate DELETED_ONLY_DAY = LocalDate.of(2024, 3, 5);
+
+    private static final LocalDate SHARED_DAY = LocalDate.of(2024, 3, 6);
+
+    private final PatientMapper patientMapper = mock(PatientMapper.class);
+
+    private final IInjuryRecordService injuryRecordService = mock(IInjuryRecordService.class, RETURNS_DEEP_STUBS);
+
+    private final InjuryHourCubeMapper injuryHourCubeMapper = mock(InjuryHourCubeMapper.class);
+
+    private final DailyStatCubeMapper dailyStatCubeMapper = mock(DailyStatCubeMapper.class);
+
+    private final PatientRegionAisMapper patientRegionAisMapper = mock(PatientRegionAisMapper.class);
+
+    private final PatientStatisticsMapper patientStatisticsMapper = mock(PatientStatisticsMapper.class);
+
+    private final PatientDetailCache patientDetailCache = new PatientDetailCache(16);
+
+    private final InjuryHourCubeServiceImpl injuryHourCubeService = new InjuryHourCubeServiceImpl();
+
+    private final DailyStatCubeServiceImpl dailyStatCubeService = new DailyStatCubeServiceImpl();
+
+    private final DailyTrendServiceImpl dailyTrendService = new DailyTrendServiceImpl();
+
+    private final PatientRegionAisServiceImpl patientRegionAisService = new PatientRegionAisServiceImpl();
+
+    private final DataChangeTracker dataChangeTracker = new DataChangeTracker();
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        for (Class<?> entity : Arrays.asList(Patient.class, InjuryRecord.class, InterventionExtra.class, InterventionTime.class,
+                IssInjury.class, GcsScore.class, RtsScore.class, PatientInfoOnAdmission.class, PatientInfoOffAdmission.class)) {
+            TableInfoHelper.initTableInfo(assistant, entity);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        injuryHourCubeService.shutdown();
+        dailyStatCubeService.shutdown();
+        dailyTrendService.shutdown();
+        patientRegionAisService.shutdown();
+    }
+
+    @Test
+    void deleted_patients_should_disappear_from_every_derived_store() {
+        PatientImpl service = patientService();
+        // 患者1、2被删除；患者3保留，与患者2同一天接诊
+        when(injuryRecordService.list(ArgumentMatchers.<Wrapper<InjuryRecord>>any())).thenReturn(Arrays.asList(
+                record(DELETED_ONLY_DAY), record(SHARED_DAY), record(null)));
+        when(patientMapper.delete(any())).thenReturn(2);
+        seedTrend(DELETED_ONLY_DAY, 1);
+        seedTrend(SHARED_DAY, 2);
+        when(patientStatisticsMapper.selectDailyTrendRows(anyList()))
+                .thenReturn(Collections.singletonList(trendRow(SHARED_DAY, 1)));
+        AtomicInteger loads = new AtomicInteger();
+        for (int patientId = 1; patientId <= 3; patientId++) {
+            patientDetailCache.get(PatientDetailCache.GCS, patientId, null, loads::incrementAndGet);
+        }
+
+        PatientBulkDeleteDTO request = new PatientBulkDeleteDTO();
+        request.setPatientIds(Arrays.asList(2, 1, null, 1));
+        TransactionSynchronizationManager.initSynchronization();
+        PatientBulkDeleteResultDTO result = service.deletePatients(request);
+        // Mapper 为模拟对象，由测试代替拦截器记录病例表、ISS表的写入，再按提交顺序触发事务回调
+        dataChangeTracker.recordWrite(InjuryRecordMapper.class.getName());
+        dataChangeTracker.recordWrite(IssInjuryMapper.class.getName());
+        DataChanges.commit();
+
+        assertThat(result.getRequestedPatients()).isEqualTo(2);
+        assertThat(result.getDeletedPatients()).isEqualTo(2);
+
+        // 接诊小时聚合表、每日统计聚合表：两个接诊日期按明细重新汇总
+        verify(injuryHourCubeMapper).deleteByDates(argThat(dates -> sameDates(dates)));
+        verify(injuryHourCubeMapper).insertAggregates(argThat(dates -> sameDates(dates)));
+        verify(dailyStatCubeMapper).deleteByDates(argThat(dates -> sameDates(dates)), eq(false));
+        verify(dailyStatCubeMapper).insertAggregates(argThat(dates -> sameDates(dates)), eq(false));
+        // 被删病例中有接诊日期为空的，同时刷新空日期汇总行
+        verify(dailyStatCubeMapper).deleteByDates(isNull(), eq(true));
+
+        // 区域事实表：按患者从ISS表重新生成，被删患者不再有区域行
+        verify(patientRegionAisMapper).deleteByPatientIds(Arrays.asList(1, 2));
+
+        // 趋势序列：只剩患者1的日期清零，共享日期保留患者3
+        AwaitUtils.until(() -> trend().value(DailyTrendSeries.ADMISSIONS, (int) DELETED_ONLY_DAY.toEpochDay()) == 0);
+        assertThat(trend().value(DailyTrendSeries.ADMISSIONS, (int) SHARED_DAY.toEpochDay())).isEqualTo(1);
+
+        // 详情缓存：被删患者重新加载，保留的患者仍命中
+        for (int patientId = 1; patientId <= 3; patientId++) {
+            patientDetailCache.get(PatientDetailCache.GCS, patientId, null, loads::incrementAndGet);
+        }
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    private PatientImpl patientService() {
+        ReflectionTestUtils.setField(injuryHourCubeService, "injuryHourCubeMapper", injuryHourCubeMapper);
+        ReflectionTestUtils.setField(injuryHourCubeService, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        injuryHourCubeService.initialize();
+        ReflectionTestUtils.setField(dailyStatCubeService, "dailyStatCubeMapper", dailyStatCubeMapper);
+        ReflectionTestUtils.setField(dailyStatCubeService, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        dailyStatCubeService.initialize();
+        ReflectionTestUtils.setField(dailyTrendService, "patientStatisticsMapper", patientStatisticsMapper);
+        dailyTrendService.initialize();
+        AwaitUtils.until(dailyTrendService::isReady);
+        ReflectionTestUtils.setField(patientRegionAisService, "patientRegionAisMapper", patientRegionAisMapper);
+        ReflectionTestUtils.setField(patientRegionAisService, "issInjuryMapper", mock(IssInjuryMapper.class));
+        ReflectionTestUtils.setField(patientRegionAisService, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        patientRegionAisService.initialize();
+        ApplicationEventPublisher eventPublisher = event -> {
+            if (event instanceof DataChangingEvent) {
+                injuryHourCubeService.onDataChanging((DataChangingEvent) event);
+                dailyStatCubeService.onDataChanging((DataChangingEvent) event);
+                patientRegionAisService.onDataChanging((DataChangingEvent) event);
+            } else if (event instanceof DataChangedEvent) {
+                dailyTrendService.onDataChanged((DataChangedEvent) event);
+            }
+        };
+        DataVersion dataVersion = new DataVersion();
+        ReflectionTestUtils.setField(dataVersion, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(dataChangeTracker, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(dataChangeTracker, "dataVersion", dataVersion);
+        ReflectionTestUtils.setField(dataChangeTracker, "patientStatisticsMapper", patientStatisticsMapper);
+
+        PatientImpl service = new PatientImpl();
+        ReflectionTestUtils.setField(service, "baseMapper", patientMapper);
+        ReflectionTestUtils.setField(service, "injuryRecordService", injuryRecordService);
+        ReflectionTestUtils.setField(service, "issInjuryService", mock(IIssInjuryService.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(service, "interventionTimeService", mock(IInterventionTimeService.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(service, "gcsScoreService", mock(IGcsScoreService.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(service, "rtsScoreService", mock(IRtsScoreService.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(service, "patientInfoOnAdmissionService", mock(IPatientInfoOnAdmissionService.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(service, "patientInfoOffAdmissionService", mock(IPatientInfoOffAdmissionService.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(service, "interventionExtraMapper", mock(InterventionExtraMapper.class));
+        ReflectionTestUtils.setField(service, "dataChangeTracker", dataChangeTracker);
+        ReflectionTestUtils.setField(service, "patientDetailCache", patientDetailCache);
+        return service;
+    }
+
+    private void seedTrend(LocalDate day, int admissions) {
+        DailyTrendSeries series = trend();
+        int[] values = new int[DailyTrendSeries.COLUMN_COUNT];
+        values[DailyTrendSeries.ADMISSIONS] = admissions;
+        series.put((int) day.toEpochDay(), values);
+    }
+
+    private DailyTrendSeries trend() {
+        return (DailyTrendSeries) ReflectionTestUtils.getField(dailyTrendService, "series");
+    }
+
+    private static Map<String, Object> trendRow(LocalDate day, int admissions) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("stat_day", day.toEpochDay());
+        row.put("admissions", admissions);
+        return row;
+    }
+
+    private static InjuryRecord record(LocalDate admissionDate) {
+        InjuryRecord record = new InjuryRecord();
+        record.setAdmissionDate(admissionDate);
+        return record;
+    }
+
+    private static boolean sameDates(Collection<LocalDate> dates) {
+        return dates != null && new ArrayList<>(dates).equals(Arrays.asList(DELETED_ONLY_DAY, SHARED_DAY));
+    }
+}
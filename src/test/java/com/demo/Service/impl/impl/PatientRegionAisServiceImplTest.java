@@ -0,0 +1,153 @@
+package com.demo.Service.impl.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.demo.cache.DataChanges;
+import com.demo.cache.DataVersion;
+import com.demo.entity.IssInjury;
+import com.demo.entity.PatientRegionAis;
+import com.demo.mapper.GcsScoreMapper;
+import com.demo.mapper.IssInjuryMapper;
+import com.demo.mapper.PatientRegionAisMapper;
+import com.demo.utils.AwaitUtils;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PatientRegionAisServiceImplTest {
+
+    private PatientRegionAisMapper regionMapper;
+
+    private IssInjuryMapper issInjuryMapper;
+
+    private DataVersion dataVersion;
+
+    private PlatformTransactionManager transactionManager;
+
+    private PatientRegionAisServiceImpl service;
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), IssInjury.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        regionMapper = mock(PatientRegionAisMapper.class);
+        issInjuryMapper = mock(IssInjuryMapper.class);
+        dataVersion = mock(DataVersion.class);
+        service = new PatientRegionAisServiceImpl();
+        ReflectionTestUtils.setField(service, "patientRegionAisMapper", regionMapper);
+        ReflectionTestUtils.setField(service, "issInjuryMapper", issInjuryMapper);
+        ReflectionTestUtils.setField(service, "dataVersion", dataVersion);
+        transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void startup_build_should_replace_rows_in_one_transaction_without_bumping_version() {
+        service.initialize();
+
+        InOrder order = inOrder(transactionManager, regionMapper);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(regionMapper).deleteAll();
+        order.verify(transactionManager).commit(any());
+        assertThat(service.isReady()).isTrue();
+        verify(dataVersion, never()).bump();
+    }
+
+    @Test
+    void failed_initialization_should_rebuild_in_background_and_bump_version() {
+        doThrow(new IllegalStateException("DDL denied")).doNothing().when(regionMapper).createTableIfNotExists();
+
+        assertThatCode(service::initialize).doesNotThrowAnyException();
+        assertThat(service.isReady()).isFalse();
+
+        // 没有新的写入也会退避重试；成功后递增版本，让患者集合索引重新读取区域行
+        verify(dataVersion, timeout(5000)).bump();
+        AwaitUtils.until(service::isReady);
+    }
+
+    @Test
+    void iss_import_should_regenerate_the_reported_patients_with_max_ais_per_region() {
+        service.initialize();
+        when(issInjuryMapper.selectList(any())).thenReturn(Arrays.asList(
+                injury(3, "2|4"), injury(3, "3"), injury(3, "0")));
+
+        // 患者4的ISS记录已被删除：只删除其区域行
+        service.onDataChanging(DataChanges.changing(
+                DataChanges.patients(Arrays.asList(3, 4), Collections.emptyList(), IssInjuryMapper.class)));
+
+        verify(regionMapper).deleteByPatientIds(Arrays.asList(3, 4));
+        verify(regionMapper).insertBatch(Collections.singletonList(new PatientRegionAis(3, "chest", 4)));
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void writes_to_other_tables_should_be_ignored() {
+        service.initialize();
+
+        service.onDataChanging(DataChanges.changing(DataChanges.unscoped(GcsScoreMapper.class)));
+
+        verify(regionMapper, never()).deleteByPatientIds(any());
+        assertThat(service.isReady()).isTrue();
+    }
+
+    @Test
+    void unscoped_iss_write_should_rebuild_in_background() {
+        service.initialize();
+
+        service.onDataChanging(DataChanges.changing(DataChanges.unscoped(IssInjuryMapper.class)));
+
+        assertThat(service.isReady()).isFalse();
+        verify(regionMapper, timeout(5000).times(2)).deleteAll();
+        verify(regionMapper, never()).deleteByPatientIds(any());
+        AwaitUtils.until(service::isReady);
+    }
+
+    @Test
+    void failed_refresh_should_answer_unavailable_then_rebuild_in_background() {
+        service.initialize();
+        when(regionMapper.deleteByPatientIds(any())).thenThrow(new IllegalStateException("deadlock"));
+
+        service.onDataChanging(DataChanges.changing(
+                DataChanges.patients(Collections.singletonList(3), Collections.emptyList(), IssInjuryMapper.class)));
+
+        assertThat(service.isReady()).isFalse();
+        verify(regionMapper, timeout(5000).times(2)).deleteAll();
+        verify(regionMapper, times(1)).deleteByPatientIds(any());
+    }
+
+    private static IssInjury injury(int patientId, String chest) {
+        IssInjury injury = new IssInjury();
+        injury.setPatientId(patientId);
+        injury.setChest(chest);
+        return injury;
+    }
+}
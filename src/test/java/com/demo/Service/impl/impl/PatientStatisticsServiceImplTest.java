@@ -0,0 +1,242 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IDailyStatCubeService;
+import com.demo.cache.PatientFacetIndex;
+import com.demo.cache.PatientFacetSnapshot;
+import com.demo.dto.CrossfilterQueryDTO;
+import com.demo.dto.CrossfilterResultDTO;
+import com.demo.mapper.PatientStatisticsMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientStatisticsServiceImplTest {
+
+    private static final String[] BODY_PARTS = {"head_neck", "face", "chest", "abdomen", "limbs", "body"};
+
+    private static final String[] SEVERITIES = {"mild", "moderate", "severe", "critical"};
+
+    private static final String[] ISS_SEGMENTS = {"light", "severe", "critical"};
+
+    private static final String[] GCS_SEGMENTS = {"clear", "mild", "moderate", "coma"};
+
+    /**
+     * 暴力计算用的患者：单值维度各一个取值（可能缺失），身体区域与区域严重程度可有多个
+     */
+    private static final class Patient {
+        private final int id;
+        private final Map<String, String> values = new HashMap<>();
+        private final Set<String> bodyParts = new HashSet<>();
+        private final Set<String> regionSeverities = new HashSet<>();
+
+        private Patient(int id) {
+            this.id = id;
+        }
+    }
+
+    @Test
+    void crossfilter_facets_should_match_brute_force_with_several_active_filters() {
+        Random random = new Random(20240601L);
+        List<Patient> patients = randomPatients(random, 600);
+        PatientStatisticsServiceImpl service = serviceOver(patients);
+
+        for (int round = 0; round < 30; round++) {
+            CrossfilterQueryDTO query = new CrossfilterQueryDTO();
+            query.setSeason(random.nextInt(4));
+            query.setInjuryCauseCategory(random.nextInt(5));
+            query.setIssSegment(ISS_SEGMENTS[random.nextInt(ISS_SEGMENTS.length)]);
+            if (random.nextBoolean()) {
+                query.setTimePeriod(random.nextInt(6));
+            }
+            if (random.nextBoolean()) {
+                query.setGcsSegment(GCS_SEGMENTS[random.nextInt(GCS_SEGMENTS.length)]);
+            }
+            if (random.nextBoolean()) {
+                query.setBodyPart(BODY_PARTS[random.nextInt(BODY_PARTS.length)]);
+                if (random.nextBoolean()) {
+                    query.setSeverityLevel(SEVERITIES[random.nextInt(SEVERITIES.length)]);
+                }
+            }
+
+            assertMatchesBruteForce(service.getCrossfilter(query), query, patients);
+        }
+    }
+
+    @Test
+    void crossfilter_without_filters_should_count_every_patient() {
+        List<Patient> patients = randomPatients(new Random(7L), 50);
+        PatientStatisticsServiceImpl service = serviceOver(patients);
+        CrossfilterQueryDTO query = new CrossfilterQueryDTO();
+
+        CrossfilterResultDTO result = service.getCrossfilter(query);
+
+        assertThat(result.getCohortSize()).isEqualTo(50L);
+        assertMatchesBruteForce(result, query, patients);
+    }
+
+    @Test
+    void iss_distribution_should_band_each_patient_by_the_highest_of_several_iss_rows() {
+        PatientStatisticsMapper mapper = mock(PatientStatisticsMapper.class);
+        PatientStatisticsServiceImpl service = new PatientStatisticsServiceImpl();
+        ReflectionTestUtils.setField(service, "patientStatisticsMapper", mapper);
+        ReflectionTestUtils.setField(service, "dailyStatCubeService", mock(IDailyStatCubeService.class));
+        // 自定义时间段不走聚合表，由明细行在Service层分段；患者2、3的最高评分正好落在分段边界上
+        when(mapper.getISSDistributionData(isNull(), isNull(), isNull(), isNull(), isNull(), eq(480), eq(600)))
+                .thenReturn(Arrays.asList(
+                        issRow(1, 16), issRow(1, 17),
+                        issRow(2, 26), issRow(2, 25),
+                        issRow(3, null), issRow(3, 16), issRow(3, 9),
+                        issRow(4, 25)));
+
+        List<Map<String, Object>> pie = service.getISSDistributionData(null, null, null, null, null, "08:00", "10:00");
+
+        assertThat(pie).extracting(slice -> slice.get("value")).containsExactly(1L, 2L, 1L);
+    }
+
+    private static void assertMatchesBruteForce(CrossfilterResultDTO result, CrossfilterQueryDTO query, List<Patient> patients) {
+        Map<String, Predicate<Patient>> filters = filters(query);
+        assertThat(result.getCohortSize()).as("cohortSize %s", query)
+                .isEqualTo(patients.stream().filter(p -> filters.values().stream().allMatch(f -> f.test(p))).count());
+
+        for (String facet : Arrays.asList(PatientFacetSnapshot.FACET_SEASON, PatientFacetSnapshot.FACET_TIME_PERIOD,
+                PatientFacetSnapshot.FACET_CAUSE, PatientFacetSnapshot.FACET_DEATH, PatientFacetSnapshot.FACET_ISS_SEGMENT,
+                PatientFacetSnapshot.FACET_GCS_SEGMENT, PatientFacetSnapshot.FACET_RTS_SCORE,
+                PatientFacetSnapshot.FACET_BODY_PART, PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY)) {
+            // 该维度的直方图应用除自身以外的全部条件；bodyPart 与 bodyRegionSeverity 属于同一个维度
+            String own = PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY.equals(facet) ? PatientFacetSnapshot.FACET_BODY_PART : facet;
+            Map<String, Long> expected = new HashMap<>();
+            for (Patient patient : patients) {
+                boolean matchesOthers = true;
+                for (Map.Entry<String, Predicate<Patient>> filter : filters.entrySet()) {
+                    if (!filter.getKey().equals(own) && !filter.getValue().test(patient)) {
+                        matchesOthers = false;
+                        break;
+                    }
+                }
+                if (!matchesOthers) {
+                    continue;
+                }
+                for (String value : valuesOf(patient, facet)) {
+                    expected.merge(value, 1L, Long::sum);
+                }
+            }
+
+            Map<String, Long> actual = result.getFacets().get(facet);
+            assertThat(actual).as("facet %s", facet).isNotNull();
+            for (Map.Entry<String, Long> entry : actual.entrySet()) {
+                assertThat(entry.getValue()).as("%s=%s for %s", facet, entry.getKey(), query)
+                        .isEqualTo(expected.getOrDefault(entry.getKey(), 0L));
+            }
+            assertThat(actual.keySet()).as("facet %s", facet).containsAll(expected.keySet());
+        }
+    }
+
+    private static Map<String, Predicate<Patient>> filters(CrossfilterQueryDTO query) {
+        Map<String, Predicate<Patient>> filters = new HashMap<>();
+        addEquals(filters, PatientFacetSnapshot.FACET_SEASON, query.getSeason());
+        addEquals(filters, PatientFacetSnapshot.FACET_TIME_PERIOD, query.getTimePeriod());
+        addEquals(filters, PatientFacetSnapshot.FACET_CAUSE, query.getInjuryCauseCategory());
+        addEquals(filters, PatientFacetSnapshot.FACET_DEATH, query.getDeath());
+        addEquals(filters, PatientFacetSnapshot.FACET_ISS_SEGMENT, query.getIssSegment());
+        addEquals(filters, PatientFacetSnapshot.FACET_GCS_SEGMENT, query.getGcsSegment());
+        addEquals(filters, PatientFacetSnapshot.FACET_RTS_SCORE, query.getRtsScore());
+        if (query.getBodyPart() != null) {
+            String key = PatientFacetSnapshot.regionSeverityKey(query.getBodyPart(), query.getSeverityLevel());
+            filters.put(PatientFacetSnapshot.FACET_BODY_PART, query.getSeverityLevel() == null
+                    ? p -> p.bodyParts.contains(query.getBodyPart())
+                    : p -> p.regionSeverities.contains(key));
+        }
+        return filters;
+    }
+
+    private static void addEquals(Map<String, Predicate<Patient>> filters, String facet, Object value) {
+        if (value != null) {
+            filters.put(facet, p -> String.valueOf(value).equals(p.values.get(facet)));
+        }
+    }
+
+    private static Set<String> valuesOf(Patient patient, String facet) {
+        if (PatientFacetSnapshot.FACET_BODY_PART.equals(facet)) {
+            return patient.bodyParts;
+        }
+        if (PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY.equals(facet)) {
+            return patient.regionSeverities;
+        }
+        String value = patient.values.get(facet);
+        return value == null ? new HashSet<>() : new HashSet<>(Arrays.asList(value));
+    }
+
+    /**
+     * 随机患者：约10%的患者缺少某个维度（如无GCS、无ISS记录），部分患者有多个受伤区域
+     */
+    private static List<Patient> randomPatients(Random random, int count) {
+        List<Patient> patients = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            Patient patient = new Patient(id);
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_SEASON, String.valueOf(random.nextInt(4)));
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_TIME_PERIOD, String.valueOf(random.nextInt(6)));
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_CAUSE, String.valueOf(random.nextInt(5)));
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_DEATH, random.nextInt(10) == 0 ? "1" : "0");
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_ISS_SEGMENT, ISS_SEGMENTS[random.nextInt(ISS_SEGMENTS.length)]);
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_GCS_SEGMENT, GCS_SEGMENTS[random.nextInt(GCS_SEGMENTS.length)]);
+            putMaybe(random, patient, PatientFacetSnapshot.FACET_RTS_SCORE, String.valueOf(random.nextInt(13)));
+            int regions = random.nextInt(3);
+            for (int r = 0; r < regions; r++) {
+                String region = BODY_PARTS[random.nextInt(BODY_PARTS.length)];
+                patient.bodyParts.add(region);
+                patient.regionSeverities.add(PatientFacetSnapshot.regionSeverityKey(region, SEVERITIES[random.nextInt(SEVERITIES.length)]));
+            }
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    private static void putMaybe(Random random, Patient patient, String facet, String value) {
+        if (random.nextInt(10) != 0) {
+            patient.values.put(facet, value);
+        }
+    }
+
+    private static Map<String, Object> issRow(int patientId, Integer issScore) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("patient_id", patientId);
+        row.put("iss_score", issScore);
+        return row;
+    }
+
+    private static PatientStatisticsServiceImpl serviceOver(List<Patient> patients) {
+        PatientFacetSnapshot.Builder builder = new PatientFacetSnapshot.Builder(1L);
+        for (Patient patient : patients) {
+            builder.addToAll(patient.id);
+            for (Map.Entry<String, String> value : patient.values.entrySet()) {
+                builder.addFacet(value.getKey(), value.getValue(), patient.id);
+            }
+            for (String region : patient.bodyParts) {
+                builder.addFacet(PatientFacetSnapshot.FACET_BODY_PART, region, patient.id);
+            }
+            for (String key : patient.regionSeverities) {
+                builder.addFacet(PatientFacetSnapshot.FACET_BODY_REGION_SEVERITY, key, patient.id);
+            }
+        }
+        PatientFacetIndex index = mock(PatientFacetIndex.class);
+        when(index.current()).thenReturn(builder.build());
+        PatientStatisticsServiceImpl service = new PatientStatisticsServiceImpl();
+        ReflectionTestUtils.setField(service, "patientFacetIndex", index);
+        return service;
+    }
+}
@@ -0,0 +1,126 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IDailyStatCubeService;
+import com.demo.Service.impl.IPatientStatisticsService;
+import com.demo.dto.ComparisonDeltaDTO;
+import com.demo.dto.ComparisonQueryDTO;
+import com.demo.dto.ComparisonResultDTO;
+import com.demo.dto.ComparisonSideDTO;
+import com.demo.dto.PatientStatisticsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatisticsComparisonServiceImplTest {
+
+    private static Map<String, Object> bucket(String metric, int value, int month, long records, long patients) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("metric", metric);
+        row.put("metric_value", value);
+        row.put("month", month);
+        row.put("record_count", records);
+        row.put("patient_count", patients);
+        return row;
+    }
+
+    @Test
+    void fold_should_build_kpis_and_distributions_from_buckets() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(bucket("outcome", 0, 1, 9, 8));
+        rows.add(bucket("outcome", 1, 1, 2, 2));
+        rows.add(bucket("outcome", 0, 0, 1, 1));
+        rows.add(bucket("case", 0, 1, 6, 5));
+        rows.add(bucket("case", 3, 1, 4, 4));
+        rows.add(bucket("case", -1, 1, 1, 1));
+        rows.add(bucket("iss", 2, 1, 3, 3));
+        rows.add(bucket("gcs", 3, 1, 1, 1));
+        rows.add(bucket("gcs", 4, 1, 1, 1));
+        rows.add(bucket("rts", 12, 1, 5, 5));
+
+        ComparisonSideDTO side = StatisticsComparisonServiceImpl.foldBuckets(rows, 11L);
+
+        assertThat(side.getTotalPatients()).isEqualTo(11L);
+        assertThat(side.getDeathCount()).isEqualTo(2L);
+        assertThat(side.getMortalityRate()).isEqualByComparingTo("18.18");
+        assertThat(side.getInjuryCause()).containsEntry("0", 6L).containsEntry("3", 4L).containsEntry("4", 0L).hasSize(5);
+        assertThat(side.getIssSegment()).containsEntry("critical", 3L).containsEntry("light", 0L);
+        assertThat(side.getGcsLevel()).containsEntry("3-8", 1L).hasSize(4);
+        assertThat(side.getRtsScore()).containsEntry("12", 5L);
+        assertThat(side.getMonthlyPatients()).containsEntry("1", 10L).containsEntry("12", 0L).hasSize(12);
+    }
+
+    @Test
+    void total_patients_should_count_a_patient_admitted_on_several_days_once() {
+        IDailyStatCubeService cube = mock(IDailyStatCubeService.class);
+        IPatientStatisticsService statistics = mock(IPatientStatisticsService.class);
+        when(cube.isReady()).thenReturn(true);
+        // 同一患者在3月的三天各接诊一次：每天的去重患者数为1，按天相加为3
+        when(cube.getMonthlyBuckets(any(), any(), any(), any(), any()))
+                .thenReturn(Collections.singletonList(bucket("outcome", 0, 3, 3, 3)));
+        when(statistics.getPatientStatistics(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PatientStatisticsDTO(1L, 0.0, 0.0, 0L, null, null, 0));
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        StatisticsComparisonServiceImpl service = new StatisticsComparisonServiceImpl();
+        ReflectionTestUtils.setField(service, "dailyStatCubeService", cube);
+        ReflectionTestUtils.setField(service, "patientStatisticsService", statistics);
+        ReflectionTestUtils.setField(service, "statisticsExecutor", executor);
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 5L);
+        try {
+            ComparisonResultDTO result = service.compare(new ComparisonQueryDTO());
+
+            assertThat(result.getBase().getTotalPatients()).isEqualTo(1L);
+            assertThat(result.getBase().getMonthlyPatients()).containsEntry("3", 3L);
+            assertThat(result.getKpis().get("totalPatients").getDelta()).isEqualByComparingTo("0");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void deltas_should_cover_keys_from_both_sides() {
+        List<Map<String, Object>> baseRows = new ArrayList<>();
+        baseRows.add(bucket("outcome", 0, 12, 40, 40));
+        baseRows.add(bucket("rts", 12, 12, 10, 10));
+        List<Map<String, Object>> targetRows = new ArrayList<>();
+        targetRows.add(bucket("outcome", 0, 12, 45, 45));
+        targetRows.add(bucket("outcome", 1, 12, 5, 5));
+        targetRows.add(bucket("rts", 11, 12, 3, 3));
+
+        ComparisonResultDTO result = new ComparisonResultDTO();
+        result.setBase(StatisticsComparisonServiceImpl.foldBuckets(baseRows, 40L));
+        result.setTarget(StatisticsComparisonServiceImpl.foldBuckets(targetRows, 50L));
+        StatisticsComparisonServiceImpl.fillDeltas(result);
+
+        ComparisonDeltaDTO total = result.getKpis().get("totalPatients");
+        assertThat(total.getDelta()).isEqualByComparingTo("10");
+        assertThat(total.getChangeRate()).isEqualByComparingTo("25.00");
+        assertThat(result.getKpis().get("deathCount").getChangeRate()).isNull();
+
+        Map<String, ComparisonDeltaDTO> rts = result.getDistributions().get("rtsScore");
+        assertThat(rts.keySet()).containsExactly("12", "11");
+        assertThat(rts.get("12").getDelta()).isEqualByComparingTo("-10");
+        assertThat(rts.get("11").getBase()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void delta_with_missing_side_should_have_no_change() {
+        ComparisonDeltaDTO delta = StatisticsComparisonServiceImpl.delta(null, new BigDecimal("3.50"));
+
+        assertThat(delta.getDelta()).isNull();
+        assertThat(delta.getChangeRate()).isNull();
+        assertThat(delta.getTarget()).isEqualByComparingTo("3.50");
+    }
+}
@@ -0,0 +1,159 @@
+package com.demo.Service.impl.impl;
+
+import com.demo.Service.impl.IInjuryRecordService;
+import com.demo.Service.impl.IInterventionTimeService;
+import com.demo.Service.impl.IPatientStatisticsService;
+import com.demo.cache.DataVersion;
+import com.demo.cache.SharedStatisticsQuery;
+import com.demo.cache.StatisticsResultCache;
+import com.demo.cache.StatisticsSingleFlightAspect;
+import com.demo.metrics.WarmupMetricsBinder;
+import com.demo.utils.AwaitUtils;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+class StatisticsWarmupServiceImplTest {
+
+    @Test
+    void parse_filters_should_resolve_years_and_seasons() {
+        List<StatisticsWarmupServiceImpl.WarmupFilter> filters =
+                StatisticsWarmupServiceImpl.parseFilters(" all, current ,current:2, 2024:3,, 2025 ", 2025);
+
+        assertThat(filters).containsExactly(
+                new StatisticsWarmupServiceImpl.WarmupFilter(null, null),
+                new StatisticsWarmupServiceImpl.WarmupFilter(2025, null),
+                new StatisticsWarmupServiceImpl.WarmupFilter(2025, 2),
+                new StatisticsWarmupServiceImpl.WarmupFilter(2024, 3));
+    }
+
+    @Test
+    void parse_filters_should_accept_empty_spec() {
+        assertThat(StatisticsWarmupServiceImpl.parseFilters("", 2025)).isEmpty();
+        assertThat(StatisticsWarmupServiceImpl.parseFilters(null, 2025)).isEmpty();
+    }
+
+    @Test
+    void parse_filters_should_reject_invalid_items() {
+        assertThatThrownBy(() -> StatisticsWarmupServiceImpl.parseFilters("current:4", 2025))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatisticsWarmupServiceImpl.parseFilters("last", 2025))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatisticsWarmupServiceImpl.parseFilters("2025:1:2", 2025))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void warmup_should_record_duration_and_outcome() throws Exception {
+        IPatientStatisticsService patientStatisticsService = mock(IPatientStatisticsService.class);
+        when(patientStatisticsService.getGCSDistributionData(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("boom"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatisticsWarmupServiceImpl service = newService(patientStatisticsService, mock(IInterventionTimeService.class),
+                mock(IInjuryRecordService.class), new StatisticsResultCache(16), registry);
+        try {
+            service.scheduleWarmup("import");
+
+            AwaitUtils.until(() -> registry.find(WarmupMetricsBinder.TIMER_NAME).timer() != null);
+            Timer timer = registry.get(WarmupMetricsBinder.TIMER_NAME).tag("reason", "import").tag("outcome", "failed").timer();
+            assertThat(timer.count()).isEqualTo(1L);
+            assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo((double) service.getStatus().getLastDurationMs());
+            assertThat(service.getStatus().getCompletedTasks()).isEqualTo(service.getStatus().getTotalTasks());
+            assertThat(service.getStatus().getFailedTasks()).isEqualTo(1);
+        } finally {
+            shutdown(service);
+        }
+    }
+
+    @Test
+    void warmup_should_only_call_shared_statistics_queries() throws Exception {
+        IPatientStatisticsService patientStatisticsService = mock(IPatientStatisticsService.class);
+        IInterventionTimeService interventionTimeService = mock(IInterventionTimeService.class);
+        IInjuryRecordService injuryRecordService = mock(IInjuryRecordService.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatisticsWarmupServiceImpl service = newService(patientStatisticsService, interventionTimeService,
+                injuryRecordService, new StatisticsResultCache(256), registry);
+        ReflectionTestUtils.setField(service, "filters", "all,current:1");
+        try {
+            service.scheduleWarmup("startup");
+            AwaitUtils.until(() -> registry.find(WarmupMetricsBinder.TIMER_NAME).timer() != null);
+        } finally {
+            shutdown(service);
+        }
+
+        // 未标记的方法不经过请求合并切面，预热结果不会进入缓存
+        assertSharedQueries(patientStatisticsService, PatientStatisticsServiceImpl.class);
+        assertSharedQueries(interventionTimeService, InterventionTimeServiceImpl.class);
+        assertSharedQueries(injuryRecordService, InjuryRecordImpl.class);
+    }
+
+    @Test
+    void warmup_should_not_exceed_the_result_cache_capacity() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StatisticsWarmupServiceImpl service = newService(mock(IPatientStatisticsService.class), mock(IInterventionTimeService.class),
+                mock(IInjuryRecordService.class), new StatisticsResultCache(4), registry);
+        try {
+            service.scheduleWarmup("startup");
+
+            AwaitUtils.until(() -> registry.find(WarmupMetricsBinder.TIMER_NAME).timer() != null);
+            assertThat(service.getStatus().getTotalTasks()).isEqualTo(4);
+            assertThat(service.getStatus().getCompletedTasks()).isEqualTo(4);
+        } finally {
+            shutdown(service);
+        }
+    }
+
+    private static void assertSharedQueries(Object mock, Class<?> implementation) throws NoSuchMethodException {
+        assertThat(mockingDetails(mock).getInvocations()).isNotEmpty();
+        for (Invocation invocation : mockingDetails(mock).getInvocations()) {
+            Method called = invocation.getMethod();
+            Method declared = implementation.getMethod(called.getName(), called.getParameterTypes());
+            assertThat(declared.isAnnotationPresent(SharedStatisticsQuery.class))
+                    .as(implementation.getSimpleName() + "." + called.getName())
+                    .isTrue();
+        }
+    }
+
+    private static StatisticsWarmupServiceImpl newService(IPatientStatisticsService patientStatisticsService,
+                                                          IInterventionTimeService interventionTimeService,
+                                                          IInjuryRecordService injuryRecordService,
+                                                          StatisticsResultCache resultCache,
+                                                          SimpleMeterRegistry registry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        StatisticsWarmupServiceImpl service = new StatisticsWarmupServiceImpl();
+        ReflectionTestUtils.setField(service, "patientStatisticsService", patientStatisticsService);
+        ReflectionTestUtils.setField(service, "interventionTimeService", interventionTimeService);
+        ReflectionTestUtils.setField(service, "injuryRecordService", injuryRecordService);
+        ReflectionTestUtils.setField(service, "dataVersion", mock(DataVersion.class));
+        ReflectionTestUtils.setField(service, "resultCache", resultCache);
+        ReflectionTestUtils.setField(service, "singleFlightAspect", mock(StatisticsSingleFlightAspect.class));
+        ReflectionTestUtils.setField(service, "statisticsExecutor", executor);
+        ReflectionTestUtils.setField(service, "meterRegistry", registry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "filters", "all");
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 10L);
+        return service;
+    }
+
+    private static void shutdown(StatisticsWarmupServiceImpl service) {
+        service.shutdown();
+        ((ThreadPoolTaskExecutor) ReflectionTestUtils.getField(service, "statisticsExecutor")).shutdown();
+    }
+}
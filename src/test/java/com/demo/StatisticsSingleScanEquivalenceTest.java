@@ -0,0 +1,294 @@
+package com.demo;
+
+import com.demo.dto.InterventionTimeDTO;
+import com.demo.entity.InjuryRecord;
+import com.demo.entity.InterventionTime;
+import com.demo.entity.IssInjury;
+import com.demo.entity.Patient;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.InterventionTimeMapper;
+import com.demo.mapper.IssInjuryMapper;
+import com.demo.mapper.PatientMapper;
+import com.demo.mapper.PatientStatisticsMapper;
+import com.demo.utils.InterventionDurationAccumulator;
+import com.demo.utils.InterventionStatisticsAccumulator;
+import com.demo.utils.PercentageUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 单次扫描查询与改写前查询的等价性验证
+ * 在同一份测试数据上分别执行改写前的SQL（占比分母为 (SELECT COUNT(*) ...) 子查询、统计卡片分多次查询）
+ * 与当前的 WITH ROLLUP / 流式扫描查询，比较分组、计数与百分比；测试数据使用 2099 年的日期，事务结束后回滚
+ */
+@SpringBootTest
+@Transactional
+public class StatisticsSingleScanEquivalenceTest {
+
+    private static final String START = "2099-01-01";
+
+    private static final String END = "2099-01-31";
+
+    private static final String OLD_INJURY_ANALYSIS =
+            "SELECT ir.injury_location as injury_site, COUNT(*) as patient_count, "
+            + "ROUND(COUNT(*) * 100.0 / (SELECT COUNT(*) FROM InjuryRecord WHERE admission_date BETWEEN ? AND ?), 2) as percentage "
+            + "FROM InjuryRecord ir "
+            + "WHERE ir.admission_date BETWEEN ? AND ? "
+            + "AND ir.injury_location IS NOT NULL AND ir.injury_location != '' "
+            + "GROUP BY ir.injury_location ORDER BY COUNT(*) DESC LIMIT 10";
+
+    private static final String ISS_RANGE =
+            "CASE WHEN iss.iss_score IS NULL OR iss.iss_score = 0 THEN '0分' "
+            + "WHEN iss.iss_score BETWEEN 1 AND 8 THEN '1-8分' "
+            + "WHEN iss.iss_score BETWEEN 9 AND 15 THEN '9-15分' "
+            + "WHEN iss.iss_score BETWEEN 16 AND 24 THEN '16-24分' "
+            + "WHEN iss.iss_score >= 25 THEN '25分以上' "
+            + "ELSE '未知' END";
+
+    private static final String OLD_ISS_SCORE_DISTRIBUTION =
+            "SELECT " + ISS_RANGE + " as score_range, COUNT(*) as patient_count, "
+            + "ROUND(COUNT(*) * 100.0 / (SELECT COUNT(*) FROM InjuryRecord WHERE admission_date BETWEEN ? AND ?), 2) as percentage "
+            + "FROM InjuryRecord ir "
+            + "INNER JOIN iss_patient_injury_severity iss ON ir.patient_id = iss.patient_id "
+            + "WHERE ir.admission_date BETWEEN ? AND ? "
+            + "GROUP BY " + ISS_RANGE + " ORDER BY COUNT(*) DESC";
+
+    private static final String BODY_REGION =
+            "CASE WHEN iss.head_neck IS NOT NULL AND iss.head_neck != '' THEN '头颈部' "
+            + "WHEN iss.face IS NOT NULL AND iss.face != '' THEN '面部' "
+            + "WHEN iss.chest IS NOT NULL AND iss.chest != '' THEN '胸部' "
+            + "WHEN iss.abdomen IS NOT NULL AND iss.abdomen != '' THEN '腹部' "
+            + "WHEN iss.limbs IS NOT NULL AND iss.limbs != '' THEN '四肢' "
+            + "WHEN iss.body IS NOT NULL AND iss.body != '' THEN '体表' "
+            + "ELSE '未知' END";
+
+    private static final String OLD_BODY_REGION_INJURY =
+            "SELECT " + BODY_REGION + " as body_region, COUNT(*) as injury_count, "
+            + "ROUND(COUNT(*) * 100.0 / (SELECT COUNT(*) FROM InjuryRecord WHERE admission_date BETWEEN ? AND ?), 2) as percentage "
+            + "FROM InjuryRecord ir "
+            + "INNER JOIN iss_patient_injury_severity iss ON ir.patient_id = iss.patient_id "
+            + "WHERE ir.admission_date BETWEEN ? AND ? "
+            + "GROUP BY " + BODY_REGION + " ORDER BY COUNT(*) DESC";
+
+    private static final String OLD_PATIENT_FLOW =
+            "SELECT it.patient_destination as destination, COUNT(*) as patient_count, "
+            + "ROUND(COUNT(*) * 100.0 / (SELECT COUNT(*) FROM InjuryRecord WHERE admission_date BETWEEN ? AND ?), 2) as percentage "
+            + "FROM InjuryRecord ir "
+            + "INNER JOIN interventiontime it ON ir.patient_id = it.patient_id "
+            + "WHERE ir.admission_date BETWEEN ? AND ? "
+            + "AND it.patient_destination IS NOT NULL AND it.patient_destination != '' "
+            + "GROUP BY it.patient_destination ORDER BY COUNT(*) DESC LIMIT 10";
+
+    private static final String INTERVENTION_COLUMNS =
+            "SELECT i.patient_id, i.admission_date, i.admission_time, i.leave_surgery_date, i.leave_surgery_time ";
+
+    private static final String OLD_AVERAGE_INTERVENTION_TIME = INTERVENTION_COLUMNS
+            + "FROM interventiontime i INNER JOIN injuryrecord ir ON i.patient_id = ir.patient_id "
+            + "WHERE i.admission_date BETWEEN ? AND ?";
+
+    private static final String OLD_INTERVENTION_TIME_EFFICIENCY = INTERVENTION_COLUMNS
+            + "FROM InjuryRecord ir INNER JOIN interventiontime i ON ir.patient_id = i.patient_id "
+            + "WHERE ir.admission_date BETWEEN ? AND ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PatientStatisticsMapper patientStatisticsMapper;
+
+    @Autowired
+    private PatientMapper patientMapper;
+
+    @Autowired
+    private InjuryRecordMapper injuryRecordMapper;
+
+    @Autowired
+    private IssInjuryMapper issInjuryMapper;
+
+    @Autowired
+    private InterventionTimeMapper interventionTimeMapper;
+
+    @BeforeEach
+    public void seed() {
+        // 患者1：有部位、单条ISS、完整干预时间
+        int p1 = patient();
+        record(p1, "2099-01-02", "路口");
+        iss(p1, 10, null, "2");
+        intervention(p1, "2099-01-02", "0800", "0930", "ICU", "否");
+
+        // 患者2：部位为空、两条ISS记录、无去向、死亡
+        int p2 = patient();
+        record(p2, "2099-01-05", "");
+        iss(p2, 0, null, null);
+        iss(p2, 30, "4", "3");
+        intervention(p2, "2099-01-05", "2330", "0130", null, "是");
+
+        // 患者3：两条病例记录、无ISS、干预入室日期在范围外
+        int p3 = patient();
+        record(p3, "2099-01-10", "高速");
+        record(p3, "2099-01-11", "高速");
+        intervention(p3, "2099-02-05", "1000", "1600", "病房", "是");
+
+        // 患者4：病例接诊日期在范围外、干预入室日期在范围内
+        int p4 = patient();
+        record(p4, "2098-12-31", "路口");
+        iss(p4, 20, "3", null);
+        intervention(p4, "2099-01-03", "1200", "1215", "ICU", "否");
+    }
+
+    @Test
+    public void injury_analysis_should_match_the_subquery_version() {
+        assertThat(rollup(patientStatisticsMapper.getInjuryAnalysisData(START, END, null, null),
+                "injury_site", "patient_count", 10))
+                .isEqualTo(old(OLD_INJURY_ANALYSIS, "injury_site", "patient_count"));
+    }
+
+    @Test
+    public void iss_score_distribution_should_match_the_subquery_version() {
+        assertThat(rollup(patientStatisticsMapper.getISSScoreDistributionData(START, END),
+                "score_range", "patient_count", null))
+                .isEqualTo(old(OLD_ISS_SCORE_DISTRIBUTION, "score_range", "patient_count"));
+    }
+
+    @Test
+    public void body_region_injury_should_match_the_subquery_version() {
+        assertThat(rollup(patientStatisticsMapper.getBodyRegionInjuryData(START, END),
+                "body_region", "injury_count", null))
+                .isEqualTo(old(OLD_BODY_REGION_INJURY, "body_region", "injury_count"));
+    }
+
+    @Test
+    public void patient_flow_should_match_the_subquery_version() {
+        assertThat(rollup(patientStatisticsMapper.getPatientFlowData(START, END),
+                "destination", "patient_count", 10))
+                .isEqualTo(old(OLD_PATIENT_FLOW, "destination", "patient_count"));
+    }
+
+    @Test
+    public void statistics_card_scan_should_match_the_separate_queries() {
+        assertSameStatisticsCard(null, null);
+        // 自定义时间段只作用于患者数、死亡人数与平均时长
+        assertSameStatisticsCard(7 * 60, 13 * 60);
+    }
+
+    @Test
+    public void intervention_time_efficiency_scan_should_match_the_separate_queries() {
+        InterventionStatisticsAccumulator actual = new InterventionStatisticsAccumulator();
+        patientStatisticsMapper.getInterventionTimeEfficiencyData(START, END, actual);
+
+        InterventionDurationAccumulator expected = durations(OLD_INTERVENTION_TIME_EFFICIENCY);
+        for (int bucket = InterventionDurationAccumulator.BUCKET_NO_DATA; bucket <= InterventionDurationAccumulator.BUCKET_OVER_240; bucket++) {
+            assertThat(actual.getDurations().getBucketCount(bucket)).as("bucket %d", bucket)
+                    .isEqualTo(expected.getBucketCount(bucket));
+        }
+        assertThat(actual.getPatientCount())
+                .isEqualTo(patientStatisticsMapper.getTotalPatients(START, END, null, null, null, null, null));
+    }
+
+    private void assertSameStatisticsCard(Integer customStartTimeMinutes, Integer customEndTimeMinutes) {
+        InterventionStatisticsAccumulator actual = new InterventionStatisticsAccumulator();
+        patientStatisticsMapper.getPatientStatisticsRows(START, END, null, null, null, customStartTimeMinutes, customEndTimeMinutes, actual);
+
+        assertThat(actual.getPatientCount()).isEqualTo(patientStatisticsMapper.getTotalPatients(
+                START, END, null, null, null, customStartTimeMinutes, customEndTimeMinutes));
+        assertThat(actual.getDeathCount()).isEqualTo(patientStatisticsMapper.getDeathCount(
+                START, END, null, null, null, customStartTimeMinutes, customEndTimeMinutes));
+        if (customStartTimeMinutes == null) {
+            assertThat(actual.getDurations().getAverageMinutes())
+                    .isEqualTo(durations(OLD_AVERAGE_INTERVENTION_TIME).getAverageMinutes());
+        }
+
+        // 最早接诊日期只在未指定日期范围时使用：不带日期范围再扫描一次，与原查询比较
+        InterventionStatisticsAccumulator all = new InterventionStatisticsAccumulator();
+        patientStatisticsMapper.getPatientStatisticsRows(null, null, null, null, null, customStartTimeMinutes, customEndTimeMinutes, all);
+        assertThat(all.getEarliestRecordAdmissionDate())
+                .isEqualTo(patientStatisticsMapper.getEarliestAdmissionDate(null, null, null));
+    }
+
+    /**
+     * 当前查询：分组键 -> "计数/百分比"
+     */
+    private static Map<String, String> rollup(List<Map<String, Object>> rows, String keyColumn, String countColumn, Integer limit) {
+        Map<String, String> result = new HashMap<>();
+        for (Map<String, Object> row : PercentageUtils.fromRollup(rows, keyColumn, countColumn, "record_total", limit)) {
+            result.put(row.get(keyColumn).toString(), row.get(countColumn) + "/" + scaled((BigDecimal) row.get("percentage")));
+        }
+        return result;
+    }
+
+    /**
+     * 改写前查询：分组键 -> "计数/百分比"
+     */
+    private Map<String, String> old(String sql, String keyColumn, String countColumn) {
+        Map<String, String> result = new HashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql, START, END, START, END)) {
+            result.put(row.get(keyColumn).toString(),
+                    ((Number) row.get(countColumn)).longValue() + "/" + scaled((BigDecimal) row.get("percentage")));
+        }
+        return result;
+    }
+
+    private InterventionDurationAccumulator durations(String sql) {
+        InterventionDurationAccumulator accumulator = new InterventionDurationAccumulator();
+        jdbcTemplate.query(sql, rs -> {
+            accumulator.accept(new InterventionTimeDTO(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+        }, START, END);
+        return accumulator;
+    }
+
+    private static String scaled(BigDecimal percentage) {
+        return percentage == null ? null : percentage.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private int patient() {
+        Patient patient = new Patient();
+        patient.setName("equivalence-fixture");
+        patientMapper.insert(patient);
+        return patient.getPatientId();
+    }
+
+    private void record(int patientId, String admissionDate, String location) {
+        InjuryRecord record = new InjuryRecord();
+        record.setPatientId(patientId);
+        record.setAdmissionDate(LocalDate.parse(admissionDate));
+        record.setInjuryLocationDesc(location);
+        injuryRecordMapper.insert(record);
+    }
+
+    private void iss(int patientId, Integer issScore, String headNeck, String chest) {
+        IssInjury injury = new IssInjury();
+        injury.setPatientId(patientId);
+        injury.setIssScore(issScore);
+        injury.setHeadNeck(headNeck);
+        injury.setChest(chest);
+        issInjuryMapper.insert(injury);
+    }
+
+    private void intervention(int patientId, String admissionDate, String admissionTime, String leaveTime,
+                              String destination, String death) {
+        InterventionTime time = new InterventionTime();
+        time.setPatientId(patientId);
+        time.setAdmissionDate(LocalDate.parse(admissionDate));
+        time.setAdmissionTime(admissionTime);
+        // 跨零点的离室时间记在次日
+        LocalDate leaveDate = LocalDate.parse(admissionDate);
+        time.setLeaveSurgeryDate(leaveTime.compareTo(admissionTime) < 0 ? leaveDate.plusDays(1) : leaveDate);
+        time.setLeaveSurgeryTime(leaveTime);
+        time.setPatientDestination(destination);
+        time.setDeath(death);
+        interventionTimeMapper.insert(time);
+    }
+}
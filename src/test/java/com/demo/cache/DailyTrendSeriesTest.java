@@ -0,0 +1,97 @@
+package com.demo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyTrendSeriesTest {
+
+    private static int day(String date) {
+        return (int) LocalDate.parse(date).toEpochDay();
+    }
+
+    private static int[] admissions(int count) {
+        int[] values = new int[DailyTrendSeries.COLUMN_COUNT];
+        values[DailyTrendSeries.ADMISSIONS] = count;
+        return values;
+    }
+
+    @Test
+    void empty_series_should_return_zero_sums() {
+        DailyTrendSeries series = new DailyTrendSeries();
+
+        assertThat(series.isEmpty()).isTrue();
+        assertThat(series.rollingSum(DailyTrendSeries.ADMISSIONS, day("2024-01-01"), day("2024-01-03"), 7))
+                .containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void rolling_sum_should_include_days_before_range_start() {
+        DailyTrendSeries series = new DailyTrendSeries();
+        series.put(day("2024-01-01"), admissions(1));
+        series.put(day("2024-01-03"), admissions(2));
+        series.put(day("2024-01-05"), admissions(4));
+
+        long[] sums = series.rollingSum(DailyTrendSeries.ADMISSIONS, day("2024-01-04"), day("2024-01-07"), 3);
+
+        // 窗口 [02,04]=2, [03,05]=6, [04,06]=4, [05,07]=4
+        assertThat(sums).containsExactly(2L, 6L, 4L, 4L);
+        assertThat(series.minDay()).isEqualTo(day("2024-01-01"));
+        assertThat(series.maxDay()).isEqualTo(day("2024-01-05"));
+    }
+
+    @Test
+    void put_should_grow_in_both_directions_and_clear_should_reset_day() {
+        DailyTrendSeries series = new DailyTrendSeries();
+        series.put(day("2024-06-01"), admissions(5));
+        series.put(day("2019-01-01"), admissions(3));
+        series.put(day("2027-12-31"), admissions(7));
+
+        assertThat(series.value(DailyTrendSeries.ADMISSIONS, day("2024-06-01"))).isEqualTo(5);
+        assertThat(series.value(DailyTrendSeries.ADMISSIONS, day("2019-01-01"))).isEqualTo(3);
+        assertThat(series.value(DailyTrendSeries.ADMISSIONS, day("2027-12-31"))).isEqualTo(7);
+
+        series.clear(day("2024-06-01"));
+        series.clear(day("1990-01-01"));
+        assertThat(series.value(DailyTrendSeries.ADMISSIONS, day("2024-06-01"))).isZero();
+    }
+
+    @Test
+    void rolling_sum_should_match_brute_force() {
+        Random random = new Random(42L);
+        DailyTrendSeries series = new DailyTrendSeries();
+        int base = day("2023-01-01");
+        int[] deaths = new int[800];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < deaths.length; i++) {
+            if (random.nextInt(3) == 0) {
+                deaths[i] = random.nextInt(10);
+                order.add(i);
+            }
+        }
+        // 乱序写入，覆盖向前、向后扩容
+        Collections.shuffle(order, random);
+        for (int i : order) {
+            int[] values = new int[DailyTrendSeries.COLUMN_COUNT];
+            values[DailyTrendSeries.DEATHS] = deaths[i];
+            series.put(base + i, values);
+        }
+
+        for (int window : new int[]{1, 7, 30, 90}) {
+            long[] sums = series.rollingSum(DailyTrendSeries.DEATHS, base + 100, base + 700, window);
+            for (int i = 0; i < sums.length; i++) {
+                long expected = 0;
+                for (int d = 100 + i - window + 1; d <= 100 + i; d++) {
+                    expected += d >= 0 && d < deaths.length ? deaths[d] : 0;
+                }
+                assertThat(sums[i]).as("window=%d, i=%d", window, i).isEqualTo(expected);
+            }
+        }
+    }
+}
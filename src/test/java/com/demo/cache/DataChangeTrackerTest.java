@@ -0,0 +1,126 @@
+package com.demo.cache;
+
+import com.demo.mapper.GcsScoreMapper;
+import com.demo.mapper.InjuryRecordMapper;
+import com.demo.mapper.PatientStatisticsMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataChangeTrackerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private final DataVersion dataVersion = mock(DataVersion.class);
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final PatientStatisticsMapper patientStatisticsMapper = mock(PatientStatisticsMapper.class);
+
+    private final DataChangeTracker tracker = new DataChangeTracker();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tracker, "dataVersion", dataVersion);
+        ReflectionTestUtils.setField(tracker, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(tracker, "patientStatisticsMapper", patientStatisticsMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void write_outside_transaction_should_publish_unscoped_change_immediately() {
+        tracker.recordWrite(InjuryRecordMapper.class.getName());
+
+        DataChangingEvent event = capturePublished();
+        assertThat(event.getChanges().touches(InjuryRecordMapper.class)).isTrue();
+        assertThat(event.getChanges().isScoped()).isFalse();
+        verify(dataVersion).bump(event.getChanges());
+    }
+
+    @Test
+    void transaction_should_publish_once_with_reported_and_resolved_dates() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(patientStatisticsMapper.selectAdmissionDatesByPatients(Collections.singletonList(7)))
+                .thenReturn(Arrays.asList("2024-03-02", ""));
+
+        tracker.recordWrite(InjuryRecordMapper.class.getName());
+        tracker.reportAdmissionDates(Collections.singletonList(DAY));
+        tracker.recordWrite(GcsScoreMapper.class.getName());
+        tracker.reportPatients(Arrays.asList(7, null));
+        verify(eventPublisher, never()).publishEvent(any(ApplicationEvent.class));
+
+        DataChanges.commit();
+
+        DataChangeSet changes = capturePublished().getChanges();
+        assertThat(changes.touches(InjuryRecordMapper.class, GcsScoreMapper.class)).isTrue();
+        assertThat(changes.isScoped()).isTrue();
+        assertThat(changes.getPatientIds()).containsExactly(7);
+        assertThat(changes.getAdmissionDates()).containsExactly(DAY, LocalDate.of(2024, 3, 2), null);
+        verify(dataVersion).bump(changes);
+    }
+
+    @Test
+    void failed_date_resolution_should_publish_unscoped_change() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(patientStatisticsMapper.selectAdmissionDatesByPatients(anyList())).thenThrow(new IllegalStateException("timeout"));
+
+        tracker.recordWrite(GcsScoreMapper.class.getName());
+        tracker.reportPatients(Collections.singletonList(7));
+        DataChanges.commit();
+
+        assertThat(capturePublished().getChanges().isScoped()).isFalse();
+    }
+
+    @Test
+    void rolled_back_transaction_should_not_bump_version() {
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.recordWrite(InjuryRecordMapper.class.getName());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        verify(eventPublisher, never()).publishEvent(any(ApplicationEvent.class));
+        verify(dataVersion, never()).bump(any());
+    }
+
+    @Test
+    void transaction_without_writes_should_not_publish() {
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.reportAdmissionDates(Collections.singletonList(DAY));
+        DataChanges.commit();
+
+        verify(eventPublisher, never()).publishEvent(any(ApplicationEvent.class));
+        verify(dataVersion, never()).bump(any());
+    }
+
+    private DataChangingEvent capturePublished() {
+        ArgumentCaptor<DataChangingEvent> captor = ArgumentCaptor.forClass(DataChangingEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.demo.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * 测试用的变更集合、变更事件构造与事务回调触发
+ * @author system
+ */
+public final class DataChanges {
+
+    private DataChanges() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 写过给定 Mapper、未报告范围的变更（如通用上传接口的写入）
+     */
+    public static DataChangeSet unscoped(Class<?>... mapperTypes) {
+        DataChangeSet changes = new DataChangeSet();
+        for (Class<?> mapperType : mapperTypes) {
+            changes.recordMapper(mapperType.getName());
+        }
+        return changes;
+    }
+
+    /**
+     * 写过给定 Mapper、报告了接诊日期的变更
+     */
+    public static DataChangeSet dates(Collection<LocalDate> dates, Class<?>... mapperTypes) {
+        DataChangeSet changes = unscoped(mapperTypes);
+        changes.addAdmissionDates(dates);
+        return changes;
+    }
+
+    /**
+     * 写过给定 Mapper、报告了患者且已解析出接诊日期的变更
+     */
+    public static DataChangeSet patients(Collection<Integer> patientIds, Collection<LocalDate> resolvedDates, Class<?>... mapperTypes) {
+        DataChangeSet changes = unscoped(mapperTypes);
+        changes.addPatients(patientIds);
+        changes.addAdmissionDates(resolvedDates);
+        return changes;
+    }
+
+    public static DataChangingEvent changing(DataChangeSet changes) {
+        return new DataChangingEvent(DataChanges.class, changes);
+    }
+
+    public static DataChangedEvent changed(DataChangeSet changes) {
+        return new DataChangedEvent(DataChanges.class, 2, changes);
+    }
+
+    /**
+     * 按提交顺序触发当前线程注册的事务回调（测试中以 initSynchronization 模拟事务）
+     */
+    public static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
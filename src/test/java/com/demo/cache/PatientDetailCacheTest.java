@@ -0,0 +1,78 @@
+package com.demo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientDetailCacheTest {
+
+    @Test
+    void should_load_once_and_cache_null_results() {
+        PatientDetailCache cache = new PatientDetailCache(8);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(PatientDetailCache.GCS, 1, null, () -> "gcs-" + loads.incrementAndGet())).isEqualTo("gcs-1");
+        assertThat(cache.get(PatientDetailCache.GCS, 1, null, () -> "gcs-" + loads.incrementAndGet())).isEqualTo("gcs-1");
+        String iss = cache.get(PatientDetailCache.ISS, 1, null, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        assertThat(iss).isNull();
+        String cachedIss = cache.get(PatientDetailCache.ISS, 1, null, () -> "unused");
+        assertThat(cachedIss).isNull();
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(2L);
+        assertThat(cache.getMisses()).isEqualTo(2L);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_evict_least_recently_used_entry() {
+        PatientDetailCache cache = new PatientDetailCache(2);
+        cache.get(PatientDetailCache.GCS, 1, null, () -> "a");
+        cache.get(PatientDetailCache.GCS, 2, null, () -> "b");
+        cache.get(PatientDetailCache.GCS, 1, null, () -> "unused");
+
+        cache.get(PatientDetailCache.GCS, 3, null, () -> "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(1L);
+        assertThat(cache.get(PatientDetailCache.GCS, 2, null, () -> "b2")).isEqualTo("b2");
+        assertThat(cache.get(PatientDetailCache.GCS, 3, null, () -> "unused")).isEqualTo("c");
+    }
+
+    @Test
+    void invalidate_should_drop_every_entry_of_the_patient_only() {
+        PatientDetailCache cache = new PatientDetailCache(16);
+        cache.get(PatientDetailCache.INJURY_DETAIL, 1, "chest", () -> "chest-1");
+        cache.get(PatientDetailCache.INJURY_DETAIL, 1, "face", () -> "face-1");
+        cache.get(PatientDetailCache.INTERVENTION, 1, null, () -> "intervention-1");
+        cache.get(PatientDetailCache.INTERVENTION, 2, null, () -> "intervention-2");
+
+        cache.invalidate(Arrays.asList(1, 9));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getInvalidations()).isEqualTo(2L);
+        assertThat(cache.get(PatientDetailCache.INJURY_DETAIL, 1, "chest", () -> "chest-2")).isEqualTo("chest-2");
+        assertThat(cache.get(PatientDetailCache.INTERVENTION, 2, null, () -> "unused")).isEqualTo("intervention-2");
+    }
+
+    @Test
+    void load_racing_with_invalidation_should_not_be_cached() {
+        PatientDetailCache cache = new PatientDetailCache(8);
+
+        String loaded = cache.get(PatientDetailCache.GCS, 1, null, () -> {
+            // 加载期间该患者数据被修改
+            cache.invalidate(1);
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(PatientDetailCache.GCS, 1, null, () -> "fresh")).isEqualTo("fresh");
+    }
+}
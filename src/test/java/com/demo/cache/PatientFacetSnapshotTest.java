@@ -0,0 +1,98 @@
+package com.demo.cache;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class PatientFacetSnapshotTest {
+
+    private static int day(String date) {
+        return (int) LocalDate.parse(date).toEpochDay();
+    }
+
+    private PatientFacetSnapshot sample() {
+        PatientFacetSnapshot.Builder builder = new PatientFacetSnapshot.Builder(7L);
+        // 患者1：2023年春季早高峰，08:10 接诊，死亡
+        builder.addToAll(1).addRecordDay(day("2023-03-05"), 1).addInterventionDay(day("2023-03-06"), 1)
+                .addAdmissionMinute(490, 1)
+                .addFacet(PatientFacetSnapshot.FACET_SEASON, "0", 1)
+                .addFacet(PatientFacetSnapshot.FACET_TIME_PERIOD, "1", 1)
+                .addFacet(PatientFacetSnapshot.FACET_DEATH, "1", 1);
+        // 患者2：2024年夏季夜间，02:00 接诊
+        builder.addToAll(2).addRecordDay(day("2024-07-01"), 2).addInterventionDay(day("2024-07-01"), 2)
+                .addAdmissionMinute(120, 2)
+                .addFacet(PatientFacetSnapshot.FACET_SEASON, "1", 2)
+                .addFacet(PatientFacetSnapshot.FACET_TIME_PERIOD, "0", 2)
+                .addFacet(PatientFacetSnapshot.FACET_DEATH, "0", 2);
+        // 患者3：2024年春季，接诊时间未知
+        builder.addToAll(3).addRecordDay(day("2024-03-31"), 3).addInterventionDay(day("2024-04-01"), 3)
+                .addFacet(PatientFacetSnapshot.FACET_SEASON, "0", 3)
+                .addFacet(PatientFacetSnapshot.FACET_DEATH, "1", 3);
+        return builder.build();
+    }
+
+    @Test
+    void cohort_without_filter_should_return_all_patients() {
+        PatientFacetSnapshot snapshot = sample();
+
+        assertThat(snapshot.getVersion()).isEqualTo(7L);
+        assertThat(PatientFacetSnapshot.toList(snapshot.cohort(null))).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void cohort_should_combine_year_season_and_custom_time() {
+        PatientFacetSnapshot snapshot = sample();
+
+        PatientFacetFilter byYear = new PatientFacetFilter(null, null, 2024, 0, null, null, null);
+        assertThat(PatientFacetSnapshot.toList(snapshot.cohort(byYear))).containsExactly(3);
+
+        PatientFacetFilter byTime = new PatientFacetFilter(null, null, null, null, null, 0, 600);
+        assertThat(PatientFacetSnapshot.toList(snapshot.cohort(byTime))).containsExactly(1, 2);
+    }
+
+    @Test
+    void cohort_date_range_should_follow_selected_admission_date() {
+        PatientFacetSnapshot snapshot = sample();
+        PatientFacetFilter filter = new PatientFacetFilter("2024-04-01", "2024-12-31", null, null, null, null, null);
+
+        assertThat(PatientFacetSnapshot.toList(snapshot.cohort(filter))).containsExactly(2);
+
+        filter.setInterventionDateRange(true);
+        assertThat(PatientFacetSnapshot.toList(snapshot.cohort(filter))).containsExactly(2, 3);
+    }
+
+    @Test
+    void cohort_should_return_null_for_unparseable_dates() {
+        PatientFacetFilter filter = new PatientFacetFilter("2024/01/01", "2024-12-31", null, null, null, null, null);
+
+        assertThat(sample().cohort(filter)).isNull();
+    }
+
+    @Test
+    void facet_value_should_intersect_with_cohort_without_mutating_snapshot() {
+        PatientFacetSnapshot snapshot = sample();
+
+        RoaringBitmap cohort = snapshot.cohort(new PatientFacetFilter(null, null, null, 0, null, null, null));
+        cohort.and(snapshot.facetValue(PatientFacetSnapshot.FACET_DEATH, "1"));
+
+        assertThat(PatientFacetSnapshot.toList(cohort)).isEqualTo(Arrays.asList(1, 3));
+        assertThat(snapshot.all().getCardinality()).isEqualTo(3);
+        assertThat(snapshot.facetValue(PatientFacetSnapshot.FACET_CAUSE, "0").isEmpty()).isTrue();
+    }
+
+    @Test
+    void histogram_should_list_preferred_values_first_including_zero_counts() {
+        PatientFacetSnapshot snapshot = sample();
+
+        Map<String, Long> seasons = snapshot.histogram(PatientFacetSnapshot.FACET_SEASON, snapshot.all(),
+                Arrays.asList("0", "1", "2", "3"));
+
+        assertThat(seasons).containsExactly(entry("0", 2L), entry("1", 1L), entry("2", 0L), entry("3", 0L));
+    }
+}
@@ -0,0 +1,71 @@
+package com.demo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientSearchSnapshotTest {
+
+    private static PatientSearchSnapshot sample() {
+        return new PatientSearchSnapshot.Builder(7L)
+                .add(1, PatientSearchSnapshot.FIELD_NAME, "张三")
+                .add(1, PatientSearchSnapshot.FIELD_INJURY_LOCATION, "长江路与淮河路交口")
+                .add(2, PatientSearchSnapshot.FIELD_NAME, "李长江")
+                .add(2, PatientSearchSnapshot.FIELD_STATION, "蜀山急救站")
+                .add(3, PatientSearchSnapshot.FIELD_NAME, "王五")
+                .add(3, PatientSearchSnapshot.FIELD_INJURY_CAUSE, "电动车 与 货车 相撞")
+                .add(3, PatientSearchSnapshot.FIELD_INJURY_LOCATION, "长江西路")
+                .add(null, PatientSearchSnapshot.FIELD_NAME, "无效")
+                .build();
+    }
+
+    @Test
+    void tokenize_should_emit_bigrams_and_index_time_unigrams() {
+        assertThat(PatientSearchSnapshot.tokenize("长江路", true)).containsExactly("长江", "江路");
+        assertThat(PatientSearchSnapshot.tokenize("长江路", false)).containsExactly("长", "江", "路", "长江", "江路");
+        assertThat(PatientSearchSnapshot.tokenize("张", true)).containsExactly("张");
+        assertThat(PatientSearchSnapshot.tokenize("ＡＢＣ-12 路口", true)).containsExactly("abc", "12", "路口");
+        assertThat(PatientSearchSnapshot.tokenize("  ", true)).isEmpty();
+    }
+
+    @Test
+    void search_should_require_every_term() {
+        PatientSearchSnapshot snapshot = sample();
+
+        assertThat(snapshot.search("长江")).extracting(PatientSearchSnapshot.Hit::getPatientId)
+                .containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(snapshot.search("长江 西路")).extracting(PatientSearchSnapshot.Hit::getPatientId)
+                .containsExactly(3);
+        assertThat(snapshot.search("长江 黄河")).isEmpty();
+        assertThat(snapshot.search("，。")).isEmpty();
+    }
+
+    @Test
+    void name_match_should_rank_above_location_match() {
+        List<PatientSearchSnapshot.Hit> hits = sample().search("长江");
+
+        assertThat(hits.get(0).getPatientId()).isEqualTo(2);
+        assertThat(hits.get(0).getMatchedFields()).containsExactly("name");
+        assertThat(hits.get(1).getPatientId()).isEqualTo(1);
+        assertThat(hits.get(1).getMatchedFields()).containsExactly("injuryLocation");
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void matched_fields_should_union_across_terms() {
+        List<PatientSearchSnapshot.Hit> hits = sample().search("王五 货车");
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getMatchedFields()).containsExactly("name", "injuryCause");
+    }
+
+    @Test
+    void snapshot_should_record_version_and_documents() {
+        PatientSearchSnapshot snapshot = sample();
+
+        assertThat(snapshot.getVersion()).isEqualTo(7L);
+        assertThat(snapshot.getDocumentCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,93 @@
+package com.demo.cache;
+
+import com.demo.utils.AwaitUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RebuildSchedulerTest {
+
+    @Test
+    void failed_task_should_be_retried_until_it_succeeds() {
+        AtomicInteger runs = new AtomicInteger();
+        RebuildScheduler scheduler = new RebuildScheduler("test-rebuild", () -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new IllegalStateException("db down");
+            }
+        });
+        try {
+            assertThat(scheduler.runNow()).isFalse();
+            assertThat(scheduler.isReady()).isFalse();
+
+            // 没有新的请求，也在退避间隔后自动重试
+            AwaitUtils.until(scheduler::isReady);
+            assertThat(runs.get()).isEqualTo(2);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void invalidation_during_a_run_should_keep_it_unavailable_until_the_next_run() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        RebuildScheduler scheduler = new RebuildScheduler("test-rebuild", () -> {
+            if (runs.incrementAndGet() == 1) {
+                started.countDown();
+                awaitQuietly(release);
+            }
+        });
+        try {
+            scheduler.request();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 重建开始后提交的变更：本次重建可能没有读到
+            scheduler.invalidate();
+            release.countDown();
+
+            AwaitUtils.until(() -> runs.get() == 2 && scheduler.isReady());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void requests_during_a_run_should_be_merged() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        RebuildScheduler scheduler = new RebuildScheduler("test-rebuild", () -> {
+            if (runs.incrementAndGet() == 1) {
+                started.countDown();
+                awaitQuietly(release);
+            }
+        });
+        try {
+            scheduler.request();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 5; i++) {
+                scheduler.request();
+            }
+            release.countDown();
+
+            AwaitUtils.until(() -> runs.get() == 2);
+            Thread.sleep(50);
+            assertThat(runs.get()).isEqualTo(2);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
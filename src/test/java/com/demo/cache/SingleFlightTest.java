@@ -0,0 +1,109 @@
+package com.demo.cache;
+
+import com.demo.utils.AwaitUtils;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrent_identical_calls_should_execute_once() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> singleFlight.execute("heatmap", () -> {
+                    calls.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "result";
+                })));
+            }
+            // 等其余调用全部加入进行中的加载后再放行
+            AwaitUtils.until(() -> singleFlight.getShared() == 7);
+            release.countDown();
+
+            for (Future<Object> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.getExecutions()).isEqualTo(1L);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void failure_should_propagate_to_every_waiting_caller() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = pool.submit(() -> singleFlight.execute("k", () -> {
+                release.await(5, TimeUnit.SECONDS);
+                throw new IllegalArgumentException("bad year");
+            }));
+            AwaitUtils.until(() -> singleFlight.inFlightCount() == 1);
+            Future<Object> follower = pool.submit(() -> singleFlight.execute("k", () -> "unused"));
+            AwaitUtils.until(() -> singleFlight.getShared() == 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("bad year");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(singleFlight.getExecutions()).isEqualTo(1L);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void sequential_calls_should_not_reuse_completed_result() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(singleFlight.execute("k", calls::incrementAndGet)).isEqualTo(1);
+        assertThat(singleFlight.execute("k", calls::incrementAndGet)).isEqualTo(2);
+        assertThat(singleFlight.getShared()).isZero();
+    }
+
+    @Test
+    void call_key_should_compare_arguments_by_value_version_and_day() throws Exception {
+        Method method = String.class.getMethod("valueOf", Object.class);
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        StatisticsSingleFlightAspect.CallKey a =
+                new StatisticsSingleFlightAspect.CallKey(method, new Object[]{"2024-01-01", 2024, null}, 3L, today);
+        StatisticsSingleFlightAspect.CallKey b =
+                new StatisticsSingleFlightAspect.CallKey(method, new Object[]{new String("2024-01-01"), 2024, null}, 3L, today);
+        StatisticsSingleFlightAspect.CallKey other =
+                new StatisticsSingleFlightAspect.CallKey(method, new Object[]{"2024-01-01", 2025, null}, 3L, today);
+        StatisticsSingleFlightAspect.CallKey newer =
+                new StatisticsSingleFlightAspect.CallKey(method, new Object[]{"2024-01-01", 2024, null}, 4L, today);
+        StatisticsSingleFlightAspect.CallKey nextDay =
+                new StatisticsSingleFlightAspect.CallKey(method, new Object[]{"2024-01-01", 2024, null}, 3L, today.plusDays(1));
+
+        assertThat(a).isEqualTo(b).hasSameHashCodeAs(b);
+        assertThat(a).isNotEqualTo(other);
+        assertThat(a).isNotEqualTo(newer);
+        assertThat(a).isNotEqualTo(nextDay);
+    }
+}
@@ -0,0 +1,37 @@
+package com.demo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatisticsResultCacheTest {
+
+    @Test
+    void should_evict_least_recently_used_entry() {
+        StatisticsResultCache cache = new StatisticsResultCache(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.getHits()).isEqualTo(3L);
+        assertThat(cache.getMisses()).isEqualTo(1L);
+    }
+
+    @Test
+    void clear_should_drop_entries_and_null_should_not_be_cached() {
+        StatisticsResultCache cache = new StatisticsResultCache(8);
+        cache.put("a", 1);
+        cache.put("b", null);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.cache;
+
+import com.demo.Service.impl.impl.InterventionTimeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatisticsSingleFlightAspectTest {
+
+    private FakeStatisticsService proxy;
+
+    private FakeStatisticsService target;
+
+    @BeforeEach
+    void setUp() {
+        DataVersion dataVersion = mock(DataVersion.class);
+        when(dataVersion.current()).thenReturn(1L);
+        StatisticsSingleFlightAspect aspect = new StatisticsSingleFlightAspect();
+        ReflectionTestUtils.setField(aspect, "dataVersion", dataVersion);
+        ReflectionTestUtils.setField(aspect, "resultCache", new StatisticsResultCache(16));
+
+        target = new FakeStatisticsService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void marked_query_should_share_the_cached_result() {
+        List<Integer> first = proxy.getTotals();
+        List<Integer> second = proxy.getTotals();
+
+        assertThat(second).isSameAs(first);
+        assertThat(target.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unmarked_per_patient_query_should_run_every_time() {
+        // 调用方会修改返回的对象，不能在调用之间共享
+        proxy.getOneByPatientId(7).add(99);
+
+        assertThat(proxy.getOneByPatientId(7)).containsExactly(7);
+        assertThat(target.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void per_patient_intervention_time_queries_should_not_be_marked() throws NoSuchMethodException {
+        Class<InterventionTimeServiceImpl> type = InterventionTimeServiceImpl.class;
+
+        assertThat(type.getMethod("getOneByPatientId", Integer.class).isAnnotationPresent(SharedStatisticsQuery.class)).isFalse();
+        assertThat(type.getMethod("getByPatientId", Integer.class).isAnnotationPresent(SharedStatisticsQuery.class)).isFalse();
+        assertThat(type.getMethod("getAllKeyEventsStatistics", Integer.class).isAnnotationPresent(SharedStatisticsQuery.class)).isFalse();
+        assertThat(type.getMethod("getAllKeyEventsStatistics").isAnnotationPresent(SharedStatisticsQuery.class)).isTrue();
+    }
+
+    static class FakeStatisticsService {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @SharedStatisticsQuery
+        public List<Integer> getTotals() {
+            calls.incrementAndGet();
+            List<Integer> totals = new ArrayList<>();
+            totals.add(1);
+            return totals;
+        }
+
+        public List<Integer> getOneByPatientId(Integer patientId) {
+            calls.incrementAndGet();
+            List<Integer> result = new ArrayList<>();
+            result.add(patientId);
+            return result;
+        }
+    }
+}
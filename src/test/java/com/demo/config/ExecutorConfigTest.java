@@ -0,0 +1,22 @@
+package com.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutorConfigTest {
+
+    @Test
+    void pools_smaller_than_the_connection_pool_should_pass() {
+        assertThatCode(() -> ExecutorConfig.checkConnectionBudget(16, 4, 4, 2)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void pools_using_every_connection_should_fail_at_startup() {
+        // 4 + 4 + 2 = Hikari 默认的10个连接，请求线程拿不到连接
+        assertThatThrownBy(() -> ExecutorConfig.checkConnectionBudget(10, 4, 4, 2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("10");
+    }
+}
@@ -2,6 +2,7 @@ package com.demo.controller;
 
 import com.demo.Service.impl.IInjuryRecordService;
 import com.demo.dto.AddressCountDTO;
+import com.demo.utils.LocationPayloadCodec;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -59,6 +63,51 @@ class InjuryRecordControllerTest {
         assertThat(timePeriodsCaptor.getValue()).isNull();
         assertThat(yearsCaptor.getValue()).containsExactly(2023);
     }
-}
 
+    @Test
+    void locations_should_return_delta_binary_when_octet_stream_accepted() throws Exception {
+        List<AddressCountDTO> points = Arrays.asList(
+                new AddressCountDTO(31.230416, 121.473701, 5L),
+                new AddressCountDTO(31.229001, 121.480012, 1L),
+                new AddressCountDTO(null, 121.0, 3L));
+        when(injuryRecordService.getLocationsBySeasonsAndTime(null, null, null)).thenReturn(points);
+
+        byte[] body = mockMvc.perform(get("/api/map/locations")
+                        .accept(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<AddressCountDTO> decoded = LocationPayloadCodec.decodeBinary(body);
+        // 无坐标的点位被跳过，其余按纬度排序
+        assertThat(decoded).containsExactly(
+                new AddressCountDTO(31.229001, 121.480012, 1L),
+                new AddressCountDTO(31.230416, 121.473701, 5L));
+    }
+
+    @Test
+    void locations_should_return_columnar_json_when_requested() throws Exception {
+        when(injuryRecordService.getLocationsBySeasonsAndTime(null, null, null)).thenReturn(Arrays.asList(
+                new AddressCountDTO(31.0, 121.0, 2L),
+                new AddressCountDTO(31.000001, 120.999999, 4L)));
+
+        mockMvc.perform(get("/api/map/locations")
+                        .accept(LocationPayloadCodec.COLUMNAR_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.size").value(2))
+                .andExpect(jsonPath("$.data.latitudes[0]").value(31000000))
+                .andExpect(jsonPath("$.data.latitudes[1]").value(1))
+                .andExpect(jsonPath("$.data.longitudes[1]").value(-1))
+                .andExpect(jsonPath("$.data.counts[1]").value(4));
+    }
 
+    @Test
+    void locations_should_keep_default_json_for_wildcard_accept() throws Exception {
+        when(injuryRecordService.getLocationsBySeasonsAndTime(null, null, null))
+                .thenReturn(Collections.singletonList(new AddressCountDTO(31.0, 121.0, 2L)));
+
+        mockMvc.perform(get("/api/map/locations").header("Accept", "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].count").value(2));
+    }
+}
@@ -0,0 +1,44 @@
+package com.demo.metrics;
+
+import com.demo.cache.PatientDetailCache;
+import com.demo.cache.StatisticsResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CacheMetricsBinderTest {
+
+    @Test
+    void cache_meters_should_follow_cache_statistics() {
+        StatisticsResultCache statisticsCache = new StatisticsResultCache(16);
+        PatientDetailCache detailCache = new PatientDetailCache(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetricsBinder(statisticsCache, detailCache).bindTo(registry);
+
+        statisticsCache.put("k", "v");
+        statisticsCache.get("k");
+        statisticsCache.get("k");
+        statisticsCache.get("missing");
+        detailCache.get(PatientDetailCache.GCS, 1, null, () -> "a");
+        detailCache.get(PatientDetailCache.GCS, 2, null, () -> "b");
+
+        assertThat(registry.get("cache.gets").tag("cache", "statistics-result").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(registry.get("cache.gets").tag("cache", "statistics-result").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.hit.ratio").tag("cache", "statistics-result").gauge().value())
+                .isCloseTo(2.0 / 3, within(1e-9));
+        assertThat(registry.get("cache.size").tag("cache", "patient-detail").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("cache.evictions").tag("cache", "patient-detail").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void hit_ratio_should_be_zero_before_any_lookup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetricsBinder(new StatisticsResultCache(16), new PatientDetailCache(16)).bindTo(registry);
+
+        assertThat(registry.get("cache.hit.ratio").tag("cache", "patient-detail").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,75 @@
+package com.demo.metrics;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MybatisMetricsInterceptorTest {
+
+    private static final String SELECT_ID = "com.demo.mapper.PatientMapper.selectById";
+
+    private static final String DELETE_ID = "com.demo.mapper.PatientMapper.deleteById";
+
+    @Test
+    void each_query_should_be_timed_once_and_exported() throws Exception {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Executor executor = mock(Executor.class);
+        when(executor.query(any(MappedStatement.class), any(), any(RowBounds.class), any(ResultHandler.class)))
+                .thenReturn(Collections.emptyList());
+        Executor wrapped = wrap(executor, registry);
+        MappedStatement select = statement(SELECT_ID, SqlCommandType.SELECT);
+
+        wrapped.query(select, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        wrapped.query(select, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+
+        assertThat(registry.get(MybatisMetricsInterceptor.METRIC_NAME)
+                .tag("statement", SELECT_ID).tag("type", "SELECT").tag("outcome", "success")
+                .timer().count()).isEqualTo(2L);
+        assertThat(registry.scrape()).contains("mybatis_statement_seconds_count{outcome=\"success\",statement=\""
+                + SELECT_ID + "\",type=\"SELECT\",} 2.0");
+    }
+
+    @Test
+    void failed_update_should_be_tagged_as_error() throws Exception {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Executor executor = mock(Executor.class);
+        when(executor.update(any(MappedStatement.class), any())).thenThrow(new SQLException("boom"));
+        Executor wrapped = wrap(executor, registry);
+
+        assertThatThrownBy(() -> wrapped.update(statement(DELETE_ID, SqlCommandType.DELETE), 1))
+                .isInstanceOf(SQLException.class);
+
+        assertThat(registry.get(MybatisMetricsInterceptor.METRIC_NAME)
+                .tag("statement", DELETE_ID).tag("type", "DELETE").tag("outcome", "error")
+                .timer().count()).isEqualTo(1L);
+    }
+
+    private static Executor wrap(Executor executor, PrometheusMeterRegistry registry) {
+        MybatisMetricsInterceptor interceptor = new MybatisMetricsInterceptor();
+        ReflectionTestUtils.setField(interceptor, "meterRegistry", registry);
+        return (Executor) interceptor.plugin(executor);
+    }
+
+    private static MappedStatement statement(String id, SqlCommandType type) {
+        Configuration configuration = new Configuration();
+        SqlSource sqlSource = parameter -> null;
+        return new MappedStatement.Builder(configuration, id, sqlSource, type).build();
+    }
+}
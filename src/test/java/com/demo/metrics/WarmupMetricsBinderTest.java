@@ -0,0 +1,44 @@
+package com.demo.metrics;
+
+import com.demo.Service.impl.IStatisticsWarmupService;
+import com.demo.dto.WarmupStatusDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WarmupMetricsBinderTest {
+
+    @Test
+    void progress_gauges_should_follow_warmup_status() {
+        IStatisticsWarmupService service = mock(IStatisticsWarmupService.class);
+        WarmupStatusDTO status = new WarmupStatusDTO();
+        status.setTotalTasks(40);
+        status.setCompletedTasks(10);
+        status.setFailedTasks(1);
+        when(service.getStatus()).thenReturn(status);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new WarmupMetricsBinder(service).bindTo(registry);
+
+        assertThat(registry.get("statistics.warmup.tasks").tag("state", "total").gauge().value()).isEqualTo(40.0);
+        assertThat(registry.get("statistics.warmup.tasks").tag("state", "completed").gauge().value()).isEqualTo(10.0);
+        assertThat(registry.get("statistics.warmup.tasks").tag("state", "failed").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("statistics.warmup.progress").gauge().value()).isCloseTo(0.25, within(1e-9));
+
+        status.setCompletedTasks(40);
+        assertThat(registry.get("statistics.warmup.progress").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void progress_should_be_zero_before_first_warmup() {
+        IStatisticsWarmupService service = mock(IStatisticsWarmupService.class);
+        when(service.getStatus()).thenReturn(new WarmupStatusDTO());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new WarmupMetricsBinder(service).bindTo(registry);
+
+        assertThat(registry.get("statistics.warmup.progress").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package com.demo.utils;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 测试中等待后台线程（重建调度、缓存加载）完成的轮询工具
+ * @author system
+ */
+public final class AwaitUtils {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private static final long POLL_MILLIS = 5;
+
+    private AwaitUtils() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    /**
+     * 轮询直到条件成立，超时（5秒）后断言失败
+     */
+    public static void until(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertThat(condition.getAsBoolean()).as("等待条件成立超时").isTrue();
+    }
+}
@@ -0,0 +1,679 @@
+package com.demo.utils;
+
+import com.demo.upload.constants.BodyPartScoreMapping;
+import com.demo.upload.constants.GcsScoreColumnConstants;
+import com.demo.upload.constants.InjuryRecordColumnConstants;
+import com.demo.upload.constants.InterventionExtraColumnConstants;
+import com.demo.upload.constants.InterventionTimeColumnConstants;
+import com.demo.upload.constants.IssColumnConstants;
+import com.demo.upload.constants.PatientColumnConstants;
+import com.demo.upload.constants.PatientInfoOffAdmissionColumnConstants;
+import com.demo.upload.constants.PatientInfoOnAdmissionColumnConstants;
+import com.demo.upload.constants.RtsScoreColumnConstants;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 导入压测用合成Excel生成工具类
+ * 生成不含真实患者信息、可被综合导入（{@link com.demo.upload.service.ComprehensiveDataImportService}）直接导入的工作簿，
+ * 用于对导入链路做端到端压测。
+ *
+ * <p>各表导入服务读取的都是同一文件的第一个工作表、按列名匹配，因此第一个工作表为宽表：
+ * 包含全部 *ColumnConstants 列（同名列如“序号”、“接诊日期：”只出现一次）以及 {@link BodyPartScoreMapping} 中的全部ISS详细伤情列，
+ * 每行一个患者；第二个工作表“生成说明”记录随机种子、参数以及每个注入错误的行号、列名和取值。
+ * 通过 {@link SXSSFWorkbook} 流式写出，内存中只保留少量行，可生成 1 千至 20 万行的文件。
+ *
+ * <p>按错误率抽取的行会被改写一个单元格为导入校验必然拒绝的值（年龄含中文、接诊时间小时超出范围、〖HHmm〗时间超出范围等），
+ * 其余单元格均为合法格式。相同参数与随机种子生成的内容相同。
+ *
+ * <p>仅用于压测，放在测试源码中、不进入生产包；通过测试类路径运行 {@link #main(String[])}
+ * （如 {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.demo.utils.ImportWorkbookGenerator -Dexec.args="import.xlsx 200000 0.01"}）。
+ *
+ * @author system
+ */
+public final class ImportWorkbookGenerator {
+
+    public static final int MAX_PATIENTS = 200000;
+
+    public static final String DATA_SHEET_NAME = "导入数据";
+
+    public static final String MANIFEST_SHEET_NAME = "生成说明";
+
+    /**
+     * SXSSF 内存中保留的行数
+     */
+    private static final int ROW_ACCESS_WINDOW = 200;
+
+    private static final String[] BODY_PARTS = {"headNeck", "face", "chest", "abdomen", "limbs", "body"};
+
+    private static final String[] BODY_PART_SCORE_COLUMNS = {
+            IssColumnConstants.HEAD_NECK, IssColumnConstants.FACE, IssColumnConstants.CHEST,
+            IssColumnConstants.ABDOMEN, IssColumnConstants.LIMBS, IssColumnConstants.BODY
+    };
+
+    private static final String[] TIME_VALUE_COLUMNS = {
+            InterventionTimeColumnConstants.PERIPHERAL, InterventionTimeColumnConstants.IV_LINE,
+            InterventionTimeColumnConstants.CENTRAL_ACCESS, InterventionTimeColumnConstants.NASAL_PIPE,
+            InterventionTimeColumnConstants.FACE_MASK, InterventionTimeColumnConstants.ENDOTRACHEAL_TUBE,
+            InterventionTimeColumnConstants.TOURNIQUET
+    };
+
+    private static final String[] YES_TIME_COLUMNS = {
+            InterventionTimeColumnConstants.ULTRASOUND, InterventionTimeColumnConstants.CT,
+            InterventionTimeColumnConstants.BLOOD_DRAW, InterventionTimeColumnConstants.CATHETER,
+            InterventionTimeColumnConstants.GASTRIC_TUBE
+    };
+
+    private static final String[] YES_NO_COLUMNS = {
+            InterventionTimeColumnConstants.CPR, InterventionTimeColumnConstants.TRANSFUSION,
+            InterventionTimeColumnConstants.DEATH
+    };
+
+    private static final String[] EYE_OPENING = {"无反应", "刺痛睁眼", "呼唤睁眼", "自动睁眼"};
+
+    private static final String[] VERBAL_RESPONSE = {"无反应", "只能发音", "言语不清", "回答错误", "回答正确"};
+
+    private static final String[] MOTOR_RESPONSE = {"无反应", "过伸", "屈曲", "逃避", "定位", "遵嘱"};
+
+    private static final String[] SURNAMES = {"张", "王", "李", "赵", "刘", "陈", "杨", "黄", "周", "吴", "徐", "孙", "朱", "马", "胡", "郭"};
+
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "强", "磊", "军", "洋", "勇", "艳", "杰", "涛", "明", "超", "霞", "平", "刚"};
+
+    private static final String[] ROADS = {"曹安公路", "沪宜公路", "嘉松北路", "博园路", "墨玉南路", "胜辛路", "白银路", "城中路", "叶城路", "塔新路", "安亭路", "陈翔路"};
+
+    private static final String[] PLACES = {"南苑小区", "嘉宝梦之缘小区", "汽车城工业园", "嘉定新城万达广场", "江桥万达广场", "马陆工业园区", "安亭镇工厂", "菊园新区"};
+
+    private static final String[] STATIONS = {"嘉定分站", "南翔分站", "安亭分站", "马陆分站", "江桥分站", "外冈分站", "华亭分站", "徐行分站"};
+
+    private static final String[] ARRIVAL_METHODS = {"120救护车", "自行来院", "外院转入", "110警车"};
+
+    private static final String[] INJURY_CAUSES = {"交通伤", "交通伤", "交通伤", "高坠伤", "机械伤", "跌倒", "跌倒", "其他:〖刀刺伤〗", "其他:〖重物砸伤〗"};
+
+    private static final String[] DESTINATIONS = {"病房", "ICU", "手术室", "离院", "转院"};
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final DateTimeFormatter LEAVE_TIME_FORMATTER = DateTimeFormatter.ofPattern("MM-dd HHmm");
+
+    private static final LocalDate FIRST_ADMISSION_DATE = LocalDate.of(2023, 1, 1);
+
+    private static final int ADMISSION_DAYS = 730;
+
+    /**
+     * 各部位分值 -> 详细伤情列名，部位按 BODY_PARTS 顺序、分值升序
+     */
+    private static final Map<String, TreeMap<Integer, List<String>>> DETAIL_COLUMNS = new LinkedHashMap<>();
+
+    /**
+     * 列名（去除首尾空白）-> 列下标
+     */
+    private static final Map<String, Integer> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        Map<String, Map<Integer, List<String>>> mapping = BodyPartScoreMapping.getMapping();
+        for (String part : BODY_PARTS) {
+            DETAIL_COLUMNS.put(part, new TreeMap<>(mapping.get(part)));
+        }
+
+        addColumns(PatientColumnConstants.PATIENT_ID, PatientColumnConstants.NAME, PatientColumnConstants.GENDER,
+                PatientColumnConstants.AGE, PatientColumnConstants.IS_GREEN_CHANNEL, PatientColumnConstants.HEIGHT,
+                PatientColumnConstants.WEIGHT);
+        addColumns(InjuryRecordColumnConstants.ADMISSION_DATE, InjuryRecordColumnConstants.ADMISSION_TIME,
+                InjuryRecordColumnConstants.ARRIVAL_METHOD, InjuryRecordColumnConstants.INJURY_LOCATION,
+                InjuryRecordColumnConstants.STATION_NAME, InjuryRecordColumnConstants.INJURY_CAUSE);
+        addColumns(PatientInfoOnAdmissionColumnConstants.SYSTOLIC_BP, PatientInfoOnAdmissionColumnConstants.DIASTOLIC_BP,
+                PatientInfoOnAdmissionColumnConstants.HEART_RATE, PatientInfoOnAdmissionColumnConstants.RESPIRATORY_RATE,
+                PatientInfoOnAdmissionColumnConstants.MEDICAL_HISTORY, PatientInfoOnAdmissionColumnConstants.TEMPERATURE,
+                PatientInfoOnAdmissionColumnConstants.OXYGEN_SATURATION, PatientInfoOnAdmissionColumnConstants.CONSCIOUSNESS,
+                PatientInfoOnAdmissionColumnConstants.SKIN, PatientInfoOnAdmissionColumnConstants.DRUNK,
+                PatientInfoOnAdmissionColumnConstants.PUPIL, PatientInfoOnAdmissionColumnConstants.LIGHT_REFLEX);
+        addColumns(GcsScoreColumnConstants.EYE_OPENING, GcsScoreColumnConstants.VERBAL_RESPONSE,
+                GcsScoreColumnConstants.MOTOR_RESPONSE, GcsScoreColumnConstants.TOTAL_SCORE);
+        addColumns(RtsScoreColumnConstants.GCS_SCORE, RtsScoreColumnConstants.SBP_SCORE, RtsScoreColumnConstants.RR_SCORE);
+        addColumns(TIME_VALUE_COLUMNS);
+        addColumns(InterventionTimeColumnConstants.VENTILATOR, InterventionTimeColumnConstants.CPR,
+                InterventionTimeColumnConstants.CPR_START_TIME, InterventionTimeColumnConstants.CPR_END_TIME);
+        addColumns(YES_TIME_COLUMNS);
+        addColumns(InterventionTimeColumnConstants.TRANSFUSION, InterventionTimeColumnConstants.TRANSFUSION_START,
+                InterventionTimeColumnConstants.TRANSFUSION_END, InterventionTimeColumnConstants.LEAVE_SURGERY_TIME,
+                InterventionTimeColumnConstants.PATIENT_DESTINATION, InterventionTimeColumnConstants.DEATH,
+                InterventionTimeColumnConstants.DEATH_DATE, InterventionTimeColumnConstants.DEATH_TIME);
+        addColumns(InterventionExtraColumnConstants.OXYGEN_CONCENTRATION, InterventionExtraColumnConstants.DEFIBRILLATION,
+                InterventionExtraColumnConstants.LIMB_AMPUTATION, InterventionExtraColumnConstants.TRANSFUSION_REACTION,
+                InterventionExtraColumnConstants.SUSPENDED_RED_UNITS, InterventionExtraColumnConstants.PLASMA_UNITS,
+                InterventionExtraColumnConstants.PLATELETS_AMOUNT, InterventionExtraColumnConstants.CRYOPRECIPITATE_UNITS,
+                InterventionExtraColumnConstants.OTHER_TRANSFUSION, InterventionExtraColumnConstants.THERAPEUTIC_OPERATION,
+                InterventionExtraColumnConstants.CONSULTATION_DEPT, InterventionExtraColumnConstants.ADMINISTRATIVE_DEPT);
+        addColumns(PatientInfoOffAdmissionColumnConstants.TEMPERATURE, PatientInfoOffAdmissionColumnConstants.RESPIRATORY_RATE,
+                PatientInfoOffAdmissionColumnConstants.HEART_RATE, PatientInfoOffAdmissionColumnConstants.SYSTOLIC_BP,
+                PatientInfoOffAdmissionColumnConstants.DIASTOLIC_BP, PatientInfoOffAdmissionColumnConstants.OXYGEN_SATURATION,
+                PatientInfoOffAdmissionColumnConstants.TOTAL_FLUID_VOLUME, PatientInfoOffAdmissionColumnConstants.SALINE_SOLUTION,
+                PatientInfoOffAdmissionColumnConstants.BALANCED_SOLUTION, PatientInfoOffAdmissionColumnConstants.ARTIFICIAL_COLLOID,
+                PatientInfoOffAdmissionColumnConstants.OTHER_FLUID, PatientInfoOffAdmissionColumnConstants.URINE_OUTPUT,
+                PatientInfoOffAdmissionColumnConstants.OTHER_DRAINAGE, PatientInfoOffAdmissionColumnConstants.BLOOD_LOSS);
+        addColumns(IssColumnConstants.ISS_SCORE);
+        addColumns(BODY_PART_SCORE_COLUMNS);
+        for (TreeMap<Integer, List<String>> partColumns : DETAIL_COLUMNS.values()) {
+            for (List<String> columns : partColumns.values()) {
+                addColumns(columns.toArray(new String[0]));
+            }
+        }
+    }
+
+    /**
+     * 私有构造函数，防止实例化
+     */
+    private ImportWorkbookGenerator() {
+        throw new UnsupportedOperationException("工具类不允许实例化");
+    }
+
+    private static void addColumns(String... headers) {
+        for (String header : headers) {
+            COLUMNS.putIfAbsent(header.trim(), COLUMNS.size());
+        }
+    }
+
+    /**
+     * 数据工作表的列名（按列顺序）
+     */
+    public static List<String> headers() {
+        return Collections.unmodifiableList(new ArrayList<>(COLUMNS.keySet()));
+    }
+
+    /**
+     * 生成工作簿并写入文件
+     *
+     * @param file         输出文件（.xlsx），父目录不存在时自动创建
+     * @param patientCount 患者数（数据行数），1 ~ {@link #MAX_PATIENTS}
+     * @param errorRate    注入错误的行比例，0 ~ 1
+     * @param seed         随机种子
+     * @return 生成结果
+     */
+    public static Summary generate(Path file, int patientCount, double errorRate, long seed) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return generate(out, patientCount, errorRate, seed);
+        }
+    }
+
+    /**
+     * 生成工作簿并写入输出流（不关闭输出流）
+     *
+     * @param out          输出流
+     * @param patientCount 患者数（数据行数），1 ~ {@link #MAX_PATIENTS}，患者ID（序号）为 1 ~ patientCount
+     * @param errorRate    注入错误的行比例，0 ~ 1
+     * @param seed         随机种子
+     * @return 生成结果
+     */
+    public static Summary generate(OutputStream out, int patientCount, double errorRate, long seed) throws IOException {
+        if (patientCount < 1 || patientCount > MAX_PATIENTS) {
+            throw new IllegalArgumentException("患者数必须在1到" + MAX_PATIENTS + "之间");
+        }
+        if (!(errorRate >= 0 && errorRate <= 1)) {
+            throw new IllegalArgumentException("错误率必须在0到1之间");
+        }
+
+        Random random = new Random(seed);
+        List<InjectedError> injectedErrors = new ArrayList<>();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet(DATA_SHEET_NAME);
+            Row headerRow = sheet.createRow(0);
+            for (Map.Entry<String, Integer> column : COLUMNS.entrySet()) {
+                headerRow.createCell(column.getValue()).setCellValue(column.getKey());
+            }
+
+            Object[] values = new Object[COLUMNS.size()];
+            for (int patientId = 1; patientId <= patientCount; patientId++) {
+                Arrays.fill(values, null);
+                fillPatient(values, patientId, random);
+                if (errorRate > 0 && random.nextDouble() < errorRate) {
+                    injectedErrors.add(injectError(values, patientId, random));
+                }
+                writeRow(sheet.createRow(patientId), values);
+            }
+
+            writeManifest(workbook.createSheet(MANIFEST_SHEET_NAME), patientCount, errorRate, seed, injectedErrors);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        return new Summary(patientCount, COLUMNS.size(), injectedErrors);
+    }
+
+    private static void writeRow(Row row, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    private static void writeManifest(Sheet sheet, int patientCount, double errorRate, long seed, List<InjectedError> errors) {
+        int rowIndex = 0;
+        rowIndex = writeManifestRow(sheet, rowIndex, "随机种子", seed);
+        rowIndex = writeManifestRow(sheet, rowIndex, "患者数", patientCount);
+        rowIndex = writeManifestRow(sheet, rowIndex, "错误率", errorRate);
+        rowIndex = writeManifestRow(sheet, rowIndex, "注入错误行数", errors.size());
+        rowIndex++;
+        Row header = sheet.createRow(rowIndex++);
+        String[] titles = {"Excel行号", "序号", "列名", "注入值", "预期错误"};
+        for (int i = 0; i < titles.length; i++) {
+            header.createCell(i).setCellValue(titles[i]);
+        }
+        for (InjectedError error : errors) {
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(error.getExcelRowNumber());
+            row.createCell(1).setCellValue(error.getPatientId());
+            row.createCell(2).setCellValue(error.getColumn());
+            row.createCell(3).setCellValue(error.getValue());
+            row.createCell(4).setCellValue(error.getReason());
+        }
+    }
+
+    private static int writeManifestRow(Sheet sheet, int rowIndex, String name, Object value) {
+        Row row = sheet.createRow(rowIndex);
+        row.createCell(0).setCellValue(name);
+        row.createCell(1).setCellValue(String.valueOf(value));
+        return rowIndex + 1;
+    }
+
+    private static void put(Object[] values, String column, Object value) {
+        values[COLUMNS.get(column.trim())] = value;
+    }
+
+    private static Object get(Object[] values, String column) {
+        return values[COLUMNS.get(column.trim())];
+    }
+
+    private static void fillPatient(Object[] values, int patientId, Random random) {
+        // 患者基本信息
+        put(values, PatientColumnConstants.PATIENT_ID, patientId);
+        put(values, PatientColumnConstants.NAME, pick(random, SURNAMES) + pick(random, GIVEN_NAMES)
+                + (random.nextBoolean() ? pick(random, GIVEN_NAMES) : ""));
+        boolean male = random.nextInt(100) < 68;
+        put(values, PatientColumnConstants.GENDER, male ? "男" : "女");
+        put(values, PatientColumnConstants.AGE, 1 + random.nextInt(95));
+        put(values, PatientColumnConstants.IS_GREEN_CHANNEL, random.nextInt(100) < 15 ? "是" : "否");
+        put(values, PatientColumnConstants.HEIGHT, round1((male ? 168 : 158) + random.nextGaussian() * 7));
+        put(values, PatientColumnConstants.WEIGHT, round1((male ? 70 : 58) + random.nextGaussian() * 10));
+
+        // 创伤病例
+        LocalDateTime admission = FIRST_ADMISSION_DATE.plusDays(random.nextInt(ADMISSION_DAYS)).atStartOfDay()
+                .plusMinutes(random.nextInt(24 * 60));
+        put(values, InjuryRecordColumnConstants.ADMISSION_DATE, admission.format(DATE_FORMATTER));
+        put(values, InjuryRecordColumnConstants.ADMISSION_TIME, hhmm(admission));
+        put(values, InjuryRecordColumnConstants.ARRIVAL_METHOD, pick(random, ARRIVAL_METHODS));
+        put(values, InjuryRecordColumnConstants.INJURY_LOCATION, address(random));
+        put(values, InjuryRecordColumnConstants.STATION_NAME, pick(random, STATIONS));
+        put(values, InjuryRecordColumnConstants.INJURY_CAUSE, pick(random, INJURY_CAUSES));
+
+        // 入室生命体征
+        int severity = random.nextInt(100);
+        int systolic = severity < 8 ? 50 + random.nextInt(40) : 95 + random.nextInt(70);
+        int respiratoryRate = severity < 8 ? 6 + random.nextInt(30) : 12 + random.nextInt(14);
+        put(values, PatientInfoOnAdmissionColumnConstants.SYSTOLIC_BP, systolic);
+        put(values, PatientInfoOnAdmissionColumnConstants.DIASTOLIC_BP, systolic / 2 + 10 + random.nextInt(20));
+        put(values, PatientInfoOnAdmissionColumnConstants.HEART_RATE, 55 + random.nextInt(70));
+        put(values, PatientInfoOnAdmissionColumnConstants.RESPIRATORY_RATE, respiratoryRate);
+        put(values, PatientInfoOnAdmissionColumnConstants.MEDICAL_HISTORY, pick(random, "无", "无", "无", "高血压", "糖尿病", "冠心病"));
+        put(values, PatientInfoOnAdmissionColumnConstants.TEMPERATURE, round1(36.2 + random.nextDouble() * 1.6));
+        put(values, PatientInfoOnAdmissionColumnConstants.OXYGEN_SATURATION, severity < 8 ? 82 + random.nextInt(12) : 94 + random.nextInt(7));
+        put(values, PatientInfoOnAdmissionColumnConstants.SKIN, severity < 8 ? pick(random, "苍白", "湿冷") : "正常");
+        put(values, PatientInfoOnAdmissionColumnConstants.DRUNK, random.nextInt(100) < 6 ? "是" : "否");
+        put(values, PatientInfoOnAdmissionColumnConstants.PUPIL, severity < 8 ? pick(random, "等大等圆", "不等大") : "等大等圆");
+        put(values, PatientInfoOnAdmissionColumnConstants.LIGHT_REFLEX, severity < 8 ? pick(random, "迟钝", "消失") : "灵敏");
+
+        // GCS：多数为清醒
+        int eye = severity < 8 ? 1 + random.nextInt(4) : 4;
+        int verbal = severity < 8 ? 1 + random.nextInt(5) : 4 + random.nextInt(2);
+        int motor = severity < 8 ? 1 + random.nextInt(6) : 6;
+        int gcsTotal = eye + verbal + motor;
+        put(values, GcsScoreColumnConstants.EYE_OPENING, EYE_OPENING[eye - 1]);
+        put(values, GcsScoreColumnConstants.VERBAL_RESPONSE, VERBAL_RESPONSE[verbal - 1]);
+        put(values, GcsScoreColumnConstants.MOTOR_RESPONSE, MOTOR_RESPONSE[motor - 1]);
+        put(values, GcsScoreColumnConstants.TOTAL_SCORE, gcsTotal);
+        put(values, PatientInfoOnAdmissionColumnConstants.CONSCIOUSNESS, gcsTotal >= 13 ? "清醒" : gcsTotal >= 9 ? "嗜睡" : "昏迷");
+
+        // RTS 编码值
+        put(values, RtsScoreColumnConstants.GCS_SCORE, gcsTotal >= 13 ? 4 : gcsTotal >= 9 ? 3 : gcsTotal >= 6 ? 2 : gcsTotal >= 4 ? 1 : 0);
+        put(values, RtsScoreColumnConstants.SBP_SCORE, systolic > 89 ? 4 : systolic >= 76 ? 3 : systolic >= 50 ? 2 : 1);
+        put(values, RtsScoreColumnConstants.RR_SCORE, respiratoryRate > 29 ? 3 : respiratoryRate >= 10 ? 4 : 2);
+
+        boolean critical = severity < 8;
+        fillInterventions(values, admission, critical, random);
+        fillExtraAndOffAdmission(values, critical, random);
+        fillIss(values, critical, random);
+    }
+
+    private static void fillInterventions(Object[] values, LocalDateTime admission, boolean critical, Random random) {
+        for (String column : TIME_VALUE_COLUMNS) {
+            boolean done = InterventionTimeColumnConstants.PERIPHERAL.equals(column) ? random.nextInt(100) < 85
+                    : random.nextInt(100) < (critical ? 60 : 20);
+            put(values, column, done ? "有:〖" + hhmm(admission.plusMinutes(2 + random.nextInt(60))) + "〗" : "无");
+        }
+        put(values, InterventionTimeColumnConstants.VENTILATOR, critical && random.nextBoolean()
+                ? "有，开始时间:〖" + hhmm(admission.plusMinutes(10 + random.nextInt(60))) + "〗" : "无");
+
+        boolean cpr = critical && random.nextInt(100) < 30;
+        put(values, InterventionTimeColumnConstants.CPR, cpr ? "是" : "否");
+        if (cpr) {
+            LocalDateTime start = admission.plusMinutes(random.nextInt(20));
+            put(values, InterventionTimeColumnConstants.CPR_START_TIME, hhmm(start));
+            put(values, InterventionTimeColumnConstants.CPR_END_TIME, hhmm(start.plusMinutes(10 + random.nextInt(50))));
+        }
+
+        for (String column : YES_TIME_COLUMNS) {
+            boolean done = random.nextInt(100) < (critical ? 80 : 45);
+            put(values, column, done ? "是:〖" + hhmm(admission.plusMinutes(5 + random.nextInt(90))) + "〗" : "否");
+        }
+
+        boolean transfusion = random.nextInt(100) < (critical ? 70 : 8);
+        put(values, InterventionTimeColumnConstants.TRANSFUSION, transfusion ? "是" : "否");
+        if (transfusion) {
+            LocalDateTime start = admission.plusMinutes(15 + random.nextInt(60));
+            put(values, InterventionTimeColumnConstants.TRANSFUSION_START, hhmm(start));
+            put(values, InterventionTimeColumnConstants.TRANSFUSION_END, hhmm(start.plusMinutes(30 + random.nextInt(120))));
+        }
+
+        LocalDateTime leave = admission.plusMinutes(30 + random.nextInt(300));
+        put(values, InterventionTimeColumnConstants.LEAVE_SURGERY_TIME, leave.format(LEAVE_TIME_FORMATTER));
+
+        boolean death = critical && random.nextInt(100) < 25;
+        put(values, InterventionTimeColumnConstants.DEATH, death ? "是" : "否");
+        if (death) {
+            put(values, InterventionTimeColumnConstants.PATIENT_DESTINATION, "死亡");
+            put(values, InterventionTimeColumnConstants.DEATH_DATE, leave.format(DATE_FORMATTER));
+            put(values, InterventionTimeColumnConstants.DEATH_TIME, hhmm(leave));
+        } else {
+            put(values, InterventionTimeColumnConstants.PATIENT_DESTINATION, critical ? pick(random, "ICU", "手术室") : pick(random, DESTINATIONS));
+        }
+    }
+
+    private static void fillExtraAndOffAdmission(Object[] values, boolean critical, Random random) {
+        boolean transfusion = "是".equals(get(values, InterventionTimeColumnConstants.TRANSFUSION));
+        put(values, InterventionExtraColumnConstants.OXYGEN_CONCENTRATION, critical ? 40 + random.nextInt(61) : 21 + random.nextInt(20));
+        put(values, InterventionExtraColumnConstants.DEFIBRILLATION, critical && random.nextInt(100) < 15 ? "是" : "否");
+        put(values, InterventionExtraColumnConstants.LIMB_AMPUTATION, random.nextInt(1000) < 5 ? "是" : "否");
+        put(values, InterventionExtraColumnConstants.TRANSFUSION_REACTION, transfusion && random.nextInt(100) < 3 ? "是" : "否");
+        if (transfusion) {
+            put(values, InterventionExtraColumnConstants.SUSPENDED_RED_UNITS, 2 + random.nextInt(7));
+            put(values, InterventionExtraColumnConstants.PLASMA_UNITS, 200 * (1 + random.nextInt(4)));
+            put(values, InterventionExtraColumnConstants.PLATELETS_AMOUNT, random.nextInt(2));
+            put(values, InterventionExtraColumnConstants.CRYOPRECIPITATE_UNITS, random.nextInt(11));
+            put(values, InterventionExtraColumnConstants.OTHER_TRANSFUSION, 0);
+        }
+        put(values, InterventionExtraColumnConstants.THERAPEUTIC_OPERATION, pick(random, "无", "无", "清创缝合", "胸腔闭式引流", "夹板固定"));
+        put(values, InterventionExtraColumnConstants.CONSULTATION_DEPT, pick(random, "无", "骨科", "神经外科", "普外科", "胸外科"));
+        put(values, InterventionExtraColumnConstants.ADMINISTRATIVE_DEPT, "急诊科");
+
+        int systolic = critical ? 80 + random.nextInt(40) : 100 + random.nextInt(50);
+        put(values, PatientInfoOffAdmissionColumnConstants.TEMPERATURE, round1(36.2 + random.nextDouble() * 1.2));
+        put(values, PatientInfoOffAdmissionColumnConstants.RESPIRATORY_RATE, 12 + random.nextInt(12));
+        put(values, PatientInfoOffAdmissionColumnConstants.HEART_RATE, 60 + random.nextInt(50));
+        put(values, PatientInfoOffAdmissionColumnConstants.SYSTOLIC_BP, systolic);
+        put(values, PatientInfoOffAdmissionColumnConstants.DIASTOLIC_BP, systolic / 2 + 10 + random.nextInt(20));
+        put(values, PatientInfoOffAdmissionColumnConstants.OXYGEN_SATURATION, 93 + random.nextInt(8));
+        int saline = 100 * random.nextInt(critical ? 16 : 6);
+        int balanced = 100 * random.nextInt(critical ? 11 : 4);
+        int colloid = critical ? 250 * random.nextInt(3) : 0;
+        int other = 0;
+        put(values, PatientInfoOffAdmissionColumnConstants.TOTAL_FLUID_VOLUME, saline + balanced + colloid + other);
+        put(values, PatientInfoOffAdmissionColumnConstants.SALINE_SOLUTION, saline);
+        put(values, PatientInfoOffAdmissionColumnConstants.BALANCED_SOLUTION, balanced);
+        put(values, PatientInfoOffAdmissionColumnConstants.ARTIFICIAL_COLLOID, colloid);
+        put(values, PatientInfoOffAdmissionColumnConstants.OTHER_FLUID, other);
+        put(values, PatientInfoOffAdmissionColumnConstants.URINE_OUTPUT, 50 * random.nextInt(12));
+        put(values, PatientInfoOffAdmissionColumnConstants.OTHER_DRAINAGE, critical ? 50 * random.nextInt(10) : 0);
+        put(values, PatientInfoOffAdmissionColumnConstants.BLOOD_LOSS, critical ? 100 * random.nextInt(15) : 10 * random.nextInt(10));
+    }
+
+    /**
+     * ISS：各部位分值（多个分值以“┋”分隔）、每个分值勾选一项详细伤情列，总分为最重三个部位最高分平方和，任一部位6分时为75
+     */
+    private static void fillIss(Object[] values, boolean critical, Random random) {
+        int[] maxScores = new int[BODY_PARTS.length];
+        for (int p = 0; p < BODY_PARTS.length; p++) {
+            TreeMap<Integer, List<String>> partColumns = DETAIL_COLUMNS.get(BODY_PARTS[p]);
+            if (random.nextInt(100) >= (critical ? 60 : 25)) {
+                put(values, BODY_PART_SCORE_COLUMNS[p], "无");
+                continue;
+            }
+            int topScore = partColumns.lastKey();
+            int score = critical ? Math.min(topScore, 3 + random.nextInt(4)) : Math.min(topScore, 1 + random.nextInt(3));
+            List<Integer> scores = new ArrayList<>();
+            if (score > 1 && random.nextInt(100) < 15) {
+                scores.add(1 + random.nextInt(score - 1));
+            }
+            scores.add(score);
+            StringBuilder scoreText = new StringBuilder();
+            for (Integer s : scores) {
+                if (scoreText.length() > 0) {
+                    scoreText.append('┋');
+                }
+                scoreText.append(s);
+                put(values, pick(random, partColumns.get(s).toArray(new String[0])), 1);
+            }
+            put(values, BODY_PART_SCORE_COLUMNS[p], scoreText.toString());
+            maxScores[p] = score;
+        }
+        int[] sorted = maxScores.clone();
+        Arrays.sort(sorted);
+        int iss = sorted[sorted.length - 1] == 6 ? 75
+                : sorted[sorted.length - 1] * sorted[sorted.length - 1]
+                + sorted[sorted.length - 2] * sorted[sorted.length - 2]
+                + sorted[sorted.length - 3] * sorted[sorted.length - 3];
+        put(values, IssColumnConstants.ISS_SCORE, iss);
+    }
+
+    /**
+     * 把一个单元格改写为导入校验会拒绝的值
+     */
+    private static InjectedError injectError(Object[] values, int patientId, Random random) {
+        String column;
+        String value;
+        String reason;
+        switch (random.nextInt(9)) {
+            case 0:
+                column = PatientColumnConstants.AGE;
+                value = "三十岁";
+                reason = "年龄包含中文";
+                break;
+            case 1:
+                column = PatientColumnConstants.GENDER;
+                value = "未知";
+                reason = "性别只能为男或女";
+                break;
+            case 2:
+                column = PatientColumnConstants.IS_GREEN_CHANNEL;
+                value = "不详";
+                reason = "是否绿色通道只能为是或否";
+                break;
+            case 3:
+                column = PatientColumnConstants.HEIGHT;
+                value = "300";
+                reason = "身高超出范围";
+                break;
+            case 4:
+                column = InjuryRecordColumnConstants.ADMISSION_DATE;
+                value = FIRST_ADMISSION_DATE.plusDays(random.nextInt(ADMISSION_DAYS)).format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+                reason = "接诊日期不是yyyy-MM-dd格式";
+                break;
+            case 5:
+                column = InjuryRecordColumnConstants.ADMISSION_TIME;
+                value = (24 + random.nextInt(76)) + String.format("%02d", random.nextInt(60));
+                reason = "接诊时间小时超出范围";
+                break;
+            case 6:
+                column = pick(random, TIME_VALUE_COLUMNS);
+                // 〖〗内不是4位数字时导入按“无”处理而不报错，因此注入4位但超出范围的时间
+                value = "有:〖" + (24 + random.nextInt(76)) + String.format("%02d", random.nextInt(60)) + "〗";
+                reason = "〖〗中的时间小时超出范围";
+                break;
+            case 7:
+                column = pick(random, YES_NO_COLUMNS);
+                value = "不详";
+                reason = "只能为是或否";
+                break;
+            default:
+                column = pick(random, BODY_PART_SCORE_COLUMNS);
+                value = "2、3";
+                reason = "ISS部位分值多个数字未用┋或|分隔";
+                break;
+        }
+        put(values, column, value);
+        return new InjectedError(patientId + 1, patientId, column.trim(), value, reason);
+    }
+
+    private static String address(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return pick(random, ROADS) + "和" + pick(random, ROADS) + "交叉口";
+            case 1:
+                return pick(random, ROADS) + "上靠近" + pick(random, ROADS);
+            default:
+                return pick(random, PLACES);
+        }
+    }
+
+    private static String hhmm(LocalDateTime time) {
+        return String.format("%02d%02d", time.getHour(), time.getMinute());
+    }
+
+    private static double round1(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static String pick(Random random, String... options) {
+        return options[random.nextInt(options.length)];
+    }
+
+    /**
+     * 命令行入口：参数依次为 输出文件 患者数 [错误率，默认0] [随机种子，默认42]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: ImportWorkbookGenerator <输出文件.xlsx> <患者数> [错误率] [随机种子]");
+            System.exit(1);
+        }
+        double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        long start = System.currentTimeMillis();
+        Summary summary = generate(Paths.get(args[0]), Integer.parseInt(args[1]), errorRate, seed);
+        System.out.println("已生成 " + args[0] + "：患者数=" + summary.getPatientCount()
+                + "，列数=" + summary.getColumnCount()
+                + "，注入错误行数=" + summary.getInjectedErrors().size()
+                + "，耗时=" + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * 生成结果
+     */
+    public static final class Summary {
+
+        private final int patientCount;
+
+        private final int columnCount;
+
+        private final List<InjectedError> injectedErrors;
+
+        Summary(int patientCount, int columnCount, List<InjectedError> injectedErrors) {
+            this.patientCount = patientCount;
+            this.columnCount = columnCount;
+            this.injectedErrors = Collections.unmodifiableList(injectedErrors);
+        }
+
+        public int getPatientCount() {
+            return patientCount;
+        }
+
+        public int getColumnCount() {
+            return columnCount;
+        }
+
+        /**
+         * 注入的错误，按行号升序，每行至多一个
+         */
+        public List<InjectedError> getInjectedErrors() {
+            return injectedErrors;
+        }
+    }
+
+    /**
+     * 注入的错误
+     */
+    public static final class InjectedError {
+
+        private final int excelRowNumber;
+
+        private final int patientId;
+
+        private final String column;
+
+        private final String value;
+
+        private final String reason;
+
+        InjectedError(int excelRowNumber, int patientId, String column, String value, String reason) {
+            this.excelRowNumber = excelRowNumber;
+            this.patientId = patientId;
+            this.column = column;
+            this.value = value;
+            this.reason = reason;
+        }
+
+        /**
+         * Excel行号（从1开始，第1行为列名），与导入校验结果中的行号一致
+         */
+        public int getExcelRowNumber() {
+            return excelRowNumber;
+        }
+
+        public int getPatientId() {
+            return patientId;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
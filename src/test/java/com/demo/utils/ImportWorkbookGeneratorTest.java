@@ -0,0 +1,273 @@
+package com.demo.utils;
+
+import com.demo.upload.constants.GcsScoreColumnConstants;
+import com.demo.upload.constants.InjuryRecordColumnConstants;
+import com.demo.upload.constants.InterventionExtraColumnConstants;
+import com.demo.upload.constants.InterventionTimeColumnConstants;
+import com.demo.upload.constants.IssColumnConstants;
+import com.demo.upload.constants.PatientColumnConstants;
+import com.demo.upload.constants.PatientInfoOffAdmissionColumnConstants;
+import com.demo.upload.constants.PatientInfoOnAdmissionColumnConstants;
+import com.demo.upload.constants.RtsScoreColumnConstants;
+import com.demo.upload.dto.ValidationErrorDTO;
+import com.demo.upload.validator.GcsScoreFieldValidator;
+import com.demo.upload.validator.InjuryRecordFieldValidator;
+import com.demo.upload.validator.InterventionTimeFieldValidator;
+import com.demo.upload.validator.IssFieldValidator;
+import com.demo.upload.validator.PatientFieldValidator;
+import com.demo.upload.validator.RtsScoreFieldValidator;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ImportWorkbookGeneratorTest {
+
+    private static final DataFormatter FORMATTER = new DataFormatter();
+
+    private static final String[] TIME_VALUE_COLUMNS = {
+            InterventionTimeColumnConstants.PERIPHERAL, InterventionTimeColumnConstants.IV_LINE,
+            InterventionTimeColumnConstants.CENTRAL_ACCESS, InterventionTimeColumnConstants.NASAL_PIPE,
+            InterventionTimeColumnConstants.FACE_MASK, InterventionTimeColumnConstants.ENDOTRACHEAL_TUBE,
+            InterventionTimeColumnConstants.TOURNIQUET
+    };
+
+    private static final String[] YES_TIME_COLUMNS = {
+            InterventionTimeColumnConstants.ULTRASOUND, InterventionTimeColumnConstants.CT,
+            InterventionTimeColumnConstants.BLOOD_DRAW, InterventionTimeColumnConstants.CATHETER,
+            InterventionTimeColumnConstants.GASTRIC_TUBE
+    };
+
+    private static final String[] YES_NO_COLUMNS = {
+            InterventionTimeColumnConstants.CPR, InterventionTimeColumnConstants.TRANSFUSION,
+            InterventionTimeColumnConstants.DEATH
+    };
+
+    private static final String[] FOUR_DIGIT_TIME_COLUMNS = {
+            InterventionTimeColumnConstants.CPR_START_TIME, InterventionTimeColumnConstants.CPR_END_TIME,
+            InterventionTimeColumnConstants.TRANSFUSION_START, InterventionTimeColumnConstants.TRANSFUSION_END,
+            InterventionTimeColumnConstants.DEATH_TIME
+    };
+
+    private static final String[] ISS_SCORE_COLUMNS = {
+            IssColumnConstants.HEAD_NECK, IssColumnConstants.FACE, IssColumnConstants.CHEST,
+            IssColumnConstants.ABDOMEN, IssColumnConstants.LIMBS, IssColumnConstants.BODY
+    };
+
+    private final PatientFieldValidator patientValidator = new PatientFieldValidator();
+
+    private final InjuryRecordFieldValidator injuryRecordValidator = new InjuryRecordFieldValidator();
+
+    private final InterventionTimeFieldValidator interventionTimeValidator = new InterventionTimeFieldValidator();
+
+    private final IssFieldValidator issValidator = new IssFieldValidator();
+
+    private final RtsScoreFieldValidator rtsValidator = new RtsScoreFieldValidator();
+
+    private final GcsScoreFieldValidator gcsValidator = new GcsScoreFieldValidator();
+
+    @Test
+    void workbook_should_contain_required_columns_of_every_import() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImportWorkbookGenerator.Summary summary = ImportWorkbookGenerator.generate(out, 50, 0, 1L);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Map<String, Integer> columns = new HashMap<>();
+            for (Cell cell : sheet.getRow(0)) {
+                columns.put(cell.getStringCellValue().trim(), cell.getColumnIndex());
+            }
+            String[][] requiredSets = {
+                    PatientColumnConstants.REQUIRED_COLUMNS, GcsScoreColumnConstants.REQUIRED_COLUMNS,
+                    RtsScoreColumnConstants.REQUIRED_COLUMNS, IssColumnConstants.REQUIRED_COLUMNS,
+                    InjuryRecordColumnConstants.REQUIRED_COLUMNS, InterventionTimeColumnConstants.REQUIRED_COLUMNS,
+                    InterventionExtraColumnConstants.REQUIRED_COLUMNS, PatientInfoOnAdmissionColumnConstants.REQUIRED_COLUMNS,
+                    PatientInfoOffAdmissionColumnConstants.REQUIRED_COLUMNS
+            };
+            for (String[] required : requiredSets) {
+                for (String column : required) {
+                    assertThat(columns).containsKey(column.trim());
+                }
+            }
+            assertThat(columns).hasSize(summary.getColumnCount());
+            assertThat(sheet.getLastRowNum()).isEqualTo(50);
+            assertThat(summary.getInjectedErrors()).isEmpty();
+
+            Row first = sheet.getRow(1);
+            assertThat(FORMATTER.formatCellValue(first.getCell(columns.get(PatientColumnConstants.PATIENT_ID)))).isEqualTo("1");
+            assertThat(FORMATTER.formatCellValue(first.getCell(columns.get(InjuryRecordColumnConstants.ADMISSION_DATE))))
+                    .matches("\\d{4}-\\d{2}-\\d{2}");
+            assertThat(FORMATTER.formatCellValue(first.getCell(columns.get(InterventionTimeColumnConstants.PERIPHERAL))))
+                    .matches("有:〖([01]\\d|2[0-3])[0-5]\\d〗|无");
+        }
+    }
+
+    @Test
+    void injected_errors_should_be_listed_in_manifest_and_reproducible() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImportWorkbookGenerator.Summary summary = ImportWorkbookGenerator.generate(out, 200, 0.2, 42L);
+        ImportWorkbookGenerator.Summary again = ImportWorkbookGenerator.generate(new ByteArrayOutputStream(), 200, 0.2, 42L);
+
+        assertThat(summary.getInjectedErrors()).isNotEmpty();
+        assertThat(again.getInjectedErrors()).hasSameSizeAs(summary.getInjectedErrors());
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet data = workbook.getSheet(ImportWorkbookGenerator.DATA_SHEET_NAME);
+            Map<String, Integer> columns = new HashMap<>();
+            for (Cell cell : data.getRow(0)) {
+                columns.put(cell.getStringCellValue(), cell.getColumnIndex());
+            }
+            for (ImportWorkbookGenerator.InjectedError error : summary.getInjectedErrors()) {
+                Row row = data.getRow(error.getExcelRowNumber() - 1);
+                assertThat(FORMATTER.formatCellValue(row.getCell(columns.get(error.getColumn())))).isEqualTo(error.getValue());
+            }
+            Sheet manifest = workbook.getSheet(ImportWorkbookGenerator.MANIFEST_SHEET_NAME);
+            assertThat(manifest.getLastRowNum()).isEqualTo(5 + summary.getInjectedErrors().size());
+        }
+    }
+
+    @Test
+    void clean_workbook_should_pass_import_validators() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImportWorkbookGenerator.generate(out, 1000, 0, 7L);
+
+        List<ValidationErrorDTO> errors = validate(out.toByteArray());
+
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    void injected_errors_should_be_reported_by_import_validators_at_configured_rate() throws Exception {
+        double errorRate = 0.1;
+        int patientCount = 2000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImportWorkbookGenerator.Summary summary = ImportWorkbookGenerator.generate(out, patientCount, errorRate, 7L);
+
+        List<ValidationErrorDTO> errors = validate(out.toByteArray());
+
+        Set<Integer> injectedRows = summary.getInjectedErrors().stream()
+                .map(ImportWorkbookGenerator.InjectedError::getExcelRowNumber)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<Integer> reportedRows = errors.stream()
+                .map(ValidationErrorDTO::getRow)
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertThat(reportedRows).isEqualTo(injectedRows);
+        for (ImportWorkbookGenerator.InjectedError injected : summary.getInjectedErrors()) {
+            assertThat(errors).anySatisfy(error -> {
+                assertThat(error.getRow()).isEqualTo(injected.getExcelRowNumber());
+                assertThat(error.getPatientId()).isEqualTo(injected.getPatientId());
+            });
+        }
+        assertThat((double) reportedRows.size() / patientCount).isCloseTo(errorRate, within(0.02));
+    }
+
+    @Test
+    void out_of_range_arguments_should_be_rejected() {
+        assertThatThrownBy(() -> ImportWorkbookGenerator.generate(new ByteArrayOutputStream(), 0, 0, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImportWorkbookGenerator.generate(new ByteArrayOutputStream(), 10, 1.5, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 按各表导入服务的顺序对每一行调用导入校验器，返回全部校验错误
+     */
+    private List<ValidationErrorDTO> validate(byte[] workbookBytes) throws Exception {
+        List<ValidationErrorDTO> errors = new ArrayList<>();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(workbookBytes))) {
+            Sheet sheet = workbook.getSheet(ImportWorkbookGenerator.DATA_SHEET_NAME);
+            Map<String, Integer> columns = new HashMap<>();
+            for (Cell cell : sheet.getRow(0)) {
+                columns.put(cell.getStringCellValue().trim(), cell.getColumnIndex());
+            }
+            for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                validateRow(sheet.getRow(r), r + 1, columns, errors);
+            }
+        }
+        return errors;
+    }
+
+    private void validateRow(Row row, int excelRow, Map<String, Integer> columns, List<ValidationErrorDTO> errors) {
+        Integer patientId = patientValidator.validatePatientId(row, column(columns, PatientColumnConstants.PATIENT_ID), excelRow, errors);
+        assertThat(patientId).isEqualTo(excelRow - 1);
+
+        patientValidator.validateGender(row, column(columns, PatientColumnConstants.GENDER), excelRow, patientId, errors);
+        patientValidator.validateAge(row, column(columns, PatientColumnConstants.AGE), excelRow, patientId, errors);
+        patientValidator.validateIsGreenChannel(row, column(columns, PatientColumnConstants.IS_GREEN_CHANNEL), excelRow, patientId, errors);
+        patientValidator.validateHeight(row, column(columns, PatientColumnConstants.HEIGHT), excelRow, patientId, errors);
+        patientValidator.validateWeight(row, column(columns, PatientColumnConstants.WEIGHT), excelRow, patientId, errors);
+
+        injuryRecordValidator.validateAdmissionDate(row, column(columns, InjuryRecordColumnConstants.ADMISSION_DATE), excelRow, patientId, errors);
+        injuryRecordValidator.validateAdmissionTime(row, column(columns, InjuryRecordColumnConstants.ADMISSION_TIME), excelRow, patientId, errors);
+
+        // 干预时间导入自行校验接诊日期/时间，再用它们推算离开抢救室日期；同一单元格的重复错误只影响错误条数，不影响错误行
+        LocalDate admissionDate = interventionTimeValidator.validateAdmissionDate(
+                row, column(columns, InterventionTimeColumnConstants.ADMISSION_DATE), excelRow, patientId, errors);
+        String admissionTime = interventionTimeValidator.validateAdmissionTime(
+                row, column(columns, InterventionTimeColumnConstants.ADMISSION_TIME), excelRow, patientId, errors);
+        for (String name : TIME_VALUE_COLUMNS) {
+            interventionTimeValidator.validateTimeValueField(row, column(columns, name), excelRow, patientId, name, errors);
+        }
+        interventionTimeValidator.validateVentilatorField(row, column(columns, InterventionTimeColumnConstants.VENTILATOR), excelRow, patientId, errors);
+        for (String name : YES_NO_COLUMNS) {
+            interventionTimeValidator.validateYesNoField(row, column(columns, name), excelRow, patientId, name, errors);
+        }
+        for (String name : FOUR_DIGIT_TIME_COLUMNS) {
+            interventionTimeValidator.validate4DigitTimeField(row, column(columns, name), excelRow, patientId, name, errors);
+        }
+        for (String name : YES_TIME_COLUMNS) {
+            interventionTimeValidator.validateYesNoTimeField(row, column(columns, name), excelRow, patientId, name, errors);
+        }
+        interventionTimeValidator.validateDeathDate(row, column(columns, InterventionTimeColumnConstants.DEATH_DATE), excelRow, patientId, errors);
+        if (admissionDate != null && admissionTime != null) {
+            interventionTimeValidator.parseLeaveSurgeryTime(row, column(columns, InterventionTimeColumnConstants.LEAVE_SURGERY_TIME),
+                    excelRow, patientId, admissionDate, admissionTime, errors);
+        }
+
+        for (String name : ISS_SCORE_COLUMNS) {
+            issValidator.validateIssScore(row, column(columns, name), excelRow, patientId, name, errors);
+        }
+
+        String[][] rtsScores = {
+                {RtsScoreColumnConstants.GCS_SCORE, "RTS评分—GCS"},
+                {RtsScoreColumnConstants.SBP_SCORE, "收缩压"},
+                {RtsScoreColumnConstants.RR_SCORE, "呼吸频率"}
+        };
+        for (String[] score : rtsScores) {
+            String raw = FORMATTER.formatCellValue(row.getCell(column(columns, score[0])));
+            if (!rtsValidator.isValidScoreRange(rtsValidator.cleanInt(raw), score[1])) {
+                errors.add(new ValidationErrorDTO(excelRow, patientId, score[1], raw, "RTS分值超出0-4范围"));
+            }
+        }
+
+        String eye = FORMATTER.formatCellValue(row.getCell(column(columns, GcsScoreColumnConstants.EYE_OPENING)));
+        String verbal = FORMATTER.formatCellValue(row.getCell(column(columns, GcsScoreColumnConstants.VERBAL_RESPONSE)));
+        String motor = FORMATTER.formatCellValue(row.getCell(column(columns, GcsScoreColumnConstants.MOTOR_RESPONSE)));
+        if (gcsValidator.getEyeOpeningScore(eye) == null || gcsValidator.getVerbalResponseScore(verbal) == null
+                || gcsValidator.getMotorResponseScore(motor) == null) {
+            errors.add(new ValidationErrorDTO(excelRow, patientId, "GCS", eye + "/" + verbal + "/" + motor, "GCS描述无法识别"));
+        }
+    }
+
+    private static Integer column(Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name.trim());
+        assertThat(index).as("列 %s", name).isNotNull();
+        return index;
+    }
+}
@@ -0,0 +1,181 @@
+package com.demo.utils;
+
+import com.demo.dto.InterventionStatisticsRowDTO;
+import com.demo.dto.InterventionTimeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterventionDurationUtilsTest {
+
+    /**
+     * 原 PatientStatisticsServiceImpl 中基于 LocalDateTime 的实现，作为等价性对照
+     */
+    private static Long referenceMinutes(String admissionDate, String admissionTime, String leaveDate, String leaveTime) {
+        try {
+            LocalDateTime admission = referenceParse(admissionDate, admissionTime);
+            LocalDateTime leave = referenceParse(leaveDate, leaveTime);
+            if (admission == null || leave == null) {
+                return null;
+            }
+            long minutes = ChronoUnit.MINUTES.between(admission, leave);
+            if (minutes < 0) {
+                return null;
+            }
+            long daysDiff = ChronoUnit.DAYS.between(admission.toLocalDate(), leave.toLocalDate());
+            if (daysDiff > 7) {
+                if (leave.toLocalTime().isBefore(admission.toLocalTime()) && daysDiff > 30) {
+                    LocalDateTime corrected = LocalDateTime.of(admission.toLocalDate().plusDays(1), leave.toLocalTime());
+                    long correctedMinutes = ChronoUnit.MINUTES.between(admission, corrected);
+                    if (correctedMinutes >= 0 && correctedMinutes <= 2880) {
+                        return correctedMinutes;
+                    }
+                }
+                return null;
+            }
+            return minutes;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime referenceParse(String dateStr, String timeStr) {
+        try {
+            if (dateStr == null || timeStr == null || timeStr.length() != 4) {
+                return null;
+            }
+            LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
+            int hour = Integer.parseInt(timeStr.substring(0, 2));
+            int minute = Integer.parseInt(timeStr.substring(2, 4));
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return null;
+            }
+            return LocalDateTime.of(date, LocalTime.of(hour, minute));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void assertSameAsReference(String admissionDate, String admissionTime, String leaveDate, String leaveTime) {
+        Long expected = referenceMinutes(admissionDate, admissionTime, leaveDate, leaveTime);
+        long actual = InterventionDurationUtils.minutesBetween(admissionDate, admissionTime, leaveDate, leaveTime);
+        assertThat(actual)
+                .as("%s %s -> %s %s", admissionDate, admissionTime, leaveDate, leaveTime)
+                .isEqualTo(expected == null ? InterventionDurationUtils.INVALID : expected);
+    }
+
+    @Test
+    void minutes_between_should_handle_typical_and_cross_day_stays() {
+        assertThat(InterventionDurationUtils.minutesBetween("2024-11-26", "2326", "2024-11-27", "0030")).isEqualTo(64);
+        assertThat(InterventionDurationUtils.minutesBetween("2024-03-01", "0800", "2024-03-01", "0845")).isEqualTo(45);
+        assertThat(InterventionDurationUtils.minutesBetween("2024-03-01", "0800", "2024-03-01", "0759"))
+                .isEqualTo(InterventionDurationUtils.INVALID);
+    }
+
+    @Test
+    void minutes_between_should_correct_mistyped_leave_date() {
+        // 离室日期录错为次年，离室时刻早于入室时刻，按入室次日修正
+        assertThat(InterventionDurationUtils.minutesBetween("2024-11-26", "2326", "2025-10-27", "0030")).isEqualTo(64);
+        // 日期差在 8-30 天之间不修正
+        assertThat(InterventionDurationUtils.minutesBetween("2024-11-26", "2326", "2024-12-10", "0030"))
+                .isEqualTo(InterventionDurationUtils.INVALID);
+    }
+
+    @Test
+    void parsers_should_reject_malformed_values() {
+        assertThat(InterventionDurationUtils.parseHHmm("2460")).isEqualTo(-1);
+        assertThat(InterventionDurationUtils.parseHHmm("12:3")).isEqualTo(-1);
+        assertThat(InterventionDurationUtils.parseHHmm("123")).isEqualTo(-1);
+        assertThat(InterventionDurationUtils.parseHHmm("+530")).isEqualTo(330);
+        assertThat(InterventionDurationUtils.parseEpochDay("2023-02-29")).isEqualTo(Long.MIN_VALUE);
+        assertThat(InterventionDurationUtils.parseEpochDay("2024-02-29")).isEqualTo(LocalDate.of(2024, 2, 29).toEpochDay());
+        assertThat(InterventionDurationUtils.parseEpochDay("2024/02/01")).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void minutes_between_should_match_reference_implementation() {
+        String[] edgeTimes = {"0000", "2359", "1200", "2400", "0960", "+530", "-100", "12a0", "123", null};
+        String[] edgeDates = {"2024-02-29", "2023-02-29", "2024-12-31", "2025-01-01", "2024-13-01", "2024-1-01", null};
+        for (String admissionDate : edgeDates) {
+            for (String admissionTime : edgeTimes) {
+                assertSameAsReference(admissionDate, admissionTime, "2025-01-01", "0030");
+                assertSameAsReference("2024-12-31", "2330", admissionDate, admissionTime);
+            }
+        }
+
+        Random random = new Random(20240229L);
+        LocalDate base = LocalDate.of(2019, 1, 1);
+        for (int i = 0; i < 20000; i++) {
+            LocalDate admission = base.plusDays(random.nextInt(2500));
+            LocalDate leave = admission.plusDays(random.nextInt(10) == 0 ? random.nextInt(800) - 100 : random.nextInt(3));
+            String admissionTime = String.format("%02d%02d", random.nextInt(25), random.nextInt(61));
+            String leaveTime = String.format("%02d%02d", random.nextInt(25), random.nextInt(61));
+            assertSameAsReference(admission.toString(), admissionTime, leave.toString(), leaveTime);
+        }
+    }
+
+    @Test
+    void accumulator_should_match_previous_average_and_buckets() {
+        InterventionDurationAccumulator accumulator = new InterventionDurationAccumulator();
+        accumulator.accept(new InterventionTimeDTO(1, "2024-01-01", "0800", "2024-01-01", "0820"));
+        accumulator.accept(new InterventionTimeDTO(2, "2024-01-01", "0800", "2024-01-01", "0930"));
+        accumulator.accept(new InterventionTimeDTO(3, "2024-01-01", "0800", "2024-01-03", "0900"));
+        accumulator.accept(new InterventionTimeDTO(4, "2024-01-01", "0800", null, null));
+        accumulator.accept(new InterventionTimeDTO(5, "2024-01-01", "0800", "2024-01-01", "0700"));
+
+        // 平均值只统计 0-48 小时：(20 + 90) / 2
+        assertThat(accumulator.getAverageMinutes()).isEqualTo(55.0);
+        assertThat(accumulator.getBucketCount(InterventionDurationAccumulator.BUCKET_WITHIN_30)).isEqualTo(1);
+        assertThat(accumulator.getBucketCount(InterventionDurationAccumulator.BUCKET_61_120)).isEqualTo(1);
+        assertThat(accumulator.getBucketCount(InterventionDurationAccumulator.BUCKET_OVER_240)).isEqualTo(1);
+        assertThat(accumulator.getBucketCount(InterventionDurationAccumulator.BUCKET_NO_DATA)).isEqualTo(2);
+    }
+
+    @Test
+    void accumulator_without_valid_rows_should_have_no_average() {
+        InterventionDurationAccumulator accumulator = new InterventionDurationAccumulator();
+        accumulator.accept(new InterventionTimeDTO(1, null, null, null, null));
+
+        assertThat(accumulator.getAverageMinutes()).isNull();
+    }
+
+    @Test
+    void statistics_accumulator_should_apply_each_row_flag_separately() {
+        InterventionStatisticsAccumulator accumulator = new InterventionStatisticsAccumulator();
+        // 同一患者两条病例记录：时长按行累加，患者只计一次
+        accumulator.accept(row(1, "0800", "0820", "2024-01-03", true, true, false));
+        accumulator.accept(row(1, "0800", "0820", "2024-01-02", true, true, false));
+        // 不在自定义时间段内：只参与最早接诊日期
+        accumulator.accept(row(2, "2300", "2330", "2024-01-01", false, false, false));
+        // 患者表中不存在：参与时长与死亡人数，不计入患者数
+        accumulator.accept(row(3, "0800", "0930", "2024-01-05", true, false, true));
+
+        assertThat(accumulator.getPatientCount()).isEqualTo(1L);
+        assertThat(accumulator.getDeathCount()).isEqualTo(1L);
+        assertThat(accumulator.getDurations().getAverageMinutes()).isEqualTo(130.0 / 3);
+        assertThat(accumulator.getDurations().getBucketCount(InterventionDurationAccumulator.BUCKET_WITHIN_30)).isEqualTo(2);
+        assertThat(accumulator.getEarliestRecordAdmissionDate()).isEqualTo("2024-01-01");
+    }
+
+    private static InterventionStatisticsRowDTO row(int patientId, String admissionTime, String leaveTime, String recordDate,
+                                                    boolean timed, boolean counted, boolean death) {
+        InterventionStatisticsRowDTO row = new InterventionStatisticsRowDTO();
+        row.setPatientId(patientId);
+        row.setAdmissionDate("2024-01-01");
+        row.setAdmissionTime(admissionTime);
+        row.setLeaveSurgeryDate("2024-01-01");
+        row.setLeaveSurgeryTime(leaveTime);
+        row.setRecordAdmissionDate(recordDate);
+        row.setTimed(timed);
+        row.setCounted(counted);
+        row.setDeath(death);
+        return row;
+    }
+}
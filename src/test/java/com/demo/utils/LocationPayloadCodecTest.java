@@ -0,0 +1,111 @@
+package com.demo.utils;
+
+import com.demo.dto.AddressCountDTO;
+import com.demo.dto.ColumnarLocationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LocationPayloadCodecTest {
+
+    @Test
+    void empty_and_null_input_should_encode_header_only() {
+        byte[] empty = LocationPayloadCodec.encodeBinary(Collections.emptyList());
+        byte[] none = LocationPayloadCodec.encodeBinary(null);
+
+        assertThat(empty).containsExactly(LocationPayloadCodec.FORMAT_VERSION, LocationPayloadCodec.DEFAULT_PRECISION, 0);
+        assertThat(none).isEqualTo(empty);
+        assertThat(LocationPayloadCodec.decodeBinary(empty)).isEmpty();
+
+        ColumnarLocationDTO columnar = LocationPayloadCodec.toColumnar(null);
+        assertThat(columnar.getSize()).isZero();
+        assertThat(columnar.getLatitudes()).isEmpty();
+        assertThat(columnar.getLongitudes()).isEmpty();
+        assertThat(columnar.getCounts()).isEmpty();
+    }
+
+    @Test
+    void binary_round_trip_should_sort_points_and_skip_missing_coordinates() {
+        List<AddressCountDTO> locations = Arrays.asList(
+                new AddressCountDTO(31.230416, 121.473701, 5L),
+                new AddressCountDTO(null, 121.4, 1L),
+                new AddressCountDTO(31.2, null, 1L),
+                null,
+                new AddressCountDTO(31.198, 121.436, null),
+                new AddressCountDTO(31.230416, 121.473700, 2L));
+
+        List<AddressCountDTO> decoded = LocationPayloadCodec.decodeBinary(LocationPayloadCodec.encodeBinary(locations));
+
+        assertThat(decoded).hasSize(3);
+        assertPoint(decoded.get(0), 31.198, 121.436, 0L);
+        assertPoint(decoded.get(1), 31.230416, 121.473700, 2L);
+        assertPoint(decoded.get(2), 31.230416, 121.473701, 5L);
+    }
+
+    @Test
+    void boundary_coordinates_and_counts_should_survive_round_trip() {
+        List<AddressCountDTO> locations = Arrays.asList(
+                new AddressCountDTO(90.0, 180.0, (long) Integer.MAX_VALUE),
+                new AddressCountDTO(-90.0, -180.0, 1L),
+                new AddressCountDTO(0.0, 0.0, 0L),
+                new AddressCountDTO(-0.000001, 0.000001, Long.MAX_VALUE));
+
+        List<AddressCountDTO> decoded = LocationPayloadCodec.decodeBinary(LocationPayloadCodec.encodeBinary(locations));
+
+        assertThat(decoded).hasSize(4);
+        assertPoint(decoded.get(0), -90.0, -180.0, 1L);
+        assertPoint(decoded.get(1), -0.000001, 0.000001, Integer.MAX_VALUE);
+        assertPoint(decoded.get(2), 0.0, 0.0, 0L);
+        // 从 -90/-180 一步跳到 90/180 的差值仍在 int 范围内
+        assertPoint(decoded.get(3), 90.0, 180.0, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void columnar_deltas_should_accumulate_to_binary_points() {
+        List<AddressCountDTO> locations = new ArrayList<>();
+        locations.add(new AddressCountDTO(31.3, 121.5, 3L));
+        locations.add(new AddressCountDTO(31.1, 121.6, 1L));
+        locations.add(new AddressCountDTO(-33.86, 151.21, 7L));
+
+        ColumnarLocationDTO columnar = LocationPayloadCodec.toColumnar(locations);
+        List<AddressCountDTO> decoded = LocationPayloadCodec.decodeBinary(LocationPayloadCodec.encodeBinary(locations));
+
+        assertThat(columnar.getPrecision()).isEqualTo(LocationPayloadCodec.DEFAULT_PRECISION);
+        assertThat(columnar.getSize()).isEqualTo(decoded.size());
+        double scale = Math.pow(10, columnar.getPrecision());
+        long lat = 0;
+        long lng = 0;
+        for (int i = 0; i < columnar.getSize(); i++) {
+            lat += columnar.getLatitudes()[i];
+            lng += columnar.getLongitudes()[i];
+            assertPoint(decoded.get(i), lat / scale, lng / scale, columnar.getCounts()[i]);
+        }
+    }
+
+    @Test
+    void decode_should_reject_unknown_version_and_truncated_data() {
+        byte[] encoded = LocationPayloadCodec.encodeBinary(Collections.singletonList(new AddressCountDTO(31.2, 121.4, 300L)));
+
+        byte[] badVersion = encoded.clone();
+        badVersion[0] = 9;
+        assertThatThrownBy(() -> LocationPayloadCodec.decodeBinary(badVersion))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LocationPayloadCodec.decodeBinary(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LocationPayloadCodec.decodeBinary(new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertPoint(AddressCountDTO point, double latitude, double longitude, long count) {
+        assertThat(point.getLatitude()).isCloseTo(latitude, within(1e-9));
+        assertThat(point.getLongitude()).isCloseTo(longitude, within(1e-9));
+        assertThat(point.getCount()).isEqualTo(count);
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.utils;
+
+import com.demo.entity.Patient;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientFieldProjectionTest {
+
+    @Test
+    void resolve_should_default_to_all_fields() {
+        assertThat(PatientFieldProjection.resolve(null))
+                .containsExactly("patientId", "gender", "age", "isGreenChannel", "height", "weight", "name");
+        assertThat(PatientFieldProjection.resolve(" ")).hasSize(7);
+    }
+
+    @Test
+    void resolve_should_keep_request_order_and_drop_duplicates() {
+        assertThat(PatientFieldProjection.resolve("age, patientId,,age"))
+                .containsExactly("age", "patientId");
+    }
+
+    @Test
+    void resolve_should_reject_unknown_field() {
+        assertThatThrownBy(() -> PatientFieldProjection.resolve("patientId,address"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("address");
+        assertThatThrownBy(() -> PatientFieldProjection.resolve(",,"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void write_should_emit_only_projected_fields() throws Exception {
+        Patient patient = new Patient().setPatientId(7).setGender("男").setAge(42).setName(null);
+        List<String> fields = PatientFieldProjection.resolve("patientId,age,name");
+
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(json)) {
+            PatientFieldProjection.write(generator, patient, fields);
+        }
+
+        assertThat(json.toString()).isEqualTo("{\"patientId\":7,\"age\":42,\"name\":null}");
+    }
+}
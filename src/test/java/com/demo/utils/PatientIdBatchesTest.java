@@ -0,0 +1,39 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientIdBatchesTest {
+
+    @Test
+    void partition_should_dedupe_sort_and_split_ids() {
+        List<List<Integer>> batches = PatientIdBatches.partition(Arrays.asList(5, 3, null, 5, 1, 9, 7), 10, 2);
+
+        assertThat(batches).containsExactly(Arrays.asList(1, 3), Arrays.asList(5, 7), Collections.singletonList(9));
+        assertThat(PatientIdBatches.partition(null, 10, 2)).isEmpty();
+        assertThatThrownBy(() -> PatientIdBatches.partition(Arrays.asList(1, 2, 3), 2, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void default_partition_should_use_chunk_size_and_limit() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= PatientIdBatches.MAX_PATIENTS; id++) {
+            ids.add(id);
+        }
+
+        List<List<Integer>> batches = PatientIdBatches.partition(ids);
+
+        assertThat(batches).hasSize(PatientIdBatches.MAX_PATIENTS / PatientIdBatches.CHUNK_SIZE);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSize(PatientIdBatches.CHUNK_SIZE));
+        ids.add(PatientIdBatches.MAX_PATIENTS + 1);
+        assertThatThrownBy(() -> PatientIdBatches.partition(ids)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.demo.utils;
+
+import com.demo.dto.PatientIdPageDTO;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatientIdCodecTest {
+
+    @Test
+    void page_without_cursor_should_return_all_ids_in_plain_encoding() {
+        PatientIdPageDTO page = PatientIdCodec.page(Arrays.asList(1, 2, 5), null, null, null);
+
+        assertThat(page.getEncoding()).isEqualTo(PatientIdCodec.ENCODING_PLAIN);
+        assertThat(page.getIds()).containsExactly(1, 2, 5);
+        assertThat(page.getData()).isNull();
+        assertThat(page.getTotal()).isEqualTo(3);
+        assertThat(page.getNextAfterId()).isNull();
+    }
+
+    @Test
+    void keyset_pages_should_cover_every_id_exactly_once() {
+        List<Integer> ids = Arrays.asList(3, 4, 7, 10, 11, 12, 20);
+        List<Integer> collected = new ArrayList<>();
+        Integer afterId = null;
+        int pages = 0;
+        do {
+            PatientIdPageDTO page = PatientIdCodec.page(ids, afterId, 3, null);
+            assertThat(page.getTotal()).isEqualTo(7);
+            collected.addAll(page.getIds());
+            afterId = page.getNextAfterId();
+            pages++;
+        } while (afterId != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(collected).isEqualTo(ids);
+    }
+
+    @Test
+    void cursor_between_ids_should_start_from_next_greater_id() {
+        PatientIdPageDTO page = PatientIdCodec.page(Arrays.asList(3, 4, 7, 10), 5, 10, null);
+
+        assertThat(page.getIds()).containsExactly(7, 10);
+        assertThat(page.getNextAfterId()).isNull();
+    }
+
+    @Test
+    void unsorted_input_should_be_sorted_and_deduplicated() {
+        PatientIdPageDTO page = PatientIdCodec.page(Arrays.asList(9, 2, 9, null, 5), null, null, "plain");
+
+        assertThat(page.getIds()).containsExactly(2, 5, 9);
+        assertThat(page.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void encoded_pages_should_round_trip() {
+        List<Integer> ids = Arrays.asList(1, 2, 3, 4, 100, 101, 300, 70000, 70001, 70002);
+
+        PatientIdPageDTO delta = PatientIdCodec.page(ids, null, null, "delta-varint");
+        assertThat(delta.getIds()).isNull();
+        assertThat(PatientIdCodec.decodeDeltaVarint(delta.getData()))
+                .containsExactly(1, 2, 3, 4, 100, 101, 300, 70000, 70001, 70002);
+
+        PatientIdPageDTO ranges = PatientIdCodec.page(ids, 3, 5, "RANGES");
+        assertThat(ranges.getEncoding()).isEqualTo(PatientIdCodec.ENCODING_RANGES);
+        assertThat(PatientIdCodec.decodeRanges(ranges.getData())).containsExactly(4, 100, 101, 300, 70000);
+        assertThat(ranges.getNextAfterId()).isEqualTo(70000);
+    }
+
+    @Test
+    void random_sets_should_round_trip_in_both_encodings() {
+        Random random = new Random(20240601L);
+        for (int round = 0; round < 200; round++) {
+            TreeSet<Integer> set = new TreeSet<>();
+            int size = random.nextInt(2000);
+            int cursor = 0;
+            for (int i = 0; i < size; i++) {
+                // 混合连续段与大跨度，覆盖两种编码的典型分布
+                cursor += random.nextInt(4) == 0 ? 1 + random.nextInt(5000) : 1;
+                set.add(cursor);
+            }
+            List<Integer> ids = new ArrayList<>(set);
+            int[] expected = ids.stream().mapToInt(Integer::intValue).toArray();
+
+            assertThat(PatientIdCodec.decodeDeltaVarint(PatientIdCodec.page(ids, null, null, "delta-varint").getData()))
+                    .isEqualTo(expected);
+            assertThat(PatientIdCodec.decodeRanges(PatientIdCodec.page(ids, null, null, "ranges").getData()))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void bitmap_backed_ids_should_page_like_a_plain_list() {
+        List<Integer> plain = Arrays.asList(3, 4, 7, 10, 11, 12, 20);
+        List<Integer> bitmap = new SortedIdList(RoaringBitmap.bitmapOf(3, 4, 7, 10, 11, 12, 20));
+
+        for (Integer afterId : Arrays.asList(null, -1, 0, 4, 5, 12, 20, 99)) {
+            for (String encoding : Arrays.asList("plain", "delta-varint", "ranges")) {
+                assertThat(PatientIdCodec.page(bitmap, afterId, 3, encoding))
+                        .as("afterId=%s, encoding=%s", afterId, encoding)
+                        .isEqualTo(PatientIdCodec.page(plain, afterId, 3, encoding));
+            }
+        }
+        assertThat(bitmap).isEqualTo(plain);
+    }
+
+    @Test
+    void empty_input_should_return_empty_page() {
+        PatientIdPageDTO page = PatientIdCodec.page(Collections.emptyList(), 10, 5, "ranges");
+
+        assertThat(page.getTotal()).isZero();
+        assertThat(page.getSize()).isZero();
+        assertThat(PatientIdCodec.decodeRanges(page.getData())).isEmpty();
+    }
+
+    @Test
+    void invalid_arguments_should_be_rejected() {
+        assertThatThrownBy(() -> PatientIdCodec.page(Arrays.asList(1, 2), null, 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PatientIdCodec.page(Arrays.asList(1, 2), null, null, "gzip"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PatientIdCodec.decodeDeltaVarint("gw=="))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 占比计算与原 ROUND(COUNT(*) * 100.0 / (SELECT COUNT(*) ...), 2) 子查询写法的等价性
+ */
+class PercentageUtilsTest {
+
+    private static Map<String, Object> row(String key, long count, long total) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("injury_site", key);
+        row.put("patient_count", count);
+        row.put("record_total", total);
+        return row;
+    }
+
+    @Test
+    void percentage_should_match_sql_round_with_decimal_division() {
+        assertThat(PercentageUtils.percentage(1, 3)).isEqualByComparingTo("33.33");
+        assertThat(PercentageUtils.percentage(2, 3)).isEqualByComparingTo("66.67");
+        assertThat(PercentageUtils.percentage(5, 5)).isEqualTo(new BigDecimal("100.00"));
+        assertThat(PercentageUtils.percentage(0, 7)).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void percentage_should_round_twice_like_mysql() {
+        // 951 * 100.0 / 1001 = 95.004995...，SQL 先保留5位得到 95.00500，再 ROUND 2 位得到 95.01
+        assertThat(PercentageUtils.percentage(951, 1001)).isEqualTo(new BigDecimal("95.01"));
+        // 1349 * 100.0 / 10928 = 12.344436...，先得到 12.34444，再得到 12.34
+        assertThat(PercentageUtils.percentage(1349, 10928)).isEqualTo(new BigDecimal("12.34"));
+        // 124999 * 100.0 / 1000000 = 12.4999，两位小数为 12.50
+        assertThat(PercentageUtils.percentage(124999, 1000000)).isEqualTo(new BigDecimal("12.50"));
+    }
+
+    @Test
+    void percentage_of_empty_total_should_be_null_like_sql_division_by_zero() {
+        assertThat(PercentageUtils.percentage(0, 0)).isNull();
+    }
+
+    @Test
+    void from_rollup_should_use_rollup_total_and_skip_excluded_rows() {
+        // 总数10：其中3条部位为空（分组键为''），只计入总数
+        List<Map<String, Object>> rows = new ArrayList<>(Arrays.asList(
+                row("头部", 2, 2),
+                row("", 3, 3),
+                row("胸部", 5, 5),
+                row(null, 10, 10)));
+
+        List<Map<String, Object>> result = PercentageUtils.fromRollup(rows, "injury_site", "patient_count", "record_total", null);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0)).containsEntry("injury_site", "胸部").containsEntry("patient_count", 5L)
+                .containsEntry("percentage", new BigDecimal("50.00")).doesNotContainKey("record_total");
+        assertThat(result.get(1)).containsEntry("injury_site", "头部")
+                .containsEntry("percentage", new BigDecimal("20.00"));
+    }
+
+    @Test
+    void from_rollup_should_apply_limit_after_sorting() {
+        List<Map<String, Object>> rows = new ArrayList<>(Arrays.asList(
+                row("a", 1, 1), row("b", 3, 3), row("c", 2, 2), row(null, 6, 6)));
+
+        List<Map<String, Object>> result = PercentageUtils.fromRollup(rows, "injury_site", "patient_count", "record_total", 2);
+
+        assertThat(result).extracting(item -> item.get("injury_site")).containsExactly("b", "c");
+    }
+
+    @Test
+    void from_rollup_without_rows_should_return_empty_list() {
+        assertThat(PercentageUtils.fromRollup(new ArrayList<>(), "injury_site", "patient_count", "record_total", 10)).isEmpty();
+    }
+}